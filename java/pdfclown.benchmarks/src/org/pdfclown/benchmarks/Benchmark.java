@@ -0,0 +1,103 @@
+package org.pdfclown.benchmarks;
+
+/**
+  Abstract benchmark.
+  <p>Each benchmark is {@link #setUp() set up} once, then its {@link #run() invocation} is
+  repeated by the {@link BenchmarkLoader loader} for a warm-up period and a measurement period;
+  throughput is reported as operations per second on the calling thread (that is, per core).</p>
+
+  @author Stefano Chizzolini (http://www.stefanochizzolini.it)
+  @since 0.2.0
+  @version 0.2.0, 10/19/26
+*/
+public abstract class Benchmark
+{
+  // <class>
+  // <dynamic>
+  // <fields>
+  private String inputPath;
+  /**
+    Dummy accumulator preventing the JIT compiler from eliminating benchmarked code whose results
+    are unused.
+  */
+  private double sink;
+  // </fields>
+
+  // <interface>
+  // <public>
+  /**
+    Gets the path of the input directory (sample files).
+  */
+  public String getInputPath(
+    )
+  {return inputPath;}
+
+  /**
+    Gets the benchmark name.
+    <p>By default, it corresponds to the simple class name; parameterized benchmarks qualify it
+    with their parameters.</p>
+  */
+  public String getName(
+    )
+  {return getClass().getSimpleName();}
+
+  /**
+    Gets the unit of the operations counted by {@link #run()}.
+  */
+  public String getOperationUnit(
+    )
+  {return "ops";}
+
+  /**
+    Gets the value accumulated through {@link #consume(double)}.
+  */
+  public double getSink(
+    )
+  {return sink;}
+
+  /**
+    Executes a single benchmark invocation.
+
+    @return Number of operations performed.
+  */
+  public abstract long run(
+    ) throws Exception;
+
+  /**
+    Binds the benchmark to its environment.
+
+    @param inputPath Path of the input directory (sample files).
+  */
+  public void initialize(
+    String inputPath
+    )
+  {this.inputPath = inputPath;}
+
+  /**
+    Prepares the benchmark state before the first invocation.
+  */
+  public void setUp(
+    ) throws Exception
+  {}
+
+  /**
+    Releases the benchmark state after the last invocation.
+  */
+  public void tearDown(
+    ) throws Exception
+  {}
+  // </public>
+
+  // <protected>
+  /**
+    Consumes a benchmark result.
+  */
+  protected final void consume(
+    double value
+    )
+  {sink += value;}
+  // </protected>
+  // </interface>
+  // </dynamic>
+  // </class>
+}
@@ -0,0 +1,305 @@
+package org.pdfclown.benchmarks;
+
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+import java.util.Properties;
+
+import org.pdfclown.bytes.SegmentedBuffer;
+import org.pdfclown.files.SerializationModeEnum;
+import org.pdfclown.files.XRefModeEnum;
+
+/**
+  Command-line benchmark runner.
+  <p>Runs all the available benchmarks, or just those whose names (or simple class names) are
+  passed as arguments.</p>
+  <p>Settings are read from the properties file (if any): the input path is the directory of the
+  sample files used by the corpus benchmarks, while the results path is the JSON file the
+  results are published to (so that they can be trended across releases).</p>
+
+  @author Stefano Chizzolini (http://www.stefanochizzolini.it)
+  @since 0.2.0
+  @version 0.2.0, 10/19/26
+*/
+public final class BenchmarkLoader
+{
+  // <class>
+  // <classes>
+  /**
+    Benchmark measurement.
+  */
+  private static final class Result
+  {
+    final double elapsedTime;
+    final String name;
+    final long operationCount;
+    final String unit;
+
+    Result(
+      String name,
+      String unit,
+      long operationCount,
+      double elapsedTime
+      )
+    {
+      this.name = name;
+      this.unit = unit;
+      this.operationCount = operationCount;
+      this.elapsedTime = elapsedTime;
+    }
+
+    /**
+      Gets the number of operations per second.
+    */
+    double getThroughput(
+      )
+    {return operationCount / elapsedTime;}
+  }
+  // </classes>
+
+  // <static>
+  // <fields>
+  private static final String ClassName = BenchmarkLoader.class.getName();
+
+  private static final String PropertiesFilePath = "pdfclown-benchmarks.properties";
+
+  private static final String Properties_InputPath = ClassName + ".inputPath";
+  private static final String Properties_ResultsPath = ClassName + ".resultsPath";
+
+  private static final String DefaultInputPath = "../../main/res/samples/input/pdf/";
+
+  private static final List<Benchmark> Benchmarks = new ArrayList<Benchmark>();
+
+  /**
+    Warm-up duration (milliseconds).
+  */
+  private static final long WarmupTime = 2000;
+  /**
+    Measurement duration (milliseconds).
+  */
+  private static final long MeasurementTime = 5000;
+  // </fields>
+
+  // <constructors>
+  static
+  {
+    Benchmarks.add(new Type4FunctionBenchmark());
+    Benchmarks.add(new CompositeFontLoadBenchmark());
+    Benchmarks.add(new FileOpenBenchmark());
+    Benchmarks.add(new ObjectWalkBenchmark());
+    Benchmarks.add(new ContentScanBenchmark());
+    Benchmarks.add(new TextExtractionBenchmark());
+    Benchmarks.add(new TextExtractionBenchmark(Math.max(Runtime.getRuntime().availableProcessors(), 4)));
+    Benchmarks.add(new PageSplitBenchmark());
+    Benchmarks.add(new PageMergeBenchmark());
+    Benchmarks.add(new ConcurrentSaveBenchmark(Math.max(Runtime.getRuntime().availableProcessors(), 4)));
+    Benchmarks.add(new BufferWriteBenchmark(null));
+    for(SegmentedBuffer.StorageEnum storage : SegmentedBuffer.StorageEnum.values())
+    {Benchmarks.add(new BufferWriteBenchmark(storage));}
+    for(SerializationModeEnum serializationMode : SerializationModeEnum.values())
+    {
+      if(serializationMode == SerializationModeEnum.Linearized) // NOTE: Not supported yet.
+        continue;
+
+      for(XRefModeEnum xrefMode : XRefModeEnum.values())
+      {Benchmarks.add(new FileSaveBenchmark(serializationMode, xrefMode));}
+    }
+  }
+  // </constructors>
+
+  // <interface>
+  // <public>
+  public static void main(
+    String[] args
+    )
+  {
+    System.out.println("\nBenchmarkLoader running...\n");
+
+    Properties properties = new Properties();
+    if(new java.io.File(PropertiesFilePath).exists())
+    {
+      try
+      {
+        FileInputStream propertiesStream = new FileInputStream(PropertiesFilePath);
+        try
+        {properties.load(propertiesStream);}
+        finally
+        {propertiesStream.close();}
+      }
+      catch(Exception e)
+      {throw new RuntimeException("An exception occurred while loading the properties file (\"" + PropertiesFilePath + "\").",e);}
+    }
+    String inputPath = new java.io.File(properties.getProperty(Properties_InputPath, DefaultInputPath)).getAbsolutePath();
+    String resultsPath = properties.getProperty(Properties_ResultsPath);
+
+    List<String> benchmarkNames = Arrays.asList(args);
+    List<Result> results = new ArrayList<Result>();
+    for(Benchmark benchmark : Benchmarks)
+    {
+      if(!benchmarkNames.isEmpty()
+        && !benchmarkNames.contains(benchmark.getName())
+        && !benchmarkNames.contains(benchmark.getClass().getSimpleName()))
+        continue;
+
+      try
+      {
+        benchmark.initialize(inputPath);
+        results.add(run(benchmark));
+      }
+      catch(Exception e)
+      {
+        System.out.println("An exception happened while running " + benchmark.getName() + ":");
+        e.printStackTrace();
+      }
+    }
+
+    if(resultsPath != null)
+    {
+      try
+      {
+        publish(results, new java.io.File(resultsPath));
+        System.out.println("\nResults published to " + new java.io.File(resultsPath).getAbsolutePath());
+      }
+      catch(Exception e)
+      {
+        System.out.println("An exception happened while publishing the results:");
+        e.printStackTrace();
+      }
+    }
+
+    System.out.println("\nBenchmarkLoader finished.\n");
+  }
+  // </public>
+
+  // <private>
+  /**
+    Writes the specified string as a JSON string literal.
+  */
+  private static void appendJsonString(
+    StringBuilder builder,
+    String value
+    )
+  {
+    builder.append('"');
+    for(int index = 0, length = value.length(); index < length; index++)
+    {
+      char valueChar = value.charAt(index);
+      switch(valueChar)
+      {
+        case '"':
+        case '\\':
+          builder.append('\\').append(valueChar);
+          break;
+        default:
+          if(valueChar < 0x20)
+          {builder.append(String.format("\\u%04x", (int)valueChar));}
+          else
+          {builder.append(valueChar);}
+      }
+    }
+    builder.append('"');
+  }
+
+  /**
+    Repeats the benchmark invocation for the specified time.
+
+    @return Number of performed operations.
+  */
+  private static long measure(
+    Benchmark benchmark,
+    long time
+    ) throws Exception
+  {
+    long operationCount = 0;
+    long endTime = System.currentTimeMillis() + time;
+    while(System.currentTimeMillis() < endTime)
+    {operationCount += benchmark.run();}
+    return operationCount;
+  }
+
+  /**
+    Publishes the specified results to a JSON file.
+  */
+  private static void publish(
+    List<Result> results,
+    java.io.File file
+    ) throws IOException
+  {
+    StringBuilder builder = new StringBuilder();
+    builder.append("{\n  \"timestamp\": ");
+    {
+      SimpleDateFormat timestampFormat = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ssZ", Locale.US);
+      appendJsonString(builder, timestampFormat.format(new Date()));
+    }
+    builder.append(",\n  \"javaVersion\": ");
+    appendJsonString(builder, System.getProperty("java.version"));
+    builder.append(",\n  \"warmupTime\": ").append(WarmupTime);
+    builder.append(",\n  \"measurementTime\": ").append(MeasurementTime);
+    builder.append(",\n  \"benchmarks\": [");
+    for(int index = 0, count = results.size(); index < count; index++)
+    {
+      Result result = results.get(index);
+      builder.append(index > 0 ? ",\n    {" : "\n    {");
+      builder.append("\"name\": "); appendJsonString(builder, result.name);
+      builder.append(", \"unit\": "); appendJsonString(builder, result.unit);
+      builder.append(", \"operations\": ").append(result.operationCount);
+      builder.append(", \"time\": ").append(String.format(Locale.US, "%.3f", result.elapsedTime));
+      builder.append(", \"throughput\": ").append(String.format(Locale.US, "%.3f", result.getThroughput()));
+      builder.append("}");
+    }
+    builder.append("\n  ]\n}\n");
+
+    java.io.File directory = file.getAbsoluteFile().getParentFile();
+    if(directory != null && !directory.exists())
+    {directory.mkdirs();}
+    Writer writer = new OutputStreamWriter(new FileOutputStream(file), "UTF-8");
+    try
+    {writer.write(builder.toString());}
+    finally
+    {writer.close();}
+  }
+
+  /**
+    Runs the specified benchmark, printing its throughput.
+  */
+  private static Result run(
+    Benchmark benchmark
+    ) throws Exception
+  {
+    benchmark.setUp();
+    try
+    {
+      // Warm-up.
+      measure(benchmark, WarmupTime);
+      // Measurement.
+      long startTime = System.nanoTime();
+      long operationCount = measure(benchmark, MeasurementTime);
+      double elapsedTime = (System.nanoTime() - startTime) / 1e9;
+
+      Result result = new Result(benchmark.getName(), benchmark.getOperationUnit(), operationCount, elapsedTime);
+      System.out.println(
+        String.format(
+          "%-50s %,16.0f %s/s",
+          result.name,
+          result.getThroughput(),
+          result.unit
+          )
+        );
+      return result;
+    }
+    finally
+    {benchmark.tearDown();}
+  }
+  // </private>
+  // </interface>
+  // </static>
+  // </class>
+}
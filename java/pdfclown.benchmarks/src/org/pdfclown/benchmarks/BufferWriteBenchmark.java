@@ -0,0 +1,75 @@
+package org.pdfclown.benchmarks;
+
+import org.pdfclown.bytes.Buffer;
+import org.pdfclown.bytes.IBuffer;
+import org.pdfclown.bytes.SegmentedBuffer;
+
+/**
+  This benchmark measures the chunked writing of the whole sample corpus into a single buffer,
+  either {@link Buffer contiguous} or {@link SegmentedBuffer segmented} (according to the specified
+  storage kind).
+
+  @author Stefano Chizzolini (http://www.stefanochizzolini.it)
+  @since 0.2.0
+  @version 0.2.0, 10/19/26
+*/
+public class BufferWriteBenchmark
+  extends CorpusBenchmark
+{
+  // <class>
+  // <static>
+  // <fields>
+  private static final int ChunkSize = 1 << 12;
+  // </fields>
+  // </static>
+
+  // <dynamic>
+  // <fields>
+  private final SegmentedBuffer.StorageEnum storage;
+  // </fields>
+
+  // <constructors>
+  /**
+    @param storage Segmented buffer storage kind ({@code null} for contiguous buffer).
+  */
+  public BufferWriteBenchmark(
+    SegmentedBuffer.StorageEnum storage
+    )
+  {this.storage = storage;}
+  // </constructors>
+
+  // <interface>
+  // <public>
+  @Override
+  public String getName(
+    )
+  {return super.getName() + "[" + (storage != null ? storage : "Contiguous") + "]";}
+
+  @Override
+  public String getOperationUnit(
+    )
+  {return "KB";}
+
+  @Override
+  public long run(
+    ) throws Exception
+  {
+    IBuffer buffer = (storage != null ? new SegmentedBuffer(storage) : new Buffer());
+    try
+    {
+      for(byte[] sample : getSamples())
+      {
+        for(int offset = 0; offset < sample.length; offset += ChunkSize)
+        {buffer.write(sample, offset, Math.min(ChunkSize, sample.length - offset));}
+      }
+      consume(buffer.getLength());
+      return buffer.getLength() >> 10;
+    }
+    finally
+    {buffer.close();}
+  }
+  // </public>
+  // </interface>
+  // </dynamic>
+  // </class>
+}
@@ -0,0 +1,180 @@
+package org.pdfclown.benchmarks;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+import org.pdfclown.bytes.Buffer;
+import org.pdfclown.documents.contents.fonts.Font;
+import org.pdfclown.files.File;
+
+/**
+  This benchmark measures the creation of a composite font from a large TrueType font (60000
+  glyphs) whose glyphs are partly shared by multiple Unicode codepoints, forcing the remapping of
+  the exceeding character codes.
+  <p>The font program is synthesized in memory (outlines are empty), so that no large font file
+  is needed.</p>
+
+  @author Stefano Chizzolini (http://www.stefanochizzolini.it)
+  @since 0.2.0
+  @version 0.2.0, 10/19/26
+*/
+public class CompositeFontLoadBenchmark
+  extends Benchmark
+{
+  // <class>
+  // <static>
+  // <fields>
+  /**
+    Number of glyphs.
+  */
+  private static final int GlyphCount = 60000;
+  /**
+    Number of glyphs mapped by two codepoints.
+  */
+  private static final int SharedGlyphCount = 0xfffe - GlyphCount;
+  // </fields>
+
+  // <interface>
+  // <private>
+  /**
+    Creates a TrueType font program whose cmap maps codepoints 1-60000 to the respective glyphs
+    and the remaining codepoints (up to 0xfffe) to the leading glyphs again.
+  */
+  private static byte[] createFontData(
+    ) throws IOException
+  {
+    String[] tags = {"cmap", "head", "hhea", "hmtx", "maxp", "name", "post"};
+    byte[][] tables = new byte[tags.length][];
+    {
+      // cmap (format 4: three segments mapped through deltas).
+      ByteArrayOutputStream table = new ByteArrayOutputStream();
+      DataOutputStream out = new DataOutputStream(table);
+      int[][] segments = // {startCode, endCode, delta}.
+        {
+          {1, GlyphCount, 0},
+          {GlyphCount + 1, 0xfffe, 1 - (GlyphCount + 1)},
+          {0xffff, 0xffff, 1}
+        };
+      out.writeShort(0); out.writeShort(1); // Version, subtable count.
+      out.writeShort(3); out.writeShort(1); out.writeInt(12); // Microsoft Unicode BMP subtable.
+      out.writeShort(4); out.writeShort(16 + segments.length * 8); out.writeShort(0); // Format, length, language.
+      out.writeShort(segments.length * 2); out.writeShort(4); out.writeShort(1); out.writeShort(2); // Segment count, search hints.
+      for(int[] segment : segments)
+      {out.writeShort(segment[1]);}
+      out.writeShort(0); // Reserved pad.
+      for(int[] segment : segments)
+      {out.writeShort(segment[0]);}
+      for(int[] segment : segments)
+      {out.writeShort(segment[2]);}
+      for(int index = 0; index < segments.length; index++)
+      {out.writeShort(0);} // Range offsets.
+      tables[0] = table.toByteArray();
+
+      // head.
+      table = new ByteArrayOutputStream(); out = new DataOutputStream(table);
+      out.writeInt(0x00010000); out.writeInt(0x00010000); // Version, revision.
+      out.writeInt(0); out.writeInt(0x5f0f3cf5); // Checksum adjustment, magic number.
+      out.writeShort(0); out.writeShort(1000); // Flags, units per em.
+      out.writeLong(0); out.writeLong(0); // Created, modified.
+      out.writeShort(0); out.writeShort(-200); out.writeShort(1000); out.writeShort(800); // Bounding box.
+      out.writeShort(0); out.writeShort(8); out.writeShort(2); // Mac style, lowest rec PPEM, direction hint.
+      out.writeShort(1); out.writeShort(0); // Index to loc format, glyph data format.
+      tables[1] = table.toByteArray();
+
+      // hhea.
+      table = new ByteArrayOutputStream(); out = new DataOutputStream(table);
+      out.writeInt(0x00010000);
+      out.writeShort(800); out.writeShort(-200); out.writeShort(0); // Ascender, descender, line gap.
+      out.writeShort(1000); out.writeShort(0); out.writeShort(0); out.writeShort(1000); // Advance width max, min LSB, min RSB, x max extent.
+      out.writeShort(1); out.writeShort(0); out.writeShort(0); // Caret slope rise, run, offset.
+      out.writeLong(0); out.writeShort(0); // Reserved, metric data format.
+      out.writeShort(GlyphCount + 1); // Number of horizontal metrics.
+      tables[2] = table.toByteArray();
+
+      // hmtx.
+      table = new ByteArrayOutputStream(); out = new DataOutputStream(table);
+      for(int glyphIndex = 0; glyphIndex <= GlyphCount; glyphIndex++)
+      {out.writeShort(500 + glyphIndex % 500); out.writeShort(0);}
+      tables[3] = table.toByteArray();
+
+      // maxp.
+      table = new ByteArrayOutputStream(); out = new DataOutputStream(table);
+      out.writeInt(0x00005000); out.writeShort(GlyphCount + 1);
+      tables[4] = table.toByteArray();
+
+      // name (PostScript name only).
+      byte[] fontName = "CompositeFontLoadBenchmark".getBytes("UTF-16BE");
+      table = new ByteArrayOutputStream(); out = new DataOutputStream(table);
+      out.writeShort(0); out.writeShort(1); out.writeShort(18); // Format, record count, storage offset.
+      out.writeShort(3); out.writeShort(1); out.writeShort(0x409); out.writeShort(6); // Platform, encoding, language, name ID.
+      out.writeShort(fontName.length); out.writeShort(0);
+      out.write(fontName);
+      tables[5] = table.toByteArray();
+
+      // post (version 3).
+      table = new ByteArrayOutputStream(); out = new DataOutputStream(table);
+      out.writeInt(0x00030000); out.writeInt(0); out.writeShort(-100); out.writeShort(50);
+      out.writeInt(0); out.writeInt(0); out.writeInt(0); out.writeInt(0); out.writeInt(0);
+      tables[6] = table.toByteArray();
+    }
+
+    ByteArrayOutputStream fontData = new ByteArrayOutputStream();
+    DataOutputStream out = new DataOutputStream(fontData);
+    out.writeInt(0x00010000); out.writeShort(tags.length);
+    out.writeShort(64); out.writeShort(2); out.writeShort(tags.length * 16 - 64); // Search hints.
+    int offset = 12 + tags.length * 16;
+    for(int index = 0; index < tags.length; index++)
+    {
+      out.writeBytes(tags[index]); out.writeInt(0); out.writeInt(offset); out.writeInt(tables[index].length);
+      offset += (tables[index].length + 3) & ~3;
+    }
+    for(byte[] table : tables)
+    {
+      out.write(table);
+      out.write(new byte[((table.length + 3) & ~3) - table.length]);
+    }
+    return fontData.toByteArray();
+  }
+  // </private>
+  // </interface>
+  // </static>
+
+  // <dynamic>
+  // <fields>
+  private byte[] fontData;
+  // </fields>
+
+  // <interface>
+  // <public>
+  @Override
+  public String getOperationUnit(
+    )
+  {return "fonts";}
+
+  @Override
+  public long run(
+    )
+  {
+    File file = new File();
+    Font font = Font.get(file.getDocument(), new Buffer(fontData));
+    consume(font.getCodePoints().size());
+    return 1;
+  }
+
+  @Override
+  public void setUp(
+    ) throws Exception
+  {
+    fontData = createFontData();
+
+    // Check that all the codepoints (shared glyphs included) have been encoded!
+    int codePointCount = Font.get(new File().getDocument(), new Buffer(fontData)).getCodePoints().size();
+    if(codePointCount != GlyphCount + SharedGlyphCount)
+      throw new IllegalStateException("Unexpected codepoint count: " + codePointCount);
+  }
+  // </public>
+  // </interface>
+  // </dynamic>
+  // </class>
+}
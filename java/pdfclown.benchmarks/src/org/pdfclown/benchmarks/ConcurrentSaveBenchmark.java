@@ -0,0 +1,153 @@
+package org.pdfclown.benchmarks;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.pdfclown.bytes.Buffer;
+import org.pdfclown.documents.Document;
+import org.pdfclown.documents.Pages;
+import org.pdfclown.files.File;
+import org.pdfclown.files.SerializationModeEnum;
+import org.pdfclown.objects.PdfIndirectObject;
+
+/**
+  This benchmark stresses the concurrent processing of independent documents, verifying that
+  no thread interferes with the others.
+  <p>On each invocation, every sample file is processed by each thread: it is opened, dated,
+  extended with a clone of its first page and saved, then the saved file is reopened to check
+  its date and cross-reference offsets (that is, the paths sharing static state across
+  documents). Any inconsistency fails the benchmark.</p>
+  <p>Unlike the other benchmarks, throughput is aggregated across the threads.</p>
+
+  @author Stefano Chizzolini (http://www.stefanochizzolini.it)
+  @since 0.2.0
+  @version 0.2.0, 10/19/26
+*/
+public class ConcurrentSaveBenchmark
+  extends CorpusBenchmark
+{
+  // <class>
+  // <static>
+  // <fields>
+  /**
+    Reference date (second-precision, as PDF dates).
+  */
+  private static final Date ReferenceDate = new Date(1792396800000L);
+  // </fields>
+  // </static>
+
+  // <dynamic>
+  // <fields>
+  private ExecutorService executor;
+  private final int threadCount;
+  // </fields>
+
+  // <constructors>
+  public ConcurrentSaveBenchmark(
+    int threadCount
+    )
+  {this.threadCount = threadCount;}
+  // </constructors>
+
+  // <interface>
+  // <public>
+  @Override
+  public String getName(
+    )
+  {return super.getName() + "[" + threadCount + "]";}
+
+  @Override
+  public String getOperationUnit(
+    )
+  {return "files";}
+
+  @Override
+  public long run(
+    ) throws Exception
+  {
+    List<Future<Long>> results = new ArrayList<Future<Long>>();
+    for(int threadIndex = 0; threadIndex < threadCount; threadIndex++)
+    {
+      for(final byte[] sample : getSamples())
+      {
+        results.add(executor.submit(new Callable<Long>()
+          {
+            @Override
+            public Long call(
+              ) throws Exception
+            {return process(sample);}
+          }));
+      }
+    }
+    for(Future<Long> result : results)
+    {consume(result.get());}
+    return results.size();
+  }
+
+  @Override
+  public void setUp(
+    ) throws Exception
+  {
+    super.setUp();
+
+    executor = Executors.newFixedThreadPool(threadCount);
+  }
+
+  @Override
+  public void tearDown(
+    ) throws Exception
+  {executor.shutdown();}
+  // </public>
+
+  // <private>
+  /**
+    Processes the specified sample file.
+
+    @return Saved file length.
+  */
+  private long process(
+    byte[] sample
+    ) throws Exception
+  {
+    // Open, date and extend the file!
+    File file = new File(sample);
+    Document document = file.getDocument();
+    document.getInformation().setCreationDate(ReferenceDate);
+    Pages pages = document.getPages();
+    int pageCount = pages.size();
+    if(pageCount > 0)
+    {
+      pages.add(pages.get(0).clone(document));
+      pageCount++;
+    }
+    Buffer stream = new Buffer();
+    file.save(stream, SerializationModeEnum.Standard);
+    file.close();
+
+    // Check the saved file!
+    file = new File(stream.toByteArray());
+    try
+    {
+      document = file.getDocument();
+      Date creationDate = document.getInformation().getCreationDate();
+      if(!ReferenceDate.equals(creationDate))
+        throw new IllegalStateException("Date mismatch: " + creationDate + " instead of " + ReferenceDate);
+      if(document.getPages().size() != pageCount)
+        throw new IllegalStateException("Page count mismatch: " + document.getPages().size() + " instead of " + pageCount);
+      for(PdfIndirectObject indirectObject : file.getIndirectObjects())
+      {indirectObject.getDataObject();} // Resolves the object through its cross-reference offset.
+    }
+    finally
+    {file.close();}
+    return stream.getLength();
+  }
+  // </private>
+  // </interface>
+  // </dynamic>
+  // </class>
+}
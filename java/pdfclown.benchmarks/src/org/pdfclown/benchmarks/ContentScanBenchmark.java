@@ -0,0 +1,69 @@
+package org.pdfclown.benchmarks;
+
+import org.pdfclown.documents.Page;
+import org.pdfclown.documents.contents.ContentScanner;
+import org.pdfclown.files.File;
+
+/**
+  This benchmark measures the parsing of the page contents of the sample files, scanning all
+  their content objects (nested levels included).
+
+  @author Stefano Chizzolini (http://www.stefanochizzolini.it)
+  @since 0.2.0
+  @version 0.2.0, 10/19/26
+*/
+public class ContentScanBenchmark
+  extends CorpusBenchmark
+{
+  // <class>
+  // <dynamic>
+  // <interface>
+  // <public>
+  @Override
+  public String getOperationUnit(
+    )
+  {return "pages";}
+
+  @Override
+  public long run(
+    ) throws Exception
+  {
+    long pageCount = 0;
+    for(File file : openSamples())
+    {
+      for(Page page : file.getDocument().getPages())
+      {
+        consume(scan(new ContentScanner(page)));
+        pageCount++;
+      }
+      file.close();
+    }
+    return pageCount;
+  }
+  // </public>
+
+  // <private>
+  /**
+    Scans the specified content level.
+
+    @return Number of scanned content objects.
+  */
+  private int scan(
+    ContentScanner level
+    )
+  {
+    int objectCount = 0;
+    while(level.moveNext())
+    {
+      objectCount++;
+      ContentScanner childLevel = level.getChildLevel();
+      if(childLevel != null)
+      {objectCount += scan(childLevel);}
+    }
+    return objectCount;
+  }
+  // </private>
+  // </interface>
+  // </dynamic>
+  // </class>
+}
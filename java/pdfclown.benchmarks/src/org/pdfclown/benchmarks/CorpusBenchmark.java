@@ -0,0 +1,85 @@
+package org.pdfclown.benchmarks;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.pdfclown.bytes.FileInputStream;
+import org.pdfclown.files.File;
+import org.pdfclown.util.io.IOUtils;
+
+/**
+  Abstract benchmark operating on the sample PDF corpus (that is, all the PDF files within the
+  {@link #getInputPath() input directory}).
+  <p>Sample files are loaded in memory on {@link #setUp() set up}, so that disk access doesn't
+  affect the measurements.</p>
+
+  @author Stefano Chizzolini (http://www.stefanochizzolini.it)
+  @since 0.2.0
+  @version 0.2.0, 10/19/26
+*/
+public abstract class CorpusBenchmark
+  extends Benchmark
+{
+  // <class>
+  // <dynamic>
+  // <fields>
+  private List<byte[]> samples;
+  // </fields>
+
+  // <interface>
+  // <public>
+  @Override
+  public void setUp(
+    ) throws Exception
+  {
+    java.io.File[] sampleFiles = new java.io.File(getInputPath()).listFiles();
+    if(sampleFiles == null)
+      throw new IOException("Input directory not found: " + getInputPath());
+
+    Arrays.sort(sampleFiles);
+    List<byte[]> samples = new ArrayList<byte[]>();
+    for(java.io.File sampleFile : sampleFiles)
+    {
+      if(!sampleFile.getName().toLowerCase().endsWith(".pdf"))
+        continue;
+
+      FileInputStream sampleStream = new FileInputStream(new java.io.RandomAccessFile(sampleFile, "r"));
+      try
+      {samples.add(sampleStream.toByteArray());}
+      finally
+      {IOUtils.closeQuietly(sampleStream);}
+    }
+    if(samples.isEmpty())
+      throw new IOException("No sample file found in " + getInputPath());
+
+    this.samples = Collections.unmodifiableList(samples);
+  }
+  // </public>
+
+  // <protected>
+  /**
+    Gets the sample files data.
+  */
+  protected final List<byte[]> getSamples(
+    )
+  {return samples;}
+
+  /**
+    Opens the sample files.
+  */
+  protected final List<File> openSamples(
+    )
+  {
+    List<File> files = new ArrayList<File>(samples.size());
+    for(byte[] sample : samples)
+    {files.add(new File(sample));}
+    return files;
+  }
+  // </protected>
+  // </interface>
+  // </dynamic>
+  // </class>
+}
@@ -0,0 +1,41 @@
+package org.pdfclown.benchmarks;
+
+import org.pdfclown.files.File;
+
+/**
+  This benchmark measures the opening of the sample files (header, cross-reference sections,
+  trailer and document catalog parsing, up to the page count).
+
+  @author Stefano Chizzolini (http://www.stefanochizzolini.it)
+  @since 0.2.0
+  @version 0.2.0, 10/19/26
+*/
+public class FileOpenBenchmark
+  extends CorpusBenchmark
+{
+  // <class>
+  // <dynamic>
+  // <interface>
+  // <public>
+  @Override
+  public String getOperationUnit(
+    )
+  {return "files";}
+
+  @Override
+  public long run(
+    ) throws Exception
+  {
+    for(byte[] sample : getSamples())
+    {
+      File file = new File(sample);
+      consume(file.getDocument().getPages().size());
+      file.close();
+    }
+    return getSamples().size();
+  }
+  // </public>
+  // </interface>
+  // </dynamic>
+  // </class>
+}
@@ -0,0 +1,94 @@
+package org.pdfclown.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.pdfclown.bytes.Buffer;
+import org.pdfclown.files.File;
+import org.pdfclown.files.SerializationModeEnum;
+import org.pdfclown.files.XRefModeEnum;
+
+/**
+  This benchmark measures the serialization of the sample files in memory, according to the
+  specified serialization and cross-reference modes.
+  <p>As the files are reopened on each invocation (so that their objects are parsed again), the
+  measurement includes the opening cost (see {@link FileOpenBenchmark}).</p>
+  <p>As the {@link XRefModeEnum#Plain plain cross-reference mode} cannot serialize compressed
+  objects, its measurement is restricted to the sample files whose cross-reference mode is plain
+  too.</p>
+
+  @author Stefano Chizzolini (http://www.stefanochizzolini.it)
+  @since 0.2.0
+  @version 0.2.0, 10/19/26
+*/
+public class FileSaveBenchmark
+  extends CorpusBenchmark
+{
+  // <class>
+  // <dynamic>
+  // <fields>
+  private List<byte[]> samples;
+  private final SerializationModeEnum serializationMode;
+  private final XRefModeEnum xrefMode;
+  // </fields>
+
+  // <constructors>
+  public FileSaveBenchmark(
+    SerializationModeEnum serializationMode,
+    XRefModeEnum xrefMode
+    )
+  {
+    this.serializationMode = serializationMode;
+    this.xrefMode = xrefMode;
+  }
+  // </constructors>
+
+  // <interface>
+  // <public>
+  @Override
+  public String getName(
+    )
+  {return super.getName() + "[" + serializationMode + "," + xrefMode + "]";}
+
+  @Override
+  public String getOperationUnit(
+    )
+  {return "files";}
+
+  @Override
+  public long run(
+    ) throws Exception
+  {
+    for(byte[] sample : samples)
+    {
+      File file = new File(sample);
+      file.getConfiguration().setXRefMode(xrefMode);
+      Buffer stream = new Buffer();
+      file.save(stream, serializationMode);
+      consume(stream.getLength());
+      file.close();
+    }
+    return samples.size();
+  }
+
+  @Override
+  public void setUp(
+    ) throws Exception
+  {
+    super.setUp();
+
+    samples = new ArrayList<byte[]>();
+    for(byte[] sample : getSamples())
+    {
+      File file = new File(sample);
+      if(xrefMode == XRefModeEnum.Compressed
+        || file.getConfiguration().getXRefMode() == XRefModeEnum.Plain)
+      {samples.add(sample);}
+      file.close();
+    }
+  }
+  // </public>
+  // </interface>
+  // </dynamic>
+  // </class>
+}
@@ -0,0 +1,64 @@
+package org.pdfclown.benchmarks;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import org.pdfclown.files.File;
+import org.pdfclown.objects.IVisitor;
+import org.pdfclown.objects.PdfObject;
+import org.pdfclown.objects.PdfReference;
+import org.pdfclown.objects.Visitor;
+
+/**
+  This benchmark measures the parsing of the whole object graph of the sample files, walking it
+  from the trailer through all the reachable indirect objects.
+
+  @author Stefano Chizzolini (http://www.stefanochizzolini.it)
+  @since 0.2.0
+  @version 0.2.0, 10/19/26
+*/
+public class ObjectWalkBenchmark
+  extends CorpusBenchmark
+{
+  // <class>
+  // <dynamic>
+  // <interface>
+  // <public>
+  @Override
+  public String getOperationUnit(
+    )
+  {return "objects";}
+
+  @Override
+  public long run(
+    ) throws Exception
+  {
+    long objectCount = 0;
+    for(File file : openSamples())
+    {
+      final Set<Integer> visitedObjectNumbers = new HashSet<Integer>();
+      IVisitor visitor = new Visitor()
+      {
+        @Override
+        public PdfObject visit(
+          PdfReference object,
+          Object data
+          )
+        {
+          if(!visitedObjectNumbers.add(object.getReference().getObjectNumber()))
+            return object;
+
+          return super.visit(object, data);
+        }
+      };
+      file.getTrailer().accept(visitor, null);
+      objectCount += visitedObjectNumbers.size();
+      file.close();
+    }
+    return objectCount;
+  }
+  // </public>
+  // </interface>
+  // </dynamic>
+  // </class>
+}
@@ -0,0 +1,43 @@
+package org.pdfclown.benchmarks;
+
+import org.pdfclown.files.File;
+import org.pdfclown.tools.PageManager;
+
+/**
+  This benchmark measures the merging of the sample files into a single document.
+
+  @author Stefano Chizzolini (http://www.stefanochizzolini.it)
+  @since 0.2.0
+  @version 0.2.0, 10/19/26
+*/
+public class PageMergeBenchmark
+  extends CorpusBenchmark
+{
+  // <class>
+  // <dynamic>
+  // <interface>
+  // <public>
+  @Override
+  public String getOperationUnit(
+    )
+  {return "pages";}
+
+  @Override
+  public long run(
+    ) throws Exception
+  {
+    File targetFile = new File();
+    PageManager manager = new PageManager(targetFile.getDocument());
+    for(File file : openSamples())
+    {
+      manager.add(file.getDocument());
+      file.close();
+    }
+    consume(targetFile.getIndirectObjects().size());
+    return targetFile.getDocument().getPages().size();
+  }
+  // </public>
+  // </interface>
+  // </dynamic>
+  // </class>
+}
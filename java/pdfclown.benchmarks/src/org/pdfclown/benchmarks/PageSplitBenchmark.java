@@ -0,0 +1,46 @@
+package org.pdfclown.benchmarks;
+
+import org.pdfclown.documents.Document;
+import org.pdfclown.files.File;
+import org.pdfclown.tools.PageManager;
+
+/**
+  This benchmark measures the bursting of the sample files into single-page documents.
+
+  @author Stefano Chizzolini (http://www.stefanochizzolini.it)
+  @since 0.2.0
+  @version 0.2.0, 10/19/26
+*/
+public class PageSplitBenchmark
+  extends CorpusBenchmark
+{
+  // <class>
+  // <dynamic>
+  // <interface>
+  // <public>
+  @Override
+  public String getOperationUnit(
+    )
+  {return "pages";}
+
+  @Override
+  public long run(
+    ) throws Exception
+  {
+    long pageCount = 0;
+    for(File file : openSamples())
+    {
+      for(Document pageDocument : new PageManager(file.getDocument()).split())
+      {
+        consume(pageDocument.getFile().getIndirectObjects().size());
+        pageCount++;
+      }
+      file.close();
+    }
+    return pageCount;
+  }
+  // </public>
+  // </interface>
+  // </dynamic>
+  // </class>
+}
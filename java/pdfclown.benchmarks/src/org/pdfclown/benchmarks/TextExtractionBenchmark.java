@@ -0,0 +1,112 @@
+package org.pdfclown.benchmarks;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.pdfclown.documents.Page;
+import org.pdfclown.files.File;
+import org.pdfclown.tools.TextExtractor;
+
+/**
+  This benchmark measures the text extraction from the pages of the sample files.
+  <p>When a thread count is specified, the pages of each file are extracted in parallel (see
+  {@link TextExtractor#extract(Iterable, ExecutorService)}).</p>
+
+  @author Stefano Chizzolini (http://www.stefanochizzolini.it)
+  @since 0.2.0
+  @version 0.2.0, 10/19/26
+*/
+public class TextExtractionBenchmark
+  extends CorpusBenchmark
+{
+  // <class>
+  // <dynamic>
+  // <fields>
+  private ExecutorService executor;
+  private final int threadCount;
+  // </fields>
+
+  // <constructors>
+  /**
+    Creates a sequential extraction benchmark.
+  */
+  public TextExtractionBenchmark(
+    )
+  {this(0);}
+
+  /**
+    @param threadCount Number of extraction threads (0 for sequential extraction).
+  */
+  public TextExtractionBenchmark(
+    int threadCount
+    )
+  {this.threadCount = threadCount;}
+  // </constructors>
+
+  // <interface>
+  // <public>
+  @Override
+  public String getName(
+    )
+  {return threadCount > 0 ? super.getName() + "[" + threadCount + "]" : super.getName();}
+
+  @Override
+  public String getOperationUnit(
+    )
+  {return "pages";}
+
+  @Override
+  public long run(
+    ) throws Exception
+  {
+    long pageCount = 0;
+    TextExtractor extractor = new TextExtractor();
+    for(File file : openSamples())
+    {
+      if(executor != null)
+      {
+        TextExtractor.ExtractionIterator extractionIterator = extractor.extract(file.getDocument().getPages(), executor);
+        while(extractionIterator.hasNext())
+        {
+          consume(extractionIterator.next().size());
+          pageCount++;
+        }
+      }
+      else
+      {
+        for(Page page : file.getDocument().getPages())
+        {
+          consume(extractor.extract(page).size());
+          pageCount++;
+        }
+      }
+      file.close();
+    }
+    return pageCount;
+  }
+
+  @Override
+  public void setUp(
+    ) throws Exception
+  {
+    super.setUp();
+
+    if(threadCount > 0)
+    {executor = Executors.newFixedThreadPool(threadCount);}
+  }
+
+  @Override
+  public void tearDown(
+    ) throws Exception
+  {
+    if(executor != null)
+    {
+      executor.shutdown();
+      executor = null;
+    }
+  }
+  // </public>
+  // </interface>
+  // </dynamic>
+  // </class>
+}
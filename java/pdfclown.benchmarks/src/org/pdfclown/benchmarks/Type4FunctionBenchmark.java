@@ -0,0 +1,109 @@
+package org.pdfclown.benchmarks;
+
+import org.pdfclown.bytes.Buffer;
+import org.pdfclown.documents.functions.Function;
+import org.pdfclown.files.File;
+import org.pdfclown.objects.PdfArray;
+import org.pdfclown.objects.PdfDictionary;
+import org.pdfclown.objects.PdfInteger;
+import org.pdfclown.objects.PdfName;
+import org.pdfclown.objects.PdfReal;
+import org.pdfclown.objects.PdfStream;
+
+/**
+  This benchmark measures the evaluation throughput of a PostScript calculator function
+  (type 4) used as a DeviceN tint transform (2 colorants to CMYK, with a conditional branch).
+
+  @author Stefano Chizzolini (http://www.stefanochizzolini.it)
+  @since 0.2.0
+  @version 0.2.0, 10/19/26
+*/
+public class Type4FunctionBenchmark
+  extends Benchmark
+{
+  // <class>
+  // <static>
+  // <fields>
+  private static final String Program = "{"
+    + " 2 copy add 1 gt"
+    + " { 2 copy add 1 sub }"
+    + " { 0 }"
+    + " ifelse"
+    + " 3 1 roll"
+    + " 0.12 mul exch 0.85 mul exch"
+    + " 2 copy add 0.5 mul"
+    + " 4 -1 roll"
+    + " }";
+
+  /**
+    Number of evaluations per invocation.
+  */
+  private static final int EvaluationCount = 100000;
+  // </fields>
+  // </static>
+
+  // <dynamic>
+  // <fields>
+  private Function<?> function;
+  private double[] inputs = new double[2];
+  private double[] outputs = new double[4];
+  // </fields>
+
+  // <interface>
+  // <public>
+  @Override
+  public String getOperationUnit(
+    )
+  {return "evaluations";}
+
+  @Override
+  public long run(
+    )
+  {
+    double[] inputs = this.inputs, outputs = this.outputs;
+    double sum = 0;
+    for(int index = 0; index < EvaluationCount; index++)
+    {
+      inputs[0] = (index & 0xff) / 255d;
+      inputs[1] = ((index >> 8) & 0xff) / 255d;
+      function.calculate(inputs, outputs);
+      sum += outputs[3];
+    }
+    consume(sum);
+    return EvaluationCount;
+  }
+
+  @Override
+  public void setUp(
+    )
+  {
+    File file = new File();
+
+    PdfDictionary header = new PdfDictionary();
+    header.put(PdfName.FunctionType, PdfInteger.get(4));
+    header.put(PdfName.Domain, newBounds(2));
+    header.put(PdfName.Range, newBounds(4));
+    function = Function.wrap(file.register(new PdfStream(header, new Buffer(Program.getBytes()))));
+    // Compiles the program before measuring.
+    function.calculate(inputs, outputs);
+  }
+  // </public>
+
+  // <private>
+  private PdfArray newBounds(
+    int count
+    )
+  {
+    PdfArray bounds = new PdfArray();
+    for(int index = 0; index < count; index++)
+    {
+      bounds.add(PdfReal.get(0));
+      bounds.add(PdfReal.get(1));
+    }
+    return bounds;
+  }
+  // </private>
+  // </interface>
+  // </dynamic>
+  // </class>
+}
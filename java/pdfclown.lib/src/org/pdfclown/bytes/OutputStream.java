@@ -41,11 +41,17 @@ public final class OutputStream
   implements IOutputStream
 {
   // <class>
+  // <static>
+  // <fields>
+  private static final int ChunkSize = 1 << 16;
+  // </fields>
+  // </static>
+
   // <dynamic>
   // <fields>
   private java.io.OutputStream stream;
 
-  private int length;
+  private long length;
   // </fields>
 
   // <constructors>
@@ -116,14 +122,23 @@ public final class OutputStream
   {
     try
     {
-      // TODO:IMPL bufferize!!!
-      byte[] baseData = new byte[(int)data.getLength()];
+      /*
+        NOTE: Content is copied through a bounded chunk, so that large sources (such as the original
+        file on incremental serialization) aren't replicated in memory.
+      */
+      long sourceLength = data.getLength();
+      byte[] chunk = new byte[(int)Math.min(sourceLength, ChunkSize)];
       // Force the source pointer to the BOF (as we must copy the entire content)!
       data.seek(0);
-      // Read source content!
-      data.read(baseData);
-      // Write target content!
-      write(baseData);
+      for(long remainingLength = sourceLength; remainingLength > 0;)
+      {
+        int chunkLength = (int)Math.min(remainingLength, chunk.length);
+        // Read source content!
+        data.read(chunk, 0, chunkLength);
+        // Write target content!
+        write(chunk, 0, chunkLength);
+        remainingLength -= chunkLength;
+      }
     }
     catch(EOFException e)
     {throw new RuntimeException(e);}
@@ -165,4 +180,4 @@ public final class OutputStream
   // </interface>
   // </dynamic>
   // </class>
-}
\ No newline at end of file
+}
\ No newline at end of file
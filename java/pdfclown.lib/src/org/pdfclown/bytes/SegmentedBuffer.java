@@ -0,0 +1,1108 @@
+/*
+  Copyright 2026 Stefano Chizzolini. http://www.pdfclown.org
+
+  Contributors:
+    * Stefano Chizzolini (original code developer, http://www.stefanochizzolini.it)
+
+  This file should be part of the source code distribution of "PDF Clown library"
+  (the Program): see the accompanying README files for more info.
+
+  This Program is free software; you can redistribute it and/or modify it under the terms
+  of the GNU Lesser General Public License as published by the Free Software Foundation;
+  either version 3 of the License, or (at your option) any later version.
+
+  This Program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY,
+  either expressed or implied; without even the implied warranty of MERCHANTABILITY or
+  FITNESS FOR A PARTICULAR PURPOSE. See the License for more details.
+
+  You should have received a copy of the GNU Lesser General Public License along with this
+  Program (see README files); if not, go to the GNU website (http://www.gnu.org/licenses/).
+
+  Redistribution and use, with or without modification, are permitted provided that such
+  redistributions retain the above copyright notice, license and disclaimer, along with
+  this list of conditions.
+*/
+
+package org.pdfclown.bytes;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.pdfclown.bytes.filters.Filter;
+import org.pdfclown.objects.PdfDictionary;
+import org.pdfclown.tokens.Encoding;
+import org.pdfclown.util.ConvertUtils;
+
+/**
+  Segmented byte buffer.
+  <p>Data are stored in a sequence of segments carved from fixed-size storage blocks, so that:</p>
+  <ul>
+    <li>appending is O(1) (no reallocation nor copy of existing data on growth);</li>
+    <li>insertions and deletions split the affected segments instead of shifting the trailing
+    data;</li>
+    <li>positions are <code>long</code>, so the buffer isn't limited to 2GB (see the
+    <code>long</code>-indexed overloads).</li>
+  </ul>
+  <p>Storage blocks can live on the heap, in direct memory or in a temporary file (see
+  {@link StorageEnum}). Operations requiring contiguous data ({@link #decode(Filter, PdfDictionary)
+  decoding}, {@link #encode(Filter, PdfDictionary) encoding}, {@link #toByteArray() copying to an
+  array}) are still bound to the array size limit.</p>
+
+  @author Stefano Chizzolini (http://www.stefanochizzolini.it)
+  @since 0.2.0
+  @version 0.2.0, 10/19/26
+*/
+public final class SegmentedBuffer
+  implements IBuffer
+{
+  // <class>
+  // <classes>
+  /**
+    Storage kind.
+  */
+  public enum StorageEnum
+  {
+    /**
+      Heap byte arrays.
+    */
+    Heap,
+    /**
+      Direct (off-heap) byte buffers.
+    */
+    Direct,
+    /**
+      Memory-mapped temporary file (deleted on {@link SegmentedBuffer#close() close}).
+    */
+    TempFile
+  }
+
+  /**
+    Contiguous data range within a storage block.
+  */
+  private static final class Segment
+  {
+    /**
+      Storage block.
+    */
+    final ByteBuffer block;
+    /**
+      Segment start within the storage block.
+    */
+    final int offset;
+    /**
+      Maximum segment length (that is, the block room owned by this segment).
+    */
+    int capacity;
+    /**
+      Number of bytes actually used in the segment.
+    */
+    int length;
+
+    Segment(
+      ByteBuffer block,
+      int offset,
+      int capacity
+      )
+    {
+      this.block = block;
+      this.offset = offset;
+      this.capacity = capacity;
+    }
+
+    void get(
+      int index,
+      byte[] data,
+      int offset,
+      int length
+      )
+    {
+      if(block.hasArray())
+      {System.arraycopy(block.array(), block.arrayOffset() + this.offset + index, data, offset, length);}
+      else
+      {
+        ByteBuffer view = block.duplicate();
+        view.position(this.offset + index);
+        view.get(data, offset, length);
+      }
+    }
+
+    void put(
+      int index,
+      byte[] data,
+      int offset,
+      int length
+      )
+    {
+      if(block.hasArray())
+      {System.arraycopy(data, offset, block.array(), block.arrayOffset() + this.offset + index, length);}
+      else
+      {
+        ByteBuffer view = block.duplicate();
+        view.position(this.offset + index);
+        view.put(data, offset, length);
+      }
+    }
+
+    /**
+      Splits this segment at the specified location.
+
+      @return Trailing segment.
+    */
+    Segment split(
+      int index
+      )
+    {
+      Segment tail = new Segment(block, offset + index, capacity - index);
+      tail.length = length - index;
+      capacity = length = index;
+      return tail;
+    }
+  }
+  // </classes>
+
+  // <static>
+  // <fields>
+  /**
+    Default storage block size.
+  */
+  public static final int DefaultSegmentSize = 1 << 16;
+
+  private static final int ChunkSize = 1 << 13;
+  // </fields>
+  // </static>
+
+  // <dynamic>
+  // <fields>
+  private final int segmentSize;
+  private final StorageEnum storage;
+
+  private final List<Segment> segments = new ArrayList<Segment>();
+  /**
+    Segment start locations (valid only if {@link #indexed}).
+  */
+  private long[] segmentStarts = new long[16];
+  private boolean indexed = true;
+  /**
+    Index of the last accessed segment.
+  */
+  private int cursor;
+
+  /**
+    Storage block from which inserted segments are carved.
+  */
+  private ByteBuffer insertBlock;
+  private int insertBlockLength;
+
+  /**
+    Total size of the allocated storage blocks.
+  */
+  private long capacity;
+  /**
+    Number of bytes actually used in the buffer.
+  */
+  private long length;
+  /**
+    Pointer position within the buffer.
+  */
+  private long position;
+
+  private ByteOrder byteOrder = ByteOrder.BIG_ENDIAN;
+
+  private java.io.File tempFile;
+  private FileChannel tempFileChannel;
+  private long tempFileLength;
+
+  private boolean dirty;
+  private List<IListener> listeners;
+  // </fields>
+
+  // <constructors>
+  public SegmentedBuffer(
+    )
+  {this(StorageEnum.Heap);}
+
+  public SegmentedBuffer(
+    StorageEnum storage
+    )
+  {this(DefaultSegmentSize, storage);}
+
+  /**
+    @param segmentSize Storage block size.
+    @param storage Storage kind.
+  */
+  public SegmentedBuffer(
+    int segmentSize,
+    StorageEnum storage
+    )
+  {
+    if(segmentSize < 1)
+      throw new IllegalArgumentException("segmentSize MUST be positive");
+
+    this.segmentSize = segmentSize;
+    this.storage = storage;
+  }
+  // </constructors>
+
+  // <interface>
+  // <public>
+  /**
+    Deletes a byte chunk from the buffer.
+
+    @param index Location at which deletion has to begin.
+    @param length Number of bytes to delete.
+  */
+  public void delete(
+    long index,
+    long length
+    )
+  {
+    checkRange(index, length);
+    if(length == 0)
+      return;
+
+    int startSegmentIndex = split(index);
+    int endSegmentIndex = split(index + length);
+    segments.subList(startSegmentIndex, endSegmentIndex).clear();
+    indexed = false;
+    this.length -= length;
+    notifyChange();
+  }
+
+  /**
+    Gets the byte at a specified location.
+
+    @param index A location in the buffer.
+  */
+  public int getByte(
+    long index
+    )
+  {
+    checkRange(index, 1);
+    int segmentIndex = getSegmentIndex(index);
+    Segment segment = segments.get(segmentIndex);
+    return segment.block.get(segment.offset + (int)(index - segmentStarts[segmentIndex]));
+  }
+
+  /**
+    Gets the byte range beginning at a specified location.
+
+    @param index Location at which the byte range has to begin.
+    @param length Number of bytes to copy.
+  */
+  public byte[] getByteArray(
+    long index,
+    int length
+    )
+  {
+    byte[] data = new byte[length];
+    get(index, data, 0, length);
+    return data;
+  }
+
+  /**
+    Gets the storage kind.
+  */
+  public StorageEnum getStorage(
+    )
+  {return storage;}
+
+  /**
+    Gets the string beginning at a specified location.
+
+    @param index Location at which the string has to begin.
+    @param length Number of bytes to convert.
+  */
+  public String getString(
+    long index,
+    int length
+    )
+  {return Encoding.Pdf.decode(getByteArray(index, length));}
+
+  /**
+    Inserts a byte range into the buffer.
+
+    @param index Location at which the byte range has to be inserted.
+    @param data Byte array from which the byte range has to be copied.
+    @param offset Location in the byte array at which copying begins.
+    @param length Number of bytes to copy.
+  */
+  public void insert(
+    long index,
+    byte[] data,
+    int offset,
+    int length
+    )
+  {
+    checkRange(index, 0);
+    if(index == this.length)
+    {
+      append(data, offset, length);
+      return;
+    }
+    if(length == 0)
+      return;
+
+    int segmentIndex = split(index);
+    while(length > 0)
+    {
+      if(insertBlock == null
+        || insertBlockLength == segmentSize)
+      {
+        insertBlock = allocateBlock();
+        insertBlockLength = 0;
+      }
+
+      int segmentLength = Math.min(length, segmentSize - insertBlockLength);
+      Segment segment = new Segment(insertBlock, insertBlockLength, segmentLength);
+      segment.put(0, data, offset, segmentLength);
+      segment.length = segmentLength;
+      insertBlockLength += segmentLength;
+      segments.add(segmentIndex++, segment);
+
+      offset += segmentLength;
+      length -= segmentLength;
+      this.length += segmentLength;
+    }
+    indexed = false;
+    notifyChange();
+  }
+
+  /**
+    Replaces the buffer contents with a byte range.
+
+    @param index Location at which the byte range has to be copied.
+    @param data Byte array from which the byte range has to be copied.
+    @param offset Location in the byte array at which copying begins.
+    @param length Number of bytes to copy.
+  */
+  public void replace(
+    long index,
+    byte[] data,
+    int offset,
+    int length
+    )
+  {
+    checkRange(index, length);
+    int segmentIndex = getSegmentIndex(index);
+    int segmentPosition = (int)(index - segmentStarts[segmentIndex]);
+    while(length > 0)
+    {
+      Segment segment = segments.get(segmentIndex++);
+      int chunkLength = Math.min(length, segment.length - segmentPosition);
+      segment.put(segmentPosition, data, offset, chunkLength);
+      offset += chunkLength;
+      length -= chunkLength;
+      segmentPosition = 0;
+    }
+    notifyChange();
+  }
+
+  /**
+    Sets the used buffer size.
+    <p>In case of growth, the new trailing bytes are zeroed.</p>
+
+    @param value New length.
+  */
+  public void setLength(
+    long value
+    )
+  {
+    if(value < 0)
+      throw new IllegalArgumentException("Length MUST NOT be negative");
+
+    if(value == 0)
+    {reset();}
+    else if(value < length)
+    {
+      segments.subList(split(value), segments.size()).clear();
+      indexed = false;
+      length = value;
+    }
+    else
+    {
+      byte[] zeros = new byte[(int)Math.min(value - length, ChunkSize)];
+      while(length < value)
+      {append(zeros, 0, (int)Math.min(value - length, zeros.length));}
+    }
+    if(position > length)
+    {position = length;}
+    notifyChange();
+  }
+
+  // <IBuffer>
+  @Override
+  public void addListener(
+    IListener listener
+    )
+  {
+    if(listeners == null)
+    {listeners = new ArrayList<IBuffer.IListener>();}
+
+    listeners.add(listener);
+  }
+
+  @Override
+  public IBuffer append(
+    byte data
+    )
+  {
+    Segment segment = segments.isEmpty() ? null : segments.get(segments.size() - 1);
+    if(segment == null
+      || segment.length == segment.capacity)
+      return append(new byte[]{data}, 0, 1);
+
+    segment.block.put(segment.offset + segment.length++, data);
+    length++;
+    notifyChange();
+    return this;
+  }
+
+  @Override
+  public IBuffer append(
+    byte[] data
+    )
+  {return append(data, 0, data.length);}
+
+  @Override
+  public IBuffer append(
+    byte[] data,
+    int offset,
+    int length
+    )
+  {
+    while(length > 0)
+    {
+      Segment segment = segments.isEmpty() ? null : segments.get(segments.size() - 1);
+      if(segment == null
+        || segment.length == segment.capacity)
+      {
+        segment = new Segment(allocateBlock(), 0, segmentSize);
+        if(indexed)
+        {
+          if(segments.size() == segmentStarts.length)
+          {segmentStarts = Arrays.copyOf(segmentStarts, segmentStarts.length << 1);}
+          segmentStarts[segments.size()] = this.length;
+        }
+        segments.add(segment);
+      }
+
+      int chunkLength = Math.min(length, segment.capacity - segment.length);
+      segment.put(segment.length, data, offset, chunkLength);
+      segment.length += chunkLength;
+      offset += chunkLength;
+      length -= chunkLength;
+      this.length += chunkLength;
+    }
+    notifyChange();
+    return this;
+  }
+
+  @Override
+  public IBuffer append(
+    String data
+    )
+  {return append(Encoding.Pdf.encode(data));}
+
+  @Override
+  public IBuffer append(
+    IInputStream data
+    )
+  {
+    try
+    {
+      // NOTE: Content is copied through a bounded chunk, so that large sources aren't replicated in memory.
+      long sourceLength = data.getLength();
+      byte[] chunk = new byte[(int)Math.min(sourceLength, ChunkSize)];
+      // Force the source pointer to the BOF (as we must copy the entire content)!
+      data.seek(0);
+      for(long remainingLength = sourceLength; remainingLength > 0;)
+      {
+        int chunkLength = (int)Math.min(remainingLength, chunk.length);
+        data.read(chunk, 0, chunkLength);
+        append(chunk, 0, chunkLength);
+        remainingLength -= chunkLength;
+      }
+    }
+    catch(EOFException e)
+    {throw new RuntimeException(e);}
+    return this;
+  }
+
+  @Override
+  public void clear(
+    )
+  {setLength(0);}
+
+  @Override
+  public SegmentedBuffer clone(
+    )
+  {
+    SegmentedBuffer clone = new SegmentedBuffer(segmentSize, storage);
+    clone.byteOrder = byteOrder;
+    writeTo(clone);
+    return clone;
+  }
+
+  @Override
+  public void decode(
+    Filter filter,
+    PdfDictionary parameters
+    )
+  {
+    byte[] data = toByteArray();
+    data = filter.decode(data, 0, data.length, parameters);
+    reset();
+    append(data);
+  }
+
+  @Override
+  public void delete(
+    int index,
+    int length
+    )
+  {delete((long)index, (long)length);}
+
+  @Override
+  public byte[] encode(
+    Filter filter,
+    PdfDictionary parameters
+    )
+  {
+    byte[] data = toByteArray();
+    return filter.encode(data, 0, data.length, parameters);
+  }
+
+  @Override
+  public int getByte(
+    int index
+    )
+  {return getByte((long)index);}
+
+  @Override
+  public byte[] getByteArray(
+    int index,
+    int length
+    )
+  {return getByteArray((long)index, length);}
+
+  @Override
+  public String getString(
+    int index,
+    int length
+    )
+  {return getString((long)index, length);}
+
+  /**
+    {@inheritDoc}
+    <p>As the allocated size may exceed the <code>int</code> range, it's saturated to
+    {@link Integer#MAX_VALUE}.</p>
+  */
+  @Override
+  public int getCapacity(
+    )
+  {return (int)Math.min(capacity, Integer.MAX_VALUE);}
+
+  @Override
+  public void insert(
+    int index,
+    byte[] data
+    )
+  {insert((long)index, data, 0, data.length);}
+
+  @Override
+  public void insert(
+    int index,
+    byte[] data,
+    int offset,
+    int length
+    )
+  {insert((long)index, data, offset, length);}
+
+  @Override
+  public void insert(
+    int index,
+    String data
+    )
+  {insert(index, Encoding.Pdf.encode(data));}
+
+  @Override
+  public void insert(
+    int index,
+    IInputStream data
+    )
+  {insert(index, data.toByteArray());}
+
+  @Override
+  public boolean isDirty(
+    )
+  {return dirty;}
+
+  @Override
+  public boolean removeListener(
+    IListener listener
+    )
+  {
+    if(listeners == null)
+      return false;
+
+    return listeners.remove(listener);
+  }
+
+  @Override
+  public void replace(
+    int index,
+    byte[] data
+    )
+  {replace((long)index, data, 0, data.length);}
+
+  @Override
+  public void replace(
+    int index,
+    byte[] data,
+    int offset,
+    int length
+    )
+  {replace((long)index, data, offset, length);}
+
+  @Override
+  public void replace(
+    int index,
+    String data
+    )
+  {replace(index, Encoding.Pdf.encode(data));}
+
+  @Override
+  public void replace(
+    int index,
+    IInputStream data
+    )
+  {replace(index, data.toByteArray());}
+
+  @Override
+  public void setDirty(
+    boolean value
+    )
+  {dirty = value;}
+
+  @Override
+  public void setLength(
+    int value
+    )
+  {setLength((long)value);}
+
+  @Override
+  public void writeTo(
+    IOutputStream stream
+    )
+  {
+    byte[] chunk = null;
+    for(Segment segment : segments)
+    {
+      if(segment.block.hasArray())
+      {stream.write(segment.block.array(), segment.block.arrayOffset() + segment.offset, segment.length);}
+      else
+      {
+        if(chunk == null)
+        {chunk = new byte[ChunkSize];}
+        for(int index = 0; index < segment.length; index += chunk.length)
+        {
+          int chunkLength = Math.min(chunk.length, segment.length - index);
+          segment.get(index, chunk, 0, chunkLength);
+          stream.write(chunk, 0, chunkLength);
+        }
+      }
+    }
+  }
+
+  // <IInputStream>
+  @Override
+  public ByteOrder getByteOrder(
+    )
+  {return byteOrder;}
+
+  @Override
+  public long getPosition(
+    )
+  {return position;}
+
+  /* int hashCode() uses inherited implementation. */
+
+  @Override
+  public void read(
+    byte[] data
+    ) throws EOFException
+  {read(data, 0, data.length);}
+
+  @Override
+  public void read(
+    byte[] data,
+    int offset,
+    int length
+    ) throws EOFException
+  {
+    if(position + length > this.length)
+      throw new EOFException();
+
+    get(position, data, offset, length);
+    position += length;
+  }
+
+  @Override
+  public byte readByte(
+    ) throws EOFException
+  {
+    if(position >= length)
+      throw new EOFException();
+
+    return (byte)getByte(position++);
+  }
+
+  @Override
+  public int readInt(
+    ) throws EOFException
+  {return readInt(4);}
+
+  @Override
+  public int readInt(
+    int length
+    ) throws EOFException
+  {
+    byte[] data = new byte[length];
+    read(data);
+    return ConvertUtils.byteArrayToNumber(data, 0, length, byteOrder);
+  }
+
+  @Override
+  public String readLine(
+    ) throws EOFException
+  {
+    if(position >= length)
+      throw new EOFException();
+
+    StringBuilder buffer = new StringBuilder();
+    while(position < length)
+    {
+      int c = getByte(position++);
+      if(c == '\r'
+        || c == '\n')
+        break;
+
+      buffer.append((char)c);
+    }
+    return buffer.toString();
+  }
+
+  @Override
+  public short readShort(
+    ) throws EOFException
+  {return (short)readInt(2);}
+
+  @Override
+  public String readString(
+    int length
+    ) throws EOFException
+  {
+    byte[] data = new byte[length];
+    read(data);
+    return Encoding.Pdf.decode(data);
+  }
+
+  @Override
+  public int readUnsignedByte(
+    ) throws EOFException
+  {return readByte() & 0xFF;}
+
+  @Override
+  public int readUnsignedShort(
+    ) throws EOFException
+  {
+    if(byteOrder == ByteOrder.LITTLE_ENDIAN)
+      return readUnsignedByte() | readUnsignedByte() << 8;
+    else // ByteOrder.BIG_ENDIAN
+      return readUnsignedByte() << 8 | readUnsignedByte();
+  }
+
+  @Override
+  public void seek(
+    long position
+    ) throws EOFException
+  {
+    if(position < 0)
+    {position = 0;}
+    else if(position > length)
+    {position = length;}
+
+    this.position = position;
+  }
+
+  @Override
+  public void setByteOrder(
+    ByteOrder value
+    )
+  {byteOrder = value;}
+
+  @Override
+  public void skip(
+    long offset
+    ) throws EOFException
+  {seek(position + offset);}
+
+  // <IDataWrapper>
+  @Override
+  public byte[] toByteArray(
+    )
+  {
+    if(length > Integer.MAX_VALUE)
+      throw new IllegalStateException("Buffer too large to be copied to a byte array (" + length + " bytes)");
+
+    return getByteArray(0L, (int)length);
+  }
+  // </IDataWrapper>
+
+  // <IStream>
+  @Override
+  public long getLength(
+    )
+  {return length;}
+
+  // <Closeable>
+  @Override
+  public void close(
+    ) throws IOException
+  {
+    reset();
+    if(tempFileChannel != null)
+    {
+      tempFileChannel.close();
+      tempFileChannel = null;
+      /*
+        NOTE: Mapped blocks are released on garbage collection only, so deletion may fail on some
+        platforms (the file is anyway marked for deletion on exit).
+      */
+      tempFile.delete();
+      tempFile = null;
+    }
+  }
+  // </Closeable>
+  // </IStream>
+  // </IInputStream>
+  // </IBuffer>
+
+  // <IOutputStream>
+  @Override
+  public void write(
+    byte[] data
+    )
+  {append(data);}
+
+  @Override
+  public void write(
+    byte[] data,
+    int offset,
+    int length
+    )
+  {append(data, offset, length);}
+
+  @Override
+  public void write(
+    String data
+    )
+  {append(data);}
+
+  @Override
+  public void write(
+    IInputStream data
+    )
+  {append(data);}
+  // </IOutputStream>
+  // </public>
+
+  // <protected>
+  @Override
+  protected void finalize(
+    ) throws Throwable
+  {
+    try
+    {close();}
+    finally
+    {super.finalize();}
+  }
+  // </protected>
+
+  // <private>
+  private ByteBuffer allocateBlock(
+    )
+  {
+    ByteBuffer block;
+    switch(storage)
+    {
+      case Heap:
+        block = ByteBuffer.wrap(new byte[segmentSize]);
+        break;
+      case Direct:
+        block = ByteBuffer.allocateDirect(segmentSize);
+        break;
+      case TempFile:
+        try
+        {
+          if(tempFileChannel == null)
+          {
+            tempFile = java.io.File.createTempFile("pdfclown", ".buf");
+            tempFile.deleteOnExit();
+            tempFileChannel = new RandomAccessFile(tempFile, "rw").getChannel();
+          }
+          block = tempFileChannel.map(FileChannel.MapMode.READ_WRITE, tempFileLength, segmentSize);
+          tempFileLength += segmentSize;
+        }
+        catch(IOException e)
+        {throw new RuntimeException(e);}
+        break;
+      default:
+        throw new UnsupportedOperationException();
+    }
+    capacity += segmentSize;
+    return block;
+  }
+
+  private void checkRange(
+    long index,
+    long length
+    )
+  {
+    if(index < 0
+      || length < 0
+      || index + length > this.length)
+      throw new IndexOutOfBoundsException("Range [" + index + ", " + (index + length) + ") out of buffer bounds [0, " + this.length + ")");
+  }
+
+  /**
+    Copies the byte range beginning at the specified location.
+  */
+  private void get(
+    long index,
+    byte[] data,
+    int offset,
+    int length
+    )
+  {
+    checkRange(index, length);
+    if(length == 0)
+      return;
+
+    int segmentIndex = getSegmentIndex(index);
+    int segmentPosition = (int)(index - segmentStarts[segmentIndex]);
+    while(length > 0)
+    {
+      Segment segment = segments.get(segmentIndex++);
+      int chunkLength = Math.min(length, segment.length - segmentPosition);
+      segment.get(segmentPosition, data, offset, chunkLength);
+      offset += chunkLength;
+      length -= chunkLength;
+      segmentPosition = 0;
+    }
+  }
+
+  /**
+    Gets the index of the segment containing the specified location.
+  */
+  private int getSegmentIndex(
+    long index
+    )
+  {
+    if(!indexed)
+    {
+      int segmentCount = segments.size();
+      if(segmentStarts.length < segmentCount)
+      {segmentStarts = new long[Math.max(segmentCount, segmentStarts.length << 1)];}
+      long segmentStart = 0;
+      for(int segmentIndex = 0; segmentIndex < segmentCount; segmentIndex++)
+      {
+        segmentStarts[segmentIndex] = segmentStart;
+        segmentStart += segments.get(segmentIndex).length;
+      }
+      indexed = true;
+    }
+
+    // Sequential access?
+    if(cursor < segments.size()
+      && index >= segmentStarts[cursor])
+    {
+      if(index < segmentStarts[cursor] + segments.get(cursor).length)
+        return cursor;
+      else if(cursor + 1 < segments.size()
+        && index < segmentStarts[cursor + 1] + segments.get(cursor + 1).length)
+        return ++cursor;
+    }
+
+    // Random access.
+    int low = 0, high = segments.size() - 1;
+    while(low < high)
+    {
+      int middle = (low + high + 1) >>> 1;
+      if(segmentStarts[middle] <= index)
+      {low = middle;}
+      else
+      {high = middle - 1;}
+    }
+    return cursor = low;
+  }
+
+  private void notifyChange(
+    )
+  {
+    if(dirty || listeners == null)
+      return;
+
+    dirty = true;
+    for(IListener listener : listeners)
+    {listener.onChange(this);}
+  }
+
+  /**
+    Discards all the data, along with their storage.
+  */
+  private void reset(
+    )
+  {
+    segments.clear();
+    indexed = true;
+    cursor = 0;
+    insertBlock = null;
+    capacity = length = position = 0;
+    // NOTE: Temporary file regions are reused, as their former mappings are no longer referenced.
+    tempFileLength = 0;
+  }
+
+  /**
+    Ensures a segment boundary at the specified location.
+
+    @return Index of the segment beginning at the specified location.
+  */
+  private int split(
+    long index
+    )
+  {
+    if(index == length)
+      return segments.size();
+
+    int segmentIndex = getSegmentIndex(index);
+    int segmentPosition = (int)(index - segmentStarts[segmentIndex]);
+    if(segmentPosition == 0)
+      return segmentIndex;
+
+    segments.add(segmentIndex + 1, segments.get(segmentIndex).split(segmentPosition));
+    indexed = false;
+    return segmentIndex + 1;
+  }
+  // </private>
+  // </interface>
+  // </dynamic>
+  // </class>
+}
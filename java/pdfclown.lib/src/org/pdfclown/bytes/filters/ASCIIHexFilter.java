@@ -0,0 +1,133 @@
+/*
+  Copyright 2026 Stefano Chizzolini. http://www.pdfclown.org
+
+  Contributors:
+    * Stefano Chizzolini (original code developer, http://www.stefanochizzolini.it)
+
+  This file should be part of the source code distribution of "PDF Clown library"
+  (the Program): see the accompanying README files for more info.
+
+  This Program is free software; you can redistribute it and/or modify it under the terms
+  of the GNU Lesser General Public License as published by the Free Software Foundation;
+  either version 3 of the License, or (at your option) any later version.
+
+  This Program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY,
+  either expressed or implied; without even the implied warranty of MERCHANTABILITY or
+  FITNESS FOR A PARTICULAR PURPOSE. See the License for more details.
+
+  You should have received a copy of the GNU Lesser General Public License along with this
+  Program (see README files); if not, go to the GNU website (http://www.gnu.org/licenses/).
+
+  Redistribution and use, with or without modification, are permitted provided that such
+  redistributions retain the above copyright notice, license and disclaimer, along with
+  this list of conditions.
+*/
+
+package org.pdfclown.bytes.filters;
+
+import java.io.ByteArrayOutputStream;
+
+import org.pdfclown.PDF;
+import org.pdfclown.VersionEnum;
+import org.pdfclown.objects.PdfDictionary;
+
+/**
+  ASCII hexadecimal filter [PDF:1.6:3.3.1].
+
+  @author Stefano Chizzolini (http://www.stefanochizzolini.it)
+  @since 0.2.0
+  @version 0.2.0, 10/19/26
+*/
+@PDF(VersionEnum.PDF10)
+public final class ASCIIHexFilter
+  extends Filter
+{
+  // <class>
+  // <static>
+  // <fields>
+  private static final byte[] HexDigits = "0123456789ABCDEF".getBytes();
+
+  /**
+    Maximum line length for encoded data.
+  */
+  private static final int LineLength = 64;
+  // </fields>
+  // </static>
+
+  // <dynamic>
+  // <constructors>
+  ASCIIHexFilter(
+    )
+  {}
+  // </constructors>
+
+  // <interface>
+  // <public>
+  @Override
+  public byte[] decode(
+    byte[] data,
+    int offset,
+    int length,
+    PdfDictionary parameters
+    )
+  {
+    ByteArrayOutputStream stream = new ByteArrayOutputStream(length / 2);
+    int value = -1;
+    for(int index = offset, limit = offset + length; index < limit; index++)
+    {
+      int dataByte = data[index];
+      int digit;
+      if(dataByte >= '0' && dataByte <= '9')
+      {digit = dataByte - '0';}
+      else if(dataByte >= 'A' && dataByte <= 'F')
+      {digit = dataByte - 'A' + 10;}
+      else if(dataByte >= 'a' && dataByte <= 'f')
+      {digit = dataByte - 'a' + 10;}
+      else if(dataByte == '>') // EOD.
+        break;
+      else // Whitespace (or garbage).
+        continue;
+
+      if(value < 0)
+      {value = digit << 4;}
+      else
+      {
+        stream.write(value | digit);
+        value = -1;
+      }
+    }
+    /*
+      NOTE: An odd number of digits behaves as if a trailing 0 followed the last one
+      [PDF:1.6:3.3.1].
+    */
+    if(value >= 0)
+    {stream.write(value);}
+
+    return stream.toByteArray();
+  }
+
+  @Override
+  public byte[] encode(
+    byte[] data,
+    int offset,
+    int length,
+    PdfDictionary parameters
+    )
+  {
+    ByteArrayOutputStream stream = new ByteArrayOutputStream(length * 2 + length / LineLength + 1);
+    for(int index = offset, limit = offset + length; index < limit; index++)
+    {
+      int dataByte = data[index] & 0xff;
+      stream.write(HexDigits[dataByte >> 4]);
+      stream.write(HexDigits[dataByte & 0xf]);
+      if((index - offset + 1) % (LineLength / 2) == 0)
+      {stream.write('\n');}
+    }
+    stream.write('>');
+    return stream.toByteArray();
+  }
+  // </public>
+  // </interface>
+  // </dynamic>
+  // </class>
+}
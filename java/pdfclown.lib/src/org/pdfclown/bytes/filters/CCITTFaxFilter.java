@@ -0,0 +1,486 @@
+/*
+  Copyright 2026 Stefano Chizzolini. http://www.pdfclown.org
+
+  Contributors:
+    * Stefano Chizzolini (original code developer, http://www.stefanochizzolini.it)
+
+  This file should be part of the source code distribution of "PDF Clown library"
+  (the Program): see the accompanying README files for more info.
+
+  This Program is free software; you can redistribute it and/or modify it under the terms
+  of the GNU Lesser General Public License as published by the Free Software Foundation;
+  either version 3 of the License, or (at your option) any later version.
+
+  This Program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY,
+  either expressed or implied; without even the implied warranty of MERCHANTABILITY or
+  FITNESS FOR A PARTICULAR PURPOSE. See the License for more details.
+
+  You should have received a copy of the GNU Lesser General Public License along with this
+  Program (see README files); if not, go to the GNU website (http://www.gnu.org/licenses/).
+
+  Redistribution and use, with or without modification, are permitted provided that such
+  redistributions retain the above copyright notice, license and disclaimer, along with
+  this list of conditions.
+*/
+
+package org.pdfclown.bytes.filters;
+
+import java.io.ByteArrayOutputStream;
+import java.util.Arrays;
+
+import org.pdfclown.PDF;
+import org.pdfclown.VersionEnum;
+import org.pdfclown.objects.PdfBoolean;
+import org.pdfclown.objects.PdfDictionary;
+import org.pdfclown.objects.PdfInteger;
+import org.pdfclown.objects.PdfName;
+import org.pdfclown.util.NotImplementedException;
+
+/**
+  CCITT facsimile filter [PDF:1.6:3.3.5].
+  <p>Decodes Group 3 (one-dimensional and mixed one/two-dimensional) and Group 4 (pure
+  two-dimensional) encodings into 1-bit rows; uncompressed mode extensions aren't supported.
+  Decoding stops at the end-of-block pattern, at the declared number of rows or at the first
+  damaged row (missing rows are left white). Encoding is not supported.</p>
+
+  @author Stefano Chizzolini (http://www.stefanochizzolini.it)
+  @since 0.2.0
+  @version 0.2.0, 10/19/26
+*/
+@PDF(VersionEnum.PDF10)
+public final class CCITTFaxFilter
+  extends Filter
+{
+  // <class>
+  // <types>
+  /**
+    Bit reader.
+  */
+  private static final class BitReader
+  {
+    private final byte[] data;
+    private final long limit;
+    private long position;
+
+    BitReader(
+      byte[] data,
+      int offset,
+      int length
+      )
+    {
+      this.data = data;
+      this.position = offset * 8L;
+      this.limit = (offset + (long)length) * 8;
+    }
+
+    /**
+      Moves to the next byte boundary.
+    */
+    void align(
+      )
+    {position = (position + 7) & ~7L;}
+
+    boolean isEnd(
+      )
+    {return position >= limit;}
+
+    int readBit(
+      )
+    {
+      if(position >= limit)
+      {position++; return 0;}
+
+      int bit = (data[(int)(position >> 3)] >> (7 - (int)(position & 7))) & 1;
+      position++;
+      return bit;
+    }
+
+    /**
+      Reads the next code in the specified table.
+    */
+    int readCode(
+      int[] table
+      )
+    {
+      int key = 1;
+      for(int length = 1; length <= MaxCodeLength; length++)
+      {
+        key = (key << 1) | readBit();
+        int value = table[key];
+        if(value != Undefined)
+          return value;
+      }
+      throw new RuntimeException("Invalid CCITT code at bit " + position);
+    }
+
+    /**
+      Reads a run length of the specified color.
+    */
+    int readRun(
+      boolean white
+      )
+    {
+      int[] table = (white ? WhiteCodes : BlackCodes);
+      int run = 0;
+      while(true)
+      {
+        int value = readCode(table);
+        run += value;
+        if(value < 64) // Terminating code.
+          return run;
+      }
+    }
+
+    /**
+      Consumes the end-of-line pattern (comprising its fill bits), if available at the current
+      position.
+    */
+    boolean skipEOL(
+      )
+    {
+      long start = position;
+      int zeroCount = 0;
+      while(position < limit
+        && readBit() == 0)
+      {zeroCount++;}
+      if(zeroCount >= 11
+        && position <= limit)
+        return true;
+
+      position = start;
+      return false;
+    }
+  }
+  // </types>
+
+  // <static>
+  // <fields>
+  private static final int MaxCodeLength = 13;
+  private static final int Undefined = -1;
+
+  private static final int PassMode = 100;
+  private static final int HorizontalMode = 101;
+  /**
+    Vertical modes are represented by their offset plus this bias.
+  */
+  private static final int VerticalModeBias = 3;
+
+  private static final String[] WhiteTerminatingCodes = {
+    "00110101", "000111", "0111", "1000", "1011", "1100", "1110", "1111",
+    "10011", "10100", "00111", "01000", "001000", "000011", "110100", "110101",
+    "101010", "101011", "0100111", "0001100", "0001000", "0010111", "0000011", "0000100",
+    "0101000", "0101011", "0010011", "0100100", "0011000", "00000010", "00000011", "00011010",
+    "00011011", "00010010", "00010011", "00010100", "00010101", "00010110", "00010111", "00101000",
+    "00101001", "00101010", "00101011", "00101100", "00101101", "00000100", "00000101", "00001010",
+    "00001011", "01010010", "01010011", "01010100", "01010101", "00100100", "00100101", "01011000",
+    "01011001", "01011010", "01011011", "01001010", "01001011", "00110010", "00110011", "00110100"
+    };
+  private static final String[] WhiteMakeupCodes = { // 64 to 1728.
+    "11011", "10010", "010111", "0110111", "00110110", "00110111", "01100100", "01100101",
+    "01101000", "01100111", "011001100", "011001101", "011010010", "011010011", "011010100", "011010101",
+    "011010110", "011010111", "011011000", "011011001", "011011010", "011011011", "010011000", "010011001",
+    "010011010", "011000", "010011011"
+    };
+  private static final String[] BlackTerminatingCodes = {
+    "0000110111", "010", "11", "10", "011", "0011", "0010", "00011",
+    "000101", "000100", "0000100", "0000101", "0000111", "00000100", "00000111", "000011000",
+    "0000010111", "0000011000", "0000001000", "00001100111", "00001101000", "00001101100", "00000110111", "00000101000",
+    "00000010111", "00000011000", "000011001010", "000011001011", "000011001100", "000011001101", "000001101000", "000001101001",
+    "000001101010", "000001101011", "000011010010", "000011010011", "000011010100", "000011010101", "000011010110", "000011010111",
+    "000001101100", "000001101101", "000011011010", "000011011011", "000001010100", "000001010101", "000001010110", "000001010111",
+    "000001100100", "000001100101", "000001010010", "000001010011", "000000100100", "000000110111", "000000111000", "000000100111",
+    "000000101000", "000001011000", "000001011001", "000000101011", "000000101100", "000001011010", "000001100110", "000001100111"
+    };
+  private static final String[] BlackMakeupCodes = { // 64 to 1728.
+    "0000001111", "000011001000", "000011001001", "000001011011", "000000110011", "000000110100", "000000110101", "0000001101100",
+    "0000001101101", "0000001001010", "0000001001011", "0000001001100", "0000001001101", "0000001110010", "0000001110011", "0000001110100",
+    "0000001110101", "0000001110110", "0000001110111", "0000001010010", "0000001010011", "0000001010100", "0000001010101", "0000001011010",
+    "0000001011011", "0000001100100", "0000001100101"
+    };
+  private static final String[] ExtendedMakeupCodes = { // 1792 to 2560 (common to both colors).
+    "00000001000", "00000001100", "00000001101", "000000010010", "000000010011", "000000010100", "000000010101", "000000010110",
+    "000000010111", "000000011100", "000000011101", "000000011110", "000000011111"
+    };
+
+  private static final int[] WhiteCodes;
+  private static final int[] BlackCodes;
+  private static final int[] ModeCodes;
+  // </fields>
+
+  // <constructors>
+  static
+  {
+    WhiteCodes = newTable();
+    putCodes(WhiteCodes, WhiteTerminatingCodes, 0);
+    putCodes(WhiteCodes, WhiteMakeupCodes, 64);
+    putCodes(WhiteCodes, ExtendedMakeupCodes, 1792);
+
+    BlackCodes = newTable();
+    putCodes(BlackCodes, BlackTerminatingCodes, 0);
+    putCodes(BlackCodes, BlackMakeupCodes, 64);
+    putCodes(BlackCodes, ExtendedMakeupCodes, 1792);
+
+    ModeCodes = newTable();
+    putCode(ModeCodes, "0001", PassMode);
+    putCode(ModeCodes, "001", HorizontalMode);
+    putCode(ModeCodes, "1", VerticalModeBias);
+    putCode(ModeCodes, "011", VerticalModeBias + 1);
+    putCode(ModeCodes, "000011", VerticalModeBias + 2);
+    putCode(ModeCodes, "0000011", VerticalModeBias + 3);
+    putCode(ModeCodes, "010", VerticalModeBias - 1);
+    putCode(ModeCodes, "000010", VerticalModeBias - 2);
+    putCode(ModeCodes, "0000010", VerticalModeBias - 3);
+  }
+  // </constructors>
+
+  // <interface>
+  // <private>
+  private static boolean getBoolean(
+    PdfDictionary parameters,
+    PdfName key,
+    boolean defaultValue
+    )
+  {
+    PdfBoolean value = (parameters != null ? (PdfBoolean)parameters.resolve(key) : null);
+    return value != null ? value.getRawValue() : defaultValue;
+  }
+
+  private static int getInteger(
+    PdfDictionary parameters,
+    PdfName key,
+    int defaultValue
+    )
+  {
+    PdfInteger value = (parameters != null ? (PdfInteger)parameters.resolve(key) : null);
+    return value != null ? value.getRawValue() : defaultValue;
+  }
+
+  private static int[] newTable(
+    )
+  {
+    int[] table = new int[1 << (MaxCodeLength + 1)];
+    Arrays.fill(table, Undefined);
+    return table;
+  }
+
+  /**
+    Maps the specified code.
+
+    @param table Code table (codes are keyed by their bits prefixed by a leading 1, to tell their
+      length).
+  */
+  private static void putCode(
+    int[] table,
+    String code,
+    int value
+    )
+  {table[Integer.parseInt("1" + code, 2)] = value;}
+
+  private static void putCodes(
+    int[] table,
+    String[] codes,
+    int baseRun
+    )
+  {
+    int run = baseRun;
+    for(String code : codes)
+    {
+      putCode(table, code, run);
+      run += (baseRun == 0 ? 1 : 64);
+    }
+  }
+  // </private>
+  // </interface>
+  // </static>
+
+  // <dynamic>
+  // <constructors>
+  CCITTFaxFilter(
+    )
+  {}
+  // </constructors>
+
+  // <interface>
+  // <public>
+  @Override
+  public byte[] decode(
+    byte[] data,
+    int offset,
+    int length,
+    PdfDictionary parameters
+    )
+  {
+    int k = getInteger(parameters, PdfName.K, 0);
+    int columns = getInteger(parameters, PdfName.Columns, 1728);
+    int rows = getInteger(parameters, PdfName.Rows, 0);
+    boolean byteAlign = getBoolean(parameters, PdfName.EncodedByteAlign, false);
+    boolean blackIs1 = getBoolean(parameters, PdfName.BlackIs1, false);
+
+    int rowLength = (columns + 7) / 8;
+    ByteArrayOutputStream stream = new ByteArrayOutputStream(rowLength * Math.max(rows, 1));
+    byte[] row = new byte[rowLength];
+    /*
+      NOTE: Rows are represented by the positions of their changing elements (the first one being
+      a white-to-black change), followed by sentinels at the end of the row.
+    */
+    int[] referenceChanges = new int[columns + 6], codingChanges = new int[columns + 6];
+    int referenceChangeCount = 0;
+    referenceChanges[0] = referenceChanges[1] = columns;
+
+    BitReader reader = new BitReader(data, offset, length);
+    int rowCount = 0;
+    while(rows <= 0 || rowCount < rows)
+    {
+      int codingChangeCount;
+      try
+      {
+        /*
+          NOTE: When byte alignment is enabled, end-of-line patterns are padded so that they end on
+          a byte boundary; otherwise, they may be preceded by fill bits.
+        */
+        if(byteAlign)
+        {reader.align();}
+        if(reader.skipEOL()
+          && (k < 0 || reader.skipEOL())) // End of block (EOFB or RTC).
+          break;
+        if(reader.isEnd())
+          break;
+
+        boolean twoDimensional = (k < 0 || (k > 0 && reader.readBit() == 0));
+        codingChangeCount = (twoDimensional
+          ? decode2D(reader, columns, referenceChanges, referenceChangeCount, codingChanges)
+          : decode1D(reader, columns, codingChanges));
+      }
+      catch(RuntimeException e)
+      {break;} // Damaged row: decoding ends.
+
+      // Rasterize the row!
+      Arrays.fill(row, (byte)(blackIs1 ? 0 : 0xff));
+      for(int index = 0; index < codingChangeCount; index += 2)
+      {
+        int start = codingChanges[index];
+        int end = (index + 1 < codingChangeCount ? codingChanges[index + 1] : columns);
+        for(int x = start; x < end; x++)
+        {
+          if(blackIs1)
+          {row[x >> 3] |= (0x80 >> (x & 7));}
+          else
+          {row[x >> 3] &= ~(0x80 >> (x & 7));}
+        }
+      }
+      stream.write(row, 0, rowLength);
+      rowCount++;
+
+      // Swap the reference row!
+      int[] changes = referenceChanges; referenceChanges = codingChanges; codingChanges = changes;
+      referenceChangeCount = codingChangeCount;
+      referenceChanges[referenceChangeCount] = referenceChanges[referenceChangeCount + 1] = columns;
+    }
+
+    // Pad missing rows!
+    if(rowCount < rows)
+    {
+      Arrays.fill(row, (byte)(blackIs1 ? 0 : 0xff));
+      for(; rowCount < rows; rowCount++)
+      {stream.write(row, 0, rowLength);}
+    }
+    return stream.toByteArray();
+  }
+
+  @Override
+  public byte[] encode(
+    byte[] data,
+    int offset,
+    int length,
+    PdfDictionary parameters
+    )
+  {throw new NotImplementedException("CCITTFaxDecode encoding");}
+  // </public>
+
+  // <private>
+  /**
+    Decodes a one-dimensional (modified Huffman) row.
+
+    @return Number of changing elements.
+  */
+  private int decode1D(
+    BitReader reader,
+    int columns,
+    int[] codingChanges
+    )
+  {
+    int count = 0;
+    int a0 = 0;
+    boolean white = true;
+    while(a0 < columns)
+    {
+      if(count > columns + 2)
+        throw new RuntimeException("Damaged CCITT row");
+
+      a0 = Math.min(a0 + reader.readRun(white), columns);
+      codingChanges[count++] = a0;
+      white = !white;
+    }
+    return count;
+  }
+
+  /**
+    Decodes a two-dimensional (modified READ) row.
+
+    @return Number of changing elements.
+  */
+  private int decode2D(
+    BitReader reader,
+    int columns,
+    int[] referenceChanges,
+    int referenceChangeCount,
+    int[] codingChanges
+    )
+  {
+    int referenceLimit = referenceChangeCount + 2; // Comprises the sentinels.
+    int count = 0;
+    int a0 = -1;
+    boolean white = true;
+    int referenceIndex = 0;
+    while(a0 < columns)
+    {
+      if(count > columns + 2)
+        throw new RuntimeException("Damaged CCITT row");
+
+      // Locate b1 (the first changing element on the reference row after a0, of the opposite color)!
+      if(referenceIndex > 0)
+      {referenceIndex--;}
+      while(referenceIndex < referenceLimit
+        && (referenceChanges[referenceIndex] <= a0
+          || (referenceIndex & 1) != (white ? 0 : 1)))
+      {referenceIndex++;}
+      int b1 = (referenceIndex < referenceLimit ? referenceChanges[referenceIndex] : columns);
+      int b2 = (referenceIndex + 1 < referenceLimit ? referenceChanges[referenceIndex + 1] : columns);
+
+      int mode = reader.readCode(ModeCodes);
+      if(mode == PassMode)
+      {a0 = b2;}
+      else if(mode == HorizontalMode)
+      {
+        int start = Math.max(a0, 0);
+        int a1 = Math.min(start + reader.readRun(white), columns);
+        int a2 = Math.min(a1 + reader.readRun(!white), columns);
+        codingChanges[count++] = a1;
+        codingChanges[count++] = a2;
+        a0 = a2;
+      }
+      else // Vertical mode.
+      {
+        int a1 = Math.max(Math.min(b1 + mode - VerticalModeBias, columns), Math.max(a0, 0));
+        codingChanges[count++] = a1;
+        a0 = a1;
+        white = !white;
+      }
+    }
+    return count;
+  }
+  // </private>
+  // </interface>
+  // </dynamic>
+  // </class>
+}
@@ -0,0 +1,231 @@
+/*
+  Copyright 2026 Stefano Chizzolini. http://www.pdfclown.org
+
+  Contributors:
+    * Stefano Chizzolini (original code developer, http://www.stefanochizzolini.it)
+
+  This file should be part of the source code distribution of "PDF Clown library"
+  (the Program): see the accompanying README files for more info.
+
+  This Program is free software; you can redistribute it and/or modify it under the terms
+  of the GNU Lesser General Public License as published by the Free Software Foundation;
+  either version 3 of the License, or (at your option) any later version.
+
+  This Program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY,
+  either expressed or implied; without even the implied warranty of MERCHANTABILITY or
+  FITNESS FOR A PARTICULAR PURPOSE. See the License for more details.
+
+  You should have received a copy of the GNU Lesser General Public License along with this
+  Program (see README files); if not, go to the GNU website (http://www.gnu.org/licenses/).
+
+  Redistribution and use, with or without modification, are permitted provided that such
+  redistributions retain the above copyright notice, license and disclaimer, along with
+  this list of conditions.
+*/
+
+package org.pdfclown.bytes.filters;
+
+import java.awt.image.BufferedImage;
+import java.awt.image.Raster;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.Iterator;
+
+import javax.imageio.IIOException;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+
+import org.pdfclown.PDF;
+import org.pdfclown.VersionEnum;
+import org.pdfclown.objects.PdfDictionary;
+import org.pdfclown.util.NotImplementedException;
+
+/**
+  Discrete cosine transform (JPEG) filter [PDF:1.6:3.3.7].
+  <p>Decoding yields the interleaved 8-bit color components of the image samples, row by row,
+  as expected by image dictionaries. Encoding is not supported.</p>
+
+  @author Stefano Chizzolini (http://www.stefanochizzolini.it)
+  @since 0.2.0
+  @version 0.2.0, 10/19/26
+*/
+@PDF(VersionEnum.PDF12)
+public final class DCTFilter
+  extends Filter
+{
+  // <class>
+  // <static>
+  // <interface>
+  // <private>
+  /**
+    Gets the color transform code declared by the Adobe application segment (APP14) of the
+    specified JPEG data.
+
+    @return <code>-1</code>, if no Adobe segment is available.
+  */
+  private static int getAdobeTransform(
+    byte[] data,
+    int offset,
+    int length
+    )
+  {
+    int index = offset + 2, limit = offset + length;
+    while(index + 4 <= limit
+      && (data[index] & 0xff) == 0xff)
+    {
+      int marker = data[index + 1] & 0xff;
+      if(marker == 0xda) // SOS (entropy-coded data follows).
+        break;
+
+      int segmentLength = ((data[index + 2] & 0xff) << 8) | (data[index + 3] & 0xff);
+      if(marker == 0xee // APP14.
+        && segmentLength >= 12
+        && index + 4 + 11 < limit
+        && data[index + 4] == 'A'
+        && data[index + 5] == 'd'
+        && data[index + 6] == 'o'
+        && data[index + 7] == 'b'
+        && data[index + 8] == 'e')
+        return data[index + 4 + 11] & 0xff;
+
+      index += 2 + segmentLength;
+    }
+    return -1;
+  }
+
+  private static int toByte(
+    double value
+    )
+  {return value <= 0 ? 0 : value >= 255 ? 255 : (int)(value + .5);}
+  // </private>
+  // </interface>
+  // </static>
+
+  // <dynamic>
+  // <constructors>
+  DCTFilter(
+    )
+  {}
+  // </constructors>
+
+  // <interface>
+  // <public>
+  @Override
+  public byte[] decode(
+    byte[] data,
+    int offset,
+    int length,
+    PdfDictionary parameters
+    )
+  {
+    try
+    {
+      ImageInputStream input = ImageIO.createImageInputStream(new ByteArrayInputStream(data, offset, length));
+      try
+      {
+        Iterator<ImageReader> readers = ImageIO.getImageReadersByFormatName("jpeg");
+        if(!readers.hasNext())
+          throw new NotImplementedException("DCTDecode (no JPEG reader available)");
+
+        ImageReader reader = readers.next();
+        try
+        {
+          reader.setInput(input);
+          try
+          {
+            BufferedImage image = reader.read(0);
+            return image.getRaster().getNumBands() == 1
+              ? toSamples(image.getRaster())
+              : toSamples(image);
+          }
+          catch(IIOException e)
+          {
+            /*
+              NOTE: CMYK and YCCK images aren't supported by the color-converting read, so their
+              raw components are decoded.
+            */
+            Raster raster = reader.readRaster(0, null);
+            byte[] samples = toSamples(raster);
+            if(raster.getNumBands() == 4
+              && getAdobeTransform(data, offset, length) == 2) // YCCK.
+            {
+              for(int index = 0; index < samples.length; index += 4)
+              {
+                double y = samples[index] & 0xff, cb = (samples[index + 1] & 0xff) - 128, cr = (samples[index + 2] & 0xff) - 128;
+                samples[index] = (byte)(255 - toByte(y + 1.402 * cr));
+                samples[index + 1] = (byte)(255 - toByte(y - .344136 * cb - .714136 * cr));
+                samples[index + 2] = (byte)(255 - toByte(y + 1.772 * cb));
+              }
+            }
+            return samples;
+          }
+        }
+        finally
+        {reader.dispose();}
+      }
+      finally
+      {input.close();}
+    }
+    catch(IOException e)
+    {throw new RuntimeException(e);}
+  }
+
+  @Override
+  public byte[] encode(
+    byte[] data,
+    int offset,
+    int length,
+    PdfDictionary parameters
+    )
+  {throw new NotImplementedException("DCTDecode encoding");}
+  // </public>
+
+  // <private>
+  /**
+    Gets the RGB samples of the specified image.
+  */
+  private byte[] toSamples(
+    BufferedImage image
+    )
+  {
+    int width = image.getWidth(), height = image.getHeight();
+    byte[] samples = new byte[width * height * 3];
+    int[] row = new int[width];
+    for(int y = 0, index = 0; y < height; y++)
+    {
+      image.getRGB(0, y, width, 1, row, 0, width);
+      for(int x = 0; x < width; x++)
+      {
+        int rgb = row[x];
+        samples[index++] = (byte)(rgb >> 16);
+        samples[index++] = (byte)(rgb >> 8);
+        samples[index++] = (byte)rgb;
+      }
+    }
+    return samples;
+  }
+
+  /**
+    Gets the raw samples of the specified raster.
+  */
+  private byte[] toSamples(
+    Raster raster
+    )
+  {
+    int width = raster.getWidth(), height = raster.getHeight(), bandCount = raster.getNumBands();
+    byte[] samples = new byte[width * height * bandCount];
+    int[] row = new int[width * bandCount];
+    for(int y = 0, index = 0; y < height; y++)
+    {
+      raster.getPixels(raster.getMinX(), raster.getMinY() + y, width, 1, row);
+      for(int rowIndex = 0; rowIndex < row.length; rowIndex++)
+      {samples[index++] = (byte)row[rowIndex];}
+    }
+    return samples;
+  }
+  // </private>
+  // </interface>
+  // </dynamic>
+  // </class>
+}
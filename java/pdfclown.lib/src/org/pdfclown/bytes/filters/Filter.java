@@ -45,7 +45,12 @@ public abstract class Filter
   // <static>
   // <fields>
   private static final Filter ASCII85Filter = new ASCII85Filter();
+  private static final Filter ASCIIHexDecode = new ASCIIHexFilter();
+  private static final Filter CCITTFaxDecode = new CCITTFaxFilter();
+  private static final Filter DCTDecode = new DCTFilter();
   private static final Filter FlateDecode = new FlateFilter();
+  private static final Filter LZWDecode = new LZWFilter();
+  private static final Filter RunLengthDecode = new RunLengthFilter();
   // </fields>
 
   // <interface>
@@ -71,24 +76,24 @@ public abstract class Filter
       return FlateDecode;
     else if(name.equals(PdfName.LZWDecode)
       || name.equals(PdfName.LZW))
-      throw new NotImplementedException("LZWDecode");
+      return LZWDecode;
     else if(name.equals(PdfName.ASCIIHexDecode)
       || name.equals(PdfName.AHx))
-      throw new NotImplementedException("ASCIIHexDecode");
+      return ASCIIHexDecode;
     else if(name.equals(PdfName.ASCII85Decode)
       || name.equals(PdfName.A85))
       return ASCII85Filter;
     else if(name.equals(PdfName.RunLengthDecode)
       || name.equals(PdfName.RL))
-      throw new NotImplementedException("RunLengthDecode");
+      return RunLengthDecode;
     else if(name.equals(PdfName.CCITTFaxDecode)
       || name.equals(PdfName.CCF))
-      throw new NotImplementedException("CCITTFaxDecode");
+      return CCITTFaxDecode;
     else if(name.equals(PdfName.JBIG2Decode))
       throw new NotImplementedException("JBIG2Decode");
     else if(name.equals(PdfName.DCTDecode)
       || name.equals(PdfName.DCT))
-      throw new NotImplementedException("DCTDecode");
+      return DCTDecode;
     else if(name.equals(PdfName.JPXDecode))
       throw new NotImplementedException("JPXDecode");
     else if(name.equals(PdfName.Crypt))
@@ -126,4 +131,4 @@ public abstract class Filter
   // </interface>
   // </dynamic>
   // </class>
-}
\ No newline at end of file
+}
\ No newline at end of file
@@ -109,7 +109,7 @@ public final class FlateFilter
   // </public>
 
   // <private>
-  private byte[] decodePredictor(
+  static byte[] decodePredictor(
     byte[] data,
     PdfDictionary parameters
     ) throws IOException
@@ -147,8 +147,8 @@ public final class FlateFilter
       }
       default: // PNG Predictors [RFC 2083] (byte-based).
       {
-        int sampleBytesCount = (int)Math.ceil(sampleComponentBitsCount * sampleComponentsCount / 8); // Number of bytes per pixel (bpp).
-        int rowSampleBytesCount = (int)Math.ceil(sampleComponentBitsCount * sampleComponentsCount * rowSamplesCount / 8) + sampleBytesCount; // Number of bytes per row (comprising a leading upper-left sample (see Paeth method)).
+        int sampleBytesCount = Math.max((sampleComponentBitsCount * sampleComponentsCount + 7) / 8, 1); // Number of bytes per pixel (bpp; sub-byte samples are rounded up to 1).
+        int rowSampleBytesCount = (sampleComponentBitsCount * sampleComponentsCount * rowSamplesCount + 7) / 8 + sampleBytesCount; // Number of bytes per row (comprising a leading upper-left sample (see Paeth method)).
         int[] previousRowBytePredictions = new int[rowSampleBytesCount];
         int[] currentRowBytePredictions = new int[rowSampleBytesCount];
         int[] leftBytePredictions = new int[sampleBytesCount];
@@ -233,4 +233,4 @@ public final class FlateFilter
   // </interface>
   // </dynamic>
   // </class>
-}
\ No newline at end of file
+}
\ No newline at end of file
@@ -0,0 +1,167 @@
+/*
+  Copyright 2026 Stefano Chizzolini. http://www.pdfclown.org
+
+  Contributors:
+    * Stefano Chizzolini (original code developer, http://www.stefanochizzolini.it)
+
+  This file should be part of the source code distribution of "PDF Clown library"
+  (the Program): see the accompanying README files for more info.
+
+  This Program is free software; you can redistribute it and/or modify it under the terms
+  of the GNU Lesser General Public License as published by the Free Software Foundation;
+  either version 3 of the License, or (at your option) any later version.
+
+  This Program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY,
+  either expressed or implied; without even the implied warranty of MERCHANTABILITY or
+  FITNESS FOR A PARTICULAR PURPOSE. See the License for more details.
+
+  You should have received a copy of the GNU Lesser General Public License along with this
+  Program (see README files); if not, go to the GNU website (http://www.gnu.org/licenses/).
+
+  Redistribution and use, with or without modification, are permitted provided that such
+  redistributions retain the above copyright notice, license and disclaimer, along with
+  this list of conditions.
+*/
+
+package org.pdfclown.bytes.filters;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+import org.pdfclown.PDF;
+import org.pdfclown.VersionEnum;
+import org.pdfclown.objects.PdfDictionary;
+import org.pdfclown.objects.PdfInteger;
+import org.pdfclown.objects.PdfName;
+import org.pdfclown.util.NotImplementedException;
+
+/**
+  Lempel-Ziv-Welch filter [PDF:1.6:3.3.3].
+
+  @author Stefano Chizzolini (http://www.stefanochizzolini.it)
+  @since 0.2.0
+  @version 0.2.0, 10/19/26
+*/
+@PDF(VersionEnum.PDF10)
+public final class LZWFilter
+  extends Filter
+{
+  // <class>
+  // <static>
+  // <fields>
+  private static final int ClearTableCode = 256;
+  private static final int EODCode = 257;
+  private static final int MaxCodeLength = 12;
+  // </fields>
+  // </static>
+
+  // <dynamic>
+  // <constructors>
+  LZWFilter(
+    )
+  {}
+  // </constructors>
+
+  // <interface>
+  // <public>
+  @Override
+  public byte[] decode(
+    byte[] data,
+    int offset,
+    int length,
+    PdfDictionary parameters
+    )
+  {
+    int earlyChange = (parameters != null && parameters.containsKey(PdfName.EarlyChange) ? ((PdfInteger)parameters.get(PdfName.EarlyChange)).getRawValue() : 1);
+
+    // Code table (each entry is its prefix entry plus a trailing byte).
+    int tableSize = 1 << MaxCodeLength;
+    int[] prefixes = new int[tableSize];
+    byte[] suffixes = new byte[tableSize];
+    int[] lengths = new int[tableSize];
+    for(int code = 0; code < 256; code++)
+    {
+      suffixes[code] = (byte)code;
+      lengths[code] = 1;
+    }
+    byte[] sequence = new byte[tableSize];
+
+    ByteArrayOutputStream stream = new ByteArrayOutputStream(length * 3);
+    int nextCode = EODCode + 1, codeLength = 9, previousCode = -1;
+    int bitBuffer = 0, bitCount = 0;
+    int index = offset, limit = offset + length;
+    while(true)
+    {
+      // Read the next code!
+      while(bitCount < codeLength && index < limit)
+      {
+        bitBuffer = (bitBuffer << 8) | (data[index++] & 0xff);
+        bitCount += 8;
+      }
+      if(bitCount < codeLength)
+        break;
+
+      bitCount -= codeLength;
+      int code = (bitBuffer >>> bitCount) & ((1 << codeLength) - 1);
+      if(code == EODCode)
+        break;
+      else if(code == ClearTableCode)
+      {
+        nextCode = EODCode + 1;
+        codeLength = 9;
+        previousCode = -1;
+        continue;
+      }
+
+      // Expand the code!
+      int sequenceLength;
+      if(code < nextCode)
+      {sequenceLength = lengths[code];}
+      else if(code == nextCode && previousCode >= 0) // KwKwK case.
+      {sequenceLength = lengths[previousCode] + 1;}
+      else
+        throw new RuntimeException("Invalid LZW code: " + code);
+
+      int entry = (code < nextCode ? code : previousCode);
+      for(int sequenceIndex = lengths[entry]; sequenceIndex > 0;)
+      {
+        sequence[--sequenceIndex] = suffixes[entry];
+        entry = prefixes[entry];
+      }
+      if(code == nextCode)
+      {sequence[sequenceLength - 1] = sequence[0];}
+      stream.write(sequence, 0, sequenceLength);
+
+      // Add the new table entry!
+      if(previousCode >= 0 && nextCode < tableSize)
+      {
+        prefixes[nextCode] = previousCode;
+        suffixes[nextCode] = sequence[0];
+        lengths[nextCode] = lengths[previousCode] + 1;
+        nextCode++;
+        if(nextCode + earlyChange >= (1 << codeLength)
+          && codeLength < MaxCodeLength)
+        {codeLength++;}
+      }
+      previousCode = code;
+    }
+
+    try
+    {return FlateFilter.decodePredictor(stream.toByteArray(), parameters);}
+    catch(IOException e)
+    {throw new RuntimeException(e);}
+  }
+
+  @Override
+  public byte[] encode(
+    byte[] data,
+    int offset,
+    int length,
+    PdfDictionary parameters
+    )
+  {throw new NotImplementedException("LZWDecode encoding");}
+  // </public>
+  // </interface>
+  // </dynamic>
+  // </class>
+}
@@ -0,0 +1,139 @@
+/*
+  Copyright 2026 Stefano Chizzolini. http://www.pdfclown.org
+
+  Contributors:
+    * Stefano Chizzolini (original code developer, http://www.stefanochizzolini.it)
+
+  This file should be part of the source code distribution of "PDF Clown library"
+  (the Program): see the accompanying README files for more info.
+
+  This Program is free software; you can redistribute it and/or modify it under the terms
+  of the GNU Lesser General Public License as published by the Free Software Foundation;
+  either version 3 of the License, or (at your option) any later version.
+
+  This Program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY,
+  either expressed or implied; without even the implied warranty of MERCHANTABILITY or
+  FITNESS FOR A PARTICULAR PURPOSE. See the License for more details.
+
+  You should have received a copy of the GNU Lesser General Public License along with this
+  Program (see README files); if not, go to the GNU website (http://www.gnu.org/licenses/).
+
+  Redistribution and use, with or without modification, are permitted provided that such
+  redistributions retain the above copyright notice, license and disclaimer, along with
+  this list of conditions.
+*/
+
+package org.pdfclown.bytes.filters;
+
+import java.io.ByteArrayOutputStream;
+
+import org.pdfclown.PDF;
+import org.pdfclown.VersionEnum;
+import org.pdfclown.objects.PdfDictionary;
+
+/**
+  Run-length filter [PDF:1.6:3.3.4].
+
+  @author Stefano Chizzolini (http://www.stefanochizzolini.it)
+  @since 0.2.0
+  @version 0.2.0, 10/19/26
+*/
+@PDF(VersionEnum.PDF10)
+public final class RunLengthFilter
+  extends Filter
+{
+  // <class>
+  // <static>
+  // <fields>
+  private static final int EOD = 128;
+  /**
+    Maximum run length.
+  */
+  private static final int MaxRunLength = 128;
+  // </fields>
+  // </static>
+
+  // <dynamic>
+  // <constructors>
+  RunLengthFilter(
+    )
+  {}
+  // </constructors>
+
+  // <interface>
+  // <public>
+  @Override
+  public byte[] decode(
+    byte[] data,
+    int offset,
+    int length,
+    PdfDictionary parameters
+    )
+  {
+    ByteArrayOutputStream stream = new ByteArrayOutputStream(length * 2);
+    int index = offset, limit = offset + length;
+    while(index < limit)
+    {
+      int runLength = data[index++] & 0xff;
+      if(runLength == EOD)
+        break;
+      else if(runLength < EOD) // Literal run.
+      {
+        int count = Math.min(runLength + 1, limit - index);
+        stream.write(data, index, count);
+        index += count;
+      }
+      else if(index < limit) // Replicate run.
+      {
+        int value = data[index++];
+        for(int count = 257 - runLength; count > 0; count--)
+        {stream.write(value);}
+      }
+    }
+    return stream.toByteArray();
+  }
+
+  @Override
+  public byte[] encode(
+    byte[] data,
+    int offset,
+    int length,
+    PdfDictionary parameters
+    )
+  {
+    ByteArrayOutputStream stream = new ByteArrayOutputStream(length + length / MaxRunLength + 2);
+    int index = offset, limit = offset + length;
+    while(index < limit)
+    {
+      // Replicate run?
+      int runEnd = index + 1;
+      while(runEnd < limit
+        && runEnd - index < MaxRunLength
+        && data[runEnd] == data[index])
+      {runEnd++;}
+      if(runEnd - index > 1)
+      {
+        stream.write(257 - (runEnd - index));
+        stream.write(data[index]);
+        index = runEnd;
+        continue;
+      }
+
+      // Literal run (up to the next pair of repeated bytes).
+      int literalEnd = index + 1;
+      while(literalEnd < limit
+        && literalEnd - index < MaxRunLength
+        && (literalEnd + 1 >= limit || data[literalEnd] != data[literalEnd + 1]))
+      {literalEnd++;}
+      stream.write(literalEnd - index - 1);
+      stream.write(data, index, literalEnd - index);
+      index = literalEnd;
+    }
+    stream.write(EOD);
+    return stream.toByteArray();
+  }
+  // </public>
+  // </interface>
+  // </dynamic>
+  // </class>
+}
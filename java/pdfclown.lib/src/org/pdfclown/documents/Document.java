@@ -100,6 +100,7 @@ public final class Document
   public java.util.Hashtable<PdfReference,Object> cache = new java.util.Hashtable<PdfReference,Object>();
 
   private DocumentConfiguration configuration = new DocumentConfiguration(this);
+  private Pages pages;
   // </fields>
 
   // <constructors>
@@ -248,7 +249,16 @@ public final class Document
   */
   public Pages getPages(
     )
-  {return new Pages(getBaseDataObject().get(PdfName.Pages));}
+  {
+    /*
+      NOTE: The page collection is reused, so that its page index is preserved across calls.
+    */
+    PdfDirectObject pagesObject = getBaseDataObject().get(PdfName.Pages);
+    if(pages == null
+      || pages.getBaseObject() != pagesObject)
+    {pages = new Pages(pagesObject);}
+    return pages;
+  }
 
   /**
     Gets the default page size [PDF:1.6:3.6.2].
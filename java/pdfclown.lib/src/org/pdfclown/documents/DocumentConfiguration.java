@@ -30,6 +30,7 @@ import java.io.FileNotFoundException;
 import java.util.HashMap;
 import java.util.Map;
 
+import org.pdfclown.documents.contents.fonts.CompositeFont;
 import org.pdfclown.documents.contents.xObjects.FormXObject;
 import org.pdfclown.documents.contents.xObjects.XObject;
 import org.pdfclown.documents.interaction.annotations.Stamp;
@@ -51,6 +52,8 @@ public final class DocumentConfiguration
   // <fields>
   private CompatibilityModeEnum compatibilityMode = CompatibilityModeEnum.Loose;
   private EncodingFallbackEnum encodingFallback = EncodingFallbackEnum.Substitution;
+  private boolean fontSubsettingEnabled = true;
+  private int pageTreeFanOut = 32;
   private java.io.File stampPath;
 
   private final Document document;
@@ -88,6 +91,30 @@ public final class DocumentConfiguration
     )
   {return encodingFallback;}
 
+  /**
+    Gets whether embedded fonts are {@link CompositeFont#subset() subset} to the glyphs actually
+    used on serialization.
+    <p>Subsetting should be disabled in case the embedded fonts are expected to render text not
+    available at serialization time (for example, text typed in form fields whose default
+    resources point to such fonts).</p>
+
+    @since 0.2.0
+  */
+  public boolean isFontSubsettingEnabled(
+    )
+  {return fontSubsettingEnabled;}
+
+  /**
+    Gets the maximum number of kids of each page tree node [PDF:1.6:3.6.2].
+    <p>The page tree is kept balanced within this fan-out as pages are added or removed (see
+    {@link Pages#rebalance()}), so that page insertion and lookup stay logarithmic.</p>
+
+    @since 0.2.0
+  */
+  public int getPageTreeFanOut(
+    )
+  {return pageTreeFanOut;}
+
   /**
     Gets the stamp appearance corresponding to the specified stamp type.
     <p>The stamp appearance is retrieved from the {@link #getStampPath() standard stamps 
@@ -209,6 +236,29 @@ public final class DocumentConfiguration
     )
   {encodingFallback = value;}
 
+  /**
+    @see #isFontSubsettingEnabled()
+    @since 0.2.0
+  */
+  public void setFontSubsettingEnabled(
+    boolean value
+    )
+  {fontSubsettingEnabled = value;}
+
+  /**
+    @see #getPageTreeFanOut()
+    @since 0.2.0
+  */
+  public void setPageTreeFanOut(
+    int value
+    )
+  {
+    if(value < 2)
+      throw new IllegalArgumentException("Page tree fan-out MUST be at least 2.");
+
+    pageTreeFanOut = value;
+  }
+
   /**
     @see #getStampPath()
   */
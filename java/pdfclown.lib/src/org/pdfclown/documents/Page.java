@@ -56,12 +56,10 @@ import org.pdfclown.objects.PdfDataObject;
 import org.pdfclown.objects.PdfDate;
 import org.pdfclown.objects.PdfDictionary;
 import org.pdfclown.objects.PdfDirectObject;
-import org.pdfclown.objects.PdfInteger;
 import org.pdfclown.objects.PdfName;
 import org.pdfclown.objects.PdfNumber;
 import org.pdfclown.objects.PdfObjectWrapper;
 import org.pdfclown.objects.PdfReal;
-import org.pdfclown.objects.PdfReference;
 import org.pdfclown.objects.PdfSimpleObject;
 import org.pdfclown.objects.PdfStream;
 import org.pdfclown.objects.Rectangle;
@@ -364,55 +362,12 @@ public final class Page
 
   /**
     Gets the index of this page.
+
+    @return <code>-1</code>, in case this page is not part of the document's page tree.
   */
   public int getIndex(
     )
-  {
-    /*
-      NOTE: We'll scan sequentially each page-tree level above this page object
-      collecting page counts. At each level we'll scan the kids array from the
-      lower-indexed item to the ancestor of this page object at that level.
-    */
-    PdfReference ancestorKidReference = (PdfReference)getBaseObject();
-    PdfReference parentReference = (PdfReference)getBaseDataObject().get(PdfName.Parent);
-    PdfDictionary parent = (PdfDictionary)parentReference.getDataObject();
-    PdfArray kids = (PdfArray)parent.resolve(PdfName.Kids);
-    int index = 0;
-    for(
-      int i = 0;
-      true;
-      i++
-      )
-    {
-      PdfReference kidReference = (PdfReference)kids.get(i);
-      // Is the current-level counting complete?
-      // NOTE: It's complete when it reaches the ancestor at the current level.
-      if(kidReference.equals(ancestorKidReference)) // Ancestor node.
-      {
-        // Does the current level correspond to the page-tree root node?
-        if(!parent.containsKey(PdfName.Parent))
-        {
-          // We reached the top: counting's finished.
-          return index;
-        }
-        // Set the ancestor at the next level!
-        ancestorKidReference = parentReference;
-        // Move up one level!
-        parentReference = (PdfReference)parent.get(PdfName.Parent);
-        parent = (PdfDictionary)parentReference.getDataObject();
-        kids = (PdfArray)parent.resolve(PdfName.Kids);
-        i = -1;
-      }
-      else // Intermediate node.
-      {
-        PdfDictionary kid = (PdfDictionary)kidReference.getDataObject();
-        if(kid.get(PdfName.Type).equals(PdfName.Page))
-          index++;
-        else
-          index += ((PdfInteger)kid.get(PdfName.Count)).getRawValue();
-      }
-    }
-  }
+  {return getDocument().getPages().indexOf(this);}
   
   /**
     Gets the page number.
@@ -711,4 +666,4 @@ public final class Page
   // </private>
   // </interface>
   // </dynamic>
-}
\ No newline at end of file
+}
\ No newline at end of file
@@ -28,9 +28,11 @@ package org.pdfclown.documents;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.ListIterator;
+import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Stack;
 
@@ -41,7 +43,6 @@ import org.pdfclown.objects.PdfDictionary;
 import org.pdfclown.objects.PdfDirectObject;
 import org.pdfclown.objects.PdfInteger;
 import org.pdfclown.objects.PdfName;
-import org.pdfclown.objects.PdfObject;
 import org.pdfclown.objects.PdfObjectWrapper;
 import org.pdfclown.objects.PdfReference;
 import org.pdfclown.util.NotImplementedException;
@@ -58,12 +59,27 @@ public final class Pages
   implements List<Page>
 {
   /*
-    TODO:IMPL A B-tree algorithm should be implemented to optimize the inner layout
-    of the page tree (better insertion/deletion performance). In this case, it would
-    be necessary to keep track of the modified tree nodes for incremental update.
+    NOTE: The page tree is kept balanced like a B-tree: each node holds up to the configured fan-out
+    of kids (see DocumentConfiguration.getPageTreeFanOut()), nodes exceeding it are split and empty
+    nodes are pruned, so that insertion and lookup cost is logarithmic.
   */
   // <class>
   // <dynamic>
+  // <fields>
+  /*
+    NOTE: The page index is built lazily on random access and validated against the page count; it
+    is patched on append and invalidated on any other change applied through this collection.
+  */
+  /**
+    Page indexes by object number.
+  */
+  private Map<Integer,Integer> pageIndexes;
+  /**
+    Page references by index.
+  */
+  private List<PdfReference> pageReferences;
+  // </fields>
+
   // <constructors>
   Pages(
     Document context
@@ -102,6 +118,58 @@ public final class Pages
     )
   {return (Pages)super.clone(context);}
 
+  /**
+    Rebuilds the page tree as a balanced tree whose nodes hold up to the {@link
+    DocumentConfiguration#getPageTreeFanOut() configured fan-out} of kids.
+    <p>This is useful to optimize imported page trees (for example, flat ones, whose root node
+    holds all the pages). Attributes inherited from the discarded intermediate nodes are copied
+    into the respective pages.</p>
+
+    @since 0.2.0
+  */
+  public void rebalance(
+    )
+  {
+    PdfDictionary root = getBaseDataObject();
+
+    // 1. Collect the pages along with the intermediate nodes to discard.
+    List<PdfDirectObject> kids = new ArrayList<PdfDirectObject>(size());
+    List<PdfReference> oldNodes = new ArrayList<PdfReference>();
+    collect(root, null, kids, oldNodes);
+
+    // 2. Build the balanced tree, level by level, bottom-up.
+    int fanOut = getDocument().getConfiguration().getPageTreeFanOut();
+    while(kids.size() > fanOut)
+    {
+      int nodeCount = (kids.size() + fanOut - 1) / fanOut;
+      List<PdfDirectObject> nodes = new ArrayList<PdfDirectObject>(nodeCount);
+      for(int nodeIndex = 0; nodeIndex < nodeCount; nodeIndex++)
+      {
+        // Distribute the kids evenly!
+        nodes.add(
+          createNode(
+            kids.subList(
+              (int)((long)kids.size() * nodeIndex / nodeCount),
+              (int)((long)kids.size() * (nodeIndex + 1) / nodeCount)
+              )
+            )
+          );
+      }
+      kids = nodes;
+    }
+    PdfArray rootKids = (PdfArray)root.resolve(PdfName.Kids);
+    rootKids.clear();
+    for(PdfDirectObject kid : kids)
+    {
+      rootKids.add(kid);
+      ((PdfDictionary)kid.resolve()).put(PdfName.Parent, root.getReference());
+    }
+
+    // 3. Discard the old intermediate nodes.
+    for(PdfReference oldNode : oldNodes)
+    {getFile().unregister(oldNode);}
+  }
+
   // <List>
   @Override
   public void add(
@@ -122,63 +190,24 @@ public final class Pages
     int index
     )
   {
-    /*
-      NOTE: As stated in [PDF:1.6:3.6.2], to retrieve pages is a matter of diving
-      inside a B-tree. To keep it as efficient as possible, this implementation
-      does NOT adopt recursion to deepen its search, opting for an iterative strategy
-      instead.
-    */
-    int pageOffset = 0;
-    PdfDictionary parent = getBaseDataObject();
-    PdfArray kids = (PdfArray)parent.resolve(PdfName.Kids);
-    for(
-      int i = 0;
-      i < kids.size();
-      i++
-      )
-    {
-      PdfReference kidReference = (PdfReference)kids.get(i);
-      PdfDictionary kid = (PdfDictionary)kidReference.getDataObject();
-      // Is current kid a page object?
-      if(kid.get(PdfName.Type).equals(PdfName.Page)) // Page object.
-      {
-        // Did we reach the searched position?
-        if(pageOffset == index) // Vertical scan (we finished).
-        {
-          // We got it!
-          return Page.wrap(kidReference);
-        }
-        else // Horizontal scan (go past).
-        {
-          // Cumulate current page object count!
-          pageOffset++;
-        }
-      }
-      else // Page tree node.
-      {
-        // Does the current subtree contain the searched page?
-        if(((PdfInteger)kid.get(PdfName.Count)).getRawValue() + pageOffset > index) // Vertical scan (deepen the search).
-        {
-          // Go down one level!
-          parent = kid;
-          kids = (PdfArray)parent.resolve(PdfName.Kids);
-          i = -1;
-        }
-        else // Horizontal scan (go past).
-        {
-          // Cumulate current subtree count!
-          pageOffset += ((PdfInteger)kid.get(PdfName.Count)).getRawValue();
-        }
-      }
-    }
-    return null;
+    List<PdfReference> pageReferences = getPageReferences();
+    return index >= 0 && index < pageReferences.size() ? Page.wrap(pageReferences.get(index)) : null;
   }
 
   @Override
   public int indexOf(
     Object page
     )
-  {return ((Page)page).getIndex();}
+  {
+    PdfDirectObject pageObject = ((Page)page).getBaseObject();
+    if(!(pageObject instanceof PdfReference)
+      || pageObject.getFile() != getFile())
+      return -1;
+
+    getPageReferences();
+    Integer index = pageIndexes.get(((PdfReference)pageObject).getObjectNumber());
+    return index != null ? index : -1;
+  }
 
   @Override
   public int lastIndexOf(
@@ -207,7 +236,7 @@ public final class Pages
     int index
     )
   {
-    Page page = get(index);
+    Page page = find(index);
     remove(page);
 
     return page;
@@ -296,29 +325,29 @@ public final class Pages
     Page pageObj = (Page)page;
     PdfDictionary pageData = pageObj.getBaseDataObject();
     // Get the parent tree node!
-    PdfDirectObject parent = pageData.get(PdfName.Parent);
-    PdfDictionary parentData = (PdfDictionary)parent.resolve();
+    PdfDictionary parentData = (PdfDictionary)pageData.resolve(PdfName.Parent);
     // Get the parent's page collection!
-    PdfDirectObject kids = parentData.get(PdfName.Kids);
-    PdfArray kidsData = (PdfArray)kids.resolve();
+    PdfArray kidsData = (PdfArray)parentData.resolve(PdfName.Kids);
     // Remove the page!
     kidsData.remove(pageObj.getBaseObject());
 
     // Unbind the page from its parent!
     pageData.put(PdfName.Parent,null);
 
-    // Decrementing the pages counters...
-    do
-    {
-      // Get the page collection counter!
-      PdfInteger countObject = (PdfInteger)parentData.get(PdfName.Count);
-      // Decrement the counter at the current level!
-      parentData.put(PdfName.Count, PdfInteger.get(countObject.getValue()-1));
+    // Decrement the pages counters!
+    updateCount(parentData, -1);
+    pageReferences = null;
 
-      // Iterate upward!
-      parent = parentData.get(PdfName.Parent);
-      parentData = (PdfDictionary)PdfObject.resolve(parent);
-    } while(parent != null);
+    // Prune the emptied tree nodes!
+    while(kidsData.isEmpty()
+      && parentData.containsKey(PdfName.Parent))
+    {
+      PdfReference emptyNode = parentData.getReference();
+      parentData = (PdfDictionary)parentData.resolve(PdfName.Parent);
+      kidsData = (PdfArray)parentData.resolve(PdfName.Kids);
+      kidsData.remove(emptyNode);
+      getFile().unregister(emptyNode);
+    }
 
     return true;
   }
@@ -474,6 +503,60 @@ public final class Pages
   // </public>
 
   // <private>
+  /**
+    Collects the kids of the specified page tree node.
+
+    @param node Page tree node.
+    @param inheritedAttributes Attributes inherited from the intermediate ancestors of the node.
+    @param pages Target collection of the page objects (tree leaves).
+    @param nodes Target collection of the intermediate tree nodes.
+  */
+  private void collect(
+    PdfDictionary node,
+    Map<PdfName,PdfDirectObject> inheritedAttributes,
+    List<PdfDirectObject> pages,
+    List<PdfReference> nodes
+    )
+  {
+    for(PdfDirectObject kid : (PdfArray)node.resolve(PdfName.Kids))
+    {
+      PdfDictionary kidData = (PdfDictionary)kid.resolve();
+      if(PdfName.Page.equals(kidData.get(PdfName.Type))) // Page object.
+      {
+        // Materialize the attributes inherited from the intermediate ancestors!
+        if(inheritedAttributes != null)
+        {
+          for(Map.Entry<PdfName,PdfDirectObject> entry : inheritedAttributes.entrySet())
+          {
+            if(!kidData.containsKey(entry.getKey()))
+            {kidData.put(entry.getKey(), (PdfDirectObject)entry.getValue().clone(getFile()));}
+          }
+        }
+        pages.add(kid);
+      }
+      else // Page tree node.
+      {
+        Map<PdfName,PdfDirectObject> kidInheritedAttributes = inheritedAttributes;
+        for(PdfName key : Page.InheritableAttributeKeys)
+        {
+          PdfDirectObject value = kidData.get(key);
+          if(value != null)
+          {
+            if(kidInheritedAttributes == inheritedAttributes)
+            {
+              kidInheritedAttributes = (inheritedAttributes != null
+                ? new HashMap<PdfName,PdfDirectObject>(inheritedAttributes)
+                : new HashMap<PdfName,PdfDirectObject>());
+            }
+            kidInheritedAttributes.put(key, value);
+          }
+        }
+        collect(kidData, kidInheritedAttributes, pages, nodes);
+        nodes.add((PdfReference)kid);
+      }
+    }
+  }
+
   /**
     Add a collection of pages at the specified position.
     @param index Addition position. To append, use value -1.
@@ -484,74 +567,292 @@ public final class Pages
     Collection<? extends Page> pages
     )
   {
-    PdfDirectObject parent;
     PdfDictionary parentData;
-    PdfDirectObject kids;
     PdfArray kidsData;
     int offset;
     // Append operation?
     if(index == -1) // Append operation.
     {
-      // Get the parent tree node!
-      parent = getBaseObject();
+      // Get the last tree node!
       parentData = getBaseDataObject();
-      // Get the parent's page collection!
-      kids = parentData.get(PdfName.Kids);
-      kidsData = (PdfArray)PdfObject.resolve(kids);
-      offset = 0; // Not used.
+      kidsData = (PdfArray)parentData.resolve(PdfName.Kids);
+      while(!kidsData.isEmpty())
+      {
+        PdfDictionary lastKidData = (PdfDictionary)kidsData.resolve(kidsData.size() - 1);
+        if(PdfName.Page.equals(lastKidData.get(PdfName.Type)))
+          break;
+
+        parentData = lastKidData;
+        kidsData = (PdfArray)parentData.resolve(PdfName.Kids);
+      }
+      offset = kidsData.size();
     }
     else // Insert operation.
     {
       // Get the page currently at the specified position!
-      Page pivotPage = get(index);
+      Page pivotPage = find(index);
       // Get the parent tree node!
-      parent = pivotPage.getBaseDataObject().get(PdfName.Parent);
-      parentData = (PdfDictionary)parent.resolve();
+      parentData = (PdfDictionary)pivotPage.getBaseDataObject().resolve(PdfName.Parent);
       // Get the parent's page collection!
-      kids = parentData.get(PdfName.Kids);
-      kidsData = (PdfArray)kids.resolve();
+      kidsData = (PdfArray)parentData.resolve(PdfName.Kids);
       // Get the insertion's relative position within the parent's page collection!
       offset = kidsData.indexOf(pivotPage.getBaseObject());
     }
 
     // Adding the pages...
+    int fanOut = getDocument().getConfiguration().getPageTreeFanOut();
+    int addedCount = 0; // Pages added to the current parent and not counted yet.
     for(Page page : pages)
     {
-      // Append?
+      // Insert the page into the collection!
+      kidsData.add(
+        offset++,
+        page.getBaseObject()
+        );
+      // Bind the page to the collection!
+      page.getBaseDataObject().put(PdfName.Parent, parentData.getReference());
+      addedCount++;
+
+      // Keep the tree balanced!
+      if(kidsData.size() > fanOut)
+      {
+        // Increment the pages counters!
+        updateCount(parentData, addedCount);
+        addedCount = 0;
+
+        split(parentData);
+
+        // Follow the page into its new parent!
+        parentData = (PdfDictionary)page.getBaseDataObject().resolve(PdfName.Parent);
+        kidsData = (PdfArray)parentData.resolve(PdfName.Kids);
+        offset = kidsData.indexOf(page.getBaseObject()) + 1;
+      }
+    }
+    // Increment the pages counters!
+    updateCount(parentData, addedCount);
+
+    // Update the page index!
+    if(pageReferences != null)
+    {
       if(index == -1) // Append.
       {
-        // Append the page to the collection!
-        kidsData.add(page.getBaseObject());
+        for(Page page : pages)
+        {
+          PdfReference pageReference = (PdfReference)page.getBaseObject();
+          pageIndexes.put(pageReference.getObjectNumber(), pageReferences.size());
+          pageReferences.add(pageReference);
+        }
       }
       else // Insert.
+      {pageReferences = null;}
+    }
+
+    return true;
+  }
+
+  /**
+    Creates a page tree node holding the specified kids.
+
+    @return Reference to the new node.
+  */
+  private PdfReference createNode(
+    List<PdfDirectObject> kids
+    )
+  {
+    PdfArray nodeKids = new PdfArray(kids.size());
+    PdfReference node = getFile().register(
+      new PdfDictionary(
+        new PdfName[]
+        {
+          PdfName.Type,
+          PdfName.Kids,
+          PdfName.Count
+        },
+        new PdfDirectObject[]
+        {
+          PdfName.Pages,
+          nodeKids,
+          PdfInteger.Default
+        }
+        )
+      );
+    int count = 0;
+    for(PdfDirectObject kid : kids)
+    {
+      nodeKids.add(kid);
+      PdfDictionary kidData = (PdfDictionary)kid.resolve();
+      kidData.put(PdfName.Parent, node);
+      count += getCount(kidData);
+    }
+    ((PdfDictionary)node.getDataObject()).put(PdfName.Count, PdfInteger.get(count));
+    return node;
+  }
+
+  /**
+    Gets the page at the specified position, descending the page tree.
+    <p>Unlike {@link #get(int)}, this method doesn't need the page index, so it's preferable for
+    structural changes (which would invalidate the page index anyway).</p>
+  */
+  private Page find(
+    int index
+    )
+  {
+    /*
+      NOTE: As stated in [PDF:1.6:3.6.2], to retrieve pages is a matter of diving
+      inside a B-tree. To keep it as efficient as possible, this implementation
+      does NOT adopt recursion to deepen its search, opting for an iterative strategy
+      instead.
+    */
+    int pageOffset = 0;
+    PdfDictionary parent = getBaseDataObject();
+    PdfArray kids = (PdfArray)parent.resolve(PdfName.Kids);
+    for(
+      int i = 0;
+      i < kids.size();
+      i++
+      )
+    {
+      PdfReference kidReference = (PdfReference)kids.get(i);
+      PdfDictionary kid = (PdfDictionary)kidReference.getDataObject();
+      // Is current kid a page object?
+      if(kid.get(PdfName.Type).equals(PdfName.Page)) // Page object.
       {
-        // Insert the page into the collection!
-        kidsData.add(
-          offset++,
-          page.getBaseObject()
-          );
+        // Did we reach the searched position?
+        if(pageOffset == index) // Vertical scan (we finished).
+        {
+          // We got it!
+          return Page.wrap(kidReference);
+        }
+        else // Horizontal scan (go past).
+        {
+          // Cumulate current page object count!
+          pageOffset++;
+        }
       }
-      // Bind the page to the collection!
-      page.getBaseDataObject().put(PdfName.Parent,parent);
+      else // Page tree node.
+      {
+        // Does the current subtree contain the searched page?
+        if(((PdfInteger)kid.get(PdfName.Count)).getRawValue() + pageOffset > index) // Vertical scan (deepen the search).
+        {
+          // Go down one level!
+          parent = kid;
+          kids = (PdfArray)parent.resolve(PdfName.Kids);
+          i = -1;
+        }
+        else // Horizontal scan (go past).
+        {
+          // Cumulate current subtree count!
+          pageOffset += ((PdfInteger)kid.get(PdfName.Count)).getRawValue();
+        }
+      }
+    }
+    return null;
+  }
+
+  /**
+    Gets the number of pages (leaves) of the specified page tree kid.
+  */
+  private int getCount(
+    PdfDictionary kid
+    )
+  {return PdfName.Page.equals(kid.get(PdfName.Type)) ? 1 : ((PdfInteger)kid.get(PdfName.Count)).getRawValue();}
+
+  /**
+    Gets the page references by index, (re)building the page index if needed.
+  */
+  private List<PdfReference> getPageReferences(
+    )
+  {
+    if(pageReferences == null
+      || pageReferences.size() != size())
+    {
+      int size = size();
+      pageReferences = new ArrayList<PdfReference>(size);
+      pageIndexes = new HashMap<Integer,Integer>(size * 4 / 3 + 1);
+      for(Page page : this)
+      {
+        PdfReference pageReference = (PdfReference)page.getBaseObject();
+        pageIndexes.put(pageReference.getObjectNumber(), pageReferences.size());
+        pageReferences.add(pageReference);
+      }
+    }
+    return pageReferences;
+  }
+
+  /**
+    Splits the specified page tree node in case its kids exceed the fan-out.
+  */
+  private void split(
+    PdfDictionary node
+    )
+  {
+    PdfArray kids = (PdfArray)node.resolve(PdfName.Kids);
+    int size = kids.size();
+    if(size <= getDocument().getConfiguration().getPageTreeFanOut())
+      return;
+
+    int half = size / 2;
+    PdfDictionary parent = (PdfDictionary)node.resolve(PdfName.Parent);
+    if(parent == null) // Root node.
+    {
+      /*
+        NOTE: The root node is referenced by the document catalog, so it cannot be split in two:
+        its kids are moved down into two new nodes instead (that is, the tree grows by one level).
+      */
+      PdfReference leftNode = createNode(new ArrayList<PdfDirectObject>(kids.subList(0, half)));
+      PdfReference rightNode = createNode(new ArrayList<PdfDirectObject>(kids.subList(half, size)));
+      kids.clear();
+      for(PdfReference newNode : Arrays.asList(leftNode, rightNode))
+      {
+        kids.add(newNode);
+        ((PdfDictionary)newNode.getDataObject()).put(PdfName.Parent, node.getReference());
+      }
+    }
+    else // Intermediate node.
+    {
+      // Move the upper half of the kids into a new sibling node!
+      PdfReference siblingNode = createNode(new ArrayList<PdfDirectObject>(kids.subList(half, size)));
+      PdfDictionary siblingNodeData = (PdfDictionary)siblingNode.getDataObject();
+      for(int index = size - 1; index >= half; index--)
+      {kids.remove(index);}
+      node.put(PdfName.Count, PdfInteger.get(((PdfInteger)node.get(PdfName.Count)).getValue() - getCount(siblingNodeData)));
+      // Preserve the attributes inherited by the moved kids!
+      for(PdfName key : Page.InheritableAttributeKeys)
+      {
+        PdfDirectObject value = node.get(key);
+        if(value != null)
+        {siblingNodeData.put(key, (PdfDirectObject)value.clone(getFile()));}
+      }
+      siblingNodeData.put(PdfName.Parent, node.get(PdfName.Parent));
+
+      PdfArray parentKids = (PdfArray)parent.resolve(PdfName.Kids);
+      parentKids.add(parentKids.indexOf(node.getReference()) + 1, siblingNode);
+      split(parent);
     }
+  }
 
-    // Incrementing the pages counters...
+  /**
+    Updates the page counters from the specified page tree node up to the root.
+
+    @param node Page tree node.
+    @param delta Page count variation.
+  */
+  private void updateCount(
+    PdfDictionary node,
+    int delta
+    )
+  {
     do
     {
-      // Get the page collection counter!
-      PdfInteger countObject = (PdfInteger)parentData.get(PdfName.Count);
-      // Increment the counter at the current level!
-      parentData.put(PdfName.Count, PdfInteger.get(countObject.getValue()+pages.size()));
+      // Update the counter at the current level!
+      node.put(PdfName.Count, PdfInteger.get(((PdfInteger)node.get(PdfName.Count)).getValue() + delta));
 
       // Iterate upward!
-      parent = parentData.get(PdfName.Parent);
-      parentData = (PdfDictionary)PdfObject.resolve(parent);
-    } while(parent != null);
-
-    return true;
+      node = (PdfDictionary)node.resolve(PdfName.Parent);
+    } while(node != null);
   }
   // </private>
   // </interface>
   // </dynamic>
   // </class>
-}
\ No newline at end of file
+}
\ No newline at end of file
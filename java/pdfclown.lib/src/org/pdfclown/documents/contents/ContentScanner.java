@@ -168,36 +168,8 @@ public final class ContentScanner
       GraphicsState state
       )
     {
-      state.blendMode = blendMode;
-      state.charSpace = charSpace;
-      state.ctm = (AffineTransform)ctm.clone();
-      state.fillColor = fillColor;
-      state.fillColorSpace = fillColorSpace;
-      state.font = font;
-      state.fontSize = fontSize;
-      state.lead = lead;
-      state.lineCap = lineCap;
-      state.lineDash = lineDash;
-      state.lineJoin = lineJoin;
-      state.lineWidth = lineWidth;
-      state.miterLimit = miterLimit;
-      state.renderMode = renderMode;
-      state.rise = rise;
-      state.scale = scale;
-      state.strokeColor = strokeColor;
-      state.strokeColorSpace = strokeColorSpace;
     //TODO:temporary hack (define TextState for textual parameters!)...
-      if(state.scanner.getParent() instanceof Text)
-      {
-        state.tlm = (AffineTransform)tlm.clone();
-        state.tm = (AffineTransform)tm.clone();
-      }
-      else
-      {
-        state.tlm = new AffineTransform();
-        state.tm = new AffineTransform();
-      }
-      state.wordSpace = wordSpace;
+      copyTo(state, state.scanner.getParent() instanceof Text);
     }
 
     /**
@@ -217,6 +189,8 @@ public final class ContentScanner
 
     /**
       Gets the current transformation matrix.
+      <p>The matrix is owned by this state: it can be modified in place, but it's not a snapshot
+      (copy it to retain its current value).</p>
     */
     public AffineTransform getCtm(
       )
@@ -265,39 +239,15 @@ public final class ContentScanner
       }
       else // Device-dependent.
       {
-        IContentContext contentContext = getScanner().getContentContext();
-        Dimension2D canvasSize = getScanner().getCanvasSize();
-
-        // Axes orientation.
-        RotationEnum rotation = contentContext.getRotation();
-        switch(rotation)
-        {
-          case Downward:
-            initialCtm = new AffineTransform(1, 0, 0, -1, 0, canvasSize.getHeight());
-            break;
-          case Leftward:
-            initialCtm = new AffineTransform(0, 1, 1, 0, 0, 0);
-            break;
-          case Upward:
-            initialCtm = new AffineTransform(-1, 0, 0, 1, canvasSize.getWidth(), 0);
-            break;
-          case Rightward:
-            initialCtm = new AffineTransform(0, -1, -1, 0, canvasSize.getWidth(), canvasSize.getHeight());
-            break;
-          default:
-            throw new NotImplementedException();
-        }
-
-        // Scaling.
-        Rectangle2D contentBox = contentContext.getBox();
-        Dimension2D rotatedCanvasSize = rotation.transform(canvasSize);
-        initialCtm.scale(
-          rotatedCanvasSize.getWidth() / contentBox.getWidth(),
-          rotatedCanvasSize.getHeight() / contentBox.getHeight()
+        initialCtm = ContentScanner.getInitialCtm(
+          getScanner().getContentContext(),
+          getScanner().getCanvasSize()
           );
 
-        // Origin alignment.
-        initialCtm.translate(-contentBox.getMinX(), -contentBox.getMinY());
+        // Rendering context's own transformation (e.g. printer resolution or tile offset).
+        AffineTransform renderTransform = getScanner().getRootLevel().renderTransform;
+        if(renderTransform != null)
+        {initialCtm.preConcatenate(renderTransform);}
       }
       return initialCtm;
     }
@@ -465,12 +415,14 @@ public final class ContentScanner
     {charSpace = value;}
 
     /**
+      Sets the current transformation matrix, copying the specified value.
+
       @see #getCtm()
     */
     public void setCtm(
       AffineTransform value
       )
-    {ctm = value;}
+    {ctm.setTransform(value);}
 
     /**
       @see #getFillColor()
@@ -593,20 +545,24 @@ public final class ContentScanner
     {strokeColorSpace = value;}
 
     /**
+      Sets the current text line matrix, copying the specified value.
+
       @see #getTlm()
     */
     public void setTlm(
       AffineTransform value
       )
-    {tlm = value;}
+    {tlm.setTransform(value);}
 
     /**
+      Sets the current text matrix, copying the specified value.
+
       @see #getTm()
     */
     public void setTm(
       AffineTransform value
       )
-    {tm = value;}
+    {tm.setTransform(value);}
 
     /**
       @see #getWordSpace()
@@ -627,6 +583,48 @@ public final class ContentScanner
       return state;
     }
 
+    /**
+      Copies this graphics state into the specified one, in place.
+
+      @param state Target graphics state object.
+      @param textState Whether the text matrices have to be copied too (otherwise they are reset).
+    */
+    private void copyTo(
+      GraphicsState state,
+      boolean textState
+      )
+    {
+      state.blendMode = blendMode;
+      state.charSpace = charSpace;
+      state.ctm.setTransform(ctm);
+      state.fillColor = fillColor;
+      state.fillColorSpace = fillColorSpace;
+      state.font = font;
+      state.fontSize = fontSize;
+      state.lead = lead;
+      state.lineCap = lineCap;
+      state.lineDash = lineDash;
+      state.lineJoin = lineJoin;
+      state.lineWidth = lineWidth;
+      state.miterLimit = miterLimit;
+      state.renderMode = renderMode;
+      state.rise = rise;
+      state.scale = scale;
+      state.strokeColor = strokeColor;
+      state.strokeColorSpace = strokeColorSpace;
+      if(textState)
+      {
+        state.tlm.setTransform(tlm);
+        state.tm.setTransform(tm);
+      }
+      else
+      {
+        state.tlm.setToIdentity();
+        state.tm.setToIdentity();
+      }
+      state.wordSpace = wordSpace;
+    }
+
     private void initialize(
       )
     {
@@ -972,6 +970,60 @@ public final class ContentScanner
   // <fields>
   private static final int StartIndex = -1;
   // </fields>
+
+  // <interface>
+  // <public>
+  /**
+    Gets the initial current transformation matrix for rendering the specified content context over
+    a canvas.
+    <p>It maps the {@link IContentContext#getBox() content bounding box} to the whole canvas,
+    according to the {@link IContentContext#getRotation() content orientation}.</p>
+
+    @param contentContext Content context to render.
+    @param canvasSize Rendering canvas size (device-space units).
+    @since 0.2.0
+  */
+  public static AffineTransform getInitialCtm(
+    IContentContext contentContext,
+    Dimension2D canvasSize
+    )
+  {
+    AffineTransform initialCtm;
+
+    // Axes orientation.
+    RotationEnum rotation = contentContext.getRotation();
+    switch(rotation)
+    {
+      case Downward:
+        initialCtm = new AffineTransform(1, 0, 0, -1, 0, canvasSize.getHeight());
+        break;
+      case Leftward:
+        initialCtm = new AffineTransform(0, 1, 1, 0, 0, 0);
+        break;
+      case Upward:
+        initialCtm = new AffineTransform(-1, 0, 0, 1, canvasSize.getWidth(), 0);
+        break;
+      case Rightward:
+        initialCtm = new AffineTransform(0, -1, -1, 0, canvasSize.getWidth(), canvasSize.getHeight());
+        break;
+      default:
+        throw new NotImplementedException();
+    }
+
+    // Scaling.
+    Rectangle2D contentBox = contentContext.getBox();
+    Dimension2D rotatedCanvasSize = rotation.transform(canvasSize);
+    initialCtm.scale(
+      rotatedCanvasSize.getWidth() / contentBox.getWidth(),
+      rotatedCanvasSize.getHeight() / contentBox.getHeight()
+      );
+
+    // Origin alignment.
+    initialCtm.translate(-contentBox.getMinX(), -contentBox.getMinY());
+    return initialCtm;
+  }
+  // </public>
+  // </interface>
   // </static>
 
   // <dynamic>
@@ -984,6 +1036,18 @@ public final class ContentScanner
     Content objects collection.
   */
   private Contents contents;
+  /**
+    Level depth (0 at root level).
+  */
+  private final int depth;
+  /**
+    Glyph cache (root level only).
+  */
+  private GlyphCache glyphCache;
+  /**
+    Decoded images cache (root level only).
+  */
+  private ImageCache imageCache;
   /**
     Current object index at this level.
   */
@@ -1000,6 +1064,12 @@ public final class ContentScanner
     Current graphics state.
   */
   private GraphicsState state;
+  /**
+    Graphics states of the descendant levels, by depth (root level only).
+    <p>As descendant levels are instantiated for each composite object, their states are preallocated
+    once per depth and reused by the following levels at the same depth.</p>
+  */
+  private List<GraphicsState> states;
 
   /**
     Rendering context.
@@ -1009,6 +1079,10 @@ public final class ContentScanner
     Rendering object.
   */
   private Shape renderObject;
+  /**
+    Transformation of the rendering context at rendering start (root level only).
+  */
+  private AffineTransform renderTransform;
 
   /**
     Size of the graphics canvas.
@@ -1038,6 +1112,7 @@ public final class ContentScanner
     )
   {
     this.parentLevel = null;
+    this.depth = 0;
     this.objects = this.contents = contents;
 
     canvasSize = contextSize = Dimension.get(contents.getContentContext().getBox());
@@ -1067,6 +1142,7 @@ public final class ContentScanner
     )
   {
     this.parentLevel = parentLevel;
+    this.depth = parentLevel.depth + 1;
     this.objects = this.contents = formXObject.getContents();
     
     canvasSize = contextSize = parentLevel.contextSize;
@@ -1098,6 +1174,7 @@ public final class ContentScanner
     )
   {
     this.parentLevel = parentLevel;
+    this.depth = parentLevel.depth + 1;
     this.contents = parentLevel.contents;
     this.objects = ((CompositeObject)parentLevel.getCurrent()).getObjects();
 
@@ -1183,6 +1260,26 @@ public final class ContentScanner
     )
   {return GraphicsObjectWrapper.get(this);}
 
+  /**
+    Gets the cache used to retrieve the glyph outlines (and rasterized glyphs) on rendering.
+
+    @return <code>null</code>, if glyphs are decoded each time.
+    @since 0.2.0
+  */
+  public GlyphCache getGlyphCache(
+    )
+  {return getRootLevel().glyphCache;}
+
+  /**
+    Gets the cache used to retrieve the decoded images on rendering.
+
+    @return <code>null</code>, if images are decoded each time.
+    @since 0.2.0
+  */
+  public ImageCache getImageCache(
+    )
+  {return getRootLevel().imageCache;}
+
   /**
     Gets the current position.
 
@@ -1378,7 +1475,7 @@ public final class ContentScanner
       if(parentLevel == null)
       {state = new GraphicsState(this);}
       else
-      {state = parentLevel.state.clone(this);}
+      {state = acquireState();}
     }
     else
     {
@@ -1420,6 +1517,9 @@ public final class ContentScanner
 
   /**
     Renders the contents into the specified context.
+    <p>The current transformation of the rendering context is retained as the base of the device
+    space, so that the canvas can be scaled or offset (for example, to render a tile of a larger
+    image).</p>
 
     @param renderContext Rendering context.
     @param renderSize Rendering canvas size.
@@ -1460,6 +1560,8 @@ public final class ContentScanner
       // Paint the canvas background!
       renderContext.setColor(java.awt.Color.WHITE);
       renderContext.fillRect(0,0,(int)renderSize.getWidth(),(int)renderSize.getHeight());
+
+      renderTransform = renderContext.getTransform();
     }
 
     try
@@ -1477,9 +1579,29 @@ public final class ContentScanner
       this.renderContext = null;
       this.canvasSize = contextSize;
       this.renderObject = null;
+      if(isRootLevel())
+      {renderTransform = null;}
     }
   }
 
+  /**
+    @see #getGlyphCache()
+    @since 0.2.0
+  */
+  public void setGlyphCache(
+    GlyphCache value
+    )
+  {getRootLevel().glyphCache = value;}
+
+  /**
+    @see #getImageCache()
+    @since 0.2.0
+  */
+  public void setImageCache(
+    ImageCache value
+    )
+  {getRootLevel().imageCache = value;}
+
   /**
     Replaces the content object at the current position.
 
@@ -1509,6 +1631,35 @@ public final class ContentScanner
   // </protected>
 
   // <private>
+  /**
+    Gets the graphics state of this (descendant) level, initialized to the parent level's one.
+    <p>The state is taken from the root level's preallocated states at the depth of this level:
+    being sibling levels scanned one at a time, the state of the previous level at the same depth is
+    no longer in use.</p>
+  */
+  private GraphicsState acquireState(
+    )
+  {
+    ContentScanner rootLevel = getRootLevel();
+    if(rootLevel.states == null)
+    {rootLevel.states = new ArrayList<GraphicsState>();}
+    List<GraphicsState> states = rootLevel.states;
+
+    GraphicsState state;
+    if(states.size() < depth)
+    {
+      state = parentLevel.state.clone(this);
+      states.add(state);
+    }
+    else
+    {
+      state = states.get(depth - 1);
+      state.scanner = this;
+      parentLevel.state.copyTo(state, true);
+    }
+    return state;
+  }
+
   /**
     Synchronizes the scanner state.
   */
@@ -28,24 +28,32 @@ package org.pdfclown.documents.contents;
 import java.io.EOFException;
 import java.io.IOException;
 import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.ListIterator;
+import java.util.Map;
 
 import org.pdfclown.PDF;
 import org.pdfclown.VersionEnum;
+import org.pdfclown.bytes.Buffer;
 import org.pdfclown.bytes.IBuffer;
 import org.pdfclown.bytes.IInputStream;
 import org.pdfclown.documents.Document;
 import org.pdfclown.documents.contents.objects.ContentObject;
 import org.pdfclown.documents.contents.tokens.ContentParser;
+import org.pdfclown.files.File;
+import org.pdfclown.files.IMetricsListener;
 import org.pdfclown.objects.PdfArray;
 import org.pdfclown.objects.PdfDataObject;
 import org.pdfclown.objects.PdfDirectObject;
 import org.pdfclown.objects.PdfObjectWrapper;
 import org.pdfclown.objects.PdfReference;
 import org.pdfclown.objects.PdfStream;
+import org.pdfclown.tokens.Symbol;
 import org.pdfclown.util.NotImplementedException;
 
 /**
@@ -54,6 +62,10 @@ import org.pdfclown.util.NotImplementedException;
   are exposed as a list; in case of modifications, it's user responsability
   to call the {@link #flush()} method in order to serialize back the instructions
   into this content stream.</p>
+  <p>Flushing preserves the source of the instructions which haven't been modified: only the
+  modified ones are serialized, while the others are copied verbatim from the content stream; in
+  case of multiple streams, the streams whose instructions are all untouched are left as they are.
+  </p>
 
   @author Stefano Chizzolini (http://www.stefanochizzolini.it)
   @since 0.0.4
@@ -123,7 +135,7 @@ public final class Contents
     @Override
     public long getPosition(
       )
-    {return basePosition + stream.getPosition();}
+    {return basePosition + (stream != null ? stream.getPosition() : 0);} // NOTE: Null stream means end of contents.
 
     @Override
     public void read(
@@ -339,6 +351,59 @@ public final class Contents
       return true;
     }
   }
+
+  /**
+    Flushed contents segment.
+  */
+  private static final class Segment
+  {
+    /**
+      Object to serialize ({@code null} for source segments).
+    */
+    final ContentObject object;
+
+    /**
+      Source start position (source segments only).
+    */
+    final long sourceStart;
+    /**
+      Source end position (source segments only).
+    */
+    long sourceEnd;
+
+    /**
+      Flushed start position.
+    */
+    long start;
+    /**
+      Flushed end position.
+    */
+    long end;
+
+    /**
+      Instantiates a segment to serialize.
+    */
+    Segment(
+      ContentObject object
+      )
+    {
+      this.object = object;
+      this.sourceStart = this.sourceEnd = -1;
+    }
+
+    /**
+      Instantiates a segment to copy from source.
+    */
+    Segment(
+      long sourceStart,
+      long sourceEnd
+      )
+    {
+      this.object = null;
+      this.sourceStart = sourceStart;
+      this.sourceEnd = sourceEnd;
+    }
+  }
   // </classes>
 
   // <static>
@@ -350,6 +415,65 @@ public final class Contents
     )
   {return baseObject != null ? new Contents(baseObject, contentContext) : null;}
   // </public>
+
+  // <private>
+  /**
+    Appends the specified source range to the segments, merging it with the last segment in case
+    of contiguity.
+
+    @return Segment containing the source range.
+  */
+  private static Segment appendSourceSegment(
+    List<Segment> segments,
+    long sourceStart,
+    long sourceEnd
+    )
+  {
+    Segment segment = (segments.isEmpty() ? null : segments.get(segments.size() - 1));
+    if(segment != null
+      && segment.object == null
+      && segment.sourceEnd == sourceStart)
+    {segment.sourceEnd = sourceEnd;}
+    else
+    {segments.add(segment = new Segment(sourceStart, sourceEnd));}
+    return segment;
+  }
+
+  /**
+    Copies the specified source range into the target buffer.
+
+    @return Last copied byte.
+  */
+  private static int copy(
+    ContentStream source,
+    long start,
+    long end,
+    IBuffer target
+    )
+  {
+    byte[] chunk = new byte[(int)Math.min(end - start, 8192)];
+    int length = 0;
+    try
+    {
+      source.seek(start);
+      while(start < end)
+      {
+        length = (int)Math.min(end - start, chunk.length);
+        source.read(chunk, 0, length);
+        target.append(chunk, 0, length);
+        start += length;
+      }
+    }
+    catch(EOFException e)
+    {throw new RuntimeException(e);}
+    return chunk[length - 1] & 0xFF;
+  }
+
+  private static boolean isWhitespace(
+    int c
+    )
+  {return c == 32 || c == 10 || c == 13 || c == 0 || c == 9 || c == 12;}
+  // </private>
   // </interface>
   // </static>
 
@@ -357,6 +481,21 @@ public final class Contents
   // <fields>
   private List<ContentObject> items;
 
+  /**
+    Items as they were lastly parsed or flushed.
+  */
+  private ContentObject[] sourceItems;
+  /**
+    End positions of {@link #sourceItems} within the content stream (each item's source range
+    starts where the previous one ends, leading whitespace included).
+  */
+  private long[] sourceOffsets;
+  /**
+    Length of the content stream source covered by {@link #sourceItems} (trailing whitespace
+    included).
+  */
+  private long sourceLength;
+
   private final IContentContext contentContext;
   // </fields>
 
@@ -387,48 +526,255 @@ public final class Contents
   public void flush(
     )
   {
-    PdfStream stream;
     PdfDataObject baseDataObject = getBaseDataObject();
-    // Are contents just a single stream object?
-    if(baseDataObject instanceof PdfStream) // Single stream.
-    {stream = (PdfStream)baseDataObject;}
-    else // Array of streams.
+
+    // 1. Collecting the segments to flush...
+    /*
+      NOTE: Items which have kept their source position without being modified are copied verbatim
+      from the content stream, whilst the others are serialized.
+    */
+    int itemCount = items.size();
+    Segment[] itemSegments = new Segment[itemCount];
+    long[] itemSourceOffsets = new long[itemCount];
+    List<Segment> segments = new ArrayList<Segment>();
     {
-      PdfArray streams = (PdfArray)baseDataObject;
-      // No stream available?
-      if(streams.isEmpty()) // No stream.
+      int sourceIndex = 0;
+      Map<ContentObject,Integer> sourceIndexes = null;
+      for(int itemIndex = 0; itemIndex < itemCount; itemIndex++)
       {
-        // Add first stream!
-        stream = new PdfStream();
-        streams.add( // Inserts the new stream into the content stream.
-          getFile().register(stream) // Inserts the new stream into the file.
-          );
+        ContentObject item = items.get(itemIndex);
+
+        // Locate the item source!
+        int itemSourceIndex = -1;
+        if(sourceIndex < sourceItems.length && sourceItems[sourceIndex] == item)
+        {itemSourceIndex = sourceIndex;}
+        else
+        {
+          if(sourceIndexes == null)
+          {
+            sourceIndexes = new IdentityHashMap<ContentObject,Integer>();
+            for(int index = sourceItems.length - 1; index >= 0; index--)
+            {sourceIndexes.put(sourceItems[index], index);}
+          }
+          Integer index = sourceIndexes.get(item);
+          if(index != null && index >= sourceIndex)
+          {itemSourceIndex = index;}
+        }
+
+        Segment segment = null;
+        if(itemSourceIndex != -1)
+        {
+          sourceIndex = itemSourceIndex + 1;
+          if(!item.isModified())
+          {
+            segment = appendSourceSegment(
+              segments,
+              itemSourceIndex > 0 ? sourceOffsets[itemSourceIndex - 1] : 0,
+              sourceOffsets[itemSourceIndex]
+              );
+            itemSourceOffsets[itemIndex] = sourceOffsets[itemSourceIndex];
+          }
+        }
+        if(segment == null)
+        {segments.add(segment = new Segment(item));}
+        itemSegments[itemIndex] = segment;
       }
-      else // Streams exist.
+
+      // Trailing source (whitespace and comments after the last item).
+      long sourceEnd = (sourceItems.length > 0 ? sourceOffsets[sourceItems.length - 1] : 0);
+      if(sourceLength > sourceEnd)
+      {appendSourceSegment(segments, sourceEnd, sourceLength);}
+    }
+    // Nothing changed?
+    if(segments.isEmpty()
+      ? sourceItems.length == 0
+        && !(baseDataObject instanceof PdfArray && ((PdfArray)baseDataObject).isEmpty())
+      : segments.size() == 1
+        && segments.get(0).object == null
+        && segments.get(0).sourceStart == 0
+        && segments.get(0).sourceEnd == sourceLength)
+      return;
+
+    // 2. Detecting the untouched streams...
+    /*
+      NOTE: A stream is untouched if its whole range is copied verbatim.
+    */
+    PdfArray streams = (baseDataObject instanceof PdfArray ? (PdfArray)baseDataObject : null);
+    int streamCount = (streams != null ? streams.size() : 1);
+    long[] streamStarts = new long[streamCount + 1];
+    for(int streamIndex = 0; streamIndex < streamCount; streamIndex++)
+    {
+      PdfStream stream = (PdfStream)(streams != null ? streams.resolve(streamIndex) : baseDataObject);
+      streamStarts[streamIndex + 1] = streamStarts[streamIndex] + stream.getBody().getLength();
+    }
+    boolean[] untouchedStreams = new boolean[streamCount];
+    if(streams != null)
+    {
+      int streamIndex = 0;
+      for(Segment segment : segments)
+      {
+        if(segment.object != null)
+          continue;
+
+        while(streamIndex < streamCount && streamStarts[streamIndex] < segment.sourceStart)
+        {streamIndex++;}
+        for(; streamIndex < streamCount && streamStarts[streamIndex + 1] <= segment.sourceEnd; streamIndex++)
+        {untouchedStreams[streamIndex] = (streamStarts[streamIndex + 1] > streamStarts[streamIndex]);}
+      }
+    }
+
+    // 3. Serializing the segments...
+    /*
+      NOTE: Untouched streams are kept as they are; the rest of the contents is buffered into the
+      stream bodies to write, which cannot be written in place as they may be copied from.
+    */
+    List<PdfDirectObject> flushedStreams = new ArrayList<PdfDirectObject>(); // Stream references (null for the streams to write).
+    List<IBuffer> flushedBodies = new ArrayList<IBuffer>(); // Stream bodies to write (null for the untouched streams).
+    long position = 0;
+    {
+      Document context = getDocument();
+      ContentStream source = new ContentStream(baseDataObject);
+      IBuffer body = null;
+      int lastByte = Symbol.LineFeed;
+      long lastSourceEnd = 0;
+      int streamIndex = 0;
+      for(Segment segment : segments)
       {
-        // Eliminating exceeding streams...
-        /*
-          NOTE: Applications that consume or produce PDF files are not required to preserve
-          the existing structure of the Contents array [PDF:1.6:3.6.2].
-        */
-        while(streams.size() > 1)
+        if(segment.object != null) // Serialization.
+        {
+          if(body == null)
+          {body = new Buffer();}
+          // Token separation.
+          if(!isWhitespace(lastByte))
+          {body.append((byte)Symbol.LineFeed); position++;}
+
+          segment.start = position;
+          long bodyLength = body.getLength();
+          segment.object.writeTo(body, context);
+          position += body.getLength() - bodyLength;
+          segment.end = position;
+
+          if(position > segment.start)
+          {lastByte = body.getByte((int)body.getLength() - 1);}
+          lastSourceEnd = -1;
+        }
+        else // Source copy.
         {
-          getFile().unregister( // Removes the exceeding stream from the file.
-            (PdfReference)streams.remove(1) // Removes the exceeding stream from the content stream.
-            );
+          // Token separation.
+          if(segment.sourceStart != lastSourceEnd && !isWhitespace(lastByte))
+          {
+            if(body == null)
+            {body = new Buffer();}
+            body.append((byte)Symbol.LineFeed); position++;
+          }
+
+          segment.start = position;
+          for(long start = segment.sourceStart; start < segment.sourceEnd;)
+          {
+            while(streamStarts[streamIndex + 1] <= start)
+            {streamIndex++;}
+
+            if(untouchedStreams[streamIndex]) // Untouched stream.
+            {
+              if(body != null && body.getLength() > 0)
+              {
+                flushedStreams.add(null);
+                flushedBodies.add(body);
+              }
+              body = null;
+
+              flushedStreams.add(streams.get(streamIndex));
+              flushedBodies.add(null);
+
+              IBuffer streamBody = ((PdfStream)streams.resolve(streamIndex)).getBody();
+              lastByte = streamBody.getByte((int)streamBody.getLength() - 1);
+              start = streamStarts[streamIndex + 1];
+            }
+            else // Touched stream.
+            {
+              if(body == null)
+              {body = new Buffer();}
+
+              long end = Math.min(segment.sourceEnd, streamStarts[streamIndex + 1]);
+              lastByte = copy(source, start, end, body);
+              start = end;
+            }
+          }
+          position += segment.sourceEnd - segment.sourceStart;
+          segment.end = position;
+          lastSourceEnd = segment.sourceEnd;
         }
-        stream = (PdfStream)streams.resolve(0);
+      }
+      if(body != null && body.getLength() > 0
+        || flushedStreams.isEmpty())
+      {
+        flushedStreams.add(null);
+        flushedBodies.add(body != null ? body : new Buffer());
       }
     }
 
-    // Get the stream buffer!
-    IBuffer buffer = stream.getBody();
-    // Delete old contents from the stream buffer!
-    buffer.clear();
-    // Serializing the new contents into the stream buffer...
-    Document context = getDocument();
-    for(ContentObject item : items)
-    {item.writeTo(buffer, context);}
+    // 4. Writing the streams...
+    if(streams == null) // Single stream.
+    {
+      IBuffer body = ((PdfStream)baseDataObject).getBody();
+      body.clear();
+      body.append(flushedBodies.get(0).toByteArray());
+    }
+    else // Array of streams.
+    {
+      /*
+        NOTE: Touched streams are recycled to host the written bodies; exceeding ones are eliminated
+        (applications that consume or produce PDF files are not required to preserve the existing
+        structure of the Contents array [PDF:1.6:3.6.2]).
+      */
+      List<PdfReference> touchedStreams = new ArrayList<PdfReference>();
+      for(int streamIndex = 0; streamIndex < streamCount; streamIndex++)
+      {
+        if(!untouchedStreams[streamIndex])
+        {touchedStreams.add((PdfReference)streams.get(streamIndex));}
+      }
+      Iterator<PdfReference> touchedStreamsIterator = touchedStreams.iterator();
+      for(int index = 0, length = flushedStreams.size(); index < length; index++)
+      {
+        IBuffer flushedBody = flushedBodies.get(index);
+        if(flushedBody == null)
+          continue;
+
+        PdfReference streamReference = (touchedStreamsIterator.hasNext()
+          ? touchedStreamsIterator.next()
+          : getFile().register(new PdfStream()));
+        IBuffer body = ((PdfStream)streamReference.getDataObject()).getBody();
+        body.clear();
+        body.append(flushedBody.toByteArray());
+        flushedStreams.set(index, streamReference);
+      }
+
+      // Update the stream sequence!
+      boolean sequenceChanged = (flushedStreams.size() != streams.size());
+      for(int index = 0, length = flushedStreams.size(); !sequenceChanged && index < length; index++)
+      {sequenceChanged = (flushedStreams.get(index) != streams.get(index));}
+      if(sequenceChanged)
+      {
+        streams.clear();
+        streams.addAll(flushedStreams);
+      }
+
+      // Remove the exceeding streams from the file!
+      while(touchedStreamsIterator.hasNext())
+      {getFile().unregister(touchedStreamsIterator.next());}
+    }
+
+    // 5. Updating the source...
+    sourceItems = items.toArray(new ContentObject[itemCount]);
+    sourceOffsets = new long[itemCount];
+    for(int itemIndex = 0; itemIndex < itemCount; itemIndex++)
+    {
+      Segment segment = itemSegments[itemIndex];
+      sourceOffsets[itemIndex] = (segment.object != null
+        ? segment.end
+        : segment.start + (itemSourceOffsets[itemIndex] - segment.sourceStart));
+    }
+    sourceLength = position;
   }
 
   public IContentContext getContentContext(
@@ -593,12 +939,53 @@ public final class Contents
   private void load(
     )
   {
-    @SuppressWarnings("resource")
-    ContentParser parser = new ContentParser(new ContentStream(getBaseDataObject()));
-    items = parser.parseContentObjects();
+    /*
+      NOTE: Content streams are read through their bodies' shared cursor, so concurrent loads of the
+      same content stream (e.g. a form shared by pages rendered in parallel) must be serialized.
+    */
+    synchronized(getBaseDataObject())
+    {
+      File file = getFile();
+      IMetricsListener metricsListener = (file != null ? file.getConfiguration().getMetricsListener() : null);
+      long startTime = (metricsListener != null ? System.nanoTime() : 0);
+
+      @SuppressWarnings("resource")
+      ContentParser parser = new ContentParser(new ContentStream(getBaseDataObject()));
+      /*
+        NOTE: The source range of each item is tracked in order to preserve it on flushing, in case
+        the item is not modified.
+      */
+      items = new ArrayList<ContentObject>();
+      long[] sourceOffsets = new long[64];
+      boolean sourceCompleted = true;
+      while(parser.moveNext())
+      {
+        ContentObject item = parser.parseContentObject();
+        // Unmatched multiple-operation graphics object end?
+        if(ContentParser.isEnd(item))
+        {
+          /* NOTE: Parsing stops here, discarding the remaining contents. */
+          sourceCompleted = false;
+          break;
+        }
+
+        if(items.size() == sourceOffsets.length)
+        {sourceOffsets = Arrays.copyOf(sourceOffsets, sourceOffsets.length * 2);}
+        sourceOffsets[items.size()] = parser.getPosition();
+        items.add(item);
+      }
+      this.sourceItems = items.toArray(new ContentObject[items.size()]);
+      this.sourceOffsets = sourceOffsets;
+      this.sourceLength = (sourceCompleted
+        ? parser.getLength()
+        : (sourceItems.length > 0 ? sourceOffsets[sourceItems.length - 1] : 0));
+
+      if(metricsListener != null)
+      {metricsListener.onContentParsed(contentContext, parser.getOperationCount(), parser.getTokenCount(), System.nanoTime() - startTime);}
+    }
   }
   // </private>
   // </interface>
   // </dynamic>
   // </class>
-}
\ No newline at end of file
+}
\ No newline at end of file
@@ -0,0 +1,401 @@
+/*
+  Copyright 2026 Stefano Chizzolini. http://www.pdfclown.org
+
+  Contributors:
+    * Stefano Chizzolini (original code developer, http://www.stefanochizzolini.it)
+
+  This file should be part of the source code distribution of "PDF Clown library"
+  (the Program): see the accompanying README files for more info.
+
+  This Program is free software; you can redistribute it and/or modify it under the terms
+  of the GNU Lesser General Public License as published by the Free Software Foundation;
+  either version 3 of the License, or (at your option) any later version.
+
+  This Program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY,
+  either expressed or implied; without even the implied warranty of MERCHANTABILITY or
+  FITNESS FOR A PARTICULAR PURPOSE. See the License for more details.
+
+  You should have received a copy of the GNU Lesser General Public License along with this
+  Program (see README files); if not, go to the GNU website (http://www.gnu.org/licenses/).
+
+  Redistribution and use, with or without modification, are permitted provided that such
+  redistributions retain the above copyright notice, license and disclaimer, along with
+  this list of conditions.
+*/
+
+package org.pdfclown.documents.contents;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.awt.RenderingHints;
+import java.awt.geom.AffineTransform;
+import java.awt.geom.Path2D;
+import java.awt.geom.PathIterator;
+import java.awt.image.BufferedImage;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.pdfclown.documents.contents.fonts.Font;
+
+/**
+  Size-bounded cache of glyph outlines and rasterized glyphs.
+  <p>Outlines are keyed by font and character, so that each glyph is decoded once across pages (or
+  renderings); small glyphs are also cached as rasterized masks for each size and color, so that
+  text rendering is reduced to image blitting. When the cache exceeds its capacity,
+  least-recently-used entries are evicted.</p>
+  <p>This class is thread-safe; decoding and rasterization happen outside the cache lock, so
+  concurrent misses on the same glyph may process it more than once.</p>
+
+  @author Stefano Chizzolini (http://www.stefanochizzolini.it)
+  @since 0.2.0
+  @version 0.2.0, 10/19/26
+*/
+public final class GlyphCache
+{
+  // <class>
+  // <classes>
+  /**
+    Rasterized glyph.
+  */
+  public static final class Mask
+  {
+    private final BufferedImage image;
+    private final int x;
+    private final int y;
+
+    private Mask(
+      BufferedImage image,
+      int x,
+      int y
+      )
+    {
+      this.image = image;
+      this.x = x;
+      this.y = y;
+    }
+
+    /**
+      Gets the glyph image, painted with its color.
+    */
+    public BufferedImage getImage(
+      )
+    {return image;}
+
+    /**
+      Gets the horizontal offset of the image from the glyph origin (device pixels).
+    */
+    public int getX(
+      )
+    {return x;}
+
+    /**
+      Gets the vertical offset of the image from the glyph origin (device pixels).
+    */
+    public int getY(
+      )
+    {return y;}
+  }
+
+  /**
+    Cache entry key.
+  */
+  private static final class Key
+  {
+    private final Font font;
+    private final char textChar;
+    /*
+      NOTE: Outline keys have no rasterization parameters (zero scales).
+    */
+    private final int scaleX;
+    private final int scaleY;
+    private final int phase;
+    private final int rgb;
+
+    Key(
+      Font font,
+      char textChar,
+      int scaleX,
+      int scaleY,
+      int phase,
+      int rgb
+      )
+    {
+      this.font = font;
+      this.textChar = textChar;
+      this.scaleX = scaleX;
+      this.scaleY = scaleY;
+      this.phase = phase;
+      this.rgb = rgb;
+    }
+
+    @Override
+    public boolean equals(
+      Object object
+      )
+    {
+      if(!(object instanceof Key))
+        return false;
+
+      Key key = (Key)object;
+      // NOTE: Fonts are compared by identity, as their equality is name-based.
+      return key.font == font
+        && key.textChar == textChar
+        && key.scaleX == scaleX
+        && key.scaleY == scaleY
+        && key.phase == phase
+        && key.rgb == rgb;
+    }
+
+    @Override
+    public int hashCode(
+      )
+    {
+      int hashCode = System.identityHashCode(font);
+      hashCode = hashCode * 31 + textChar;
+      hashCode = hashCode * 31 + scaleX;
+      hashCode = hashCode * 31 + scaleY;
+      hashCode = hashCode * 31 + phase;
+      return hashCode * 31 + rgb;
+    }
+  }
+  // </classes>
+
+  // <static>
+  // <fields>
+  /**
+    Number of horizontal subpixel positions of rasterized glyphs.
+  */
+  public static final int MaskPhaseCount = 4;
+  /**
+    Maximum size of rasterized glyphs (device pixels per em); larger glyphs should be filled
+    from their outlines.
+  */
+  public static final int MaxMaskSize = 32;
+
+  /**
+    Placeholder of blank (or missing) outlines.
+  */
+  private static final Path2D NoOutline = new Path2D.Double();
+  /**
+    Scale quantization steps per device pixel.
+  */
+  private static final int ScaleResolution = 8;
+  // </fields>
+
+  // <interface>
+  // <private>
+  /**
+    Gets the memory footprint of the specified entry (bytes).
+  */
+  private static long getSize(
+    Object entry
+    )
+  {
+    if(entry instanceof Mask)
+    {
+      BufferedImage image = ((Mask)entry).getImage();
+      return 64 + (long)image.getWidth() * image.getHeight() * 4;
+    }
+    else
+    {
+      long size = 64;
+      for(PathIterator iterator = ((Path2D)entry).getPathIterator(null); !iterator.isDone(); iterator.next())
+      {size += 1 + 6 * 8;} // Segment type and (maximum) coordinates.
+      return size;
+    }
+  }
+  // </private>
+  // </interface>
+  // </static>
+
+  // <dynamic>
+  // <fields>
+  private final long capacity;
+  private final Map<Key,Object> entries = new LinkedHashMap<Key,Object>(16, .75f, true);
+  private long size;
+  // </fields>
+
+  // <constructors>
+  /**
+    @param capacity Maximum memory footprint of the cached entries (bytes).
+  */
+  public GlyphCache(
+    long capacity
+    )
+  {this.capacity = capacity;}
+  // </constructors>
+
+  // <interface>
+  // <public>
+  /**
+    Removes all the cached entries.
+  */
+  public synchronized void clear(
+    )
+  {
+    entries.clear();
+    size = 0;
+  }
+
+  /**
+    Gets the maximum memory footprint of the cached entries (bytes).
+  */
+  public long getCapacity(
+    )
+  {return capacity;}
+
+  /**
+    Gets the rasterized representation of the specified glyph, rasterizing it in case of cache
+    miss.
+
+    @param font Glyph font.
+    @param textChar Glyph character.
+    @param scaleX Horizontal glyph size (device pixels per em; negative, if mirrored).
+    @param scaleY Vertical glyph size (device pixels per em; negative, if the device y-axis points
+      downwards).
+    @param phase Horizontal subpixel position of the glyph origin (between 0 and
+      {@link #MaskPhaseCount} - 1).
+    @param color Glyph color.
+    @return <code>null</code>, if the glyph is blank (or missing).
+    @see #MaxMaskSize
+  */
+  public Mask getMask(
+    Font font,
+    char textChar,
+    double scaleX,
+    double scaleY,
+    int phase,
+    Color color
+    )
+  {
+    Key key = new Key(
+      font,
+      textChar,
+      (int)Math.round(scaleX * ScaleResolution),
+      (int)Math.round(scaleY * ScaleResolution),
+      phase,
+      color.getRGB()
+      );
+    if(key.scaleX == 0 || key.scaleY == 0) // Degenerate glyph.
+      return null;
+
+    synchronized(this)
+    {
+      Object entry = entries.get(key);
+      if(entry != null)
+        return entry instanceof Mask ? (Mask)entry : null;
+    }
+
+    Path2D outline = getOutline(font, textChar);
+    Object entry = (outline != null ? createMask(outline, key.scaleX, key.scaleY, phase, color) : null);
+    put(key, entry != null ? entry : NoOutline);
+    return (Mask)entry;
+  }
+
+  /**
+    Gets the outline of the specified glyph, decoding it in case of cache miss.
+    <p>The returned object is shared, so it MUST NOT be modified.</p>
+
+    @param font Glyph font.
+    @param textChar Glyph character.
+    @return <code>null</code>, if the glyph is blank (or missing).
+    @see Font#getOutline(char)
+  */
+  public Path2D getOutline(
+    Font font,
+    char textChar
+    )
+  {
+    Key key = new Key(font, textChar, 0, 0, 0, 0);
+    synchronized(this)
+    {
+      Path2D outline = (Path2D)entries.get(key);
+      if(outline != null)
+        return outline != NoOutline ? outline : null;
+    }
+
+    Path2D outline = font.getOutline(textChar);
+    if(outline != null && outline.getBounds2D().isEmpty())
+    {outline = null;}
+    put(key, outline != null ? outline : NoOutline);
+    return outline;
+  }
+
+  /**
+    Gets the current memory footprint of the cached entries (bytes).
+  */
+  public synchronized long getSize(
+    )
+  {return size;}
+  // </public>
+
+  // <private>
+  /**
+    Rasterizes the specified outline.
+
+    @param scaleX Quantized horizontal glyph size.
+    @param scaleY Quantized vertical glyph size.
+  */
+  private Mask createMask(
+    Path2D outline,
+    int scaleX,
+    int scaleY,
+    int phase,
+    Color color
+    )
+  {
+    AffineTransform transform = new AffineTransform(
+      scaleX / (ScaleResolution * 1000d), 0,
+      0, scaleY / (ScaleResolution * 1000d),
+      phase / (double)MaskPhaseCount, 0
+      );
+    Rectangle bounds = transform.createTransformedShape(outline).getBounds();
+    if(bounds.isEmpty())
+      return null;
+
+    // NOTE: Bounds are padded to accommodate antialiasing.
+    bounds.grow(1, 1);
+    BufferedImage image = new BufferedImage(bounds.width, bounds.height, BufferedImage.TYPE_INT_ARGB);
+    Graphics2D context = image.createGraphics();
+    try
+    {
+      context.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+      context.setColor(color);
+      context.translate(-bounds.x, -bounds.y);
+      context.transform(transform);
+      context.fill(outline);
+    }
+    finally
+    {context.dispose();}
+    return new Mask(image, bounds.x, bounds.y);
+  }
+
+  private synchronized void put(
+    Key key,
+    Object entry
+    )
+  {
+    long entrySize = getSize(entry);
+    if(entrySize > capacity)
+      return;
+
+    Object oldEntry = entries.put(key, entry);
+    if(oldEntry != null)
+    {size -= getSize(oldEntry);}
+    size += entrySize;
+
+    // Evict the least-recently-used entries!
+    Iterator<Object> entriesIterator = entries.values().iterator();
+    while(size > capacity)
+    {
+      size -= getSize(entriesIterator.next());
+      entriesIterator.remove();
+    }
+  }
+  // </private>
+  // </interface>
+  // </dynamic>
+  // </class>
+}
@@ -0,0 +1,168 @@
+/*
+  Copyright 2026 Stefano Chizzolini. http://www.pdfclown.org
+
+  Contributors:
+    * Stefano Chizzolini (original code developer, http://www.stefanochizzolini.it)
+
+  This file should be part of the source code distribution of "PDF Clown library"
+  (the Program): see the accompanying README files for more info.
+
+  This Program is free software; you can redistribute it and/or modify it under the terms
+  of the GNU Lesser General Public License as published by the Free Software Foundation;
+  either version 3 of the License, or (at your option) any later version.
+
+  This Program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY,
+  either expressed or implied; without even the implied warranty of MERCHANTABILITY or
+  FITNESS FOR A PARTICULAR PURPOSE. See the License for more details.
+
+  You should have received a copy of the GNU Lesser General Public License along with this
+  Program (see README files); if not, go to the GNU website (http://www.gnu.org/licenses/).
+
+  Redistribution and use, with or without modification, are permitted provided that such
+  redistributions retain the above copyright notice, license and disclaimer, along with
+  this list of conditions.
+*/
+
+package org.pdfclown.documents.contents;
+
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBuffer;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.pdfclown.documents.contents.xObjects.ImageXObject;
+import org.pdfclown.objects.PdfDirectObject;
+import org.pdfclown.objects.PdfReference;
+
+/**
+  Size-bounded cache of decoded images.
+  <p>Images are keyed by their reference, so that images reused across pages (or renderings) are
+  decoded once; when the cache exceeds its capacity, least-recently-used images are evicted.
+  Direct (unreferenced) images are decoded each time.</p>
+  <p>This class is thread-safe; decoding happens outside the cache lock, so concurrent misses on
+  the same image may decode it more than once.</p>
+
+  @author Stefano Chizzolini (http://www.stefanochizzolini.it)
+  @since 0.2.0
+  @version 0.2.0, 10/19/26
+*/
+public final class ImageCache
+{
+  // <class>
+  // <static>
+  // <interface>
+  // <private>
+  /**
+    Gets the memory footprint of the specified image (bytes).
+  */
+  private static long getSize(
+    BufferedImage image
+    )
+  {
+    DataBuffer buffer = image.getRaster().getDataBuffer();
+    return (long)buffer.getSize() * buffer.getNumBanks() * DataBuffer.getDataTypeSize(buffer.getDataType()) / 8;
+  }
+  // </private>
+  // </interface>
+  // </static>
+
+  // <dynamic>
+  // <fields>
+  private final long capacity;
+  private final Map<PdfReference,BufferedImage> images = new LinkedHashMap<PdfReference,BufferedImage>(16, .75f, true);
+  private long size;
+  // </fields>
+
+  // <constructors>
+  /**
+    @param capacity Maximum memory footprint of the cached images (bytes).
+  */
+  public ImageCache(
+    long capacity
+    )
+  {this.capacity = capacity;}
+  // </constructors>
+
+  // <interface>
+  // <public>
+  /**
+    Removes all the cached images.
+  */
+  public synchronized void clear(
+    )
+  {
+    images.clear();
+    size = 0;
+  }
+
+  /**
+    Gets the decoded representation of the specified image, decoding it in case of cache miss.
+
+    @param image Image to decode.
+    @see ImageDecoder#decode(ImageXObject)
+  */
+  public BufferedImage get(
+    ImageXObject image
+    )
+  {
+    PdfDirectObject baseObject = image.getBaseObject();
+    if(!(baseObject instanceof PdfReference))
+      return ImageDecoder.decode(image);
+
+    PdfReference reference = (PdfReference)baseObject;
+    synchronized(this)
+    {
+      BufferedImage decodedImage = images.get(reference);
+      if(decodedImage != null)
+        return decodedImage;
+    }
+
+    BufferedImage decodedImage = ImageDecoder.decode(image);
+    put(reference, decodedImage);
+    return decodedImage;
+  }
+
+  /**
+    Gets the maximum memory footprint of the cached images (bytes).
+  */
+  public long getCapacity(
+    )
+  {return capacity;}
+
+  /**
+    Gets the current memory footprint of the cached images (bytes).
+  */
+  public synchronized long getSize(
+    )
+  {return size;}
+  // </public>
+
+  // <private>
+  private synchronized void put(
+    PdfReference reference,
+    BufferedImage image
+    )
+  {
+    long imageSize = getSize(image);
+    if(imageSize > capacity)
+      return;
+
+    BufferedImage oldImage = images.put(reference, image);
+    if(oldImage != null)
+    {size -= getSize(oldImage);}
+    size += imageSize;
+
+    // Evict the least-recently-used images!
+    Iterator<BufferedImage> imagesIterator = images.values().iterator();
+    while(size > capacity)
+    {
+      size -= getSize(imagesIterator.next());
+      imagesIterator.remove();
+    }
+  }
+  // </private>
+  // </interface>
+  // </dynamic>
+  // </class>
+}
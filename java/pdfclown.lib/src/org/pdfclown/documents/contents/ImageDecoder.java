@@ -0,0 +1,749 @@
+/*
+  Copyright 2026 Stefano Chizzolini. http://www.pdfclown.org
+
+  Contributors:
+    * Stefano Chizzolini (original code developer, http://www.stefanochizzolini.it)
+
+  This file should be part of the source code distribution of "PDF Clown library"
+  (the Program): see the accompanying README files for more info.
+
+  This Program is free software; you can redistribute it and/or modify it under the terms
+  of the GNU Lesser General Public License as published by the Free Software Foundation;
+  either version 3 of the License, or (at your option) any later version.
+
+  This Program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY,
+  either expressed or implied; without even the implied warranty of MERCHANTABILITY or
+  FITNESS FOR A PARTICULAR PURPOSE. See the License for more details.
+
+  You should have received a copy of the GNU Lesser General Public License along with this
+  Program (see README files); if not, go to the GNU website (http://www.gnu.org/licenses/).
+
+  Redistribution and use, with or without modification, are permitted provided that such
+  redistributions retain the above copyright notice, license and disclaimer, along with
+  this list of conditions.
+*/
+
+package org.pdfclown.documents.contents;
+
+import java.awt.Paint;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferByte;
+import java.awt.image.DataBufferInt;
+import java.awt.image.IndexColorModel;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import org.pdfclown.bytes.filters.Filter;
+import org.pdfclown.documents.contents.colorSpaces.ColorSpace;
+import org.pdfclown.documents.contents.colorSpaces.DeviceCMYKColorSpace;
+import org.pdfclown.documents.contents.colorSpaces.DeviceGrayColorSpace;
+import org.pdfclown.documents.contents.colorSpaces.DeviceRGBColorSpace;
+import org.pdfclown.documents.contents.colorSpaces.ICCBasedColorSpace;
+import org.pdfclown.documents.contents.colorSpaces.IndexedColor;
+import org.pdfclown.documents.contents.colorSpaces.IndexedColorSpace;
+import org.pdfclown.documents.contents.colorSpaces.LabColorSpace;
+import org.pdfclown.documents.contents.objects.InlineImage;
+import org.pdfclown.documents.contents.xObjects.ImageXObject;
+import org.pdfclown.objects.PdfArray;
+import org.pdfclown.objects.PdfBoolean;
+import org.pdfclown.objects.PdfDataObject;
+import org.pdfclown.objects.PdfDictionary;
+import org.pdfclown.objects.PdfDirectObject;
+import org.pdfclown.objects.PdfName;
+import org.pdfclown.objects.PdfNumber;
+import org.pdfclown.objects.PdfObject;
+import org.pdfclown.objects.PdfReal;
+import org.pdfclown.objects.PdfStream;
+import org.pdfclown.util.math.Interval;
+
+/**
+  Image decoder [PDF:1.6:4.8].
+  <p>Decodes the samples of {@link ImageXObject image XObjects} and {@link InlineImage inline
+  images} through their filter chain into {@link BufferedImage}s, applying their decode arrays
+  and masks (stencil, explicit, color-key and soft masks). Images are decoded into 32-bit RGB
+  rasters (with alpha channel, in case of masking), except stencil masks, which are decoded into
+  1-bit rasters whose opaque entries are meant to be painted with the current fill color (see
+  {@link #isStencil(BufferedImage)}).</p>
+  <p>Color spaces are converted on their fast device paths whenever possible (ICC-based color
+  spaces are converted through their device alternate); other color spaces are converted through
+  their {@link ColorSpace#getPaint(org.pdfclown.documents.contents.colorSpaces.Color) rendering
+  representation}, caching the conversions of recurring samples.</p>
+
+  @author Stefano Chizzolini (http://www.stefanochizzolini.it)
+  @since 0.2.0
+  @version 0.2.0, 10/19/26
+*/
+public final class ImageDecoder
+{
+  // <class>
+  // <types>
+  /**
+    Image dictionary, resolving abbreviated keys in case of inline images [PDF:1.6:4.8.6].
+  */
+  private static final class ImageHeader
+  {
+    final Map<PdfName,PdfDirectObject> entries;
+    final boolean inline;
+
+    ImageHeader(
+      Map<PdfName,PdfDirectObject> entries,
+      boolean inline
+      )
+    {
+      this.entries = entries;
+      this.inline = inline;
+    }
+
+    PdfDataObject get(
+      PdfName key,
+      PdfName abbreviation
+      )
+    {
+      PdfDirectObject value = entries.get(key);
+      if(value == null && inline)
+      {value = entries.get(abbreviation);}
+      return PdfObject.resolve(value);
+    }
+
+    boolean getBoolean(
+      PdfName key,
+      PdfName abbreviation
+      )
+    {
+      PdfBoolean value = (PdfBoolean)get(key, abbreviation);
+      return value != null && value.getRawValue();
+    }
+
+    int getInteger(
+      PdfName key,
+      PdfName abbreviation,
+      int defaultValue
+      )
+    {
+      PdfNumber<?> value = (PdfNumber<?>)get(key, abbreviation);
+      return value != null ? value.getIntValue() : defaultValue;
+    }
+  }
+  // </types>
+
+  // <static>
+  // <fields>
+  private static final int DeviceGrayKind = 0;
+  private static final int DeviceRGBKind = 1;
+  private static final int DeviceCMYKKind = 2;
+  private static final int IndexedKind = 3;
+  private static final int GenericKind = 4;
+
+  /**
+    Maximum number of cached conversions of generic color space samples (when exceeded, the cache
+    is reset).
+  */
+  private static final int MaxConversionCount = 1 << 16;
+
+  private static final IndexColorModel StencilColorModel = newStencilColorModel(java.awt.Color.BLACK);
+  // </fields>
+
+  // <interface>
+  // <public>
+  /**
+    Decodes the specified image XObject.
+
+    @param image Image to decode.
+    @return Decoded image.
+    @throws org.pdfclown.util.NotImplementedException If the image encoding is not supported (for
+      example, JBIG2 and JPEG 2000).
+  */
+  public static BufferedImage decode(
+    ImageXObject image
+    )
+  {return decode(image.getBaseDataObject());}
+
+  /**
+    Decodes the specified inline image.
+
+    @param image Image to decode.
+    @param context Content context whose resources the image refers to.
+    @return Decoded image.
+    @throws org.pdfclown.util.NotImplementedException If the image encoding is not supported.
+  */
+  public static BufferedImage decode(
+    InlineImage image,
+    IContentContext context
+    )
+  {
+    ImageHeader header = new ImageHeader(image.getHeader(), true);
+    return decode(
+      header,
+      image.getBody().getValue().toByteArray(),
+      getInlineColorSpace(header.get(PdfName.ColorSpace, PdfName.CS), context),
+      context
+      );
+  }
+
+  /**
+    Gets whether the specified decoded image is a stencil mask, that is its opaque samples have to
+    be painted with the current fill color [PDF:1.6:4.8.5].
+
+    @param image Decoded image.
+  */
+  public static boolean isStencil(
+    BufferedImage image
+    )
+  {
+    return image.getType() == BufferedImage.TYPE_BYTE_BINARY
+      && image.getColorModel() instanceof IndexColorModel;
+  }
+
+  /**
+    Gets the specified stencil mask colored with the specified color.
+
+    @param image Decoded stencil mask.
+    @param color Fill color.
+    @return Image sharing the samples of the stencil mask.
+  */
+  public static BufferedImage toStencil(
+    BufferedImage image,
+    java.awt.Color color
+    )
+  {return new BufferedImage(newStencilColorModel(color), image.getRaster(), false, null);}
+  // </public>
+
+  // <private>
+  private static BufferedImage decode(
+    PdfStream stream
+    )
+  {
+    PdfDictionary header = stream.getHeader();
+    return decode(
+      new ImageHeader(header, false),
+      stream.getBody(false).toByteArray(),
+      ColorSpace.wrap(header.get(PdfName.ColorSpace)),
+      null
+      );
+  }
+
+  private static BufferedImage decode(
+    ImageHeader header,
+    byte[] data,
+    ColorSpace<?> colorSpace,
+    IContentContext context
+    )
+  {
+    int width = header.getInteger(PdfName.Width, PdfName.W, 0);
+    int height = header.getInteger(PdfName.Height, PdfName.H, 0);
+    if(width <= 0 || height <= 0)
+      throw new IllegalArgumentException("Invalid image size: " + width + "x" + height);
+
+    boolean stencil = header.getBoolean(PdfName.ImageMask, PdfName.IM);
+    int bitsPerComponent = (stencil ? 1 : header.getInteger(PdfName.BitsPerComponent, PdfName.BPC, 8));
+    byte[] samples = decodeFilters(
+      data,
+      header.get(PdfName.Filter, PdfName.F),
+      header.get(PdfName.DecodeParms, PdfName.DP)
+      );
+    PdfArray decodeObject = (PdfArray)header.get(PdfName.Decode, PdfName.D);
+
+    if(stencil)
+      return decodeStencil(
+        samples,
+        width,
+        height,
+        decodeObject != null && ((PdfNumber<?>)decodeObject.resolve(0)).getDoubleValue() == 1
+        );
+
+    if(colorSpace == null)
+      throw new IllegalArgumentException("Image color space undefined.");
+
+    // Resolve the conversion path!
+    ColorSpace<?> conversionSpace = colorSpace;
+    if(conversionSpace instanceof ICCBasedColorSpace)
+    {
+      ColorSpace<?> alternateSpace = ((ICCBasedColorSpace)conversionSpace).getAlternateSpace();
+      if(alternateSpace instanceof DeviceGrayColorSpace
+        || alternateSpace instanceof DeviceRGBColorSpace
+        || alternateSpace instanceof DeviceCMYKColorSpace)
+      {conversionSpace = alternateSpace;}
+    }
+    int kind;
+    if(conversionSpace instanceof DeviceGrayColorSpace)
+    {kind = DeviceGrayKind;}
+    else if(conversionSpace instanceof DeviceRGBColorSpace)
+    {kind = DeviceRGBKind;}
+    else if(conversionSpace instanceof DeviceCMYKColorSpace)
+    {kind = DeviceCMYKKind;}
+    else if(conversionSpace instanceof IndexedColorSpace)
+    {kind = IndexedKind;}
+    else
+    {kind = GenericKind;}
+
+    int componentCount = colorSpace.getComponentCount();
+    int maxSample = (1 << bitsPerComponent) - 1;
+    double[] decode = getDecode(decodeObject, colorSpace, componentCount, maxSample);
+
+    // Sample lookup tables.
+    double[][] values = null; // Generic color spaces.
+    int[][] levels = null; // Device and indexed color spaces.
+    int[] palette = null;
+    if(kind == GenericKind)
+    {
+      values = new double[componentCount][maxSample + 1];
+      for(int componentIndex = 0; componentIndex < componentCount; componentIndex++)
+      {
+        double low = decode[componentIndex * 2], high = decode[componentIndex * 2 + 1];
+        for(int sample = 0; sample <= maxSample; sample++)
+        {values[componentIndex][sample] = low + sample * (high - low) / maxSample;}
+      }
+    }
+    else
+    {
+      int maxLevel = 255;
+      if(kind == IndexedKind)
+      {
+        IndexedColorSpace indexedSpace = (IndexedColorSpace)conversionSpace;
+        palette = new int[Math.min(maxSample + 1, 256)];
+        for(int index = 0; index < palette.length; index++)
+        {palette[index] = toRGB(indexedSpace.getPaint(new IndexedColor(index)));}
+        maxLevel = palette.length - 1;
+      }
+      levels = new int[componentCount][maxSample + 1];
+      for(int componentIndex = 0; componentIndex < componentCount; componentIndex++)
+      {
+        double low = decode[componentIndex * 2], high = decode[componentIndex * 2 + 1];
+        for(int sample = 0; sample <= maxSample; sample++)
+        {
+          double value = low + sample * (high - low) / maxSample;
+          if(kind != IndexedKind)
+          {value *= 255;}
+          levels[componentIndex][sample] = (value <= 0 ? 0 : value >= maxLevel ? maxLevel : (int)(value + .5));
+        }
+      }
+    }
+
+    // Color-key mask.
+    int[] colorKeyRanges = null;
+    PdfDataObject maskObject = header.get(PdfName.Mask, null);
+    if(maskObject instanceof PdfArray)
+    {
+      PdfArray colorKeyObject = (PdfArray)maskObject;
+      if(colorKeyObject.size() >= componentCount * 2)
+      {
+        colorKeyRanges = new int[componentCount * 2];
+        for(int index = 0; index < colorKeyRanges.length; index++)
+        {colorKeyRanges[index] = ((PdfNumber<?>)colorKeyObject.resolve(index)).getIntValue();}
+      }
+    }
+
+    BufferedImage image = new BufferedImage(
+      width,
+      height,
+      colorKeyRanges != null || maskObject instanceof PdfStream || header.get(PdfName.SMask, null) instanceof PdfStream
+        ? BufferedImage.TYPE_INT_ARGB
+        : BufferedImage.TYPE_INT_RGB
+      );
+    int[] pixels = ((DataBufferInt)image.getRaster().getDataBuffer()).getData();
+
+    // Convert the samples!
+    int rowLength = (width * componentCount * bitsPerComponent + 7) / 8;
+    int[] pixelSamples = new int[componentCount];
+    Map<Long,Integer> conversions = (kind == GenericKind ? new HashMap<Long,Integer>() : null);
+    List<PdfDirectObject> components = null;
+    if(kind == GenericKind)
+    {
+      components = new ArrayList<PdfDirectObject>(componentCount);
+      for(int componentIndex = 0; componentIndex < componentCount; componentIndex++)
+      {components.add(null);}
+    }
+    for(int y = 0, pixelIndex = 0; y < height; y++)
+    {
+      long bitIndex = (long)y * rowLength * 8;
+      for(int x = 0; x < width; x++, pixelIndex++)
+      {
+        for(int componentIndex = 0; componentIndex < componentCount; componentIndex++)
+        {
+          pixelSamples[componentIndex] = getSample(samples, bitIndex, bitsPerComponent);
+          bitIndex += bitsPerComponent;
+        }
+
+        int rgb;
+        switch(kind)
+        {
+          case DeviceGrayKind:
+            rgb = levels[0][pixelSamples[0]] * 0x010101;
+            break;
+          case DeviceRGBKind:
+            rgb = (levels[0][pixelSamples[0]] << 16)
+              | (levels[1][pixelSamples[1]] << 8)
+              | levels[2][pixelSamples[2]];
+            break;
+          case DeviceCMYKKind:
+          {
+            int k = levels[3][pixelSamples[3]];
+            rgb = ((255 - Math.min(255, levels[0][pixelSamples[0]] + k)) << 16)
+              | ((255 - Math.min(255, levels[1][pixelSamples[1]] + k)) << 8)
+              | (255 - Math.min(255, levels[2][pixelSamples[2]] + k));
+            break;
+          }
+          case IndexedKind:
+            rgb = palette[levels[0][pixelSamples[0]]];
+            break;
+          default:
+          {
+            long key = 0;
+            if(componentCount * bitsPerComponent <= 63)
+            {
+              for(int componentIndex = 0; componentIndex < componentCount; componentIndex++)
+              {key = (key << bitsPerComponent) | pixelSamples[componentIndex];}
+              Integer conversion = conversions.get(key);
+              if(conversion != null)
+              {
+                rgb = conversion;
+                break;
+              }
+            }
+            for(int componentIndex = 0; componentIndex < componentCount; componentIndex++)
+            {components.set(componentIndex, PdfReal.get(values[componentIndex][pixelSamples[componentIndex]]));}
+            rgb = toRGB(colorSpace.getPaint(colorSpace.getColor(components, context)));
+            if(componentCount * bitsPerComponent <= 63)
+            {
+              if(conversions.size() >= MaxConversionCount)
+              {conversions.clear();}
+              conversions.put(key, rgb);
+            }
+            break;
+          }
+        }
+
+        if(colorKeyRanges != null)
+        {
+          boolean masked = true;
+          for(int componentIndex = 0; componentIndex < componentCount; componentIndex++)
+          {
+            int sample = pixelSamples[componentIndex];
+            if(sample < colorKeyRanges[componentIndex * 2]
+              || sample > colorKeyRanges[componentIndex * 2 + 1])
+            {masked = false; break;}
+          }
+          if(!masked)
+          {rgb |= 0xff000000;}
+        }
+        else
+        {rgb |= 0xff000000;}
+        pixels[pixelIndex] = rgb;
+      }
+    }
+
+    // Apply the mask!
+    PdfDataObject softMaskObject = header.get(PdfName.SMask, null);
+    if(softMaskObject instanceof PdfStream)
+    {
+      PdfStream softMaskStream = (PdfStream)softMaskObject;
+      applyMask(
+        pixels,
+        width,
+        height,
+        decode(softMaskStream),
+        getMatte(softMaskStream, colorSpace, context)
+        );
+    }
+    else if(maskObject instanceof PdfStream)
+    {applyMask(pixels, width, height, decode((PdfStream)maskObject), null);}
+
+    return image;
+  }
+
+  /**
+    Applies the specified filters.
+  */
+  private static byte[] decodeFilters(
+    byte[] data,
+    PdfDataObject filterObject,
+    PdfDataObject parametersObject
+    )
+  {
+    if(filterObject instanceof PdfName)
+      return decodeFilter(data, (PdfName)filterObject, parametersObject);
+    else if(filterObject instanceof PdfArray)
+    {
+      Iterator<PdfDirectObject> parametersIterator = (parametersObject instanceof PdfArray ? ((PdfArray)parametersObject).iterator() : null);
+      for(PdfDirectObject filterItem : (PdfArray)filterObject)
+      {
+        data = decodeFilter(
+          data,
+          (PdfName)PdfObject.resolve(filterItem),
+          parametersIterator != null && parametersIterator.hasNext() ? PdfObject.resolve(parametersIterator.next()) : null
+          );
+      }
+    }
+    return data;
+  }
+
+  private static byte[] decodeFilter(
+    byte[] data,
+    PdfName filterName,
+    PdfDataObject parametersObject
+    )
+  {
+    Filter filter = Filter.get(filterName);
+    if(filter == null)
+      throw new IllegalArgumentException("Filter " + filterName + " unknown.");
+
+    return filter.decode(
+      data,
+      0,
+      data.length,
+      parametersObject instanceof PdfDictionary ? (PdfDictionary)parametersObject : null
+      );
+  }
+
+  /**
+    Decodes the samples of a stencil mask.
+
+    @param inverted Whether the decode array is <code>[1 0]</code>.
+  */
+  private static BufferedImage decodeStencil(
+    byte[] samples,
+    int width,
+    int height,
+    boolean inverted
+    )
+  {
+    BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_BYTE_BINARY, StencilColorModel);
+    byte[] imageSamples = ((DataBufferByte)image.getRaster().getDataBuffer()).getData();
+    /*
+      NOTE: Stencil samples are 1-bit rows (as the decoded image ones): with the default decode
+      array, samples of value 0 are painted, whilst the image represents painted samples as 1.
+    */
+    int length = Math.min(samples.length, imageSamples.length);
+    for(int index = 0; index < length; index++)
+    {imageSamples[index] = (byte)(inverted ? samples[index] : ~samples[index]);}
+    if(!inverted)
+    {
+      for(int index = length; index < imageSamples.length; index++)
+      {imageSamples[index] = (byte)0xff;}
+    }
+    return image;
+  }
+
+  /**
+    Applies the specified mask image (either stencil or soft) to the alpha channel of the
+    specified pixels, scaling it to their size.
+
+    @param matte RGB components of the matte color the pixels were preblended with
+      ({@code null} if not preblended).
+  */
+  private static void applyMask(
+    int[] pixels,
+    int width,
+    int height,
+    BufferedImage mask,
+    int[] matte
+    )
+  {
+    boolean stencil = isStencil(mask);
+    int maskWidth = mask.getWidth(), maskHeight = mask.getHeight();
+    int[] maskRow = new int[maskWidth];
+    for(int y = 0, pixelIndex = 0; y < height; y++)
+    {
+      int maskY = (int)((long)y * maskHeight / height);
+      if(stencil)
+      {mask.getRaster().getSamples(0, maskY, maskWidth, 1, 0, maskRow);}
+      else
+      {mask.getRGB(0, maskY, maskWidth, 1, maskRow, 0, maskWidth);}
+      for(int x = 0; x < width; x++, pixelIndex++)
+      {
+        int maskSample = maskRow[(int)((long)x * maskWidth / width)];
+        int alpha = (stencil ? (maskSample != 0 ? 255 : 0) : maskSample & 0xff);
+        int pixel = pixels[pixelIndex];
+        if(matte != null && alpha > 0 && alpha < 255)
+        {
+          /*
+            NOTE: Preblended colors are reverted as c' = m + (c - m) / alpha [PDF:1.6:7.5.4].
+          */
+          int rgb = 0;
+          for(int componentIndex = 0, shift = 16; componentIndex < 3; componentIndex++, shift -= 8)
+          {
+            int m = matte[componentIndex];
+            int c = m + (((pixel >>> shift) & 0xff) - m) * 255 / alpha;
+            rgb |= (c < 0 ? 0 : c > 255 ? 255 : c) << shift;
+          }
+          pixel = (pixel & 0xff000000) | rgb;
+        }
+        pixels[pixelIndex] = (((pixel >>> 24) * alpha / 255) << 24) | (pixel & 0xffffff);
+      }
+    }
+  }
+
+  /**
+    Gets the RGB components of the matte color of the specified soft mask.
+
+    @param softMask Soft mask stream.
+    @param colorSpace Color space of the masked image.
+    @param context Content context.
+    @return {@code null}, if the masked image wasn't preblended.
+  */
+  private static int[] getMatte(
+    PdfStream softMask,
+    ColorSpace<?> colorSpace,
+    IContentContext context
+    )
+  {
+    PdfArray matteObject = (PdfArray)softMask.getHeader().resolve(PdfName.Matte);
+    if(matteObject == null)
+      return null;
+
+    /*
+      NOTE: Matte components are expressed in the color space of the masked image; they are
+      converted to RGB just like the image samples, so that unblending happens in the same space.
+    */
+    int rgb = toRGB(colorSpace.getPaint(colorSpace.getColor(matteObject, context)));
+    return new int[]{(rgb >> 16) & 0xff, (rgb >> 8) & 0xff, rgb & 0xff};
+  }
+
+  /**
+    Gets the decode array (pairs of low and high values for each component).
+  */
+  private static double[] getDecode(
+    PdfArray decodeObject,
+    ColorSpace<?> colorSpace,
+    int componentCount,
+    int maxSample
+    )
+  {
+    double[] decode = new double[componentCount * 2];
+    if(decodeObject != null && decodeObject.size() >= decode.length)
+    {
+      for(int index = 0; index < decode.length; index++)
+      {decode[index] = ((PdfNumber<?>)decodeObject.resolve(index)).getDoubleValue();}
+    }
+    else if(colorSpace instanceof IndexedColorSpace)
+    {decode[1] = maxSample;}
+    else if(colorSpace instanceof LabColorSpace)
+    {
+      int index = 0;
+      for(Interval<Double> range : ((LabColorSpace)colorSpace).getRanges())
+      {
+        decode[index++] = range.getLow();
+        decode[index++] = range.getHigh();
+      }
+    }
+    else
+    {
+      for(int componentIndex = 0; componentIndex < componentCount; componentIndex++)
+      {decode[componentIndex * 2 + 1] = 1;}
+    }
+    return decode;
+  }
+
+  /**
+    Resolves the color space of an inline image, expanding its abbreviations [PDF:1.6:4.8.6].
+  */
+  private static ColorSpace<?> getInlineColorSpace(
+    PdfDataObject colorSpaceObject,
+    IContentContext context
+    )
+  {
+    if(colorSpaceObject == null)
+      return null;
+    else if(colorSpaceObject instanceof PdfName)
+    {
+      PdfName name = getInlineColorSpaceName((PdfName)colorSpaceObject);
+      if(name.equals(PdfName.DeviceGray)
+        || name.equals(PdfName.DeviceRGB)
+        || name.equals(PdfName.DeviceCMYK))
+        return ColorSpace.wrap(name);
+      else // Named resource.
+        return context.getResources().getColorSpaces().get(name);
+    }
+    else // Indexed color space.
+    {
+      PdfArray colorSpaceArray = new PdfArray();
+      for(PdfDirectObject item : (PdfArray)colorSpaceObject)
+      {
+        PdfDataObject itemObject = PdfObject.resolve(item);
+        if(itemObject instanceof PdfName)
+        {
+          PdfName name = getInlineColorSpaceName((PdfName)itemObject);
+          if(!colorSpaceArray.isEmpty() // Base color space.
+            && !name.equals(PdfName.DeviceGray)
+            && !name.equals(PdfName.DeviceRGB)
+            && !name.equals(PdfName.DeviceCMYK))
+          {
+            ColorSpace<?> baseSpace = context.getResources().getColorSpaces().get(name);
+            if(baseSpace != null)
+            {item = baseSpace.getBaseObject();}
+          }
+          else
+          {item = name;}
+        }
+        colorSpaceArray.add(item);
+      }
+      return ColorSpace.wrap(colorSpaceArray);
+    }
+  }
+
+  private static PdfName getInlineColorSpaceName(
+    PdfName name
+    )
+  {
+    if(name.equals(PdfName.G))
+      return PdfName.DeviceGray;
+    else if(name.equals(PdfName.RGB))
+      return PdfName.DeviceRGB;
+    else if(name.equals(PdfName.CMYK))
+      return PdfName.DeviceCMYK;
+    else if(name.equals(PdfName.I))
+      return PdfName.Indexed;
+    else
+      return name;
+  }
+
+  /**
+    Gets the sample at the specified bit position (missing samples are 0).
+  */
+  private static int getSample(
+    byte[] samples,
+    long bitIndex,
+    int bitsPerComponent
+    )
+  {
+    int byteIndex = (int)(bitIndex >> 3);
+    switch(bitsPerComponent)
+    {
+      case 8:
+        return byteIndex < samples.length ? samples[byteIndex] & 0xff : 0;
+      case 16:
+        return byteIndex + 1 < samples.length ? ((samples[byteIndex] & 0xff) << 8) | (samples[byteIndex + 1] & 0xff) : 0;
+      default:
+        // NOTE: Sub-byte samples never cross byte boundaries, as rows are byte-aligned.
+        return byteIndex < samples.length
+          ? ((samples[byteIndex] & 0xff) >> (8 - bitsPerComponent - (int)(bitIndex & 7))) & ((1 << bitsPerComponent) - 1)
+          : 0;
+    }
+  }
+
+  private static IndexColorModel newStencilColorModel(
+    java.awt.Color color
+    )
+  {
+    return new IndexColorModel(
+      1,
+      2,
+      new byte[]{0, (byte)color.getRed()},
+      new byte[]{0, (byte)color.getGreen()},
+      new byte[]{0, (byte)color.getBlue()},
+      new byte[]{0, (byte)color.getAlpha()}
+      );
+  }
+
+  private static int toRGB(
+    Paint paint
+    )
+  {return paint instanceof java.awt.Color ? ((java.awt.Color)paint).getRGB() & 0xffffff : 0;}
+  // </private>
+  // </interface>
+  // </static>
+  // </class>
+}
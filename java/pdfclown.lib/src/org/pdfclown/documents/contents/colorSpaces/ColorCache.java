@@ -0,0 +1,228 @@
+/*
+  Copyright 2026 Stefano Chizzolini. http://www.pdfclown.org
+
+  Contributors:
+    * Stefano Chizzolini (original code developer, http://www.stefanochizzolini.it)
+
+  This file should be part of the source code distribution of "PDF Clown library"
+  (the Program): see the accompanying README files for more info.
+
+  This Program is free software; you can redistribute it and/or modify it under the terms
+  of the GNU Lesser General Public License as published by the Free Software Foundation;
+  either version 3 of the License, or (at your option) any later version.
+
+  This Program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY,
+  either expressed or implied; without even the implied warranty of MERCHANTABILITY or
+  FITNESS FOR A PARTICULAR PURPOSE. See the License for more details.
+
+  You should have received a copy of the GNU Lesser General Public License along with this
+  Program (see README files); if not, go to the GNU website (http://www.gnu.org/licenses/).
+
+  Redistribution and use, with or without modification, are permitted provided that such
+  redistributions retain the above copyright notice, license and disclaimer, along with
+  this list of conditions.
+*/
+
+package org.pdfclown.documents.contents.colorSpaces;
+
+import java.util.List;
+
+import org.pdfclown.objects.PdfDirectObject;
+import org.pdfclown.objects.PdfNumber;
+
+/**
+  Cache of the rendering colors converted from a color space.
+  <p>Color components are quantized to 8 bits each, so that colors differing less than the
+  rendering precision share the same conversion: single-component spaces are converted into a
+  whole lookup table on first use, whilst multi-component colors are cached by their quantized
+  tuple (up to 7 components; larger tuples are converted every time).</p>
+  <p>Conversions are always applied to the quantized component values, so that results don't
+  depend on the cache state.</p>
+  <p>This class is thread-safe, as color spaces are shared across concurrent renderings.</p>
+
+  @author Stefano Chizzolini (http://www.stefanochizzolini.it)
+  @since 0.2.0
+  @version 0.2.0, 10/19/26
+*/
+abstract class ColorCache
+{
+  // <class>
+  // <static>
+  // <fields>
+  /**
+    Quantization levels of each component.
+  */
+  private static final int Levels = 255;
+  /**
+    Maximum number of cached multi-component colors (when exceeded, the cache is reset).
+  */
+  private static final int MaxEntryCount = 1 << 12;
+  // </fields>
+  // </static>
+
+  // <dynamic>
+  // <fields>
+  /**
+    Component ranges (low, high) used for quantization.
+  */
+  private final double[] bounds;
+  private final int componentCount;
+
+  /**
+    Lookup table (single-component spaces only).
+  */
+  private java.awt.Color[] table;
+
+  // Multi-component cache (open addressing).
+  private long[] keys;
+  private java.awt.Color[] values;
+  private int entryCount;
+
+  /**
+    Component values passed to {@link #convert(double[])} (reused across conversions).
+  */
+  private final double[] components;
+  // </fields>
+
+  // <constructors>
+  /**
+    @param componentCount Number of color components.
+    @param bounds Component ranges (low, high); <code>null</code> for <code>[0 1]</code> ranges.
+  */
+  protected ColorCache(
+    int componentCount,
+    double[] bounds
+    )
+  {
+    this.componentCount = componentCount;
+    if(bounds == null)
+    {
+      bounds = new double[componentCount * 2];
+      for(int index = 0; index < componentCount; index++)
+      {bounds[index * 2 + 1] = 1;}
+    }
+    this.bounds = bounds;
+    this.components = new double[componentCount];
+  }
+  // </constructors>
+
+  // <interface>
+  // <public>
+  /**
+    Gets the rendering color corresponding to the specified components.
+  */
+  public final synchronized java.awt.Color get(
+    List<PdfDirectObject> components
+    )
+  {
+    if(componentCount == 1)
+      return getTable()[quantize(components.get(0), 0)];
+    else if(componentCount > 7)
+    {
+      for(int index = 0; index < componentCount; index++)
+      {this.components[index] = dequantize(quantize(components.get(index), index), index);}
+      return convert(this.components);
+    }
+
+    long key = 0;
+    for(int index = 0; index < componentCount; index++)
+    {key = (key << 8) | quantize(components.get(index), index);}
+    return get(key);
+  }
+  // </public>
+
+  // <protected>
+  /**
+    Converts the specified color components into their rendering representation.
+
+    @param components Component values (array reused across invocations: implementations MUST NOT
+      retain it).
+  */
+  protected abstract java.awt.Color convert(
+    double[] components
+    );
+  // </protected>
+
+  // <private>
+  private double dequantize(
+    int level,
+    int index
+    )
+  {
+    double low = bounds[index * 2];
+    return low + level * (bounds[index * 2 + 1] - low) / Levels;
+  }
+
+  private java.awt.Color get(
+    long key
+    )
+  {
+    if(keys == null || entryCount >= MaxEntryCount)
+    {
+      keys = new long[MaxEntryCount * 2];
+      values = new java.awt.Color[MaxEntryCount * 2];
+      entryCount = 0;
+    }
+
+    int mask = keys.length - 1;
+    // NOTE: Keys are stored incremented by 1, as 0 marks empty slots.
+    long storedKey = key + 1;
+    int slot = (int)((storedKey * 0x9E3779B97F4A7C15L) >>> 40) & mask;
+    while(true)
+    {
+      long slotKey = keys[slot];
+      if(slotKey == storedKey)
+        return values[slot];
+      else if(slotKey == 0)
+        break;
+
+      slot = (slot + 1) & mask;
+    }
+
+    for(int index = componentCount - 1; index >= 0; index--)
+    {
+      components[index] = dequantize((int)(key & 0xff), index);
+      key >>>= 8;
+    }
+    java.awt.Color value = convert(components);
+    keys[slot] = storedKey;
+    values[slot] = value;
+    entryCount++;
+    return value;
+  }
+
+  private java.awt.Color[] getTable(
+    )
+  {
+    if(table == null)
+    {
+      java.awt.Color[] table = new java.awt.Color[Levels + 1];
+      for(int level = 0; level <= Levels; level++)
+      {
+        components[0] = dequantize(level, 0);
+        table[level] = convert(components);
+      }
+      this.table = table;
+    }
+    return table;
+  }
+
+  private int quantize(
+    PdfDirectObject component,
+    int index
+    )
+  {
+    double low = bounds[index * 2], high = bounds[index * 2 + 1];
+    double value = ((PdfNumber<?>)component).getDoubleValue();
+    if(value <= low)
+      return 0;
+    else if(value >= high)
+      return Levels;
+    else
+      return (int)((value - low) * Levels / (high - low) + .5);
+  }
+  // </private>
+  // </interface>
+  // </dynamic>
+  // </class>
+}
@@ -26,6 +26,7 @@
 package org.pdfclown.documents.contents.colorSpaces;
 
 import java.awt.Paint;
+import java.util.Hashtable;
 import java.util.List;
 
 import org.pdfclown.documents.Document;
@@ -35,6 +36,7 @@ import org.pdfclown.objects.PdfDataObject;
 import org.pdfclown.objects.PdfDirectObject;
 import org.pdfclown.objects.PdfName;
 import org.pdfclown.objects.PdfObjectWrapper;
+import org.pdfclown.objects.PdfReference;
 
 /**
   Color space [PDF:1.6:4.5].
@@ -62,6 +64,24 @@ public abstract class ColorSpace<TDataObject extends PdfDirectObject>
     if(baseObject == null)
       return null;
 
+    // Has the color space been already instantiated?
+    /*
+      NOTE: Color spaces cache their color conversions, so it's convenient to retrieve them from a
+      common cache whenever possible.
+    */
+    Hashtable<PdfReference,Object> cache = null;
+    if(baseObject instanceof PdfReference)
+    {
+      Document document = ((PdfReference)baseObject).getFile().getDocument();
+      if(document != null)
+      {
+        cache = document.cache;
+        Object colorSpace = cache.get(baseObject);
+        if(colorSpace instanceof ColorSpace<?>)
+          return (ColorSpace<?>)colorSpace;
+      }
+    }
+
     // Get the data object corresponding to the color space!
     PdfDataObject baseDataObject = baseObject.resolve();
     /*
@@ -73,30 +93,35 @@ public abstract class ColorSpace<TDataObject extends PdfDirectObject>
     PdfName name = (PdfName)(baseDataObject instanceof PdfArray
       ? ((PdfArray)baseDataObject).get(0)
       : baseDataObject);
+    ColorSpace<?> colorSpace;
     if(name.equals(PdfName.DeviceRGB))
-      return new DeviceRGBColorSpace(baseObject);
+      colorSpace = new DeviceRGBColorSpace(baseObject);
     else if(name.equals(PdfName.DeviceCMYK))
-      return new DeviceCMYKColorSpace(baseObject);
+      colorSpace = new DeviceCMYKColorSpace(baseObject);
     else if(name.equals(PdfName.DeviceGray))
-      return new DeviceGrayColorSpace(baseObject);
+      colorSpace = new DeviceGrayColorSpace(baseObject);
     else if(name.equals(PdfName.CalRGB))
-      return new CalRGBColorSpace(baseObject);
+      colorSpace = new CalRGBColorSpace(baseObject);
     else if(name.equals(PdfName.CalGray))
-      return new CalGrayColorSpace(baseObject);
+      colorSpace = new CalGrayColorSpace(baseObject);
     else if(name.equals(PdfName.ICCBased))
-      return new ICCBasedColorSpace(baseObject);
+      colorSpace = new ICCBasedColorSpace(baseObject);
     else if(name.equals(PdfName.Lab))
-      return new LabColorSpace(baseObject);
+      colorSpace = new LabColorSpace(baseObject);
     else if(name.equals(PdfName.DeviceN))
-      return new DeviceNColorSpace(baseObject);
+      colorSpace = new DeviceNColorSpace(baseObject);
     else if(name.equals(PdfName.Indexed))
-      return new IndexedColorSpace(baseObject);
+      colorSpace = new IndexedColorSpace(baseObject);
     else if(name.equals(PdfName.Pattern))
-      return new PatternColorSpace(baseObject);
+      colorSpace = new PatternColorSpace(baseObject);
     else if(name.equals(PdfName.Separation))
-      return new SeparationColorSpace(baseObject);
+      colorSpace = new SeparationColorSpace(baseObject);
     else
       throw new UnsupportedOperationException("Color space " + name + " unknown.");
+
+    if(cache != null)
+    {cache.put((PdfReference)baseObject, colorSpace);}
+    return colorSpace;
   }
   // </public>
   // </interface>
@@ -155,4 +180,4 @@ public abstract class ColorSpace<TDataObject extends PdfDirectObject>
   // </interface>
   // </dynamic>
   // </class>
-}
\ No newline at end of file
+}
\ No newline at end of file
@@ -102,17 +102,16 @@ public final class DeviceCMYKColorSpace
   {
     DeviceCMYKColor spaceColor = (DeviceCMYKColor)color;
     /*
-      NOTE: This convertion algorithm was from Apache FOP.
+      NOTE: Uncalibrated conversion [PDF:1.6:6.2.4].
     */
-    //FIXME: verify whether this algorithm is effective (limit checking seems quite ugly to me!).
-    float keyCorrection = (float)spaceColor.getK() / 2.5f;
-    float r = 1 - (float)spaceColor.getC() + keyCorrection; if(r > 1){r=1;} else if(r < 0){r=0;}
-    float g = 1 - (float)spaceColor.getM() + keyCorrection; if(g > 1){g=1;} else if(g < 0){g=0;}
-    float b = 1 - (float)spaceColor.getY() + keyCorrection; if(b > 1){b=1;} else if(b < 0){b=0;}
+    float k = (float)spaceColor.getK();
+    float r = 1 - Math.min(1, (float)spaceColor.getC() + k);
+    float g = 1 - Math.min(1, (float)spaceColor.getM() + k);
+    float b = 1 - Math.min(1, (float)spaceColor.getY() + k);
     return new java.awt.Color(r, g, b);
   }
   // </public>
   // </interface>
   // </dynamic>
   // </class>
-}
\ No newline at end of file
+}
\ No newline at end of file
@@ -26,6 +26,10 @@
 package org.pdfclown.documents.contents.colorSpaces;
 
 import java.awt.Paint;
+import java.awt.color.ICC_ColorSpace;
+import java.awt.color.ICC_Profile;
+import java.util.ArrayList;
+import java.util.Hashtable;
 import java.util.List;
 
 import org.pdfclown.PDF;
@@ -34,11 +38,19 @@ import org.pdfclown.documents.Document;
 import org.pdfclown.documents.contents.IContentContext;
 import org.pdfclown.objects.PdfArray;
 import org.pdfclown.objects.PdfDirectObject;
+import org.pdfclown.objects.PdfInteger;
+import org.pdfclown.objects.PdfName;
+import org.pdfclown.objects.PdfNumber;
+import org.pdfclown.objects.PdfReal;
+import org.pdfclown.objects.PdfReference;
 import org.pdfclown.objects.PdfStream;
 import org.pdfclown.util.NotImplementedException;
 
 /**
   ICC-based color space [PDF:1.6:4.5.4].
+  <p>Colors are converted through the embedded ICC profile (falling back to the
+  {@link #getAlternateSpace() alternate space} if the profile can't be loaded); profiles are
+  loaded once per document and conversions are cached per color space instance.</p>
 
   @author Stefano Chizzolini (http://www.stefanochizzolini.it)
   @version 0.1.1, 04/10/11
@@ -50,6 +62,10 @@ public final class ICCBasedColorSpace
 {
   // <class>
   // <dynamic>
+  // <fields>
+  private ColorCache paints;
+  // </fields>
+
   // <constructors>
   //TODO:IMPL new element constructor!
 
@@ -67,41 +83,174 @@ public final class ICCBasedColorSpace
     )
   {throw new NotImplementedException();}
 
+  /**
+    Gets the alternate color space to be used in case the one specified in the profile is not
+    supported.
+  */
+  public ColorSpace<?> getAlternateSpace(
+    )
+  {
+    PdfDirectObject alternateSpaceObject = getProfile().getHeader().get(PdfName.Alternate);
+    if(alternateSpaceObject != null)
+      return ColorSpace.wrap(alternateSpaceObject);
+
+    switch(getComponentCount())
+    {
+      case 1:
+        return DeviceGrayColorSpace.Default;
+      case 3:
+        return DeviceRGBColorSpace.Default;
+      case 4:
+        return DeviceCMYKColorSpace.Default;
+      default:
+        throw new UnsupportedOperationException("Unsupported ICC component count: " + getComponentCount());
+    }
+  }
+
   @Override
   public Color<?> getColor(
     List<PdfDirectObject> components,
     IContentContext context
     )
   {
-    return new DeviceRGBColor(components); // FIXME:temporary hack...
+    switch(getComponentCount())
+    {
+      case 1:
+        return new DeviceGrayColor(components);
+      case 4:
+        return new DeviceCMYKColor(components);
+      default:
+        return new DeviceRGBColor(components);
+    }
   }
 
   @Override
-  public int getComponentCount()
-  {
-    // FIXME: Auto-generated method stub
-    return 0;
-  }
+  public int getComponentCount(
+    )
+  {return ((PdfInteger)getProfile().getHeader().resolve(PdfName.N)).getRawValue();}
 
   @Override
   public Color<?> getDefaultColor(
     )
-  {return DeviceGrayColor.Default;} // FIXME:temporary hack...
+  {
+    switch(getComponentCount())
+    {
+      case 1:
+        return new DeviceGrayColor(0);
+      case 4:
+        return new DeviceCMYKColor(0, 0, 0, 0);
+      default:
+        return new DeviceRGBColor(0, 0, 0);
+    }
+  }
 
   @Override
   public Paint getPaint(
     Color<?> color
     )
   {
-    // FIXME: temporary hack
-    return new java.awt.Color(0,0,0);
+    if(paints == null)
+    {
+      int componentCount = getComponentCount();
+      final java.awt.color.ColorSpace profileSpace = getProfileSpace();
+      if(profileSpace != null && profileSpace.getNumComponents() == componentCount)
+      {
+        final float[] profileComponents = new float[componentCount];
+        paints = new ColorCache(componentCount, getRanges())
+        {
+          @Override
+          protected java.awt.Color convert(
+            double[] components
+            )
+          {
+            for(int index = 0; index < components.length; index++)
+            {profileComponents[index] = (float)components[index];}
+            float[] rgbComponents = profileSpace.toRGB(profileComponents);
+            return new java.awt.Color(rgbComponents[0], rgbComponents[1], rgbComponents[2]);
+          }
+        };
+      }
+      else
+      {
+        final ColorSpace<?> alternateSpace = getAlternateSpace();
+        paints = new ColorCache(componentCount, getRanges())
+        {
+          @Override
+          protected java.awt.Color convert(
+            double[] components
+            )
+          {
+            List<PdfDirectObject> componentObjects = new ArrayList<PdfDirectObject>(components.length);
+            for(double component : components)
+            {componentObjects.add(PdfReal.get(component));}
+            return (java.awt.Color)alternateSpace.getPaint(
+              alternateSpace.getColor(componentObjects, null)
+              );
+          }
+        };
+      }
+    }
+    return paints.get(color.getComponents());
   }
 
   public PdfStream getProfile(
     )
   {return (PdfStream)getBaseDataObject().resolve(1);}
   // </public>
+
+  // <private>
+  /**
+    Gets the (low, high) ranges of the color components.
+  */
+  private double[] getRanges(
+    )
+  {
+    PdfArray rangesObject = (PdfArray)getProfile().getHeader().resolve(PdfName.Range);
+    if(rangesObject == null)
+      return null;
+
+    double[] ranges = new double[rangesObject.size()];
+    for(int index = 0; index < ranges.length; index++)
+    {ranges[index] = ((PdfNumber<?>)rangesObject.resolve(index)).getDoubleValue();}
+    return ranges;
+  }
+
+  /**
+    Gets the color space corresponding to the ICC profile.
+    <p>As profile parsing is expensive, the resulting color space is shared across all the color
+    spaces of the same document referencing the same profile stream.</p>
+
+    @return <code>null</code>, if the profile couldn't be loaded.
+  */
+  private java.awt.color.ColorSpace getProfileSpace(
+    )
+  {
+    PdfDirectObject profileObject = getBaseDataObject().get(1);
+    Hashtable<PdfReference,Object> cache = null;
+    if(profileObject instanceof PdfReference)
+    {
+      Document document = getDocument();
+      if(document != null)
+      {
+        cache = document.cache;
+        Object profileSpace = cache.get(profileObject);
+        if(profileSpace instanceof java.awt.color.ColorSpace)
+          return (java.awt.color.ColorSpace)profileSpace;
+      }
+    }
+
+    java.awt.color.ColorSpace profileSpace;
+    try
+    {profileSpace = new ICC_ColorSpace(ICC_Profile.getInstance(getProfile().getBody().toByteArray()));}
+    catch(Exception e)
+    {return null;} // Broken or unsupported profile.
+
+    if(cache != null)
+    {cache.put((PdfReference)profileObject, profileSpace);}
+    return profileSpace;
+  }
+  // </private>
   // </interface>
   // </dynamic>
   // </class>
-}
\ No newline at end of file
+}
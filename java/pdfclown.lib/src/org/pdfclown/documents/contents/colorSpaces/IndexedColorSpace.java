@@ -36,8 +36,11 @@ import org.pdfclown.VersionEnum;
 import org.pdfclown.documents.Document;
 import org.pdfclown.documents.contents.IContentContext;
 import org.pdfclown.objects.PdfArray;
+import org.pdfclown.objects.PdfDataObject;
 import org.pdfclown.objects.PdfDirectObject;
+import org.pdfclown.objects.PdfInteger;
 import org.pdfclown.objects.PdfReal;
+import org.pdfclown.objects.PdfStream;
 import org.pdfclown.util.IDataWrapper;
 import org.pdfclown.util.NotImplementedException;
 
@@ -57,6 +60,10 @@ public final class IndexedColorSpace
   private final Map<Integer,Color<?>> baseColors = new HashMap<Integer,Color<?>>();
   private byte[] baseComponentValues;
   private ColorSpace<?> baseSpace;
+  /**
+    Rendering colors corresponding to the color table entries.
+  */
+  private Paint[] paints;
   // </fields>
 
   // <constructors>
@@ -106,6 +113,7 @@ public final class IndexedColorSpace
         }
       }
       baseColor = baseSpace.getColor(components, null);
+      baseColors.put(colorIndex, baseColor);
     }
     return baseColor;
   }
@@ -139,14 +147,19 @@ public final class IndexedColorSpace
     )
   {return IndexedColor.Default;}
 
+  /**
+    {@inheritDoc}
+    <p>The whole color table is converted on first use, so that subsequent conversions are plain
+    lookups.</p>
+  */
   @Override
   public Paint getPaint(
     Color<?> color
     )
   {
-    return getBaseSpace().getPaint(
-      getBaseColor((IndexedColor)color)
-      );
+    Paint[] paints = getPaints();
+    int colorIndex = ((IndexedColor)color).getIndex();
+    return paints[colorIndex < 0 ? 0 : colorIndex >= paints.length ? paints.length - 1 : colorIndex];
   }
   // </public>
 
@@ -158,9 +171,40 @@ public final class IndexedColorSpace
     )
   {
     if(baseComponentValues == null)
-    {baseComponentValues = ((IDataWrapper)getBaseDataObject().resolve(3)).toByteArray();}
+    {
+      // NOTE: The color table may be either a string or a stream [PDF:1.6:4.5.5].
+      PdfDataObject tableObject = getBaseDataObject().resolve(3);
+      baseComponentValues = (tableObject instanceof PdfStream
+        ? ((PdfStream)tableObject).getBody().toByteArray()
+        : ((IDataWrapper)tableObject).toByteArray());
+    }
     return baseComponentValues;
   }
+
+  /**
+    Gets the rendering colors of the color table.
+  */
+  private Paint[] getPaints(
+    )
+  {
+    if(paints == null)
+    {
+      ColorSpace<?> baseSpace = getBaseSpace();
+      int colorCount = Math.min(
+        ((PdfInteger)getBaseDataObject().resolve(2)).getRawValue() + 1,
+        getBaseComponentValues().length / baseSpace.getComponentCount()
+        );
+      Paint[] paints = new Paint[colorCount];
+      for(int colorIndex = 0; colorIndex < colorCount; colorIndex++)
+      {
+        paints[colorIndex] = baseSpace.getPaint(
+          getBaseColor(new IndexedColor(colorIndex))
+          );
+      }
+      this.paints = paints;
+    }
+    return paints;
+  }
   // </private>
   // </interface>
   // </dynamic>
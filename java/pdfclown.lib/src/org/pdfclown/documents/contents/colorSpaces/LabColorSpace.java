@@ -54,6 +54,10 @@ public final class LabColorSpace
 {
   // <class>
   // <dynamic>
+  // <fields>
+  private ColorCache paints;
+  // </fields>
+
   // <constructors>
   //TODO:IMPL new element constructor!
 
@@ -142,16 +146,74 @@ public final class LabColorSpace
     return ranges;
   }
 
+  /**
+    {@inheritDoc}
+    <p>Colors are converted to sRGB through CIE XYZ, adapting the {@link #getWhitePoint() white
+    point} to D65; conversions are cached per color space instance.</p>
+  */
   @Override
   public Paint getPaint(
     Color<?> color
     )
   {
-    // FIXME: temporary hack
-    return new java.awt.Color(0,0,0);
+    if(paints == null)
+    {
+      List<Interval<Double>> ranges = getRanges();
+      double[] bounds = new double[ranges.size() * 2];
+      for(int index = 0; index < ranges.size(); index++)
+      {
+        bounds[index * 2] = ranges.get(index).getLow().doubleValue();
+        bounds[index * 2 + 1] = ranges.get(index).getHigh().doubleValue();
+      }
+      paints = new ColorCache(getComponentCount(), bounds)
+      {
+        @Override
+        protected java.awt.Color convert(
+          double[] components
+          )
+        {
+          // Lab to XYZ.
+          double fy = (components[0] + 16) / 116;
+          double fx = fy + components[1] / 500;
+          double fz = fy - components[2] / 200;
+          /*
+            XYZ, adapted to D65 white point (von Kries scaling: as the source white point
+            components would cancel out, they are omitted).
+          */
+          double x = inverseLabFunction(fx) * 0.9505;
+          double y = inverseLabFunction(fy);
+          double z = inverseLabFunction(fz) * 1.0890;
+          // XYZ to sRGB.
+          return new java.awt.Color(
+            toSRGB(3.2406 * x - 1.5372 * y - 0.4986 * z),
+            toSRGB(-0.9689 * x + 1.8758 * y + 0.0415 * z),
+            toSRGB(0.0557 * x - 0.2040 * y + 1.0570 * z)
+            );
+        }
+      };
+    }
+    return paints.get(color.getComponents());
   }
   // </public>
+
+  // <private>
+  private static double inverseLabFunction(
+    double value
+    )
+  {return value > 6d / 29 ? value * value * value : 3 * (6d / 29) * (6d / 29) * (value - 4d / 29);}
+
+  /**
+    Applies the sRGB gamma to the specified linear component.
+  */
+  private static float toSRGB(
+    double value
+    )
+  {
+    value = (value <= 0.0031308 ? 12.92 * value : 1.055 * Math.pow(value, 1 / 2.4) - 0.055);
+    return (float)(value < 0 ? 0 : value > 1 ? 1 : value);
+  }
+  // </private>
   // </interface>
   // </dynamic>
   // </class>
-}
\ No newline at end of file
+}
\ No newline at end of file
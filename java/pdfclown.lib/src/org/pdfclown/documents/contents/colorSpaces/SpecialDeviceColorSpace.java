@@ -26,6 +26,8 @@
 package org.pdfclown.documents.contents.colorSpaces;
 
 import java.awt.Paint;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 import org.pdfclown.PDF;
@@ -34,6 +36,7 @@ import org.pdfclown.documents.functions.Function;
 import org.pdfclown.objects.PdfArray;
 import org.pdfclown.objects.PdfDirectObject;
 import org.pdfclown.objects.PdfName;
+import org.pdfclown.objects.PdfReal;
 
 /**
   Special device color space [PDF:1.6:4.5.5].
@@ -58,6 +61,10 @@ public abstract class SpecialDeviceColorSpace
   // </static>
 
   // <dynamic>
+  // <fields>
+  private ColorCache paints;
+  // </fields>
+
   // <constructors>
   //TODO:IMPL new element constructor!
 
@@ -83,24 +90,55 @@ public abstract class SpecialDeviceColorSpace
   public abstract List<String> getComponentNames(
     );
 
+  /**
+    {@inheritDoc}
+    <p>Tint values are converted through the {@link #getTintFunction() tint transform} into the
+    {@link #getAlternateSpace() alternate space}; conversions are cached per color space instance.</p>
+  */
   @Override
   public Paint getPaint(
     Color<?> color
     )
   {
-    //TODO:enable!!!
-//    List<PdfDirectObject> alternateColorComponents = getTintFunction().calculate(color.getComponents());
-//    ColorSpace<?> alternateSpace = getAlternateSpace();
-//
-//    return alternateSpace.getPaint(
-//      alternateSpace.getColor(
-//        alternateColorComponents,
-//        null
-//        )
-//      );
-
-    //TODO: remove (temporary hack)!
-    return new java.awt.Color(0,0,0);
+    if(paints == null)
+    {
+      if(getComponentNames().equals(Collections.nCopies(getComponentCount(), NoneComponentName)))
+      {
+        // NOTE: 'None' colorants never produce any visible output.
+        final java.awt.Color transparent = new java.awt.Color(0, 0, 0, 0);
+        paints = new ColorCache(getComponentCount(), null)
+        {
+          @Override
+          protected java.awt.Color convert(
+            double[] components
+            )
+          {return transparent;}
+        };
+      }
+      else
+      {
+        final Function<?> tintFunction = getTintFunction();
+        final ColorSpace<?> alternateSpace = getAlternateSpace();
+        final double[] alternateComponents = new double[alternateSpace.getComponentCount()];
+        paints = new ColorCache(getComponentCount(), null)
+        {
+          @Override
+          protected java.awt.Color convert(
+            double[] components
+            )
+          {
+            tintFunction.calculate(components, alternateComponents);
+            List<PdfDirectObject> alternateComponentObjects = new ArrayList<PdfDirectObject>(alternateComponents.length);
+            for(double alternateComponent : alternateComponents)
+            {alternateComponentObjects.add(PdfReal.get(alternateComponent));}
+            return (java.awt.Color)alternateSpace.getPaint(
+              alternateSpace.getColor(alternateComponentObjects, null)
+              );
+          }
+        };
+      }
+    }
+    return paints.get(color.getComponents());
   }
 
   /**
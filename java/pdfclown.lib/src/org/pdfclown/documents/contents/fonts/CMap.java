@@ -29,6 +29,8 @@ import java.io.BufferedReader;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import org.pdfclown.bytes.Buffer;
 import org.pdfclown.bytes.IInputStream;
@@ -40,6 +42,8 @@ import org.pdfclown.util.io.IOUtils;
 
 /**
   Character map [PDF:1.6:5.6.4].
+  <p>Predefined character maps are parsed once and shared across documents as immutable
+  {@link CompactCMap compact range tables}.</p>
 
   @author Stefano Chizzolini (http://www.stefanochizzolini.it)
   @since 0.0.8
@@ -48,6 +52,15 @@ import org.pdfclown.util.io.IOUtils;
 final class CMap
 {
   // <static>
+  // <fields>
+  /**
+    Placeholder for unavailable predefined character maps.
+  */
+  private static final CompactCMap Missing = new CompactCMap.Builder().build();
+
+  private static final ConcurrentMap<String,CompactCMap> predefinedCMaps = new ConcurrentHashMap<String,CompactCMap>();
+  // </fields>
+
   // <interface>
   /**
     Gets the character map extracted from the given data.
@@ -99,7 +112,7 @@ final class CMap
     @param name Predefined character map name.
     @return <code>null</code>, in case no name matching occurs.
   */
-  public static Map<ByteArray,Integer> get(
+  public static CompactCMap get(
     PdfName name
     )
   {return get(name.getValue());}
@@ -107,24 +120,49 @@ final class CMap
   /**
     Gets the character map corresponding to the given name.
 
+    <p>The returned character map is immutable and shared.</p>
+
     @param name Predefined character map name.
     @return <code>null</code>, in case no name matching occurs.
   */
-  public static Map<ByteArray,Integer> get(
+  public static CompactCMap get(
     String name
     )
   {
-    Map<ByteArray,Integer> cmap;
+    CompactCMap cmap = predefinedCMaps.get(name);
+    if(cmap == null)
+    {
+      cmap = load(name);
+      CompactCMap cachedCMap = predefinedCMaps.putIfAbsent(name, cmap);
+      if(cachedCMap != null)
+      {cmap = cachedCMap;}
+    }
+    return cmap != Missing ? cmap : null;
+  }
+
+  /**
+    Parses the predefined character map corresponding to the given name.
+
+    @param name Predefined character map name.
+    @return {@link #Missing}, in case no name matching occurs.
+  */
+  private static CompactCMap load(
+    String name
+    )
+  {
+    CompactCMap.Builder cmapBuilder = new CompactCMap.Builder();
     InputStream cmapResourceStream = null;
     BufferedReader cmapStream = null;
     try
     {
       cmapResourceStream = CMap.class.getResourceAsStream("/fonts/cmap/" + name);
       if(cmapResourceStream == null)
-        return null;
+        return Missing;
+
+      @SuppressWarnings("resource")
+      CMapParser parser = new CMapParser(new Buffer(cmapStream = new BufferedReader(new InputStreamReader(cmapResourceStream))));
+      parser.parse(cmapBuilder);
 
-      cmap = get(new Buffer(cmapStream = new BufferedReader(new InputStreamReader(cmapResourceStream))));
-      
       IOUtils.close(cmapStream);
     }
     finally
@@ -132,7 +170,7 @@ final class CMap
       IOUtils.closeQuietly(cmapStream);
       IOUtils.closeQuietly(cmapResourceStream);
     }
-    return cmap;
+    return cmapBuilder.build();
   }
   // </interface>
   // </static>
@@ -142,4 +180,4 @@ final class CMap
     )
   {}
   // </constructors>
-}
\ No newline at end of file
+}
\ No newline at end of file
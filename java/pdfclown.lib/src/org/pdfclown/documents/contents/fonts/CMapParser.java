@@ -52,6 +52,49 @@ final class CMapParser
   extends PostScriptParser
 {
   // <class>
+  // <interfaces>
+  /**
+    Collector of the parsed mappings.
+
+    @since 0.2.0
+  */
+  interface IMappingCollector
+  {
+    /**
+      Notifies the mapping of a single code.
+
+      @param inputCode Input code.
+      @param value Mapped value (character code or CID).
+    */
+    void addCode(
+      byte[] inputCode,
+      int value
+      );
+
+    /**
+      Notifies the mapping of a range of codes to contiguous values.
+
+      @param beginInputCode Beginning input code.
+      @param endInputCode Ending input code.
+      @param value Value mapped to the beginning input code.
+    */
+    void addRange(
+      byte[] beginInputCode,
+      byte[] endInputCode,
+      int value
+      );
+
+    /**
+      Notifies the inclusion of the mappings of another CMap.
+
+      @param name Predefined CMap name.
+    */
+    void useCMap(
+      String name
+      );
+  }
+  // </interfaces>
+
   // <static>
   // <fields>
   private static final String BeginBaseFontCharOperator = "beginbfchar";
@@ -92,12 +135,66 @@ final class CMapParser
   */
   public Map<ByteArray,Integer> parse(
     )
+  {
+    final Map<ByteArray,Integer> codes = new Hashtable<ByteArray,Integer>();
+    parse(
+      new IMappingCollector()
+      {
+        @Override
+        public void addCode(
+          byte[] inputCode,
+          int value
+          )
+        {codes.put(new ByteArray(inputCode), value);}
+
+        @Override
+        public void addRange(
+          byte[] beginInputCode,
+          byte[] endInputCode,
+          int value
+          )
+        {
+          byte[] inputCode = beginInputCode;
+          int endValue = value + (ConvertUtils.byteArrayToInt(endInputCode) - ConvertUtils.byteArrayToInt(beginInputCode));
+          while(true)
+          {
+            codes.put(new ByteArray(inputCode), value);
+            if(value == endValue)
+              break;
+
+            OperationUtils.increment(inputCode);
+            value++;
+          }
+        }
+
+        @Override
+        public void useCMap(
+          String name
+          )
+        {
+          Map<ByteArray,Integer> baseCodes = CMap.get(name);
+          if(baseCodes != null)
+          {codes.putAll(baseCodes);}
+        }
+      }
+      );
+    return codes;
+  }
+
+  /**
+    Parses the character-code-to-unicode mapping [PDF:1.6:5.9.1], notifying the mappings to the
+    specified collector.
+
+    @since 0.2.0
+  */
+  public void parse(
+    IMappingCollector collector
+    )
   {
     try
     {getStream().seek(0);}
     catch(EOFException e)
     {throw new RuntimeException(e);}
-    Map<ByteArray,Integer> codes = new Hashtable<ByteArray,Integer>();
     {
       List<Object> operands = new ArrayList<Object>();
       String cmapName = null;
@@ -118,12 +215,12 @@ final class CMapParser
               for(int itemIndex = 0, itemCount = (Integer)operands.get(0); itemIndex < itemCount; itemIndex++)
               {
                 moveNext();
-                ByteArray inputCode = new ByteArray(parseInputCode());
+                byte[] inputCode = parseInputCode();
                 moveNext();
                 // FIXME: Unicode character sequences (such as ligatures) have not been supported yet [BUG:72].
                 try
                 {
-                  codes.put(inputCode, parseUnicode());
+                  collector.addCode(inputCode, parseUnicode());
                 }
                 catch(NumberFormatException e)
                 {
@@ -161,7 +258,7 @@ final class CMapParser
                       // FIXME: Unicode character sequences (such as ligatures) have not been supported yet [BUG:72].
                       try
                       {
-                        codes.put(new ByteArray(inputCode), parseUnicode());
+                        collector.addCode(inputCode.clone(), parseUnicode());
                       }
                       catch(NumberFormatException e)
                       {
@@ -174,25 +271,14 @@ final class CMapParser
                   }
                   default:
                   {
-                    byte[] inputCode = beginInputCode;
-                    int charCode = parseUnicode();
-                    int endCharCode = charCode + (ConvertUtils.byteArrayToInt(endInputCode) - ConvertUtils.byteArrayToInt(beginInputCode));
-                    while(true)
-                    {
-                      codes.put(new ByteArray(inputCode), charCode);
-                      if(charCode == endCharCode)
-                        break;
-
-                      OperationUtils.increment(inputCode);
-                      charCode++;
-                    }
+                    collector.addRange(beginInputCode, endInputCode, parseUnicode());
                     break;
                   }
                 }
               }
             }
             else if(operator.equals(UseCMapOperator))
-            {codes = CMap.get((String)operands.get(0));}
+            {collector.useCMap((String)operands.get(0));}
             else if(operator.equals(DefOperator) && !operands.isEmpty())
             {
               if(CMapName.equals(operands.get(0)))
@@ -224,7 +310,6 @@ final class CMapParser
         }
       }
     }
-    return codes;
   }
   // </public>
 
@@ -247,7 +332,7 @@ final class CMapParser
       case Hex: // Character code in hexadecimal format.
         return Integer.parseInt((String)getToken(), 16);
       case Integer: // Character code in plain format.
-        return (Integer)getToken();
+        return getIntToken();
       case Name: // Character name.
         return GlyphMapping.nameToCode((String)getToken());
       default:
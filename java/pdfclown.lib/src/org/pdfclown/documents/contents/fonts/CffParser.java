@@ -25,6 +25,8 @@
 
 package org.pdfclown.documents.contents.fonts;
 
+import java.awt.geom.AffineTransform;
+import java.awt.geom.Path2D;
 import java.io.BufferedReader;
 import java.io.EOFException;
 import java.io.IOException;
@@ -41,21 +43,381 @@ import java.util.Set;
 
 import org.pdfclown.bytes.Buffer;
 import org.pdfclown.bytes.IInputStream;
+import org.pdfclown.objects.PdfName;
 import org.pdfclown.tokens.CharsetName;
+import org.pdfclown.util.ByteArray;
 import org.pdfclown.util.NotImplementedException;
 import org.pdfclown.util.io.IOUtils;
+import org.pdfclown.util.parsers.ParseException;
 
 /**
   CFF file format parser [CFF:1.0].
+  <p>Glyph outlines are interpreted on demand from their Type 2 charstrings [Type2:1.0]; once
+  loaded, this object is thread-safe.</p>
 
   @author Stefano Chizzolini (http://www.stefanochizzolini.it)
   @since 0.1.1
   @version 0.1.2.1, 05/22/15
 */
 final class CffParser
+  implements IGlyphOutlines
 {
   // <class>
   // <classes>
+  /**
+    Type 2 charstring interpreter [Type2:1.0].
+    <p>Hints are parsed just to skip their masks; arithmetic and storage operators are unsupported,
+    as they are hardly ever used.</p>
+  */
+  private final class CharStringInterpreter
+  {
+    private static final int MaxSubrDepth = 10;
+
+    /**
+      Whether the glyph can be composed as an accented character (endchar operator with seac-like
+      arguments).
+    */
+    private final boolean accentAllowed;
+    private final Index localSubrs;
+    private final Path2D outline;
+    private final double[] stack = new double[48];
+
+    private boolean open;
+    private int stackSize;
+    private int stemCount;
+    private int subrDepth;
+    private boolean widthParsed;
+    private double x;
+    private double y;
+
+    CharStringInterpreter(
+      Path2D outline,
+      Index localSubrs,
+      boolean accentAllowed
+      )
+    {
+      this.outline = outline;
+      this.localSubrs = localSubrs;
+      this.accentAllowed = accentAllowed;
+    }
+
+    /**
+      Executes the specified charstring.
+
+      @return Whether the glyph definition ended.
+    */
+    public boolean execute(
+      byte[] code
+      )
+    {
+      for(int index = 0, length = code.length; index < length;)
+      {
+        int b0 = code[index++] & 0xff;
+        if(b0 >= 32 || b0 == 28) // Operand.
+        {
+          double operand;
+          if(b0 == 28) // 3-byte integer.
+          {
+            operand = (short)(((code[index] & 0xff) << 8) | (code[index + 1] & 0xff));
+            index += 2;
+          }
+          else if(b0 <= 246) // 1-byte integer.
+          {operand = b0 - 139;}
+          else if(b0 <= 250) // 2-byte positive integer.
+          {operand = ((b0 - 247) << 8) + (code[index++] & 0xff) + 108;}
+          else if(b0 <= 254) // 2-byte negative integer.
+          {operand = -((b0 - 251) << 8) - (code[index++] & 0xff) - 108;}
+          else // 16.16 fixed-point number.
+          {
+            operand = (((code[index] & 0xff) << 24) | ((code[index + 1] & 0xff) << 16)
+              | ((code[index + 2] & 0xff) << 8) | (code[index + 3] & 0xff)) / 65536d;
+            index += 4;
+          }
+          if(stackSize < stack.length)
+          {stack[stackSize++] = operand;}
+          continue;
+        }
+
+        switch(b0)
+        {
+          case 1: // hstem.
+          case 3: // vstem.
+          case 18: // hstemhm.
+          case 23: // vstemhm.
+            parseWidth(stackSize % 2 != 0);
+            stemCount += stackSize / 2;
+            break;
+          case 19: // hintmask.
+          case 20: // cntrmask.
+            // NOTE: Operands before the first mask are implicit vertical stems.
+            parseWidth(stackSize % 2 != 0);
+            stemCount += stackSize / 2;
+            index += (stemCount + 7) / 8; // Skip the mask!
+            break;
+          case 21: // rmoveto.
+            parseWidth(stackSize > 2);
+            moveTo(arg(0), arg(1));
+            break;
+          case 22: // hmoveto.
+            parseWidth(stackSize > 1);
+            moveTo(arg(0), 0);
+            break;
+          case 4: // vmoveto.
+            parseWidth(stackSize > 1);
+            moveTo(0, arg(0));
+            break;
+          case 5: // rlineto.
+            for(int argIndex = 0; argIndex + 1 < stackSize; argIndex += 2)
+            {lineTo(stack[argIndex], stack[argIndex + 1]);}
+            break;
+          case 6: // hlineto.
+          case 7: // vlineto.
+          {
+            boolean horizontal = (b0 == 6);
+            for(int argIndex = 0; argIndex < stackSize; argIndex++)
+            {
+              if(horizontal)
+              {lineTo(stack[argIndex], 0);}
+              else
+              {lineTo(0, stack[argIndex]);}
+              horizontal = !horizontal;
+            }
+            break;
+          }
+          case 8: // rrcurveto.
+            for(int argIndex = 0; argIndex + 5 < stackSize; argIndex += 6)
+            {curveTo(argIndex);}
+            break;
+          case 24: // rcurveline.
+          {
+            int argIndex = 0;
+            for(; argIndex + 5 < stackSize - 2; argIndex += 6)
+            {curveTo(argIndex);}
+            lineTo(arg(argIndex), arg(argIndex + 1));
+            break;
+          }
+          case 25: // rlinecurve.
+          {
+            int argIndex = 0;
+            for(; argIndex + 1 < stackSize - 6; argIndex += 2)
+            {lineTo(stack[argIndex], stack[argIndex + 1]);}
+            curveTo(argIndex);
+            break;
+          }
+          case 26: // vvcurveto.
+          {
+            int argIndex = 0;
+            double dx1 = 0;
+            if(stackSize % 2 != 0)
+            {dx1 = stack[argIndex++];}
+            for(; argIndex + 3 < stackSize; argIndex += 4)
+            {
+              curveTo(dx1, stack[argIndex], stack[argIndex + 1], stack[argIndex + 2], 0, stack[argIndex + 3]);
+              dx1 = 0;
+            }
+            break;
+          }
+          case 27: // hhcurveto.
+          {
+            int argIndex = 0;
+            double dy1 = 0;
+            if(stackSize % 2 != 0)
+            {dy1 = stack[argIndex++];}
+            for(; argIndex + 3 < stackSize; argIndex += 4)
+            {
+              curveTo(stack[argIndex], dy1, stack[argIndex + 1], stack[argIndex + 2], stack[argIndex + 3], 0);
+              dy1 = 0;
+            }
+            break;
+          }
+          case 30: // vhcurveto.
+          case 31: // hvcurveto.
+          {
+            boolean horizontal = (b0 == 31);
+            for(int argIndex = 0; argIndex + 3 < stackSize; argIndex += 4)
+            {
+              // NOTE: The last curve may have an additional ending coordinate.
+              double lastDelta = (stackSize - argIndex == 5 ? stack[argIndex + 4] : 0);
+              if(horizontal)
+              {curveTo(stack[argIndex], 0, stack[argIndex + 1], stack[argIndex + 2], lastDelta, stack[argIndex + 3]);}
+              else
+              {curveTo(0, stack[argIndex], stack[argIndex + 1], stack[argIndex + 2], stack[argIndex + 3], lastDelta);}
+              horizontal = !horizontal;
+            }
+            break;
+          }
+          case 10: // callsubr.
+          case 29: // callgsubr.
+          {
+            Index subrs = (b0 == 10 ? localSubrs : globalSubrs);
+            if(subrs == null || stackSize == 0 || subrDepth >= MaxSubrDepth)
+              break;
+
+            int subrIndex = (int)stack[--stackSize] + getSubrBias(subrs.size());
+            if(subrIndex < 0 || subrIndex >= subrs.size())
+              break;
+
+            subrDepth++;
+            boolean ended = execute(subrs.get(subrIndex));
+            subrDepth--;
+            if(ended)
+              return true;
+
+            // NOTE: Subroutines share the operand stack with their caller.
+            continue;
+          }
+          case 11: // return.
+            return false;
+          case 14: // endchar.
+            parseWidth(stackSize == 1 || stackSize == 5);
+            closePath();
+            if(stackSize == 4 && accentAllowed) // Accented character (adx ady bchar achar).
+            {
+              int baseGlyphIndex = getStandardGlyphIndex((int)stack[2]);
+              if(baseGlyphIndex > 0)
+              {outline.append(getGlyphOutline(baseGlyphIndex, false), false);}
+              int accentGlyphIndex = getStandardGlyphIndex((int)stack[3]);
+              if(accentGlyphIndex > 0)
+              {
+                outline.append(
+                  getGlyphOutline(accentGlyphIndex, false).getPathIterator(
+                    AffineTransform.getTranslateInstance(stack[0], stack[1])
+                    ),
+                  false
+                  );
+              }
+            }
+            return true;
+          case 12: // Escape.
+          {
+            int b1 = (index < length ? code[index++] & 0xff : -1);
+            switch(b1)
+            {
+              case 34: // hflex.
+                curveTo(arg(0), 0, arg(1), arg(2), arg(3), 0);
+                curveTo(arg(4), 0, arg(5), -arg(2), arg(6), 0);
+                break;
+              case 35: // flex.
+                curveTo(0);
+                curveTo(6);
+                break;
+              case 36: // hflex1.
+                curveTo(arg(0), arg(1), arg(2), arg(3), arg(4), 0);
+                curveTo(arg(5), 0, arg(6), arg(7), arg(8), -(arg(1) + arg(3) + arg(7)));
+                break;
+              case 37: // flex1.
+              {
+                double dx = arg(0) + arg(2) + arg(4) + arg(6) + arg(8);
+                double dy = arg(1) + arg(3) + arg(5) + arg(7) + arg(9);
+                curveTo(0);
+                if(Math.abs(dx) > Math.abs(dy))
+                {curveTo(arg(6), arg(7), arg(8), arg(9), arg(10), -dy);}
+                else
+                {curveTo(arg(6), arg(7), arg(8), arg(9), -dx, arg(10));}
+                break;
+              }
+              default: // Arithmetic, storage and deprecated operators (unsupported).
+                break;
+            }
+            break;
+          }
+          default: // Reserved.
+            break;
+        }
+        stackSize = 0;
+      }
+      return false;
+    }
+
+    private double arg(
+      int index
+      )
+    {return index < stackSize ? stack[index] : 0;}
+
+    private void closePath(
+      )
+    {
+      if(open)
+      {
+        outline.closePath();
+        open = false;
+      }
+    }
+
+    /**
+      Appends the curve defined by the 6 operands starting at the specified stack position.
+    */
+    private void curveTo(
+      int argIndex
+      )
+    {curveTo(arg(argIndex), arg(argIndex + 1), arg(argIndex + 2), arg(argIndex + 3), arg(argIndex + 4), arg(argIndex + 5));}
+
+    private void curveTo(
+      double dx1,
+      double dy1,
+      double dx2,
+      double dy2,
+      double dx3,
+      double dy3
+      )
+    {
+      ensureOpen();
+      double x1 = x + dx1, y1 = y + dy1;
+      double x2 = x1 + dx2, y2 = y1 + dy2;
+      x = x2 + dx3; y = y2 + dy3;
+      outline.curveTo(x1, y1, x2, y2, x, y);
+    }
+
+    private void ensureOpen(
+      )
+    {
+      if(!open)
+      {
+        outline.moveTo(x, y);
+        open = true;
+      }
+    }
+
+    private void lineTo(
+      double dx,
+      double dy
+      )
+    {
+      ensureOpen();
+      x += dx; y += dy;
+      outline.lineTo(x, y);
+    }
+
+    private void moveTo(
+      double dx,
+      double dy
+      )
+    {
+      closePath();
+      x += dx; y += dy;
+      outline.moveTo(x, y);
+      open = true;
+    }
+
+    /**
+      Discards the glyph width, which is optionally placed before the operands of the first
+      stack-clearing operator.
+
+      @param widthDefined Whether the operand stack holds the width.
+    */
+    private void parseWidth(
+      boolean widthDefined
+      )
+    {
+      if(widthParsed)
+        return;
+
+      if(widthDefined)
+      {System.arraycopy(stack, 1, stack, 0, --stackSize);}
+      widthParsed = true;
+    }
+  }
+
   /**
     Dictionary [CFF:1.0:4].
   */
@@ -67,7 +429,13 @@ final class CffParser
       Charset("charset", 15),
       CharStrings(17),
       CharstringType(6 + OperatorValueEscape),
-      Encoding(16);
+      Encoding(16),
+      FDArray(36 + OperatorValueEscape),
+      FDSelect(37 + OperatorValueEscape),
+      FontMatrix(7 + OperatorValueEscape),
+      Private(18),
+      ROS(30 + OperatorValueEscape),
+      Subrs(19);
 
       private final String name;
       private final int value;
@@ -120,7 +488,7 @@ final class CffParser
         {
           int operator = b0;
           if(b0 == 12) // 2-byte operator.
-          {operator = operator << 8 + stream.readUnsignedByte();}
+          {operator = (operator << 8) | stream.readUnsignedByte();}
 
           /*
             NOTE: In order to resiliently support unknown operators on parsing, parsed operators
@@ -135,9 +503,9 @@ final class CffParser
           {operands = new ArrayList<Number>();}
 
           if(b0 == 28) // 3-byte integer.
-          {operands.add(stream.readUnsignedByte() << 8 + stream.readUnsignedByte());}
+          {operands.add((int)stream.readShort());}
           else if(b0 == 29) // 5-byte integer.
-          {operands.add(stream.readUnsignedByte() << 24 + stream.readUnsignedByte() << 16 + stream.readUnsignedByte() << 8 + stream.readUnsignedByte());}
+          {operands.add(stream.readInt());}
           else if(b0 == 30) // Variable-length real.
           {
             StringBuilder operandBuilder = new StringBuilder();
@@ -187,9 +555,9 @@ final class CffParser
           else if (b0 >= 32 && b0 <= 246) // 1-byte integer.
           {operands.add(b0 - 139);}
           else if (b0 >= 247 && b0 <= 250) // 2-byte positive integer.
-          {operands.add((b0 - 247) << 8 + stream.readUnsignedByte() + 108);}
+          {operands.add(((b0 - 247) << 8) + stream.readUnsignedByte() + 108);}
           else if (b0 >= 251 && b0 <= 254) // 2-byte negative integer.
-          {operands.add(-(b0 - 251) << 8 - stream.readUnsignedByte() - 108);}
+          {operands.add(-((b0 - 251) << 8) - stream.readUnsignedByte() - 108);}
           else // Reserved.
           { /* NOOP */ }
         }
@@ -305,6 +673,7 @@ final class CffParser
       ) throws EOFException
     {
       byte[][] data = new byte[stream.readUnsignedShort()][];
+      if(data.length > 0) // NOTE: Empty indexes consist of their count only.
       {
         int[] offsets = new int[data.length + 1];
         int offSize = stream.readUnsignedByte();
@@ -518,7 +887,10 @@ final class CffParser
     }
 
     final int id;
-    final Map<Integer,Integer> map;
+    /**
+      SIDs by glyph index.
+    */
+    final int[] stringIds;
 
     private StandardCharsetEnum(
       int id
@@ -526,7 +898,8 @@ final class CffParser
     {
       this.id = id;
 
-      map = new HashMap<Integer,Integer>();
+      List<Integer> stringIds = new ArrayList<Integer>();
+      stringIds.add(0); // .notdef.
       {
         BufferedReader stream = null;
         try
@@ -538,30 +911,37 @@ final class CffParser
             );
           String line;
           while((line = stream.readLine()) != null)
-          {
-            String[] lineItems = line.split(",");
-            map.put(Integer.parseInt(lineItems[0]), GlyphMapping.nameToCode(lineItems[1]));
-          }
+          {stringIds.add(Integer.parseInt(line.split(",")[0]));}
         }
         catch(IOException e)
         {throw new RuntimeException(e);}
         finally
         {IOUtils.close(stream);}
       }
+      this.stringIds = new int[stringIds.size()];
+      for(int index = 0; index < this.stringIds.length; index++)
+      {this.stringIds[index] = stringIds.get(index);}
     }
 
     public int getId(
       )
     {return id;}
 
-    public Map<Integer,Integer> getMap(
+    /**
+      Gets the SIDs by glyph index.
+    */
+    public int[] getStringIds(
       )
-    {return map;}
+    {return stringIds;}
   }
   // </classes>
 
   // <static>
   // <fields>
+  /**
+    Unicodes by character code according to the standard encoding [CFF:1.0:B].
+  */
+  private static final int[] StandardEncodingUnicodes;
   /**
     Standard Strings [CFF:1.0:10] represent commonly occurring strings allocated to predefined SIDs.
   */
@@ -590,26 +970,96 @@ final class CffParser
       finally
       {IOUtils.close(stream);}
     }
+
+    StandardEncodingUnicodes = new int[256];
+    for(Map.Entry<ByteArray,Integer> codeEntry : Encoding.get(PdfName.StandardEncoding).getCodes().entrySet())
+    {StandardEncodingUnicodes[codeEntry.getKey().data[0] & 0xff] = codeEntry.getValue();}
   }
   // </constructors>
 
   // <interface>
   // <private>
+  /**
+    Gets the bias to apply to the subroutine numbers of the specified index [Type2:1.0:4.7].
+  */
+  private static int getSubrBias(
+    int subrCount
+    )
+  {
+    if(subrCount < 1240)
+      return 107;
+    else if(subrCount < 33900)
+      return 1131;
+    else
+      return 32768;
+  }
+
   private static String toString(
     byte[] data
     ) throws UnsupportedEncodingException
   {return new String(data, CharsetName.ISO88591);}
+
+  /**
+    Gets the unicode corresponding to the specified glyph name.
+
+    @return <code>null</code>, if unknown.
+  */
+  private static Integer toUnicode(
+    String name
+    )
+  {
+    Integer code = GlyphMapping.nameToCode(name);
+    if(code == null && name.length() == 7 && name.startsWith("uni"))
+    {
+      try
+      {code = Integer.parseInt(name.substring(3), 16);}
+      catch(NumberFormatException e)
+      { /* NOOP */ }
+    }
+    return code;
+  }
   // </private>
   // </interface>
   // </static>
 
   // <dynamic>
   // <fields>
-  public Map<Integer,Integer> glyphIndexes;
-
+  /**
+    Glyph indexes by CID (CID-keyed fonts only).
+  */
+  private Map<Integer,Integer> cidGlyphIndexes;
+  /**
+    Glyph indexes by character code, according to the built-in encoding (name-keyed fonts only).
+  */
+  private int[] codeGlyphIndexes;
+  /**
+    Glyph programs (<code>null</code> in case of unsupported charstring type).
+  */
+  private Index charStrings;
+  /**
+    Font DICT indexes by glyph index (CID-keyed fonts only).
+  */
+  private int[] fdSelect;
   private final IInputStream fontData;
+  /**
+    Glyph-space-to-1000-units-per-em transformation (<code>null</code> in case of identity).
+  */
+  private AffineTransform fontMatrix;
+  private Index globalSubrs;
+  /**
+    Local subroutines by font DICT index.
+  */
+  private Index[] localSubrs;
+  /**
+    Glyph indexes by name (name-keyed fonts only).
+  */
+  private Map<String,Integer> nameGlyphIndexes;
   private Index stringIndex;
-  // <fields>
+  /**
+    Glyph indexes by unicode (name-keyed fonts only).
+  */
+  private Map<Integer,Integer> unicodeGlyphIndexes;
+  // </fields>
 
   // <constructors>
   CffParser(
@@ -623,61 +1073,229 @@ final class CffParser
   // </constructors>
 
   // <interface>
+  // <public>
+  /**
+    Gets the glyph index corresponding to the specified glyph name.
+
+    @return <code>0</code> (missing glyph), if undefined.
+  */
+  public int getGlyphIndex(
+    String name
+    )
+  {
+    Integer glyphIndex = (nameGlyphIndexes != null ? nameGlyphIndexes.get(name) : null);
+    return glyphIndex != null ? glyphIndex : 0;
+  }
+
+  /**
+    Gets the glyph index corresponding to the specified CID.
+    <p>Name-keyed fonts are assumed to be identity-mapped.</p>
+
+    @return <code>0</code> (missing glyph), if undefined.
+  */
+  public int getGlyphIndexByCID(
+    int cid
+    )
+  {
+    if(cidGlyphIndexes == null)
+      return cid >= 0 && charStrings != null && cid < charStrings.size() ? cid : 0;
+
+    Integer glyphIndex = cidGlyphIndexes.get(cid);
+    return glyphIndex != null ? glyphIndex : 0;
+  }
+
+  /**
+    Gets the glyph index corresponding to the specified character code, according to the built-in
+    encoding.
+
+    @return <code>0</code> (missing glyph), if undefined.
+  */
+  public int getGlyphIndexByCode(
+    int code
+    )
+  {return codeGlyphIndexes != null && code >= 0 && code < codeGlyphIndexes.length ? codeGlyphIndexes[code] : 0;}
+
+  /**
+    Gets the glyph index corresponding to the specified unicode, according to the glyph names.
+
+    @return <code>0</code> (missing glyph), if undefined.
+  */
+  public int getGlyphIndexByUnicode(
+    int unicode
+    )
+  {
+    Integer glyphIndex = (unicodeGlyphIndexes != null ? unicodeGlyphIndexes.get(unicode) : null);
+    return glyphIndex != null ? glyphIndex : 0;
+  }
+
+  @Override
+  public Path2D getOutline(
+    int glyphIndex
+    )
+  {
+    if(charStrings == null
+      || glyphIndex < 0
+      || glyphIndex >= charStrings.size())
+      return null;
+
+    Path2D outline;
+    try
+    {outline = getGlyphOutline(glyphIndex, true);}
+    catch(ArrayIndexOutOfBoundsException e)
+    {return null;} // Corrupted glyph program.
+    if(fontMatrix != null)
+    {outline.transform(fontMatrix);}
+    return outline;
+  }
+
+  /**
+    Gets whether glyphs are identified by CID (rather than by name).
+  */
+  public boolean isCIDKeyed(
+    )
+  {return cidGlyphIndexes != null;}
+  // </public>
+
   // <private>
+  /**
+    Gets the outline of the specified glyph, expressed in glyph space.
+
+    @param accentAllowed Whether the glyph can be composed as an accented character.
+  */
+  private Path2D getGlyphOutline(
+    int glyphIndex,
+    boolean accentAllowed
+    )
+  {
+    Path2D outline = new Path2D.Double(Path2D.WIND_NON_ZERO);
+    int fdIndex = (fdSelect != null && glyphIndex < fdSelect.length ? fdSelect[glyphIndex] : 0);
+    new CharStringInterpreter(
+      outline,
+      fdIndex < localSubrs.length ? localSubrs[fdIndex] : null,
+      accentAllowed
+      ).execute(charStrings.get(glyphIndex));
+    return outline;
+  }
+
+  /**
+    Gets the glyph index corresponding to the specified character code, according to the standard
+    encoding.
+  */
+  private int getStandardGlyphIndex(
+    int code
+    )
+  {return code >= 0 && code < StandardEncodingUnicodes.length ? getGlyphIndexByUnicode(StandardEncodingUnicodes[code]) : 0;}
+
+  /**
+    Gets the string corresponding to the specified identifier.
+
+    @param id SID (String ID).
+    @throws UnsupportedEncodingException
+  */
+  private String getString(
+    int id
+    ) throws UnsupportedEncodingException
+  {
+    return id < StandardStrings.size()
+      ? StandardStrings.get(id)
+      : toString(stringIndex.get(id - StandardStrings.size()));
+  }
+
   /**
     Loads the font data.
   */
-  @SuppressWarnings("unused")
   private void load(
     )
   {
     try
     {
       parseHeader();
-      Index nameIndex = Index.parse(fontData);
+      Index.parse(fontData); // Name index (unused).
       Index topDictIndex = Index.parse(fontData);
       stringIndex = Index.parse(fontData);
-      Index globalSubrIndex = Index.parse(fontData);
+      globalSubrs = Index.parse(fontData);
 
-      String fontName = toString(nameIndex.get(0));
       Dict topDict = Dict.parse(topDictIndex.get(0));
 
-//      int encodingOffset = topDict.get(Dict.OperatorEnum.Encoding, 0, 0).intValue();
-      //TODO: encoding
+      // Glyph programs.
+      Index charStrings = Index.parse(fontData, topDict.get(Dict.OperatorEnum.CharStrings, 0).intValue());
+      int glyphCount = charStrings.size();
+      if(topDict.get(Dict.OperatorEnum.CharstringType, 0, 2).intValue() == 2)
+      {this.charStrings = charStrings;}
 
+      // Glyph space.
+      List<Number> fontMatrixOperands = topDict.get(Dict.OperatorEnum.FontMatrix.getValue());
+      if(fontMatrixOperands != null && fontMatrixOperands.size() == 6)
+      {
+        double[] matrix = new double[6];
+        for(int index = 0; index < matrix.length; index++)
+        {matrix[index] = fontMatrixOperands.get(index).doubleValue() * 1000;}
+        AffineTransform fontMatrix = new AffineTransform(matrix);
+        if(!fontMatrix.isIdentity())
+        {this.fontMatrix = fontMatrix;}
+      }
+
+      // Subroutines.
+      boolean cidKeyed = topDict.containsKey(Dict.OperatorEnum.ROS.getValue());
+      if(cidKeyed)
+      {
+        Index fdArray = Index.parse(fontData, topDict.get(Dict.OperatorEnum.FDArray, 0).intValue());
+        localSubrs = new Index[fdArray.size()];
+        for(int index = 0; index < localSubrs.length; index++)
+        {localSubrs[index] = parseLocalSubrs(Dict.parse(fdArray.get(index)));}
+
+        Number fdSelectOffset = topDict.get(Dict.OperatorEnum.FDSelect, 0, null);
+        if(fdSelectOffset != null)
+        {fdSelect = parseFDSelect(fdSelectOffset.intValue(), glyphCount);}
+      }
+      else
+      {localSubrs = new Index[]{parseLocalSubrs(topDict)};}
+
+      // Charset.
+      int[] charset; // SIDs (name-keyed fonts) or CIDs (CID-keyed fonts) by glyph index.
       int charsetOffset = topDict.get(Dict.OperatorEnum.Charset, 0, 0).intValue();
-      StandardCharsetEnum charset = StandardCharsetEnum.get(charsetOffset);
-      if(charset != null)
+      StandardCharsetEnum standardCharset = StandardCharsetEnum.get(charsetOffset);
+      if(standardCharset != null)
       {
-        glyphIndexes = new HashMap<Integer,Integer>(charset.getMap());
+        charset = new int[Math.min(glyphCount, standardCharset.getStringIds().length)];
+        System.arraycopy(standardCharset.getStringIds(), 0, charset, 0, charset.length);
       }
       else
+      {charset = parseCharset(charsetOffset, glyphCount);}
+
+      if(cidKeyed)
       {
-        glyphIndexes = new HashMap<Integer,Integer>();
-        
-        int charStringsOffset = topDict.get(Dict.OperatorEnum.CharStrings, 0).intValue();
-        Index charStringsIndex = Index.parse(fontData, charStringsOffset);
-        
-        fontData.seek(charsetOffset);
-        int charsetFormat = fontData.readUnsignedByte();
-        for (int index = 1, count = charStringsIndex.size(); index <= count;)
+        cidGlyphIndexes = new HashMap<Integer,Integer>();
+        for(int glyphIndex = 0; glyphIndex < charset.length; glyphIndex++)
+        {cidGlyphIndexes.put(charset[glyphIndex], glyphIndex);}
+      }
+      else
+      {
+        nameGlyphIndexes = new HashMap<String,Integer>();
+        unicodeGlyphIndexes = new HashMap<Integer,Integer>();
+        for(int glyphIndex = 1; glyphIndex < charset.length; glyphIndex++)
         {
-          switch(charsetFormat)
-          {
-            case 0:
-              glyphIndexes.put(index++, toUnicode(fontData.readUnsignedShort()));
-              break;
-            case 1:
-            case 2:
-            {
-              int first = fontData.readUnsignedShort();
-              int nLeft = (charsetFormat == 1 ? fontData.readUnsignedByte() : fontData.readUnsignedShort());
-              for (int rangeItemIndex = first, rangeItemEndIndex = first + nLeft; rangeItemIndex <= rangeItemEndIndex; rangeItemIndex++)
-              {glyphIndexes.put(index++, toUnicode(rangeItemIndex));}
-            }
-              break;
-          }
+          String name = getString(charset[glyphIndex]);
+          nameGlyphIndexes.put(name, glyphIndex);
+          Integer unicode = toUnicode(name);
+          if(unicode != null && !unicodeGlyphIndexes.containsKey(unicode))
+          {unicodeGlyphIndexes.put(unicode, glyphIndex);}
         }
+
+        // Built-in encoding.
+        int encodingOffset = topDict.get(Dict.OperatorEnum.Encoding, 0, 0).intValue();
+        if(encodingOffset == 0) // Standard encoding.
+        {
+          codeGlyphIndexes = new int[256];
+          for(int code = 0; code < codeGlyphIndexes.length; code++)
+          {codeGlyphIndexes[code] = getStandardGlyphIndex(code);}
+        }
+        else if(encodingOffset > 1) // Custom encoding.
+        {codeGlyphIndexes = parseEncoding(encodingOffset, glyphCount);}
+        /*
+          NOTE: Expert encoding (encodingOffset == 1) is unsupported: its glyphs are available by
+          name only.
+        */
       }
     }
     catch(Exception e)
@@ -685,18 +1303,129 @@ final class CffParser
   }
 
   /**
-    Gets the string corresponding to the specified identifier.
+    Parses the charset [CFF:1.0:13].
 
-    @param id SID (String ID).
-    @throws UnsupportedEncodingException
+    @return SIDs (name-keyed fonts) or CIDs (CID-keyed fonts) by glyph index.
   */
-  private String getString(
-    int id
-    ) throws UnsupportedEncodingException
+  private int[] parseCharset(
+    int offset,
+    int glyphCount
+    ) throws EOFException
   {
-    return id < StandardStrings.size()
-      ? StandardStrings.get(id)
-      : toString(stringIndex.get(id - StandardStrings.size()));
+    int[] charset = new int[glyphCount];
+    fontData.seek(offset);
+    int format = fontData.readUnsignedByte();
+    // NOTE: Glyph 0 (.notdef) is implicitly excluded.
+    for(int glyphIndex = 1; glyphIndex < glyphCount;)
+    {
+      switch(format)
+      {
+        case 0:
+          charset[glyphIndex++] = fontData.readUnsignedShort();
+          break;
+        case 1:
+        case 2:
+        {
+          int first = fontData.readUnsignedShort();
+          int leftCount = (format == 1 ? fontData.readUnsignedByte() : fontData.readUnsignedShort());
+          for(int rangeIndex = 0; rangeIndex <= leftCount && glyphIndex < glyphCount; rangeIndex++)
+          {charset[glyphIndex++] = first + rangeIndex;}
+          break;
+        }
+        default:
+          throw new ParseException("Unknown charset format: " + format);
+      }
+    }
+    return charset;
+  }
+
+  /**
+    Parses the built-in encoding [CFF:1.0:12].
+
+    @return Glyph indexes by character code.
+  */
+  private int[] parseEncoding(
+    int offset,
+    int glyphCount
+    ) throws EOFException, UnsupportedEncodingException
+  {
+    int[] codeGlyphIndexes = new int[256];
+    fontData.seek(offset);
+    int format = fontData.readUnsignedByte();
+    switch(format & 0x7f)
+    {
+      case 0:
+        for(int glyphIndex = 1, codeCount = fontData.readUnsignedByte(); glyphIndex <= codeCount; glyphIndex++)
+        {
+          int code = fontData.readUnsignedByte();
+          if(glyphIndex < glyphCount)
+          {codeGlyphIndexes[code] = glyphIndex;}
+        }
+        break;
+      case 1:
+        for(int rangeCount = fontData.readUnsignedByte(), glyphIndex = 1; rangeCount > 0; rangeCount--)
+        {
+          int first = fontData.readUnsignedByte();
+          for(int code = first, lastCode = first + fontData.readUnsignedByte(); code <= lastCode; code++, glyphIndex++)
+          {
+            if(code < codeGlyphIndexes.length && glyphIndex < glyphCount)
+            {codeGlyphIndexes[code] = glyphIndex;}
+          }
+        }
+        break;
+      default:
+        throw new ParseException("Unknown encoding format: " + format);
+    }
+    if((format & 0x80) != 0) // Supplemental codes.
+    {
+      for(int supplementCount = fontData.readUnsignedByte(); supplementCount > 0; supplementCount--)
+      {
+        int code = fontData.readUnsignedByte();
+        Integer glyphIndex = nameGlyphIndexes.get(getString(fontData.readUnsignedShort()));
+        if(glyphIndex != null)
+        {codeGlyphIndexes[code] = glyphIndex;}
+      }
+    }
+    return codeGlyphIndexes;
+  }
+
+  /**
+    Parses the font DICT selector [CFF:1.0:19].
+
+    @return Font DICT indexes by glyph index.
+  */
+  private int[] parseFDSelect(
+    int offset,
+    int glyphCount
+    ) throws EOFException
+  {
+    int[] fdSelect = new int[glyphCount];
+    fontData.seek(offset);
+    int format = fontData.readUnsignedByte();
+    switch(format)
+    {
+      case 0:
+        for(int glyphIndex = 0; glyphIndex < glyphCount; glyphIndex++)
+        {fdSelect[glyphIndex] = fontData.readUnsignedByte();}
+        break;
+      case 3:
+      {
+        int rangeCount = fontData.readUnsignedShort();
+        int first = fontData.readUnsignedShort();
+        for(int rangeIndex = 0; rangeIndex < rangeCount; rangeIndex++)
+        {
+          int fdIndex = fontData.readUnsignedByte();
+          int next = fontData.readUnsignedShort(); // Either next range's first glyph or sentinel.
+          for(int glyphIndex = first; glyphIndex < next && glyphIndex < glyphCount; glyphIndex++)
+          {fdSelect[glyphIndex] = fdIndex;}
+          first = next;
+        }
+        break;
+      }
+      default:
+        throw new ParseException("Unknown FDSelect format: " + format);
+    }
+    return fdSelect;
   }
 
   private void parseHeader(
@@ -708,21 +1437,27 @@ final class CffParser
     fontData.seek(hdrSize);
   }
 
-  private int toUnicode(
-    int sid
-    ) throws UnsupportedEncodingException
+  /**
+    Parses the local subroutines [CFF:1.0:16] of the specified (top or font) DICT.
+
+    @return <code>null</code>, if undefined.
+  */
+  private Index parseLocalSubrs(
+    Dict dict
+    ) throws EOFException
   {
-    /*
-     * FIXME: avoid Unicode resolution at this stage -- names should be kept to allow subsequent
-     * character substitution (see font differences) in case of custom (non-unicode) encodings.
-     */
-    Integer code = GlyphMapping.nameToCode(getString(sid));
-    if(code == null)
-    {
-      //custom code
-      code = sid; // really bad
-    }
-    return code;
+    List<Number> privateOperands = dict.get(Dict.OperatorEnum.Private.getValue());
+    if(privateOperands == null || privateOperands.size() < 2)
+      return null;
+
+    int privateSize = privateOperands.get(0).intValue();
+    int privateOffset = privateOperands.get(1).intValue();
+    byte[] privateData = new byte[privateSize];
+    fontData.seek(privateOffset);
+    fontData.read(privateData);
+    // NOTE: Local subroutines offset is relative to the private DICT.
+    Number subrsOffset = Dict.parse(privateData).get(Dict.OperatorEnum.Subrs, 0, null);
+    return subrsOffset != null ? Index.parse(fontData, privateOffset + subrsOffset.intValue()) : null;
   }
   // </private>
   // </interface>
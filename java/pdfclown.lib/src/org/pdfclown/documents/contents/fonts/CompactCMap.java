@@ -0,0 +1,394 @@
+/*
+  Copyright 2026 Stefano Chizzolini. http://www.pdfclown.org
+
+  Contributors:
+    * Stefano Chizzolini (original code developer, http://www.stefanochizzolini.it)
+
+  This file should be part of the source code distribution of "PDF Clown library"
+  (the Program): see the accompanying README files for more info.
+
+  This Program is free software; you can redistribute it and/or modify it under the terms
+  of the GNU Lesser General Public License as published by the Free Software Foundation;
+  either version 3 of the License, or (at your option) any later version.
+
+  This Program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY,
+  either expressed or implied; without even the implied warranty of MERCHANTABILITY or
+  FITNESS FOR A PARTICULAR PURPOSE. See the License for more details.
+
+  You should have received a copy of the GNU Lesser General Public License along with this
+  Program (see README files); if not, go to the GNU website (http://www.gnu.org/licenses/).
+
+  Redistribution and use, with or without modification, are permitted provided that such
+  redistributions retain the above copyright notice, license and disclaimer, along with
+  this list of conditions.
+*/
+
+package org.pdfclown.documents.contents.fonts;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.TreeMap;
+
+import org.pdfclown.util.ByteArray;
+
+/**
+  Immutable character map represented as a table of code ranges [PDF:1.6:5.6.4].
+  <p>Contiguous codes mapped to contiguous values (such as those defined by
+  <code>begincidrange</code> blocks) are stored as single ranges instead of one entry per code,
+  so that even large predefined CMaps take little memory and can be shared across documents.
+  Codes can be looked up {@link #get(byte[], int, int) directly on byte slices}, without
+  allocation; the {@link Map} view is provided for compatibility with expanded CMaps.</p>
+
+  @author Stefano Chizzolini (http://www.stefanochizzolini.it)
+  @since 0.2.0
+  @version 0.2.0, 10/19/26
+*/
+final class CompactCMap
+  extends AbstractMap<ByteArray,Integer>
+{
+  // <class>
+  // <classes>
+  /**
+    Range table builder.
+    <p>Later mappings override earlier ones, consistently with expanded CMaps.</p>
+  */
+  static final class Builder
+    implements CMapParser.IMappingCollector
+  {
+    /*
+      NOTE: Ranges are keyed by code length and low code; values are {high code, mapped value}.
+    */
+    private final TreeMap<Long,long[]> ranges = new TreeMap<Long,long[]>();
+
+    @Override
+    public void addCode(
+      byte[] inputCode,
+      int value
+      )
+    {addRange(inputCode, inputCode, value);}
+
+    @Override
+    public void addRange(
+      byte[] beginInputCode,
+      byte[] endInputCode,
+      int value
+      )
+    {
+      int length = beginInputCode.length;
+      if(length < 1 || length > MaxCodeLength || endInputCode.length != length)
+        throw new IllegalArgumentException("Invalid code range: " + new ByteArray(beginInputCode) + ".." + new ByteArray(endInputCode));
+
+      long low = toCode(beginInputCode, 0, length);
+      long high = toCode(endInputCode, 0, length);
+      if(high < low)
+        return;
+
+      put(length, low, high, value);
+    }
+
+    @Override
+    public void useCMap(
+      String name
+      )
+    {
+      Map<ByteArray,Integer> baseCMap = CMap.get(name);
+      if(baseCMap instanceof CompactCMap)
+      {
+        CompactCMap compactBaseCMap = (CompactCMap)baseCMap;
+        for(int index = 0; index < compactBaseCMap.lows.length; index++)
+        {
+          put(
+            compactBaseCMap.lengths[index],
+            compactBaseCMap.lows[index],
+            compactBaseCMap.highs[index],
+            compactBaseCMap.values[index]
+            );
+        }
+      }
+      else if(baseCMap != null)
+      {
+        for(Map.Entry<ByteArray,Integer> entry : baseCMap.entrySet())
+        {addCode(entry.getKey().data, entry.getValue());}
+      }
+    }
+
+    /**
+      Creates the character map.
+    */
+    public CompactCMap build(
+      )
+    {
+      // Merge adjacent ranges mapped to contiguous values!
+      int count = 0;
+      int[] lengths = new int[ranges.size()];
+      long[] lows = new long[lengths.length], highs = new long[lengths.length];
+      int[] values = new int[lengths.length];
+      for(Map.Entry<Long,long[]> entry : ranges.entrySet())
+      {
+        int length = (int)(entry.getKey() >>> 40);
+        long low = entry.getKey() & CodeMask;
+        long high = entry.getValue()[0];
+        int value = (int)entry.getValue()[1];
+        if(count > 0
+          && lengths[count - 1] == length
+          && highs[count - 1] + 1 == low
+          && values[count - 1] + (highs[count - 1] - lows[count - 1] + 1) == value)
+        {highs[count - 1] = high;}
+        else
+        {
+          lengths[count] = length;
+          lows[count] = low;
+          highs[count] = high;
+          values[count] = value;
+          count++;
+        }
+      }
+      return new CompactCMap(lengths, lows, highs, values, count);
+    }
+
+    private void put(
+      int length,
+      long low,
+      long high,
+      int value
+      )
+    {
+      // Trim overlapped ranges!
+      Long key = toKey(length, low);
+      Map.Entry<Long,long[]> overlappedEntry = ranges.floorEntry(key);
+      if(overlappedEntry == null || (overlappedEntry.getKey() >>> 40) != length)
+      {overlappedEntry = ranges.higherEntry(key);}
+      while(overlappedEntry != null
+        && (overlappedEntry.getKey() >>> 40) == length
+        && (overlappedEntry.getKey() & CodeMask) <= high)
+      {
+        long overlappedLow = overlappedEntry.getKey() & CodeMask;
+        long overlappedHigh = overlappedEntry.getValue()[0];
+        long overlappedValue = overlappedEntry.getValue()[1];
+        Map.Entry<Long,long[]> nextEntry = ranges.higherEntry(overlappedEntry.getKey());
+        if(overlappedHigh >= low)
+        {
+          ranges.remove(overlappedEntry.getKey());
+          if(overlappedLow < low)
+          {ranges.put(overlappedEntry.getKey(), new long[]{low - 1, overlappedValue});}
+          if(overlappedHigh > high)
+          {ranges.put(toKey(length, high + 1), new long[]{overlappedHigh, overlappedValue + (high + 1 - overlappedLow)});}
+        }
+        overlappedEntry = nextEntry;
+      }
+      ranges.put(key, new long[]{high, value});
+    }
+  }
+  // </classes>
+
+  // <static>
+  // <fields>
+  /**
+    Maximum code length (bytes) [PDF:1.6:5.6.4].
+  */
+  private static final int MaxCodeLength = 4;
+
+  private static final long CodeMask = 0xffffffffL;
+  // </fields>
+
+  // <interface>
+  // <private>
+  private static long toCode(
+    byte[] data,
+    int offset,
+    int length
+    )
+  {
+    long code = 0;
+    for(int index = offset, endIndex = offset + length; index < endIndex; index++)
+    {code = (code << 8) | (data[index] & 0xff);}
+    return code;
+  }
+
+  private static Long toKey(
+    int length,
+    long code
+    )
+  {return ((long)length << 40) | code;}
+  // </private>
+  // </interface>
+  // </static>
+
+  // <dynamic>
+  // <fields>
+  /*
+    NOTE: Ranges are sorted by code length, then by low code; lengthOffsets[length] is the index of
+    the first range of the given code length.
+  */
+  private final int[] lengths;
+  private final long[] lows;
+  private final long[] highs;
+  private final int[] values;
+  private final int[] lengthOffsets = new int[MaxCodeLength + 2];
+
+  private final int size;
+  private Set<Map.Entry<ByteArray,Integer>> entrySet;
+  // </fields>
+
+  // <constructors>
+  private CompactCMap(
+    int[] lengths,
+    long[] lows,
+    long[] highs,
+    int[] values,
+    int count
+    )
+  {
+    this.lengths = new int[count]; System.arraycopy(lengths, 0, this.lengths, 0, count);
+    this.lows = new long[count]; System.arraycopy(lows, 0, this.lows, 0, count);
+    this.highs = new long[count]; System.arraycopy(highs, 0, this.highs, 0, count);
+    this.values = new int[count]; System.arraycopy(values, 0, this.values, 0, count);
+
+    long size = 0;
+    for(int index = 0, length = 0; index <= count; index++)
+    {
+      int rangeLength = index < count ? this.lengths[index] : MaxCodeLength + 1;
+      while(length < rangeLength)
+      {lengthOffsets[++length] = index;}
+      if(index < count)
+      {size += this.highs[index] - this.lows[index] + 1;}
+    }
+    this.size = (int)Math.min(size, Integer.MAX_VALUE);
+  }
+  // </constructors>
+
+  // <interface>
+  // <public>
+  @Override
+  public boolean containsKey(
+    Object key
+    )
+  {return get(key) != null;}
+
+  @Override
+  public Set<Map.Entry<ByteArray,Integer>> entrySet(
+    )
+  {
+    if(entrySet == null)
+    {
+      entrySet = new AbstractSet<Map.Entry<ByteArray,Integer>>()
+      {
+        @Override
+        public Iterator<Map.Entry<ByteArray,Integer>> iterator(
+          )
+        {
+          return new Iterator<Map.Entry<ByteArray,Integer>>()
+          {
+            private int index = 0;
+            private long code = lows.length > 0 ? lows[0] : 0;
+
+            @Override
+            public boolean hasNext(
+              )
+            {return index < lows.length;}
+
+            @Override
+            public Map.Entry<ByteArray,Integer> next(
+              )
+            {
+              if(!hasNext())
+                throw new NoSuchElementException();
+
+              int length = lengths[index];
+              byte[] inputCode = new byte[length];
+              for(int byteIndex = length - 1, byteCode = (int)code; byteIndex >= 0; byteIndex--, byteCode >>>= 8)
+              {inputCode[byteIndex] = (byte)byteCode;}
+              Map.Entry<ByteArray,Integer> entry = new AbstractMap.SimpleImmutableEntry<ByteArray,Integer>(
+                new ByteArray(inputCode),
+                (int)(values[index] + (code - lows[index]))
+                );
+
+              if(code < highs[index])
+              {code++;}
+              else if(++index < lows.length)
+              {code = lows[index];}
+              return entry;
+            }
+
+            @Override
+            public void remove(
+              )
+            {throw new UnsupportedOperationException();}
+          };
+        }
+
+        @Override
+        public int size(
+          )
+        {return size;}
+      };
+    }
+    return entrySet;
+  }
+
+  /**
+    Gets the value mapped to the specified code.
+
+    @param data Code buffer.
+    @param offset Code position in the buffer.
+    @param length Code length (bytes).
+    @return <code>-1</code>, in case no mapping exists.
+  */
+  public int get(
+    byte[] data,
+    int offset,
+    int length
+    )
+  {
+    if(length < 1 || length > MaxCodeLength)
+      return -1;
+
+    long code = toCode(data, offset, length);
+    // Binary search of the range containing the code.
+    int lowIndex = lengthOffsets[length], highIndex = lengthOffsets[length + 1] - 1;
+    while(lowIndex <= highIndex)
+    {
+      int index = (lowIndex + highIndex) >>> 1;
+      if(code < lows[index])
+      {highIndex = index - 1;}
+      else if(code > highs[index])
+      {lowIndex = index + 1;}
+      else
+        return (int)(values[index] + (code - lows[index]));
+    }
+    return -1;
+  }
+
+  @Override
+  public Integer get(
+    Object key
+    )
+  {
+    if(!(key instanceof ByteArray))
+      return null;
+
+    byte[] data = ((ByteArray)key).data;
+    int value = get(data, 0, data.length);
+    return value >= 0 ? value : null;
+  }
+
+  /**
+    Gets the number of code ranges.
+  */
+  public int getRangeCount(
+    )
+  {return lows.length;}
+
+  @Override
+  public int size(
+    )
+  {return size;}
+  // </public>
+  // </interface>
+  // </dynamic>
+  // </class>
+}
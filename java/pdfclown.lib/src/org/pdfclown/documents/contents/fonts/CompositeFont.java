@@ -25,7 +25,10 @@
 
 package org.pdfclown.documents.contents.fonts;
 
+import java.awt.geom.Path2D;
 import java.awt.geom.Point2D;
+import java.util.BitSet;
+import java.util.Collection;
 import java.util.Hashtable;
 import java.util.Iterator;
 import java.util.Map;
@@ -39,6 +42,7 @@ import org.pdfclown.bytes.Buffer;
 import org.pdfclown.bytes.IBuffer;
 import org.pdfclown.bytes.IInputStream;
 import org.pdfclown.documents.Document;
+import org.pdfclown.documents.DocumentConfiguration;
 import org.pdfclown.documents.contents.fonts.CMapBuilder.EntryTypeEnum;
 import org.pdfclown.objects.PdfArray;
 import org.pdfclown.objects.PdfDataObject;
@@ -72,6 +76,11 @@ public abstract class CompositeFont
 {
   // <class>
   // <static>
+  // <fields>
+  private static final String CustomCMapName = "Custom";
+  private static final int SubsetTagLength = 6;
+  // </fields>
+
   // <interface>
   // <public>
   public static CompositeFont get(
@@ -79,7 +88,7 @@ public abstract class CompositeFont
     IInputStream fontData
     )
   {
-    OpenFontParser parser = new OpenFontParser(fontData);
+    OpenFontParser parser = FontMetricsCache.getOpenFont(fontData.toByteArray());
     switch(parser.outlineFormat)
     {
       case PostScript:
@@ -95,6 +104,14 @@ public abstract class CompositeFont
 
   // <dynamic>
   // <fields>
+  /**
+    Original font program (TrueType outlines only), retained for subsetting.
+  */
+  private byte[] fontProgram;
+  /**
+    Glyphs retained by the current subset.
+  */
+  private BitSet subsetGlyphIndexes;
   // </fields>
 
   // <constructors>
@@ -116,6 +133,80 @@ public abstract class CompositeFont
 
   // <interface>
   // <public>
+  /**
+    Subsets the embedded font program to the glyphs {@link #encode(String) used} so far.
+    <p>Glyph widths and character-code-to-Unicode mapping are accordingly trimmed, and the font name
+    is tagged as subset. As the original font program is retained, subsetting can be repeated
+    whenever further text is encoded (it's automatically applied on serialization, if {@link
+    DocumentConfiguration#isFontSubsettingEnabled() enabled}).</p>
+    <p>Only fonts embedded from TrueType outlines can be subset; for any other font this method
+    does nothing.</p>
+
+    @since 0.2.0
+  */
+  public void subset(
+    )
+  {
+    if(fontProgram == null)
+      return;
+
+    // Used glyphs and codes.
+    BitSet glyphIndexes = new BitSet();
+    SortedMap<Integer,Integer> usedGlyphIndexes = new TreeMap<Integer,Integer>();
+    for(Integer usedCode : usedCodes)
+    {
+      Integer glyphIndex = this.glyphIndexes.get(usedCode);
+      if(glyphIndex == null)
+        continue;
+
+      glyphIndexes.set(glyphIndex);
+      usedGlyphIndexes.put(usedCode, glyphIndex);
+    }
+    if(glyphIndexes.equals(subsetGlyphIndexes))
+      return;
+
+    SortedMap<ByteArray,Integer> usedCodes = new TreeMap<ByteArray,Integer>();
+    for(Map.Entry<ByteArray,Integer> codeEntry : codes.entrySet())
+    {
+      if(usedGlyphIndexes.containsKey(codeEntry.getValue()))
+      {usedCodes.put(codeEntry.getKey(), codeEntry.getValue());}
+    }
+
+    PdfDictionary baseDataObject = getBaseDataObject();
+    PdfDictionary cidFontDictionary = getCIDFontDictionary();
+    PdfDictionary fontDescriptor = (PdfDictionary)cidFontDictionary.resolve(PdfName.FontDescriptor);
+
+    // Font name.
+    {
+      String fontName = ((PdfName)fontDescriptor.get(PdfName.FontName)).getValue();
+      if(subsetGlyphIndexes != null)
+      {fontName = fontName.substring(SubsetTagLength + 1);}
+      PdfName subsetFontName = new PdfName(getSubsetTag(glyphIndexes) + "+" + fontName);
+      baseDataObject.put(PdfName.BaseFont, subsetFontName);
+      cidFontDictionary.put(PdfName.BaseFont, subsetFontName);
+      fontDescriptor.put(PdfName.FontName, subsetFontName);
+    }
+
+    // Font program.
+    ((PdfReference)fontDescriptor.get(PdfName.FontFile2)).getIndirectObject().setDataObject(
+      new PdfStream(
+        new Buffer(OpenFontSubsetter.subset(fontProgram, glyphIndexes, usedGlyphIndexes, symbolic))
+        )
+      );
+
+    // Encoding.
+    PdfDirectObject encodingObject = baseDataObject.get(PdfName.Encoding);
+    if(encodingObject instanceof PdfReference) // Custom encoding.
+    {setBody(encodingObject, createEncodingCMap(usedCodes));}
+
+    // ToUnicode.
+    setBody(baseDataObject.get(PdfName.ToUnicode), createToUnicodeCMap(usedCodes));
+
+    // Glyph widths.
+    cidFontDictionary.put(PdfName.W, createWidths(usedGlyphIndexes.values()));
+
+    subsetGlyphIndexes = glyphIndexes;
+  }
   // </public>
 
   // <protected>
@@ -242,7 +333,141 @@ public abstract class CompositeFont
   }
   // </protected>
 
+  // <internal>
+  @Override
+  IGlyphOutlines loadOutlines(
+    )
+  {
+    final IGlyphOutlines fontProgram = parseFontProgram();
+    if(fontProgram == null)
+      return null;
+
+    if(fontProgram instanceof CffParser) // CFF outlines (CIDFontType0).
+    {
+      final CffParser parser = (CffParser)fontProgram;
+      return new IGlyphOutlines()
+      {
+        @Override
+        public Path2D getOutline(
+          int cid
+          )
+        {
+          int glyphIndex = parser.getGlyphIndexByCID(cid);
+          return glyphIndex > 0 ? parser.getOutline(glyphIndex) : null;
+        }
+      };
+    }
+    else // TrueType outlines (CIDFontType2).
+    {
+      // CID-to-GID mapping [PDF:1.6:5.6.3] (either identity or a stream of 2-byte glyph indexes).
+      PdfDataObject cidToGidMapObject = getCIDFontDictionary().resolve(PdfName.CIDToGIDMap);
+      final byte[] cidToGidMap = (cidToGidMapObject instanceof PdfStream
+        ? ((PdfStream)cidToGidMapObject).getBody().toByteArray()
+        : null);
+      return new IGlyphOutlines()
+      {
+        @Override
+        public Path2D getOutline(
+          int cid
+          )
+        {
+          int glyphIndex;
+          if(cidToGidMap == null) // Identity.
+          {glyphIndex = cid;}
+          else if(cid >= 0 && cid * 2 + 1 < cidToGidMap.length)
+          {glyphIndex = ((cidToGidMap[cid * 2] & 0xff) << 8) | (cidToGidMap[cid * 2 + 1] & 0xff);}
+          else
+          {glyphIndex = 0;}
+          return glyphIndex > 0 ? fontProgram.getOutline(glyphIndex) : null;
+        }
+      };
+    }
+  }
+  // </internal>
+
   // <private>
+  /**
+    Creates the custom character-code-to-CID mapping of the specified codes.
+  */
+  private IBuffer createEncodingCMap(
+    SortedMap<ByteArray,Integer> codes
+    )
+  {
+    return CMapBuilder.build(
+      EntryTypeEnum.CID,
+      CustomCMapName,
+      codes,
+      new IFunction<Map.Entry<ByteArray,Integer>,Integer>()
+      {
+        public Integer apply(Map.Entry<ByteArray,Integer> codeEntry)
+        {return glyphIndexes.get(codeEntry.getValue());}
+      }
+      );
+  }
+
+  /**
+    Creates the character-code-to-Unicode mapping of the specified codes.
+  */
+  private IBuffer createToUnicodeCMap(
+    SortedMap<ByteArray,Integer> codes
+    )
+  {
+    return CMapBuilder.build(
+      EntryTypeEnum.BaseFont,
+      null,
+      codes,
+      new IFunction<Map.Entry<ByteArray,Integer>,Integer>()
+      {
+        public Integer apply(Map.Entry<ByteArray,Integer> codeEntry)
+        {return codeEntry.getValue();}
+      }
+      );
+  }
+
+  /**
+    Creates the widths array [PDF:1.6:5.6.3] of the specified glyphs.
+  */
+  private PdfArray createWidths(
+    Collection<Integer> glyphIndexes
+    )
+  {
+    PdfArray widthsObject = new PdfArray();
+    int lastGlyphIndex = -10;
+    PdfArray lastGlyphWidthRangeObject = null;
+    for(Integer glyphIndex : new TreeSet<Integer>(glyphIndexes))
+    {
+      Integer width = glyphWidths.get(glyphIndex);
+      if(width == null)
+      {width = 0;}
+      if(glyphIndex - lastGlyphIndex != 1)
+      {
+        widthsObject.add(PdfInteger.get(glyphIndex));
+        widthsObject.add(lastGlyphWidthRangeObject = new PdfArray());
+      }
+      lastGlyphWidthRangeObject.add(PdfInteger.get(width));
+      lastGlyphIndex = glyphIndex;
+    }
+    return widthsObject;
+  }
+
+  /**
+    Gets the subset tag (six uppercase letters [PDF:1.6:5.5.3]) corresponding to the specified
+    glyphs.
+  */
+  private String getSubsetTag(
+    BitSet glyphIndexes
+    )
+  {
+    long hash = glyphIndexes.hashCode() & 0xffffffffL;
+    char[] tag = new char[SubsetTagLength];
+    for(int index = 0; index < SubsetTagLength; index++)
+    {
+      tag[index] = (char)('A' + hash % 26);
+      hash /= 26;
+    }
+    return new String(tag);
+  }
+
   /**
     Loads the font data.
   */
@@ -250,7 +475,11 @@ public abstract class CompositeFont
     OpenFontParser parser
     )
   {
-    glyphIndexes = parser.glyphIndexes;
+    /*
+      NOTE: Parser metrics are shared across documents (see FontMetricsCache), so glyph indexes are
+      copied as the encoding creation consumes them.
+    */
+    glyphIndexes = new Hashtable<Integer,Integer>(parser.glyphIndexes);
     glyphKernings = parser.glyphKernings;
     glyphWidths = parser.glyphWidths;
 
@@ -348,23 +577,28 @@ public abstract class CompositeFont
     SortedMap<ByteArray,Integer> sortedCodes;
     {
       codes = new BiMap<ByteArray,Integer>(glyphIndexes.size());
+      /*
+        NOTE: Glyph indexes and assigned character codes are tracked through bitsets, so that
+        remapping shared glyphs takes linear time (scanning glyphIndexes values for each remapped
+        code was quadratic).
+      */
+      BitSet usedGlyphIndexes = new BitSet();
+      for(Integer glyphIndex : glyphIndexes.values())
+      {usedGlyphIndexes.set(glyphIndex);}
+      BitSet usedCharCodes = new BitSet();
       int lastRemappedCharCodeValue = 0;
       for(Iterator<Map.Entry<Integer,Integer>> glyphIndexIterator = glyphIndexes.entrySet().iterator(); glyphIndexIterator.hasNext();)
       {
         Map.Entry<Integer,Integer> glyphIndexEntry = glyphIndexIterator.next();
         int glyphIndex = glyphIndexEntry.getValue();
-        ByteArray charCode = new ByteArray(new byte[]
-          {
-            (byte)((glyphIndex >> 8) & 0xFF),
-            (byte)(glyphIndex & 0xFF)
-          });
+        int charCodeValue = glyphIndex;
 
         // Checking for multiple Unicode codepoints which map to the same glyph index...
         /*
           NOTE: In case the same glyph index maps to multiple Unicode codepoints, we are forced to 
           alter the identity encoding creating distinct cmap entries for the exceeding codepoints.
         */
-        if(codes.containsKey(charCode))
+        if(usedCharCodes.get(charCodeValue))
         {
           if(glyphIndex == 0) // .notdef glyph already mapped.
           {
@@ -377,29 +611,24 @@ public abstract class CompositeFont
             NOTE: As our base encoding is identity, we have to look for a value that doesn't
             collide with existing glyph indices.
           */
-          while(glyphIndexes.containsValue(++lastRemappedCharCodeValue));
-          charCode.data[0] = (byte)((lastRemappedCharCodeValue >> 8) & 0xFF);
-          charCode.data[1] = (byte)(lastRemappedCharCodeValue & 0xFF);
+          charCodeValue = lastRemappedCharCodeValue = usedGlyphIndexes.nextClearBit(lastRemappedCharCodeValue + 1);
         }
         else if(glyphIndex == 0) // .notdef glyph.
         {setDefaultCode(glyphIndexEntry.getKey());}
         
-        codes.put(charCode, glyphIndexEntry.getKey());
+        usedCharCodes.set(charCodeValue);
+        codes.put(
+          new ByteArray(new byte[]
+            {
+              (byte)((charCodeValue >> 8) & 0xFF),
+              (byte)(charCodeValue & 0xFF)
+            }),
+          glyphIndexEntry.getKey()
+          );
       }
       sortedCodes = new TreeMap<ByteArray,Integer>(codes);
       if(lastRemappedCharCodeValue > 0) // Custom encoding.
       {
-        String cmapName = "Custom";
-        IBuffer cmapBuffer = CMapBuilder.build(
-          EntryTypeEnum.CID,
-          cmapName,
-          sortedCodes,
-          new IFunction<Map.Entry<ByteArray,Integer>,Integer>()
-          {
-            public Integer apply(Map.Entry<ByteArray,Integer> codeEntry)
-            {return glyphIndexes.get(codeEntry.getValue());}
-          }
-          );
         encodingObject = getFile().register(
           new PdfStream(
             new PdfDictionary(
@@ -412,7 +641,7 @@ public abstract class CompositeFont
               new PdfDirectObject[]
               {
                 PdfName.CMap,
-                new PdfName(cmapName),
+                new PdfName(CustomCMapName),
                 new PdfDictionary(
                   new PdfName[]
                   {
@@ -429,7 +658,7 @@ public abstract class CompositeFont
                   )
               }
               ),
-            cmapBuffer
+            createEncodingCMap(sortedCodes)
             )
           );
       }
@@ -438,42 +667,13 @@ public abstract class CompositeFont
     cidFont.put(PdfName.CIDToGIDMap, PdfName.Identity); // CID-to-glyph-index mapping.
 
     // ToUnicode [PDF:1.6:5.9.2].
-    PdfDirectObject toUnicodeObject = null;
-    {
-      IBuffer toUnicodeBuffer = CMapBuilder.build(
-        EntryTypeEnum.BaseFont,
-        null,
-        sortedCodes,
-        new IFunction<Map.Entry<ByteArray,Integer>,Integer>()
-        {
-          public Integer apply(Map.Entry<ByteArray,Integer> codeEntry)
-          {return codeEntry.getValue();}
-        }
-        );
-      toUnicodeObject = getFile().register(new PdfStream(toUnicodeBuffer));
-    }
-    font.put(PdfName.ToUnicode, toUnicodeObject); // Character-code-to-Unicode mapping.
-  
+    font.put(
+      PdfName.ToUnicode,
+      getFile().register(new PdfStream(createToUnicodeCMap(sortedCodes)))
+      ); // Character-code-to-Unicode mapping.
+
     // Glyph widths.
-    PdfArray widthsObject = new PdfArray();
-    {
-      int lastGlyphIndex = -10;
-      PdfArray lastGlyphWidthRangeObject = null;
-      for(Integer glyphIndex : new TreeSet<Integer>(glyphIndexes.values()))
-      {
-        Integer width = glyphWidths.get(glyphIndex);
-        if(width == null)
-        {width = 0;}
-        if(glyphIndex - lastGlyphIndex != 1)
-        {
-          widthsObject.add(PdfInteger.get(glyphIndex));
-          widthsObject.add(lastGlyphWidthRangeObject = new PdfArray());
-        }
-        lastGlyphWidthRangeObject.add(PdfInteger.get(width));
-        lastGlyphIndex = glyphIndex;
-      }
-    }
-    cidFont.put(PdfName.W, widthsObject); // Glyph widths.
+    cidFont.put(PdfName.W, createWidths(glyphIndexes.values()));
   }
 
   /**
@@ -550,15 +750,31 @@ public abstract class CompositeFont
       fontDescriptor.put(PdfName.StemV, PdfInteger.get(100));
 
       // FontFile.
+      byte[] fontData = parser.fontData.toByteArray();
       fontDescriptor.put(
         PdfName.FontFile2,
         getFile().register(
-          new PdfStream(new Buffer(parser.fontData.toByteArray()))
+          new PdfStream(new Buffer(fontData))
           )
         );
+      if(parser.outlineFormat == OpenFontParser.OutlineFormatEnum.TrueType)
+      {fontProgram = fontData;}
     }
     return getFile().register(fontDescriptor);
   }
+
+  /**
+    Replaces the body of the specified stream.
+  */
+  private void setBody(
+    PdfDirectObject streamObject,
+    IBuffer body
+    )
+  {
+    IBuffer streamBody = ((PdfStream)((PdfReference)streamObject).getDataObject()).getBody();
+    streamBody.clear();
+    streamBody.append(body.toByteArray());
+  }
   // </private>
   // </interface>
   // </dynamic>
@@ -26,9 +26,11 @@
 
 package org.pdfclown.documents.contents.fonts;
 
+import java.awt.geom.Path2D;
 import java.io.ByteArrayOutputStream;
 import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.util.Arrays;
 import java.util.EnumSet;
 import java.util.HashSet;
 import java.util.Hashtable;
@@ -37,6 +39,7 @@ import java.util.Set;
 
 import org.pdfclown.PDF;
 import org.pdfclown.VersionEnum;
+import org.pdfclown.bytes.Buffer;
 import org.pdfclown.bytes.FileInputStream;
 import org.pdfclown.bytes.IInputStream;
 import org.pdfclown.documents.Document;
@@ -55,6 +58,7 @@ import org.pdfclown.tokens.EncodeException;
 import org.pdfclown.util.BiMap;
 import org.pdfclown.util.ByteArray;
 import org.pdfclown.util.NotImplementedException;
+import org.pdfclown.util.io.IOUtils;
 
 /**
   Abstract font [PDF:1.6:5.4].
@@ -152,10 +156,32 @@ public abstract class Font
       )
     {return code;}
   }
+
+  /**
+    Decoding trie node.
+    <p>Each node maps the next byte of a character code to either its unicode (in case the code
+    ends there) or the node of the following byte.</p>
+  */
+  private static final class DecodingNode
+  {
+    /**
+      Child nodes by byte value (<code>null</code> on leaf nodes).
+    */
+    DecodingNode[] children;
+    /**
+      Unicodes by byte value ({@link Font#UndefinedCode} for incomplete or missing codes).
+    */
+    final int[] codes = new int[256];
+
+    DecodingNode(
+      )
+    {Arrays.fill(codes, UndefinedCode);}
+  }
   // </classes>
 
   // <static>
   // <fields>
+  private static final int UndefinedCode = -1;
   private static final int UndefinedDefaultCode = Integer.MIN_VALUE;
   private static final int UndefinedWidth = Integer.MIN_VALUE;
   // </fields>
@@ -170,17 +196,19 @@ public abstract class Font
     String path
     )
   {
+    FileInputStream fontData;
     try
     {
-      return get(
-        context,
-        new FileInputStream(
-          new java.io.RandomAccessFile(path,"r")
-          )
+      fontData = new FileInputStream(
+        new java.io.RandomAccessFile(path,"r")
         );
     }
     catch(FileNotFoundException e)
     {throw new RuntimeException(e);}
+    try
+    {return get(context, fontData);}
+    finally
+    {IOUtils.closeQuietly(fontData);}
   }
 
   /**
@@ -228,17 +256,32 @@ public abstract class Font
       return null;
 
     PdfReference reference = (PdfReference)baseObject;
+    /*
+      NOTE: Font structures are reified as complex objects, both IO- and CPU-intensive to load.
+      So, it's convenient to retrieve them from a common cache whenever possible. Lookup and
+      instantiation are atomic, so that concurrent readers (e.g. parallel text extraction) share the
+      same font (along with its decoding tables) instead of loading duplicates.
+    */
+    Hashtable<PdfReference,Object> cache = reference.getIndirectObject().getFile().getDocument().cache;
+    synchronized(cache)
     {
       // Has the font been already instantiated?
-      /*
-        NOTE: Font structures are reified as complex objects, both IO- and CPU-intensive to load.
-        So, it's convenient to retrieve them from a common cache whenever possible.
-      */
-      Hashtable<PdfReference,Object> cache = reference.getIndirectObject().getFile().getDocument().cache;
       if(cache.containsKey(reference))
         return (Font)cache.get(reference);
+
+      return create(reference);
     }
+  }
+  // </public>
 
+  // <private>
+  /**
+    Instantiates the font corresponding to the specified reference.
+  */
+  private static Font create(
+    PdfReference reference
+    )
+  {
     PdfDictionary fontDictionary = (PdfDictionary)reference.getDataObject();
     PdfName fontType = (PdfName)fontDictionary.get(PdfName.Subtype);
     if(fontType == null)
@@ -278,7 +321,6 @@ public abstract class Font
     else // Unknown.
       throw new UnsupportedOperationException("Unknown font type: " + fontType + " (reference: " + reference + ")");
   }
-  // </public>
   // </interface>
   // </static>
 
@@ -327,6 +369,10 @@ public abstract class Font
     Maximum character code byte size.
   */
   private int charCodeMaxLength = 0;
+  /**
+    Character code decoding trie (compiled on first use).
+  */
+  private volatile DecodingNode decodingRoot;
   /**
     Default Unicode for missing characters.
   */
@@ -335,6 +381,11 @@ public abstract class Font
     Default glyph width.
   */
   private int defaultWidth = UndefinedWidth;
+  /**
+    Glyph outlines of the embedded font program (loaded on first use).
+  */
+  private volatile IGlyphOutlines outlines;
+  private volatile boolean outlinesLoaded;
   // </fields>
 
   // <constructors>
@@ -381,54 +432,69 @@ public abstract class Font
     byte[] code
     ) throws DecodeException
   {
-    StringBuilder textBuilder = new StringBuilder();
+    char[] textChars = new char[code.length];
+    return new String(textChars, 0, decode(code, 0, code.length, textChars, 0));
+  }
+
+  /**
+    Gets the text from the given internal representation, putting it into the specified buffer.
+
+    @param code Buffer containing the internal representation to decode.
+    @param offset Position of the internal representation in <code>code</code>.
+    @param length Length of the internal representation.
+    @param textChars Buffer to put the decoded characters into; its free space after
+      <code>textOffset</code> MUST be at least <code>length</code>.
+    @param textOffset Position in <code>textChars</code> of the first decoded character.
+    @return Number of decoded characters.
+    @since 0.2.0
+  */
+  public final int decode(
+    byte[] code,
+    int offset,
+    int length,
+    char[] textChars,
+    int textOffset
+    ) throws DecodeException
+  {
+    DecodingNode root = getDecodingRoot();
+    int textIndex = textOffset;
+    for(int index = offset, endIndex = offset + length; index < endIndex;)
     {
-      byte[][] codeBuffers = new byte[charCodeMaxLength+1][];
-      for(
-        int codeBufferIndex = 0;
-        codeBufferIndex <= charCodeMaxLength;
-        codeBufferIndex++
-        )
-      {codeBuffers[codeBufferIndex] = new byte[codeBufferIndex];}
-      int index = 0;
-      int codeLength = code.length;
-      int codeBufferSize = 1;
-      while(index < codeLength)
+      /*
+        NOTE: Character codes are matched shortest first.
+      */
+      int textChar = UndefinedCode;
+      int codeLength = 0;
+      for(DecodingNode node = root; node != null && index + codeLength < endIndex;)
+      {
+        int codeByte = code[index + codeLength++] & 0xff;
+        textChar = node.codes[codeByte];
+        if(textChar != UndefinedCode)
+          break;
+
+        node = node.children != null ? node.children[codeByte] : null;
+      }
+      if(textChar == UndefinedCode) // Missing character.
       {
-        byte[] codeBuffer = codeBuffers[codeBufferSize];
-        System.arraycopy(code, index, codeBuffer, 0, codeBufferSize);
-        Integer textChar = codes.get(new ByteArray(codeBuffer));
-        if(textChar == null)
+        codeLength = Math.max(Math.min(charCodeMaxLength, endIndex - index), 1);
+        switch(getDocument().getConfiguration().getEncodingFallback())
         {
-          if(codeBufferSize < charCodeMaxLength
-            && codeBufferSize < codeLength - index)
-          {
-            codeBufferSize++;
-            continue;
-          }
-          else // Missing character.
-          {
-            switch(getDocument().getConfiguration().getEncodingFallback())
-            {
-              case Exclusion:
-                break;
-              case Substitution:
-                textChar = defaultCode;
-                break;
-              case Exception:
-                throw new DecodeException(code, index);
-              default:
-                throw new NotImplementedException();
-            }
-          }
+          case Exclusion:
+            break;
+          case Substitution:
+            textChar = defaultCode;
+            break;
+          case Exception:
+            throw new DecodeException(code, index);
+          default:
+            throw new NotImplementedException();
         }
-        if(textChar != null)
-        {textBuilder.append((char)(int)textChar);}
-        index += codeBufferSize;
-        codeBufferSize = 1;
       }
+      if(textChar != UndefinedCode)
+      {textChars[textIndex++] = (char)textChar;}
+      index += codeLength;
     }
-    return textBuilder.toString();
+    return textIndex - textOffset;
   }
 
   /**
@@ -724,6 +790,28 @@ public abstract class Font
     )
   {return ((PdfName)getBaseDataObject().get(PdfName.BaseFont)).toString();}
 
+  /**
+    Gets the outline of the given character, as defined by the embedded font program.
+    <p>The outline is expressed in glyph space (1000 units per em, y-axis upwards), so it has to be
+    scaled to the font size like glyph widths. Each call returns a new object.</p>
+
+    @param textChar Character whose outline has to be retrieved.
+    @return <code>null</code>, if the character is missing or the font program is not available
+      (not embedded, or unsupported format, like Type 1 and Type 3).
+    @since 0.2.0
+  */
+  public Path2D getOutline(
+    char textChar
+    )
+  {
+    Integer glyphIndex = glyphIndexes.get((int)textChar);
+    if(glyphIndex == null)
+      return null;
+
+    IGlyphOutlines outlines = getOutlines();
+    return outlines != null ? outlines.getOutline(glyphIndex) : null;
+  }
+
   /**
     Gets the unscaled width of the given character.
 
@@ -877,12 +965,6 @@ public abstract class Font
 
     onLoad();
 
-    // Maximum character code length.
-    for(ByteArray charCode : codes.keySet())
-    {
-      if(charCode.data.length > charCodeMaxLength)
-      {charCodeMaxLength = charCode.data.length;}
-    }
     // Missing character substitute.
     if(defaultCode == UndefinedDefaultCode)
     {
@@ -919,7 +1001,116 @@ public abstract class Font
   {defaultWidth = value;}
   // </protected>
 
+  // <internal>
+  /**
+    Loads the glyph outlines of the embedded font program.
+
+    @return <code>null</code>, if no supported font program is available.
+  */
+  IGlyphOutlines loadOutlines(
+    )
+  {return null;}
+
+  /**
+    Parses the embedded font program.
+
+    @return Either {@link OpenFontOutlineParser} (TrueType outlines) or {@link CffParser};
+      <code>null</code>, if no supported font program is embedded.
+  */
+  IGlyphOutlines parseFontProgram(
+    )
+  {
+    // NOTE: Type 1 font programs (FontFile) are unsupported.
+    PdfStream fontFile = (PdfStream)getDescriptorValue(PdfName.FontFile2);
+    if(fontFile == null)
+    {
+      fontFile = (PdfStream)getDescriptorValue(PdfName.FontFile3);
+      if(fontFile == null)
+        return null;
+    }
+
+    /*
+      NOTE: Font program format is detected from its data rather than its declared type, as the
+      latter is often inaccurate (e.g. OpenType programs declared as bare CFF).
+    */
+    byte[] fontData = fontFile.getBody().toByteArray();
+    if(OpenFontOutlineParser.isOpenFont(fontData))
+    {
+      OpenFontOutlineParser parser = new OpenFontOutlineParser(fontData);
+      if(parser.hasGlyphOutlines())
+        return parser;
+
+      byte[] cffData = parser.getTableData("CFF ");
+      return cffData != null ? new CffParser(new Buffer(cffData)) : null;
+    }
+    else
+      return new CffParser(new Buffer(fontData));
+  }
+  // </internal>
+
   // <private>
+  /**
+    Gets the decoding trie of the character codes, compiling it on first use.
+  */
+  private DecodingNode getDecodingRoot(
+    )
+  {
+    DecodingNode root = decodingRoot;
+    if(root == null)
+    {
+      root = new DecodingNode();
+      int maxLength = 0;
+      for(Map.Entry<ByteArray,Integer> codeEntry : codes.entrySet())
+      {
+        byte[] charCode = codeEntry.getKey().data;
+        if(charCode.length == 0)
+          continue;
+        else if(charCode.length > maxLength)
+        {maxLength = charCode.length;}
+
+        DecodingNode node = root;
+        for(int index = 0, lastIndex = charCode.length - 1; index < lastIndex; index++)
+        {
+          int codeByte = charCode[index] & 0xff;
+          if(node.children == null)
+          {node.children = new DecodingNode[256];}
+          if(node.children[codeByte] == null)
+          {node.children[codeByte] = new DecodingNode();}
+          node = node.children[codeByte];
+        }
+        node.codes[charCode[charCode.length - 1] & 0xff] = codeEntry.getValue();
+      }
+      charCodeMaxLength = maxLength;
+      /*
+        NOTE: Concurrent compilations are idempotent, so the trie is published without locking.
+      */
+      decodingRoot = root;
+    }
+    return root;
+  }
+
+  /**
+    Gets the glyph outlines of the embedded font program, loading them on first use.
+  */
+  private IGlyphOutlines getOutlines(
+    )
+  {
+    if(!outlinesLoaded)
+    {
+      IGlyphOutlines outlines;
+      try
+      {outlines = loadOutlines();}
+      catch(RuntimeException e)
+      {outlines = null;} // Corrupted font program.
+      /*
+        NOTE: Concurrent loads are idempotent, so the outlines are published without locking.
+      */
+      this.outlines = outlines;
+      outlinesLoaded = true;
+    }
+    return outlines;
+  }
+
   private void initialize(
     )
   {
@@ -0,0 +1,232 @@
+/*
+  Copyright 2026 Stefano Chizzolini. http://www.pdfclown.org
+
+  Contributors:
+    * Stefano Chizzolini (original code developer, http://www.stefanochizzolini.it)
+
+  This file should be part of the source code distribution of "PDF Clown library"
+  (the Program): see the accompanying README files for more info.
+
+  This Program is free software; you can redistribute it and/or modify it under the terms
+  of the GNU Lesser General Public License as published by the Free Software Foundation;
+  either version 3 of the License, or (at your option) any later version.
+
+  This Program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY,
+  either expressed or implied; without even the implied warranty of MERCHANTABILITY or
+  FITNESS FOR A PARTICULAR PURPOSE. See the License for more details.
+
+  You should have received a copy of the GNU Lesser General Public License along with this
+  Program (see README files); if not, go to the GNU website (http://www.gnu.org/licenses/).
+
+  Redistribution and use, with or without modification, are permitted provided that such
+  redistributions retain the above copyright notice, license and disclaimer, along with
+  this list of conditions.
+*/
+
+package org.pdfclown.documents.contents.fonts;
+
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.SoftReference;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.pdfclown.bytes.Buffer;
+import org.pdfclown.util.io.IOUtils;
+
+/**
+  Process-wide cache of parsed font metrics, shared across documents.
+  <p>Font files are parsed once per process instead of once per document: standard Type 1 font
+  metrics are keyed by font name, font programs by their content. Parsed metrics are
+  read-only (their maps are unmodifiable), so that they can be safely shared by the {@link Font}
+  objects of concurrent documents, which keep their own encoding state. Metrics are softly
+  referenced, that is they are evicted on memory shortage.</p>
+
+  @author Stefano Chizzolini (http://www.stefanochizzolini.it)
+  @since 0.2.0
+  @version 0.2.0, 10/19/26
+*/
+final class FontMetricsCache
+{
+  // <class>
+  // <classes>
+  /**
+    Font program key (by content).
+  */
+  private static final class FontDataKey
+  {
+    private final byte[] data;
+    private final int hashCode;
+
+    FontDataKey(
+      byte[] data
+      )
+    {
+      this.data = data;
+      this.hashCode = Arrays.hashCode(data);
+    }
+
+    @Override
+    public boolean equals(
+      Object object
+      )
+    {
+      return object instanceof FontDataKey
+        && ((FontDataKey)object).hashCode == hashCode
+        && Arrays.equals(((FontDataKey)object).data, data);
+    }
+
+    @Override
+    public int hashCode(
+      )
+    {return hashCode;}
+  }
+
+  /**
+    Soft reference to cached metrics.
+  */
+  private static final class MetricsReference
+    extends SoftReference<Object>
+  {
+    private final Object key;
+
+    MetricsReference(
+      Object key,
+      Object metrics,
+      ReferenceQueue<Object> queue
+      )
+    {
+      super(metrics, queue);
+      this.key = key;
+    }
+  }
+  // </classes>
+
+  // <static>
+  // <fields>
+  private static final Map<Object,MetricsReference> entries = new HashMap<Object,MetricsReference>();
+  private static final ReferenceQueue<Object> queue = new ReferenceQueue<Object>();
+  // </fields>
+
+  // <interface>
+  // <public>
+  /**
+    Gets the metrics of the specified standard Type 1 font.
+
+    @param fontName Standard Type 1 font name.
+  */
+  public static AfmParser getAfm(
+    String fontName
+    )
+  {
+    AfmParser parser = (AfmParser)get(fontName);
+    if(parser == null)
+    {
+      BufferedReader fontMetricsStream = null;
+      try
+      {
+        fontMetricsStream = new BufferedReader(
+          new InputStreamReader(
+            FontMetricsCache.class.getResourceAsStream("/fonts/afm/" + fontName + ".afm")
+            )
+          );
+
+        parser = new AfmParser(fontMetricsStream);
+        parser.fontData = null;
+        parser.glyphIndexes = unmodifiable(parser.glyphIndexes);
+        parser.glyphKernings = unmodifiable(parser.glyphKernings);
+        parser.glyphWidths = unmodifiable(parser.glyphWidths);
+      }
+      catch(Exception e)
+      {throw new RuntimeException(String.format("Failed to load '%s'", fontName), e);}
+      finally
+      {IOUtils.closeQuietly(fontMetricsStream);}
+      parser = (AfmParser)put(fontName, parser);
+    }
+    return parser;
+  }
+
+  /**
+    Gets the metrics of the specified Open Font program.
+    <p>The {@link OpenFontParser#fontData font data} of the returned parser MUST NOT be modified.</p>
+
+    @param fontData Font program.
+  */
+  public static OpenFontParser getOpenFont(
+    byte[] fontData
+    )
+  {
+    FontDataKey key = new FontDataKey(fontData);
+    OpenFontParser parser = (OpenFontParser)get(key);
+    if(parser == null)
+    {
+      parser = new OpenFontParser(new Buffer(fontData));
+      parser.glyphIndexes = unmodifiable(parser.glyphIndexes);
+      parser.glyphKernings = unmodifiable(parser.glyphKernings);
+      parser.glyphWidths = unmodifiable(parser.glyphWidths);
+      parser = (OpenFontParser)put(key, parser);
+    }
+    return parser;
+  }
+  // </public>
+
+  // <private>
+  private static synchronized Object get(
+    Object key
+    )
+  {
+    purge();
+    MetricsReference reference = entries.get(key);
+    return reference != null ? reference.get() : null;
+  }
+
+  /**
+    Evicts the entries whose metrics have been garbage-collected.
+  */
+  private static void purge(
+    )
+  {
+    Reference<?> reference;
+    while((reference = queue.poll()) != null)
+    {
+      Object key = ((MetricsReference)reference).key;
+      if(entries.get(key) == reference)
+      {entries.remove(key);}
+    }
+  }
+
+  /**
+    Caches the specified metrics.
+
+    @return Cached metrics (in case of concurrent loading, those cached first).
+  */
+  private static synchronized Object put(
+    Object key,
+    Object metrics
+    )
+  {
+    purge();
+    MetricsReference reference = entries.get(key);
+    if(reference != null)
+    {
+      Object cachedMetrics = reference.get();
+      if(cachedMetrics != null)
+        return cachedMetrics;
+    }
+    entries.put(key, new MetricsReference(key, metrics, queue));
+    return metrics;
+  }
+
+  private static Map<Integer,Integer> unmodifiable(
+    Map<Integer,Integer> map
+    )
+  {return map != null ? Collections.unmodifiableMap(new HashMap<Integer,Integer>(map)) : null;}
+  // </private>
+  // </interface>
+  // </static>
+  // </class>
+}
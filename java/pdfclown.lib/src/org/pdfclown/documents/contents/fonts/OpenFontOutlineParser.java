@@ -0,0 +1,616 @@
+/*
+  Copyright 2026 Stefano Chizzolini. http://www.pdfclown.org
+
+  Contributors:
+    * Stefano Chizzolini (original code developer, http://www.stefanochizzolini.it)
+
+  This file should be part of the source code distribution of "PDF Clown library"
+  (the Program): see the accompanying README files for more info.
+
+  This Program is free software; you can redistribute it and/or modify it under the terms
+  of the GNU Lesser General Public License as published by the Free Software Foundation;
+  either version 3 of the License, or (at your option) any later version.
+
+  This Program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY,
+  either expressed or implied; without even the implied warranty of MERCHANTABILITY or
+  FITNESS FOR A PARTICULAR PURPOSE. See the License for more details.
+
+  You should have received a copy of the GNU Lesser General Public License along with this
+  Program (see README files); if not, go to the GNU website (http://www.gnu.org/licenses/).
+
+  Redistribution and use, with or without modification, are permitted provided that such
+  redistributions retain the above copyright notice, license and disclaimer, along with
+  this list of conditions.
+*/
+
+package org.pdfclown.documents.contents.fonts;
+
+import java.awt.geom.AffineTransform;
+import java.awt.geom.Path2D;
+import java.nio.charset.Charset;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.pdfclown.tokens.CharsetName;
+import org.pdfclown.util.parsers.ParseException;
+
+/**
+  Open Font Format outline parser [OFF:2009].
+  <p>Contrary to {@link OpenFontParser}, it's meant to read the font programs embedded in PDF
+  documents, which are commonly subset and stripped of any table not needed to render them (cmap
+  included): just the table directory is parsed upfront, while character mappings and TrueType
+  outlines are read on demand.</p>
+  <p>This class is thread-safe.</p>
+
+  @author Stefano Chizzolini (http://www.stefanochizzolini.it)
+  @since 0.2.0
+  @version 0.2.0, 10/19/26
+*/
+final class OpenFontOutlineParser
+  implements IGlyphOutlines
+{
+  // <class>
+  // <static>
+  // <fields>
+  // Simple glyph flags.
+  private static final int OnCurve = 0x1;
+  private static final int XShort = 0x2;
+  private static final int YShort = 0x4;
+  private static final int Repeat = 0x8;
+  private static final int XSameOrPositive = 0x10;
+  private static final int YSameOrPositive = 0x20;
+
+  // Composite glyph flags.
+  private static final int ArgsAreWords = 0x1;
+  private static final int ArgsAreXYValues = 0x2;
+  private static final int HasScale = 0x8;
+  private static final int HasMoreComponents = 0x20;
+  private static final int HasXYScale = 0x40;
+  private static final int HasTwoByTwo = 0x80;
+
+  /**
+    Maximum nesting level of composite glyphs.
+  */
+  private static final int MaxComponentDepth = 16;
+  // </fields>
+
+  // <interface>
+  // <public>
+  /**
+    Gets whether the specified data is an Open Font program.
+  */
+  public static boolean isOpenFont(
+    byte[] fontData
+    )
+  {
+    if(fontData.length < 12)
+      return false;
+
+    int version = readInt(fontData, 0);
+    return version == 0x00010000 // TrueType outlines.
+      || version == 0x74727565 // 'true' (TrueType outlines, legacy Apple tag).
+      || version == 0x4f54544f; // 'OTTO' (CFF outlines).
+  }
+  // </public>
+
+  // <private>
+  private static double readF2Dot14(
+    byte[] data,
+    int offset
+    )
+  {return readShort(data, offset) / 16384d;}
+
+  private static int readShort(
+    byte[] data,
+    int offset
+    )
+  {return (short)readUnsignedShort(data, offset);}
+
+  private static int readUnsignedShort(
+    byte[] data,
+    int offset
+    )
+  {return ((data[offset] & 0xff) << 8) | (data[offset + 1] & 0xff);}
+
+  private static int readInt(
+    byte[] data,
+    int offset
+    )
+  {return (readUnsignedShort(data, offset) << 16) | readUnsignedShort(data, offset + 2);}
+  // </private>
+  // </interface>
+  // </static>
+
+  // <dynamic>
+  // <fields>
+  /**
+    Subtable offsets of the character-to-glyph-index mapping by encoding (platform ID in the high
+    word, encoding ID in the low word).
+  */
+  private final Map<Integer,Integer> cmapOffsets = new HashMap<Integer,Integer>();
+  private final byte[] fontData;
+  private int glyfOffset;
+  /**
+    Glyph offsets within the 'glyf' table (<code>null</code> in case of no TrueType outline).
+  */
+  private int[] glyphOffsets;
+  /**
+    Table locations (offset, length) by tag.
+  */
+  private final Map<String,int[]> tables = new HashMap<String,int[]>();
+  /**
+    Ratio between glyph space units and font design units.
+  */
+  private double unitsScale = 1;
+  // </fields>
+
+  // <constructors>
+  /**
+    @throws ParseException If the font data is not a valid Open Font program.
+  */
+  OpenFontOutlineParser(
+    byte[] fontData
+    )
+  {
+    if(!isOpenFont(fontData))
+      throw new ParseException("Unknown font format.");
+
+    this.fontData = fontData;
+
+    try
+    {
+      int tableCount = readUnsignedShort(fontData, 4);
+      for(int index = 0; index < tableCount; index++)
+      {
+        int entryOffset = 12 + index * 16;
+        int tableOffset = readInt(fontData, entryOffset + 8);
+        int tableLength = readInt(fontData, entryOffset + 12);
+        if(tableOffset < 0 || tableLength < 0 || tableOffset + tableLength > fontData.length)
+          continue; // Corrupted table entry.
+
+        tables.put(
+          new String(fontData, entryOffset, 4, Charset.forName(CharsetName.ISO88591)),
+          new int[]{tableOffset, tableLength}
+          );
+      }
+
+      loadCMap();
+      loadGlyphs();
+    }
+    catch(ArrayIndexOutOfBoundsException e)
+    {throw new ParseException("Font data truncated.");}
+  }
+  // </constructors>
+
+  // <interface>
+  // <public>
+  /**
+    Gets the glyph index mapped to the specified character code.
+
+    @param platformId Platform of the character encoding [OFF:2009:5.2.1.2].
+    @param encodingId Platform-specific character encoding [OFF:2009:5.2.1.2].
+    @param code Character code.
+    @return <code>0</code> (missing glyph), if the character code is unmapped (or the encoding is
+      undefined).
+  */
+  public int getGlyphIndex(
+    int platformId,
+    int encodingId,
+    int code
+    )
+  {
+    Integer offset = cmapOffsets.get((platformId << 16) | encodingId);
+    if(offset == null || code < 0)
+      return 0;
+
+    try
+    {
+      switch(readUnsignedShort(fontData, offset))
+      {
+        case 0: // Byte encoding table.
+          return code < 256 ? fontData[offset + 6 + code] & 0xff : 0;
+        case 4: // Segment mapping to delta values.
+        {
+          int segmentCount = readUnsignedShort(fontData, offset + 6) / 2;
+          int endCodesOffset = offset + 14;
+          int startCodesOffset = endCodesOffset + segmentCount * 2 + 2;
+          int idDeltasOffset = startCodesOffset + segmentCount * 2;
+          int idRangeOffsetsOffset = idDeltasOffset + segmentCount * 2;
+
+          // Find the first segment whose end code is not less than the character code!
+          int low = 0, high = segmentCount - 1;
+          while(low <= high)
+          {
+            int middle = (low + high) >>> 1;
+            if(readUnsignedShort(fontData, endCodesOffset + middle * 2) < code)
+            {low = middle + 1;}
+            else
+            {high = middle - 1;}
+          }
+          if(low >= segmentCount)
+            return 0;
+
+          int startCode = readUnsignedShort(fontData, startCodesOffset + low * 2);
+          if(code < startCode)
+            return 0;
+
+          int idDelta = readUnsignedShort(fontData, idDeltasOffset + low * 2);
+          int idRangeOffset = readUnsignedShort(fontData, idRangeOffsetsOffset + low * 2);
+          if(idRangeOffset == 0)
+            return (code + idDelta) & 0xffff;
+
+          int glyphIndex = readUnsignedShort(
+            fontData,
+            idRangeOffsetsOffset + low * 2 + idRangeOffset + (code - startCode) * 2
+            );
+          return glyphIndex != 0 ? (glyphIndex + idDelta) & 0xffff : 0;
+        }
+        case 6: // Trimmed table mapping.
+        {
+          int index = code - readUnsignedShort(fontData, offset + 6);
+          return index >= 0 && index < readUnsignedShort(fontData, offset + 8)
+            ? readUnsignedShort(fontData, offset + 10 + index * 2)
+            : 0;
+        }
+        case 12: // Segmented coverage.
+        {
+          int low = 0, high = readInt(fontData, offset + 12) - 1;
+          while(low <= high)
+          {
+            int middle = (low + high) >>> 1;
+            int groupOffset = offset + 16 + middle * 12;
+            if(readInt(fontData, groupOffset + 4) < code)
+            {low = middle + 1;}
+            else if(readInt(fontData, groupOffset) > code)
+            {high = middle - 1;}
+            else
+              return readInt(fontData, groupOffset + 8) + code - readInt(fontData, groupOffset);
+          }
+          return 0;
+        }
+        default: // Unsupported format.
+          return 0;
+      }
+    }
+    catch(ArrayIndexOutOfBoundsException e)
+    {return 0;} // Corrupted subtable.
+  }
+
+  @Override
+  public Path2D getOutline(
+    int glyphIndex
+    )
+  {
+    if(glyphOffsets == null
+      || glyphIndex < 0
+      || glyphIndex >= glyphOffsets.length - 1)
+      return null;
+
+    Path2D outline;
+    try
+    {outline = getGlyphOutline(glyphIndex, 0);}
+    catch(ArrayIndexOutOfBoundsException e)
+    {return null;} // Corrupted glyph.
+    if(unitsScale != 1)
+    {outline.transform(AffineTransform.getScaleInstance(unitsScale, unitsScale));}
+    return outline;
+  }
+
+  /**
+    Gets the data of the specified table.
+
+    @param tag Table tag.
+    @return <code>null</code>, if the table doesn't exist.
+  */
+  public byte[] getTableData(
+    String tag
+    )
+  {
+    int[] table = tables.get(tag);
+    if(table == null)
+      return null;
+
+    byte[] tableData = new byte[table[1]];
+    System.arraycopy(fontData, table[0], tableData, 0, table[1]);
+    return tableData;
+  }
+
+  /**
+    Gets whether the character-to-glyph-index mapping for the specified encoding is defined.
+
+    @param platformId Platform of the character encoding [OFF:2009:5.2.1.2].
+    @param encodingId Platform-specific character encoding [OFF:2009:5.2.1.2].
+  */
+  public boolean hasCMap(
+    int platformId,
+    int encodingId
+    )
+  {return cmapOffsets.containsKey((platformId << 16) | encodingId);}
+
+  /**
+    Gets whether this font program contains TrueType outlines.
+  */
+  public boolean hasGlyphOutlines(
+    )
+  {return glyphOffsets != null;}
+  // </public>
+
+  // <private>
+  /**
+    Appends the specified contour to the outline, converting its quadratic B-spline into Bezier
+    curves.
+  */
+  private void appendContour(
+    Path2D outline,
+    int[] flags,
+    int[] xs,
+    int[] ys,
+    int startIndex,
+    int endIndex
+    )
+  {
+    int pointCount = endIndex - startIndex + 1;
+    if(pointCount <= 0)
+      return;
+
+    // Find the starting on-curve point!
+    int firstIndex = -1;
+    for(int index = startIndex; index <= endIndex; index++)
+    {
+      if((flags[index] & OnCurve) != 0)
+      {
+        firstIndex = index;
+        break;
+      }
+    }
+    double startX, startY;
+    int stepStart;
+    if(firstIndex >= 0)
+    {
+      startX = xs[firstIndex];
+      startY = ys[firstIndex];
+      stepStart = 1;
+    }
+    else // All the points are off-curve: the contour starts at an implied on-curve point.
+    {
+      firstIndex = startIndex;
+      startX = (xs[startIndex] + xs[endIndex]) / 2d;
+      startY = (ys[startIndex] + ys[endIndex]) / 2d;
+      stepStart = 0;
+    }
+    outline.moveTo(startX, startY);
+
+    boolean controlPending = false;
+    double controlX = 0, controlY = 0;
+    for(int step = stepStart, stepEnd = stepStart + pointCount; step < stepEnd; step++)
+    {
+      int index = startIndex + (firstIndex - startIndex + step) % pointCount;
+      double x = xs[index], y = ys[index];
+      if((flags[index] & OnCurve) != 0)
+      {
+        if(controlPending)
+        {outline.quadTo(controlX, controlY, x, y);}
+        else
+        {outline.lineTo(x, y);}
+        controlPending = false;
+      }
+      else
+      {
+        /*
+          NOTE: Consecutive off-curve points imply an on-curve point at their midpoint.
+        */
+        if(controlPending)
+        {outline.quadTo(controlX, controlY, (controlX + x) / 2, (controlY + y) / 2);}
+        controlX = x;
+        controlY = y;
+        controlPending = true;
+      }
+    }
+    if(controlPending)
+    {outline.quadTo(controlX, controlY, startX, startY);}
+    outline.closePath();
+  }
+
+  /**
+    Gets the outline of the specified glyph, expressed in font design units.
+  */
+  private Path2D getGlyphOutline(
+    int glyphIndex,
+    int depth
+    )
+  {
+    Path2D outline = new Path2D.Double(Path2D.WIND_NON_ZERO);
+    if(glyphIndex >= glyphOffsets.length - 1
+      || glyphOffsets[glyphIndex + 1] <= glyphOffsets[glyphIndex]) // Empty glyph.
+      return outline;
+
+    int offset = glyfOffset + glyphOffsets[glyphIndex];
+    int contourCount = readShort(fontData, offset);
+    offset += 10; // Skip the glyph header!
+    if(contourCount >= 0) // Simple glyph.
+    {
+      if(contourCount == 0)
+        return outline;
+
+      int pointCount = readUnsignedShort(fontData, offset + (contourCount - 1) * 2) + 1;
+      int[] flags = new int[pointCount];
+      int[] xs = new int[pointCount];
+      int[] ys = new int[pointCount];
+      int dataOffset = offset + contourCount * 2;
+      dataOffset += 2 + readUnsignedShort(fontData, dataOffset); // Skip the instructions!
+
+      // Flags.
+      for(int index = 0; index < pointCount;)
+      {
+        int flag = fontData[dataOffset++] & 0xff;
+        flags[index++] = flag;
+        if((flag & Repeat) != 0)
+        {
+          for(int repeatCount = fontData[dataOffset++] & 0xff; repeatCount > 0 && index < pointCount; repeatCount--)
+          {flags[index++] = flag;}
+        }
+      }
+      // X coordinates.
+      for(int index = 0, x = 0; index < pointCount; index++)
+      {
+        int flag = flags[index];
+        if((flag & XShort) != 0)
+        {
+          int delta = fontData[dataOffset++] & 0xff;
+          x += (flag & XSameOrPositive) != 0 ? delta : -delta;
+        }
+        else if((flag & XSameOrPositive) == 0)
+        {
+          x += readShort(fontData, dataOffset);
+          dataOffset += 2;
+        }
+        xs[index] = x;
+      }
+      // Y coordinates.
+      for(int index = 0, y = 0; index < pointCount; index++)
+      {
+        int flag = flags[index];
+        if((flag & YShort) != 0)
+        {
+          int delta = fontData[dataOffset++] & 0xff;
+          y += (flag & YSameOrPositive) != 0 ? delta : -delta;
+        }
+        else if((flag & YSameOrPositive) == 0)
+        {
+          y += readShort(fontData, dataOffset);
+          dataOffset += 2;
+        }
+        ys[index] = y;
+      }
+
+      // Contours.
+      for(int contourIndex = 0, startIndex = 0; contourIndex < contourCount; contourIndex++)
+      {
+        int endIndex = Math.min(readUnsignedShort(fontData, offset + contourIndex * 2), pointCount - 1);
+        appendContour(outline, flags, xs, ys, startIndex, endIndex);
+        startIndex = endIndex + 1;
+      }
+    }
+    else if(depth < MaxComponentDepth) // Composite glyph.
+    {
+      int flags;
+      do
+      {
+        flags = readUnsignedShort(fontData, offset);
+        int componentGlyphIndex = readUnsignedShort(fontData, offset + 2);
+        offset += 4;
+        int arg1, arg2;
+        if((flags & ArgsAreWords) != 0)
+        {
+          arg1 = readShort(fontData, offset);
+          arg2 = readShort(fontData, offset + 2);
+          offset += 4;
+        }
+        else
+        {
+          arg1 = fontData[offset];
+          arg2 = fontData[offset + 1];
+          offset += 2;
+        }
+        double a = 1, b = 0, c = 0, d = 1;
+        if((flags & HasScale) != 0)
+        {
+          a = d = readF2Dot14(fontData, offset);
+          offset += 2;
+        }
+        else if((flags & HasXYScale) != 0)
+        {
+          a = readF2Dot14(fontData, offset);
+          d = readF2Dot14(fontData, offset + 2);
+          offset += 4;
+        }
+        else if((flags & HasTwoByTwo) != 0)
+        {
+          a = readF2Dot14(fontData, offset);
+          b = readF2Dot14(fontData, offset + 2);
+          c = readF2Dot14(fontData, offset + 4);
+          d = readF2Dot14(fontData, offset + 6);
+          offset += 8;
+        }
+        /*
+          NOTE: Components positioned by point matching (rather than offset) are seldom used, so
+          they are placed at the origin.
+        */
+        double dx = 0, dy = 0;
+        if((flags & ArgsAreXYValues) != 0)
+        {
+          dx = arg1;
+          dy = arg2;
+        }
+        outline.append(
+          getGlyphOutline(componentGlyphIndex, depth + 1).getPathIterator(new AffineTransform(a, b, c, d, dx, dy)),
+          false
+          );
+      } while((flags & HasMoreComponents) != 0);
+    }
+    return outline;
+  }
+
+  /**
+    Loads the location of the character-to-glyph-index mapping subtables.
+  */
+  private void loadCMap(
+    )
+  {
+    int[] cmapTable = tables.get("cmap");
+    if(cmapTable == null)
+      return;
+
+    int cmapOffset = cmapTable[0];
+    for(int index = 0, count = readUnsignedShort(fontData, cmapOffset + 2); index < count; index++)
+    {
+      int recordOffset = cmapOffset + 4 + index * 8;
+      int subtableOffset = cmapOffset + readInt(fontData, recordOffset + 4);
+      if(subtableOffset < cmapOffset || subtableOffset + 2 > fontData.length)
+        continue; // Corrupted record.
+
+      cmapOffsets.put(readInt(fontData, recordOffset), subtableOffset);
+    }
+  }
+
+  /**
+    Loads the location of the TrueType outlines.
+  */
+  private void loadGlyphs(
+    )
+  {
+    int[] headTable = tables.get("head");
+    int[] locaTable = tables.get("loca");
+    int[] glyfTable = tables.get("glyf");
+    if(headTable == null || locaTable == null || glyfTable == null)
+      return;
+
+    int unitsPerEm = readUnsignedShort(fontData, headTable[0] + 18);
+    if(unitsPerEm > 0)
+    {unitsScale = 1000d / unitsPerEm;}
+    boolean longOffsets = readShort(fontData, headTable[0] + 50) != 0;
+
+    int glyphCount = locaTable[1] / (longOffsets ? 4 : 2) - 1;
+    int[] maxpTable = tables.get("maxp");
+    if(maxpTable != null)
+    {glyphCount = Math.min(glyphCount, readUnsignedShort(fontData, maxpTable[0] + 4));}
+    if(glyphCount <= 0)
+      return;
+
+    int[] glyphOffsets = new int[glyphCount + 1];
+    for(int index = 0, locaOffset = locaTable[0]; index <= glyphCount; index++)
+    {
+      int glyphOffset = longOffsets
+        ? readInt(fontData, locaOffset + index * 4)
+        : readUnsignedShort(fontData, locaOffset + index * 2) * 2;
+      // NOTE: Out-of-range offsets are clipped to the table end (empty glyphs).
+      glyphOffsets[index] = glyphOffset >= 0 && glyphOffset <= glyfTable[1] ? glyphOffset : glyfTable[1];
+    }
+    this.glyfOffset = glyfTable[0];
+    this.glyphOffsets = glyphOffsets;
+  }
+  // </private>
+  // </interface>
+  // </dynamic>
+  // </class>
+}
@@ -0,0 +1,471 @@
+/*
+  Copyright 2026 Stefano Chizzolini. http://www.pdfclown.org
+
+  Contributors:
+    * Stefano Chizzolini (original code developer, http://www.stefanochizzolini.it)
+
+  This file should be part of the source code distribution of "PDF Clown library"
+  (the Program): see the accompanying README files for more info.
+
+  This Program is free software; you can redistribute it and/or modify it under the terms
+  of the GNU Lesser General Public License as published by the Free Software Foundation;
+  either version 3 of the License, or (at your option) any later version.
+
+  This Program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY,
+  either expressed or implied; without even the implied warranty of MERCHANTABILITY or
+  FITNESS FOR A PARTICULAR PURPOSE. See the License for more details.
+
+  You should have received a copy of the GNU Lesser General Public License along with this
+  Program (see README files); if not, go to the GNU website (http://www.gnu.org/licenses/).
+
+  Redistribution and use, with or without modification, are permitted provided that such
+  redistributions retain the above copyright notice, license and disclaimer, along with
+  this list of conditions.
+*/
+
+package org.pdfclown.documents.contents.fonts;
+
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+import org.pdfclown.tokens.CharsetName;
+import org.pdfclown.util.parsers.ParseException;
+
+/**
+  Open Font Format subsetter for TrueType outlines [OFF:2009].
+  <p>Glyphs keep their original indexes, so that character codes already mapped to them (CIDs,
+  under identity CID-to-GID mapping) stay valid: unused glyphs are emptied and trailing ones
+  truncated. Only the tables needed to render the font inside a PDF document are retained.</p>
+
+  @author Stefano Chizzolini (http://www.stefanochizzolini.it)
+  @since 0.2.0
+  @version 0.2.0, 10/19/26
+*/
+final class OpenFontSubsetter
+{
+  // <class>
+  // <static>
+  // <fields>
+  /**
+    Tables retained in the subset (other tables, like kerning, layout and vertical metrics, are
+    unused by PDF consumers).
+  */
+  private static final List<String> RetainedTableNames = Arrays.asList(
+    "OS/2", "cmap", "cvt ", "fpgm", "gasp", "glyf", "head", "hhea", "hmtx", "loca", "maxp", "name",
+    "post", "prep"
+    );
+
+  // Composite glyph flags.
+  private static final int ArgsAreWords = 0x1;
+  private static final int HasScale = 0x8;
+  private static final int HasMoreComponents = 0x20;
+  private static final int HasXYScale = 0x40;
+  private static final int HasTwoByTwo = 0x80;
+  // </fields>
+
+  // <interface>
+  // <public>
+  /**
+    Subsets the specified font program.
+
+    @param fontData Font program (TrueType outlines).
+    @param glyphIndexes Glyphs to retain (the glyphs they are composed of are retained too).
+    @param cmap Character-code-to-glyph-index mapping of the retained glyphs.
+    @param symbolic Whether character codes are custom (non-Unicode).
+    @return Subset font program.
+  */
+  public static byte[] subset(
+    byte[] fontData,
+    BitSet glyphIndexes,
+    SortedMap<Integer,Integer> cmap,
+    boolean symbolic
+    )
+  {return new OpenFontSubsetter(fontData).subset(glyphIndexes, cmap, symbolic);}
+  // </public>
+
+  // <private>
+  /**
+    Builds a cmap table with a single format-4 subtable [OFF:2009:5.2.1.3.3].
+  */
+  private static byte[] buildCMap(
+    SortedMap<Integer,Integer> cmap,
+    boolean symbolic
+    )
+  {
+    // Segments (contiguous codes mapped with constant delta).
+    List<int[]> segments = new ArrayList<int[]>(); // startCode, endCode, delta.
+    int[] segment = null;
+    for(Map.Entry<Integer,Integer> entry : cmap.entrySet())
+    {
+      int code = entry.getKey(), delta = (entry.getValue() - code) & 0xffff;
+      if(code >= 0xffff)
+        break;
+
+      if(segment != null
+        && segment[1] == code - 1
+        && segment[2] == delta)
+      {segment[1] = code;}
+      else
+      {segments.add(segment = new int[]{code, code, delta});}
+    }
+    segments.add(new int[]{0xffff, 0xffff, 1}); // NOTE: Final segment is mandatory.
+
+    int segmentCount = segments.size();
+    int subtableLength = 16 + segmentCount * 8;
+    byte[] data = new byte[12 + subtableLength];
+    // Header.
+    writeShort(data, 2, 1); // numTables.
+    writeShort(data, 4, 3); // platformID (Microsoft).
+    writeShort(data, 6, symbolic ? 0 : 1); // encodingID.
+    writeInt(data, 8, 12); // offset.
+    // Subtable.
+    int offset = 12;
+    int searchRange = Integer.highestOneBit(segmentCount) * 2;
+    writeShort(data, offset, 4); // format.
+    writeShort(data, offset + 2, subtableLength); // length.
+    writeShort(data, offset + 6, segmentCount * 2); // segCountX2.
+    writeShort(data, offset + 8, searchRange); // searchRange.
+    writeShort(data, offset + 10, Integer.numberOfTrailingZeros(searchRange / 2)); // entrySelector.
+    writeShort(data, offset + 12, segmentCount * 2 - searchRange); // rangeShift.
+    int endCodesOffset = offset + 14;
+    int startCodesOffset = endCodesOffset + segmentCount * 2 + 2; // NOTE: reservedPad follows end codes.
+    int deltasOffset = startCodesOffset + segmentCount * 2;
+    for(int index = 0; index < segmentCount; index++)
+    {
+      segment = segments.get(index);
+      writeShort(data, endCodesOffset + index * 2, segment[1]);
+      writeShort(data, startCodesOffset + index * 2, segment[0]);
+      writeShort(data, deltasOffset + index * 2, segment[2]);
+      // NOTE: idRangeOffset entries are left 0 (direct delta mapping).
+    }
+    return data;
+  }
+
+  private static int getChecksum(
+    byte[] data,
+    int offset,
+    int length
+    )
+  {
+    int checksum = 0;
+    for(int index = 0; index < length; index += 4)
+    {
+      int word = 0;
+      for(int byteIndex = 0; byteIndex < 4; byteIndex++)
+      {
+        word <<= 8;
+        if(index + byteIndex < length)
+        {word |= data[offset + index + byteIndex] & 0xff;}
+      }
+      checksum += word;
+    }
+    return checksum;
+  }
+
+  private static int readShort(
+    byte[] data,
+    int offset
+    )
+  {return (short)readUnsignedShort(data, offset);}
+
+  private static int readUnsignedShort(
+    byte[] data,
+    int offset
+    )
+  {return ((data[offset] & 0xff) << 8) | (data[offset + 1] & 0xff);}
+
+  private static int readInt(
+    byte[] data,
+    int offset
+    )
+  {return (readUnsignedShort(data, offset) << 16) | readUnsignedShort(data, offset + 2);}
+
+  private static void writeInt(
+    byte[] data,
+    int offset,
+    int value
+    )
+  {
+    writeShort(data, offset, value >>> 16);
+    writeShort(data, offset + 2, value);
+  }
+
+  private static void writeShort(
+    byte[] data,
+    int offset,
+    int value
+    )
+  {
+    data[offset] = (byte)(value >> 8);
+    data[offset + 1] = (byte)value;
+  }
+  // </private>
+  // </interface>
+  // </static>
+
+  // <dynamic>
+  // <fields>
+  private final byte[] fontData;
+  /**
+    Table locations (offset, length) by tag.
+  */
+  private final Map<String,int[]> tables = new TreeMap<String,int[]>();
+  // </fields>
+
+  // <constructors>
+  private OpenFontSubsetter(
+    byte[] fontData
+    )
+  {
+    this.fontData = fontData;
+
+    int tableCount = readUnsignedShort(fontData, 4);
+    for(int index = 0; index < tableCount; index++)
+    {
+      int entryOffset = 12 + index * 16;
+      tables.put(
+        new String(fontData, entryOffset, 4, Charset.forName(CharsetName.ISO88591)),
+        new int[]{readInt(fontData, entryOffset + 8), readInt(fontData, entryOffset + 12)}
+        );
+    }
+  }
+  // </constructors>
+
+  // <interface>
+  // <private>
+  /**
+    Adds to the specified glyphs the components of those among them which are composite.
+  */
+  private void addComponents(
+    BitSet glyphIndexes,
+    int[] glyphOffsets,
+    int glyfOffset
+    )
+  {
+    List<Integer> pendingGlyphIndexes = new ArrayList<Integer>();
+    for(int glyphIndex = glyphIndexes.nextSetBit(0); glyphIndex >= 0; glyphIndex = glyphIndexes.nextSetBit(glyphIndex + 1))
+    {pendingGlyphIndexes.add(glyphIndex);}
+    while(!pendingGlyphIndexes.isEmpty())
+    {
+      int glyphIndex = pendingGlyphIndexes.remove(pendingGlyphIndexes.size() - 1);
+      int offset = glyfOffset + glyphOffsets[glyphIndex];
+      if(glyphOffsets[glyphIndex + 1] == glyphOffsets[glyphIndex] // Empty glyph.
+        || readShort(fontData, offset) >= 0) // Simple glyph.
+        continue;
+
+      // Composite glyph.
+      offset += 10; // Skip the glyph header!
+      int flags;
+      do
+      {
+        flags = readUnsignedShort(fontData, offset);
+        int componentGlyphIndex = readUnsignedShort(fontData, offset + 2);
+        if(componentGlyphIndex < glyphOffsets.length - 1
+          && !glyphIndexes.get(componentGlyphIndex))
+        {
+          glyphIndexes.set(componentGlyphIndex);
+          pendingGlyphIndexes.add(componentGlyphIndex);
+        }
+        offset += 4 + ((flags & ArgsAreWords) != 0 ? 4 : 2);
+        if((flags & HasScale) != 0)
+        {offset += 2;}
+        else if((flags & HasXYScale) != 0)
+        {offset += 4;}
+        else if((flags & HasTwoByTwo) != 0)
+        {offset += 8;}
+      } while((flags & HasMoreComponents) != 0);
+    }
+  }
+
+  private int[] getTable(
+    String name
+    )
+  {
+    int[] table = tables.get(name);
+    if(table == null)
+      throw new ParseException("'" + name + "' table does NOT exist.");
+
+    return table;
+  }
+
+  private byte[] getTableData(
+    String name
+    )
+  {
+    int[] table = getTable(name);
+    return Arrays.copyOfRange(fontData, table[0], table[0] + table[1]);
+  }
+
+  private byte[] subset(
+    BitSet glyphIndexes,
+    SortedMap<Integer,Integer> cmap,
+    boolean symbolic
+    )
+  {
+    byte[] headData = getTableData("head");
+    byte[] maxpData = getTableData("maxp");
+    byte[] hheaData = getTableData("hhea");
+    int glyphCount = readUnsignedShort(maxpData, 4);
+
+    // Glyph locations.
+    int[] glyphOffsets = new int[glyphCount + 1];
+    {
+      int locaOffset = getTable("loca")[0];
+      boolean shortLoca = (readShort(headData, 50) == 0);
+      for(int index = 0; index <= glyphCount; index++)
+      {
+        glyphOffsets[index] = (shortLoca
+          ? readUnsignedShort(fontData, locaOffset + index * 2) * 2
+          : readInt(fontData, locaOffset + index * 4));
+      }
+    }
+
+    // Retained glyphs.
+    glyphIndexes = (BitSet)glyphIndexes.clone();
+    glyphIndexes.set(0); // NOTE: .notdef glyph is mandatory.
+    glyphIndexes.clear(glyphCount, Math.max(glyphIndexes.length(), glyphCount));
+    int glyfOffset = getTable("glyf")[0];
+    addComponents(glyphIndexes, glyphOffsets, glyfOffset);
+    int subsetGlyphCount = glyphIndexes.length();
+
+    // Glyph outlines ('glyf' table) and locations ('loca' table).
+    byte[] glyfData;
+    byte[] locaData;
+    {
+      int[] subsetGlyphOffsets = new int[subsetGlyphCount + 1];
+      int glyfLength = 0;
+      for(int glyphIndex = 0; glyphIndex < subsetGlyphCount; glyphIndex++)
+      {
+        subsetGlyphOffsets[glyphIndex] = glyfLength;
+        if(glyphIndexes.get(glyphIndex))
+        {glyfLength += (glyphOffsets[glyphIndex + 1] - glyphOffsets[glyphIndex] + 3) & ~3;}
+      }
+      subsetGlyphOffsets[subsetGlyphCount] = glyfLength;
+
+      glyfData = new byte[glyfLength];
+      for(int glyphIndex = glyphIndexes.nextSetBit(0); glyphIndex >= 0; glyphIndex = glyphIndexes.nextSetBit(glyphIndex + 1))
+      {
+        System.arraycopy(
+          fontData, glyfOffset + glyphOffsets[glyphIndex],
+          glyfData, subsetGlyphOffsets[glyphIndex],
+          glyphOffsets[glyphIndex + 1] - glyphOffsets[glyphIndex]
+          );
+      }
+
+      boolean shortLoca = (glyfLength <= 0x1fffe);
+      writeShort(headData, 50, shortLoca ? 0 : 1); // indexToLocFormat.
+      locaData = new byte[(subsetGlyphCount + 1) * (shortLoca ? 2 : 4)];
+      for(int index = 0; index <= subsetGlyphCount; index++)
+      {
+        if(shortLoca)
+        {writeShort(locaData, index * 2, subsetGlyphOffsets[index] / 2);}
+        else
+        {writeInt(locaData, index * 4, subsetGlyphOffsets[index]);}
+      }
+    }
+    writeShort(maxpData, 4, subsetGlyphCount); // numGlyphs.
+
+    // Horizontal metrics ('hmtx' table).
+    byte[] hmtxData;
+    {
+      int metricsCount = readUnsignedShort(hheaData, 34);
+      int subsetMetricsCount = Math.min(metricsCount, subsetGlyphCount);
+      writeShort(hheaData, 34, subsetMetricsCount); // numberOfHMetrics.
+
+      int hmtxOffset = getTable("hmtx")[0];
+      hmtxData = new byte[subsetMetricsCount * 4 + (subsetGlyphCount - subsetMetricsCount) * 2];
+      for(int glyphIndex = 0; glyphIndex < subsetGlyphCount; glyphIndex++)
+      {
+        /*
+          NOTE: The last full metric has to be retained anyway, as its advance width applies to
+          all the following glyphs.
+        */
+        if(!(glyphIndexes.get(glyphIndex) || glyphIndex == subsetMetricsCount - 1))
+          continue;
+
+        if(glyphIndex < subsetMetricsCount)
+        {System.arraycopy(fontData, hmtxOffset + glyphIndex * 4, hmtxData, glyphIndex * 4, 4);}
+        else
+        {
+          System.arraycopy(
+            fontData, hmtxOffset + metricsCount * 4 + (glyphIndex - metricsCount) * 2,
+            hmtxData, subsetMetricsCount * 4 + (glyphIndex - subsetMetricsCount) * 2,
+            2
+            );
+        }
+      }
+    }
+
+    // PostScript table ('post' table).
+    byte[] postData = null;
+    if(tables.containsKey("post"))
+    {
+      // NOTE: Glyph names are dropped (version 3.0).
+      postData = Arrays.copyOf(getTableData("post"), 32);
+      writeInt(postData, 0, 0x00030000);
+    }
+
+    // Assemble the font program!
+    TreeMap<String,byte[]> subsetTables = new TreeMap<String,byte[]>();
+    for(String name : RetainedTableNames)
+    {
+      if(tables.containsKey(name))
+      {subsetTables.put(name, getTableData(name));}
+    }
+    subsetTables.put("cmap", buildCMap(cmap, symbolic));
+    subsetTables.put("glyf", glyfData);
+    subsetTables.put("head", headData);
+    subsetTables.put("hhea", hheaData);
+    subsetTables.put("hmtx", hmtxData);
+    subsetTables.put("loca", locaData);
+    subsetTables.put("maxp", maxpData);
+    if(postData != null)
+    {subsetTables.put("post", postData);}
+
+    int tableCount = subsetTables.size();
+    int length = 12 + tableCount * 16;
+    for(byte[] tableData : subsetTables.values())
+    {length += (tableData.length + 3) & ~3;}
+    byte[] data = new byte[length];
+    // Offset table.
+    int searchRange = Integer.highestOneBit(tableCount) * 16;
+    writeInt(data, 0, 0x00010000); // sfntVersion.
+    writeShort(data, 4, tableCount);
+    writeShort(data, 6, searchRange);
+    writeShort(data, 8, Integer.numberOfTrailingZeros(searchRange / 16)); // entrySelector.
+    writeShort(data, 10, tableCount * 16 - searchRange); // rangeShift.
+    // Table directory and tables.
+    int entryOffset = 12, tableOffset = 12 + tableCount * 16, headOffset = 0;
+    for(Map.Entry<String,byte[]> entry : subsetTables.entrySet())
+    {
+      String name = entry.getKey();
+      byte[] tableData = entry.getValue();
+      if(name.equals("head"))
+      {
+        writeInt(tableData, 8, 0); // NOTE: checkSumAdjustment is computed over the whole font.
+        headOffset = tableOffset;
+      }
+      for(int index = 0; index < 4; index++)
+      {data[entryOffset + index] = (byte)name.charAt(index);}
+      writeInt(data, entryOffset + 4, getChecksum(tableData, 0, tableData.length));
+      writeInt(data, entryOffset + 8, tableOffset);
+      writeInt(data, entryOffset + 12, tableData.length);
+      System.arraycopy(tableData, 0, data, tableOffset, tableData.length);
+
+      entryOffset += 16;
+      tableOffset += (tableData.length + 3) & ~3;
+    }
+    writeInt(data, headOffset + 8, 0xb1b0afba - getChecksum(data, 0, data.length)); // checkSumAdjustment.
+    return data;
+  }
+  // </private>
+  // </interface>
+  // </dynamic>
+  // </class>
+}
@@ -25,6 +25,7 @@
 
 package org.pdfclown.documents.contents.fonts;
 
+import java.awt.geom.Path2D;
 import java.util.EnumSet;
 import java.util.Hashtable;
 import java.util.Map;
@@ -53,6 +54,78 @@ import org.pdfclown.util.ByteArray;
 public abstract class SimpleFont
   extends Font
 {
+  // <static>
+  // <interface>
+  // <private>
+  /**
+    Gets the glyph index corresponding to the specified character code within a CFF font program
+    [PDF:1.6:5.5.5].
+
+    @param name Character name (<code>null</code>, if not defined by the font encoding).
+    @param unicode Character unicode according to the font encoding (<code>null</code>, if
+      undefined or built-in encoding).
+  */
+  private static int getGlyphIndex(
+    CffParser parser,
+    int code,
+    String name,
+    Integer unicode
+    )
+  {
+    int glyphIndex = 0;
+    if(name != null)
+    {glyphIndex = parser.getGlyphIndex(name);}
+    if(glyphIndex == 0 && unicode != null)
+    {glyphIndex = parser.getGlyphIndexByUnicode(unicode);}
+    if(glyphIndex == 0)
+    {
+      glyphIndex = parser.isCIDKeyed()
+        ? parser.getGlyphIndexByCID(code)
+        : parser.getGlyphIndexByCode(code);
+    }
+    return glyphIndex;
+  }
+
+  /**
+    Gets the glyph index corresponding to the specified character code within a TrueType font
+    program [PDF:1.6:5.5.5].
+
+    @param unicode Character unicode according to the font encoding (<code>null</code>, if
+      undefined or built-in encoding).
+  */
+  private static int getGlyphIndex(
+    OpenFontOutlineParser parser,
+    int code,
+    Integer unicode
+    )
+  {
+    // 1. Microsoft Unicode cmap (3,1).
+    int glyphIndex = (unicode != null ? parser.getGlyphIndex(3, 1, unicode) : 0);
+    // 2. Microsoft Symbol cmap (3,0), whose codes may be remapped into the private use area.
+    if(glyphIndex == 0 && parser.hasCMap(3, 0))
+    {
+      for(int codeOffset : new int[]{0, 0xf000, 0xf100, 0xf200})
+      {
+        if((glyphIndex = parser.getGlyphIndex(3, 0, codeOffset + code)) != 0)
+          break;
+      }
+    }
+    // 3. Macintosh Roman cmap (1,0).
+    if(glyphIndex == 0)
+    {glyphIndex = parser.getGlyphIndex(1, 0, code);}
+    // 4. No cmap (character codes are glyph indexes).
+    if(glyphIndex == 0
+      && !parser.hasCMap(3, 1)
+      && !parser.hasCMap(3, 0)
+      && !parser.hasCMap(1, 0))
+    {glyphIndex = code;}
+    return glyphIndex;
+  }
+  // </private>
+  // </interface>
+  // </static>
+
+  // <dynamic>
   // <constructors>
   protected SimpleFont(
     Document context
@@ -209,5 +282,81 @@ public abstract class SimpleFont
     }
   }
   // </protected>
+
+  // <internal>
+  @Override
+  IGlyphOutlines loadOutlines(
+    )
+  {
+    final IGlyphOutlines fontProgram = parseFontProgram();
+    if(fontProgram == null)
+      return null;
+
+    /*
+      NOTE: Character codes are mapped to the glyphs of the font program either by name (custom
+      encoding), by unicode (predefined encoding) or by code (built-in encoding) [PDF:1.6:5.5.5].
+    */
+    String[] codeNames = new String[256];
+    PdfName baseEncodingName;
+    {
+      PdfDataObject encodingObject = getBaseDataObject().resolve(PdfName.Encoding);
+      if(encodingObject instanceof PdfDictionary) // Derived encoding.
+      {
+        PdfDictionary encodingDictionary = (PdfDictionary)encodingObject;
+        baseEncodingName = (PdfName)encodingDictionary.get(PdfName.BaseEncoding);
+        PdfArray differencesObject = (PdfArray)encodingDictionary.resolve(PdfName.Differences);
+        if(differencesObject != null)
+        {
+          int code = 0;
+          for(PdfDirectObject differenceObject : differencesObject)
+          {
+            if(differenceObject instanceof PdfInteger) // Subsequence initial code.
+            {code = ((PdfInteger)differenceObject).getIntValue() & 0xFF;}
+            else // Character name.
+            {codeNames[code++ & 0xFF] = (String)((PdfName)differenceObject).getValue();}
+          }
+        }
+      }
+      else // Predefined encoding.
+      {baseEncodingName = (PdfName)encodingObject;}
+    }
+    Map<ByteArray,Integer> baseCodes = (baseEncodingName != null || !symbolic
+      ? getBaseEncoding(baseEncodingName)
+      : null); // Built-in encoding.
+
+    final int[] codeGlyphIndexes = new int[256];
+    ByteArray charCode = new ByteArray(new byte[1]);
+    for(int code = 0; code < codeGlyphIndexes.length; code++)
+    {
+      String name = codeNames[code];
+      Integer unicode;
+      if(name != null)
+      {unicode = GlyphMapping.nameToCode(name);}
+      else if(baseCodes != null)
+      {
+        charCode.data[0] = (byte)code;
+        unicode = baseCodes.get(charCode);
+      }
+      else
+      {unicode = null;}
+
+      codeGlyphIndexes[code] = (fontProgram instanceof CffParser
+        ? getGlyphIndex((CffParser)fontProgram, code, name, unicode)
+        : getGlyphIndex((OpenFontOutlineParser)fontProgram, code, unicode));
+    }
+    return new IGlyphOutlines()
+    {
+      @Override
+      public Path2D getOutline(
+        int code
+        )
+      {
+        int glyphIndex = (code >= 0 && code < codeGlyphIndexes.length ? codeGlyphIndexes[code] : 0);
+        return glyphIndex > 0 ? fontProgram.getOutline(glyphIndex) : null;
+      }
+    };
+  }
+  // </internal>
+  // </interface>
   // </dynamic>
 }
\ No newline at end of file
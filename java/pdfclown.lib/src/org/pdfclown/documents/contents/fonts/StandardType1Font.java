@@ -25,8 +25,6 @@
 
 package org.pdfclown.documents.contents.fonts;
 
-import java.io.BufferedReader;
-import java.io.InputStreamReader;
 import java.util.EnumSet;
 import java.util.Map;
 
@@ -36,7 +34,6 @@ import org.pdfclown.documents.Document;
 import org.pdfclown.objects.PdfDirectObject;
 import org.pdfclown.objects.PdfName;
 import org.pdfclown.util.ByteArray;
-import org.pdfclown.util.io.IOUtils;
 
 /**
   Standard Type 1 font [PDF:1.6:5.5.1].
@@ -217,28 +214,14 @@ public final class StandardType1Font
     String fontName
     )
   {
-    BufferedReader fontMetricsStream = null;
-    try
-    {
-      fontMetricsStream = new BufferedReader(
-        new InputStreamReader(
-          getClass().getResourceAsStream("/fonts/afm/" + fontName + ".afm")
-          )
-        );
-
-      AfmParser parser = new AfmParser(fontMetricsStream);
-      metrics = parser.metrics;
-      symbolic = metrics.isCustomEncoding;
-      glyphIndexes = parser.glyphIndexes;
-      glyphKernings = parser.glyphKernings;
-      glyphWidths = parser.glyphWidths;
-    }
-    catch(Exception e)
-    {throw new RuntimeException(String.format("Failed to load '%s'", fontName), e);}
-    finally
-    {IOUtils.closeQuietly(fontMetricsStream);}
+    AfmParser parser = FontMetricsCache.getAfm(fontName);
+    metrics = parser.metrics;
+    symbolic = metrics.isCustomEncoding;
+    glyphIndexes = parser.glyphIndexes;
+    glyphKernings = parser.glyphKernings;
+    glyphWidths = parser.glyphWidths;
   }
   // </private>
   // </interface>
   // </dynamic>
-}
\ No newline at end of file
+}
\ No newline at end of file
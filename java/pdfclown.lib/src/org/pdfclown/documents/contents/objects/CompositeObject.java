@@ -28,6 +28,8 @@ package org.pdfclown.documents.contents.objects;
 import java.awt.Graphics2D;
 import java.awt.Shape;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 
 import org.pdfclown.PDF;
@@ -36,6 +38,7 @@ import org.pdfclown.bytes.IOutputStream;
 import org.pdfclown.documents.Document;
 import org.pdfclown.documents.contents.ContentScanner;
 import org.pdfclown.documents.contents.ContentScanner.GraphicsState;
+import org.pdfclown.util.TrackedList;
 
 /**
   Composite object. It is made up of multiple content objects.
@@ -62,19 +65,12 @@ public abstract class CompositeObject
   protected CompositeObject(
     ContentObject object
     )
-  {
-    this();
-    objects.add(object);
-  }
+  {this.objects = new TrackedList<ContentObject>(Collections.singletonList(object));}
 
   protected CompositeObject(
     ContentObject... objects
     )
-  {
-    this();
-    for(ContentObject object : objects)
-    {this.objects.add(object);}
-  }
+  {this.objects = new TrackedList<ContentObject>(Arrays.asList(objects));}
 
   protected CompositeObject(
     List<ContentObject> objects
@@ -98,6 +94,26 @@ public abstract class CompositeObject
     )
   {return objects;}
 
+  @Override
+  public boolean isModified(
+    )
+  {
+    if(!(objects instanceof TrackedList)
+      || ((TrackedList<ContentObject>)objects).isModified())
+      return true;
+
+    Operation header = getHeader();
+    if(header != null && header.isModified())
+      return true;
+
+    for(ContentObject object : objects)
+    {
+      if(object.isModified())
+        return true;
+    }
+    return false;
+  }
+
   @Override
   public void scan(
     GraphicsState state
@@ -25,11 +25,17 @@
 
 package org.pdfclown.documents.contents.objects;
 
+import java.awt.Graphics2D;
+import java.awt.Paint;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+
 import org.pdfclown.PDF;
 import org.pdfclown.VersionEnum;
 import org.pdfclown.bytes.IOutputStream;
 import org.pdfclown.documents.Document;
 import org.pdfclown.documents.contents.ContentScanner.GraphicsState;
+import org.pdfclown.documents.contents.ImageDecoder;
 
 /**
   Abstract content object [PDF:1.6:4.1].
@@ -42,9 +48,56 @@ import org.pdfclown.documents.contents.ContentScanner.GraphicsState;
 public abstract class ContentObject
 {
   // <class>
+  // <static>
+  // <interface>
+  // <protected>
+  /**
+    Paints the specified decoded image into the unit square of the current user space
+    [PDF:1.6:4.8.3].
+
+    @param state Graphics state.
+    @param image Decoded image.
+    @since 0.2.0
+  */
+  protected static void renderImage(
+    GraphicsState state,
+    BufferedImage image
+    )
+  {
+    Graphics2D context = state.getScanner().getRenderContext();
+    if(ImageDecoder.isStencil(image))
+    {
+      Paint fillPaint = state.getFillColorSpace().getPaint(state.getFillColor());
+      if(fillPaint instanceof java.awt.Color)
+      {image = ImageDecoder.toStencil(image, (java.awt.Color)fillPaint);}
+    }
+    /*
+      NOTE: Image space maps to the unit square of user space, with its origin at the upper-left
+      corner.
+    */
+    context.drawImage(
+      image,
+      new AffineTransform(1d / image.getWidth(), 0, 0, -1d / image.getHeight(), 0, 1),
+      null
+      );
+  }
+  // </protected>
+  // </interface>
+  // </static>
+
   // <dynamic>
   // <interface>
   // <public>
+  /**
+    Gets whether this object has been modified since it was parsed from its content stream.
+    <p>Objects which weren't parsed from a content stream are always considered modified.</p>
+
+    @since 0.2.0
+  */
+  public boolean isModified(
+    )
+  {return true;}
+
   /**
     Applies this object to the specified graphics context, updating the specified graphics state.
 
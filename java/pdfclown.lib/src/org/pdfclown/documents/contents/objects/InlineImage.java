@@ -27,13 +27,18 @@ package org.pdfclown.documents.contents.objects;
 
 import java.awt.Dimension;
 import java.awt.geom.Dimension2D;
+import java.awt.image.BufferedImage;
 
 import org.pdfclown.PDF;
 import org.pdfclown.VersionEnum;
 import org.pdfclown.bytes.IOutputStream;
 import org.pdfclown.documents.Document;
+import org.pdfclown.documents.contents.ContentScanner;
+import org.pdfclown.documents.contents.ContentScanner.GraphicsState;
+import org.pdfclown.documents.contents.ImageDecoder;
 import org.pdfclown.objects.PdfName;
 import org.pdfclown.objects.PdfNumber;
+import org.pdfclown.util.NotImplementedException;
 
 /**
   Inline image object [PDF:1.6:4.8.6].
@@ -95,6 +100,25 @@ public final class InlineImage
       );
   }
 
+  @Override
+  public void scan(
+    GraphicsState state
+    )
+  {
+    super.scan(state);
+
+    ContentScanner scanner = state.getScanner();
+    if(scanner.getRenderContext() == null)
+      return;
+
+    BufferedImage image;
+    try
+    {image = ImageDecoder.decode(this, scanner.getContentContext());}
+    catch(NotImplementedException e)
+    {return;} // Unsupported image encoding.
+    renderImage(state, image);
+  }
+
   @Override
   public void writeTo(
     IOutputStream stream,
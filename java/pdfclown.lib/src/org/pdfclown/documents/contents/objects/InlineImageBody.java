@@ -47,6 +47,7 @@ public final class InlineImageBody
   // <class>
   // <static>
   // <fields>
+  private boolean modified;
   private IBuffer value;
   // </fields>
   // </static>
@@ -69,13 +70,21 @@ public final class InlineImageBody
     )
   {return value;}
 
+  @Override
+  public boolean isModified(
+    )
+  {return modified;}
+
   /**
     @since 0.0.6
   */
   public void setValue(
     IBuffer value
     )
-  {this.value = value;}
+  {
+    this.value = value;
+    modified = true;
+  }
 
   @Override
   public void writeTo(
@@ -91,8 +91,12 @@ public final class LocalGraphicsState
       render(state);
 
       // Restore outer graphics state!
-      context.setClip(clip);
+      /*
+        NOTE: The saved clip is expressed in the outer user space, so the outer transformation has
+        to be restored first.
+      */
       context.setTransform(state.getCtm());
+      context.setClip(clip);
     }
   }
 
@@ -35,6 +35,7 @@ import org.pdfclown.documents.Document;
 import org.pdfclown.files.File;
 import org.pdfclown.objects.PdfDirectObject;
 import org.pdfclown.tokens.Chunk;
+import org.pdfclown.util.TrackedList;
 
 /**
   Content stream instruction [PDF:1.6:3.7.1].
@@ -250,6 +251,25 @@ public abstract class Operation
     )
   {return operands;}
 
+  @Override
+  public boolean isModified(
+    )
+  {
+    if(operands == null)
+      return false;
+    else if(!(operands instanceof TrackedList)
+      || ((TrackedList<PdfDirectObject>)operands).isModified())
+      return true;
+
+    // Operand containers (arrays, dictionaries) modified in place?
+    for(PdfDirectObject operand : operands)
+    {
+      if(operand != null && operand.isUpdated())
+        return true;
+    }
+    return false;
+  }
+
   @Override
   public String toString(
     )
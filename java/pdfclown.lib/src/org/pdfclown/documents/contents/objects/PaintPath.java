@@ -104,8 +104,13 @@ public final class PaintPath
   // </fields>
 
   // <interface>
-  // <private>
-  private static java.awt.Stroke getStroke(
+  // <internal>
+  /**
+    Gets the stroke corresponding to the line parameters of the specified graphics state.
+
+    @since 0.2.0
+  */
+  static java.awt.Stroke getStroke(
     GraphicsState state
     )
   {
@@ -121,7 +126,7 @@ public final class PaintPath
       (float)lineDash.getDashPhase()
       );
   }
-  // </private>
+  // </internal>
   // </interface>
   // </static>
 
@@ -25,16 +25,22 @@
 
 package org.pdfclown.documents.contents.objects;
 
+import java.awt.image.BufferedImage;
 import java.util.List;
 
 import org.pdfclown.PDF;
 import org.pdfclown.VersionEnum;
 import org.pdfclown.documents.contents.ContentScanner;
+import org.pdfclown.documents.contents.ContentScanner.GraphicsState;
 import org.pdfclown.documents.contents.IContentContext;
+import org.pdfclown.documents.contents.ImageCache;
+import org.pdfclown.documents.contents.ImageDecoder;
 import org.pdfclown.documents.contents.xObjects.FormXObject;
+import org.pdfclown.documents.contents.xObjects.ImageXObject;
 import org.pdfclown.documents.contents.xObjects.XObject;
 import org.pdfclown.objects.PdfDirectObject;
 import org.pdfclown.objects.PdfName;
+import org.pdfclown.util.NotImplementedException;
 
 /**
   'Paint the specified XObject' operation [PDF:1.6:4.7].
@@ -95,6 +101,32 @@ public final class PaintXObject
     )
   {return getResource(context);}
 
+  @Override
+  public void scan(
+    GraphicsState state
+    )
+  {
+    ContentScanner scanner = state.getScanner();
+    if(scanner.getRenderContext() == null)
+      return;
+
+    XObject xObject = getXObject(scanner.getContentContext());
+    if(xObject instanceof ImageXObject)
+    {
+      BufferedImage image;
+      try
+      {
+        ImageCache imageCache = scanner.getImageCache();
+        image = (imageCache != null
+          ? imageCache.get((ImageXObject)xObject)
+          : ImageDecoder.decode((ImageXObject)xObject));
+      }
+      catch(NotImplementedException e)
+      {return;} // Unsupported image encoding (e.g. JBIG2).
+      renderImage(state, image);
+    }
+  }
+
   // <IResourceReference>
   @Override
   public PdfName getName(
@@ -117,7 +117,7 @@ public final class SetTextMatrix
     )
   {
     state.setTlm(getValue());
-    state.setTm((AffineTransform)state.getTlm().clone());
+    state.setTm(state.getTlm());
   }
   // </public>
   // </interface>
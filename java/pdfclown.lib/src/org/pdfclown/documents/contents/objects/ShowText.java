@@ -25,7 +25,12 @@
 
 package org.pdfclown.documents.contents.objects;
 
+import java.awt.Graphics2D;
+import java.awt.GraphicsDevice;
+import java.awt.Paint;
+import java.awt.Stroke;
 import java.awt.geom.AffineTransform;
+import java.awt.geom.Path2D;
 import java.awt.geom.Rectangle2D;
 import java.util.Arrays;
 import java.util.List;
@@ -34,6 +39,7 @@ import org.pdfclown.PDF;
 import org.pdfclown.VersionEnum;
 import org.pdfclown.documents.contents.ContentScanner;
 import org.pdfclown.documents.contents.ContentScanner.GraphicsState;
+import org.pdfclown.documents.contents.GlyphCache;
 import org.pdfclown.documents.contents.fonts.CompositeFont;
 import org.pdfclown.documents.contents.fonts.Font;
 import org.pdfclown.objects.PdfDirectObject;
@@ -66,6 +72,156 @@ public abstract class ShowText
   }
   // </interfaces>
 
+  // <classes>
+  /**
+    Glyph painter [PDF:1.6:5.2.5].
+    <p>Glyphs are painted from their outlines; small axis-aligned glyphs filled with a plain color
+    are blitted from their rasterized masks, if a glyph cache is available.</p>
+  */
+  private static final class GlyphPainter
+  {
+    private final Graphics2D context;
+    /**
+      User-to-device space transformation (render context transformation).
+    */
+    private final AffineTransform contextTransform;
+    private final double contextTransform00, contextTransform01, contextTransform02,
+      contextTransform10, contextTransform11, contextTransform12;
+    private final Paint fillPaint;
+    private final Font font;
+    private final GlyphCache glyphCache;
+    /**
+      Glyph-to-user space transformation.
+    */
+    private final AffineTransform glyphTransform = new AffineTransform();
+    private final AffineTransform identityTransform = new AffineTransform();
+    /**
+      Whether glyphs can be blitted from their rasterized masks.
+    */
+    private final boolean maskable;
+    private final Stroke stroke;
+    private final Paint strokePaint;
+
+    GlyphPainter(
+      GraphicsState state,
+      Graphics2D context,
+      boolean filled,
+      boolean stroked
+      )
+    {
+      this.context = context;
+      contextTransform = context.getTransform();
+      contextTransform00 = contextTransform.getScaleX(); contextTransform01 = contextTransform.getShearX();
+      contextTransform02 = contextTransform.getTranslateX(); contextTransform10 = contextTransform.getShearY();
+      contextTransform11 = contextTransform.getScaleY(); contextTransform12 = contextTransform.getTranslateY();
+      font = state.getFont();
+      glyphCache = state.getScanner().getGlyphCache();
+      fillPaint = (filled ? state.getFillColorSpace().getPaint(state.getFillColor()) : null);
+      if(stroked)
+      {
+        stroke = PaintPath.getStroke(state);
+        strokePaint = state.getStrokeColorSpace().getPaint(state.getStrokeColor());
+      }
+      else
+      {
+        stroke = null;
+        strokePaint = null;
+      }
+      // NOTE: Masks are rasterized in device pixels, so they fit raster devices only.
+      maskable = glyphCache != null
+        && fillPaint instanceof java.awt.Color
+        && context.getDeviceConfiguration().getDevice().getType() == GraphicsDevice.TYPE_IMAGE_BUFFER;
+    }
+
+    /**
+      Paints the specified glyph.
+
+      @param textChar Glyph character.
+      @param m00 Glyph-to-user space transformation: X coordinate scaling.
+      @param m10 Glyph-to-user space transformation: Y coordinate shearing.
+      @param m01 Glyph-to-user space transformation: X coordinate shearing.
+      @param m11 Glyph-to-user space transformation: Y coordinate scaling.
+      @param m02 Glyph-to-user space transformation: X coordinate translation.
+      @param m12 Glyph-to-user space transformation: Y coordinate translation.
+    */
+    public void paint(
+      char textChar,
+      double m00,
+      double m10,
+      double m01,
+      double m11,
+      double m02,
+      double m12
+      )
+    {
+      Path2D outline = (glyphCache != null
+        ? glyphCache.getOutline(font, textChar)
+        : font.getOutline(textChar));
+      if(outline == null)
+        return;
+
+      glyphTransform.setTransform(m00, m10, m01, m11, m02, m12);
+      if(fillPaint != null && !paintMask(textChar))
+      {
+        context.setPaint(fillPaint);
+        context.transform(glyphTransform);
+        context.fill(outline);
+        context.setTransform(contextTransform);
+      }
+      if(strokePaint != null)
+      {
+        // NOTE: Outlines are stroked in user space, where the line width is defined.
+        context.setPaint(strokePaint);
+        context.fill(stroke.createStrokedShape(glyphTransform.createTransformedShape(outline)));
+      }
+    }
+
+    /**
+      Blits the rasterized mask of the specified glyph.
+
+      @return Whether the glyph has been painted (that is, it is eligible for rasterization).
+    */
+    private boolean paintMask(
+      char textChar
+      )
+    {
+      if(!maskable)
+        return false;
+
+      // Glyph-to-device space transformation.
+      double m00 = glyphTransform.getScaleX(), m01 = glyphTransform.getShearX(), m02 = glyphTransform.getTranslateX(),
+        m10 = glyphTransform.getShearY(), m11 = glyphTransform.getScaleY(), m12 = glyphTransform.getTranslateY();
+      double scaleX = (contextTransform00 * m00 + contextTransform01 * m10) * 1000,
+        shearX = (contextTransform00 * m01 + contextTransform01 * m11) * 1000,
+        shearY = (contextTransform10 * m00 + contextTransform11 * m10) * 1000,
+        scaleY = (contextTransform10 * m01 + contextTransform11 * m11) * 1000;
+      if(Math.abs(shearX) + Math.abs(shearY) > (Math.abs(scaleX) + Math.abs(scaleY)) * 1e-3 // Rotated or skewed.
+        || Math.max(Math.abs(scaleX), Math.abs(scaleY)) > GlyphCache.MaxMaskSize) // Large.
+        return false;
+
+      double x = contextTransform00 * m02 + contextTransform01 * m12 + contextTransform02;
+      double y = contextTransform10 * m02 + contextTransform11 * m12 + contextTransform12;
+      int phasedX = (int)Math.floor(x * GlyphCache.MaskPhaseCount + .5);
+      int originX = (int)Math.floor((double)phasedX / GlyphCache.MaskPhaseCount);
+      GlyphCache.Mask mask = glyphCache.getMask(
+        font,
+        textChar,
+        scaleX,
+        scaleY,
+        phasedX - originX * GlyphCache.MaskPhaseCount,
+        (java.awt.Color)fillPaint
+        );
+      if(mask != null)
+      {
+        context.setTransform(identityTransform);
+        context.drawImage(mask.getImage(), originX + mask.getX(), (int)Math.floor(y + .5) + mask.getY(), null);
+        context.setTransform(contextTransform);
+      }
+      return true;
+    }
+  }
+  // </classes>
+
   // <dynamic>
   // <constructors>
   protected ShowText(
@@ -145,8 +301,16 @@ public abstract class ShowText
     boolean wordSpaceSupported = !(font instanceof CompositeFont);
     double wordSpace = wordSpaceSupported ? state.getWordSpace() * state.getScale() : 0;
     double charSpace = state.getCharSpace() * state.getScale();
-    AffineTransform ctm = (AffineTransform)state.getCtm().clone();
-    AffineTransform tm;
+    /*
+      NOTE: Matrix math is done in place on primitive copies of the current transformation matrix
+      (ctm) and the text matrix (tm), as the text matrix changes on each glyph.
+    */
+    AffineTransform ctm = state.getCtm();
+    double ctm00 = ctm.getScaleX(), ctm01 = ctm.getShearX(), ctm02 = ctm.getTranslateX(),
+      ctm10 = ctm.getShearY(), ctm11 = ctm.getScaleY(), ctm12 = ctm.getTranslateY();
+    AffineTransform baseTm = (this instanceof ShowTextToNextLine ? state.getTlm() : state.getTm());
+    double tm00 = baseTm.getScaleX(), tm01 = baseTm.getShearX(), tm02 = baseTm.getTranslateX(),
+      tm10 = baseTm.getShearY(), tm11 = baseTm.getScaleY(), tm12 = baseTm.getTranslateY();
     if(this instanceof ShowTextToNextLine)
     {
       ShowTextToNextLine showTextToNextLine = (ShowTextToNextLine)this;
@@ -165,34 +329,86 @@ public abstract class ShowText
         {state.setCharSpace(newCharSpace);}
         charSpace = newCharSpace * state.getScale();
       }
-      tm = (AffineTransform)state.getTlm().clone();
-      tm.concatenate(new AffineTransform(1, 0, 0, 1, 0, -state.getLead()));
+      // Move to the start of the next line!
+      tm02 -= tm01 * state.getLead(); tm12 -= tm11 * state.getLead();
     }
-    else
-    {tm = (AffineTransform)state.getTm().clone();}
 
+    double ascent = (textScanner != null && font != null ? font.getAscent(fontSize) : 0);
+    GlyphPainter glyphPainter = null;
+    if(textScanner == null && font != null)
+    {
+      Graphics2D renderContext = state.getScanner().getRenderContext();
+      if(renderContext != null)
+      {
+        /*
+          NOTE: Clipping render modes are currently applied as their painting counterparts (text
+          clipping is unsupported).
+        */
+        boolean filled = false, stroked = false;
+        switch(state.getRenderMode())
+        {
+          case Fill:
+          case FillClip:
+            filled = true;
+            break;
+          case Stroke:
+          case StrokeClip:
+            stroked = true;
+            break;
+          case FillStroke:
+          case FillStrokeClip:
+            filled = stroked = true;
+            break;
+          default: // Invisible.
+            break;
+        }
+        if(filled || stroked)
+        {glyphPainter = new GlyphPainter(state, renderContext, filled, stroked);}
+      }
+    }
+    double glyphScaleY = Font.getScalingFactor(fontSize);
+    double rise = state.getRise();
+    char[] textChars = null;
     for(Object textElement : getValue())
     {
       if(textElement instanceof byte[]) // Text string.
       {
-        String textString = font.decode((byte[])textElement);
-        for(char textChar : textString.toCharArray())
+        byte[] textBytes = (byte[])textElement;
+        if(textChars == null || textChars.length < textBytes.length)
+        {textChars = new char[textBytes.length];}
+        for(int textIndex = 0, textLength = font.decode(textBytes, 0, textBytes.length, textChars, 0); textIndex < textLength; textIndex++)
         {
+          char textChar = textChars[textIndex];
           double charWidth = font.getWidth(textChar) * scaledFactor;
 
+          if(glyphPainter != null)
+          {
+            // NOTE: Glyph space is mapped to text space according to font size, scaling and rise.
+            glyphPainter.paint(
+              textChar,
+              tm00 * scaledFactor, tm10 * scaledFactor,
+              tm01 * glyphScaleY, tm11 * glyphScaleY,
+              tm01 * rise + tm02, tm11 * rise + tm12
+              );
+          }
+
           if(textScanner != null)
           {
             /*
-              NOTE: The text rendering matrix is recomputed before each glyph is painted
-              during a text-showing operation.
+              NOTE: The text rendering matrix (trm = tm x ctm) is recomputed before each glyph is
+              painted during a text-showing operation; only its scale and translation components
+              are needed to place the glyph box.
             */
-            AffineTransform trm = (AffineTransform)ctm.clone(); trm.concatenate(tm);
+            double trmScaleX = ctm00 * tm00 + ctm01 * tm10,
+              trmScaleY = ctm10 * tm01 + ctm11 * tm11,
+              trmTranslateX = ctm00 * tm02 + ctm01 * tm12 + ctm02,
+              trmTranslateY = ctm10 * tm02 + ctm11 * tm12 + ctm12;
             double charHeight = font.getHeight(textChar,fontSize);
             Rectangle2D charBox = new Rectangle2D.Double(
-              trm.getTranslateX(),
-              contextHeight - trm.getTranslateY() - font.getAscent(fontSize) * trm.getScaleY(),
-              charWidth * trm.getScaleX(),
-              charHeight * trm.getScaleY()
+              trmTranslateX,
+              contextHeight - trmTranslateY - ascent * trmScaleY,
+              charWidth * trmScaleX,
+              charHeight * trmScaleY
               );
             textScanner.scanChar(textChar,charBox);
           }
@@ -201,19 +417,23 @@ public abstract class ShowText
             NOTE: After the glyph is painted, the text matrix is updated
             according to the glyph displacement and any applicable spacing parameter.
           */
-          tm.translate(charWidth + charSpace + (textChar == ' ' ? wordSpace : 0), 0);
+          double tx = charWidth + charSpace + (textChar == ' ' ? wordSpace : 0);
+          tm02 += tm00 * tx; tm12 += tm10 * tx;
         }
       }
       else // Text position adjustment.
-      {tm.translate(-((Number)textElement).doubleValue() * scaledFactor, 0);}
+      {
+        double tx = -((Number)textElement).doubleValue() * scaledFactor;
+        tm02 += tm00 * tx; tm12 += tm10 * tx;
+      }
     }
 
     if(textScanner == null)
     {
-      state.setTm(tm);
+      state.getTm().setTransform(tm00, tm10, tm01, tm11, tm02, tm12);
 
       if(this instanceof ShowTextToNextLine)
-      {state.setTlm((AffineTransform)tm.clone());}
+      {state.getTlm().setTransform(tm00, tm10, tm01, tm11, tm02, tm12);}
     }
   }
 
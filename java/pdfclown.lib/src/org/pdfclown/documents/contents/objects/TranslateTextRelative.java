@@ -25,7 +25,6 @@
 
 package org.pdfclown.documents.contents.objects;
 
-import java.awt.geom.AffineTransform;
 import java.util.List;
 
 import org.pdfclown.PDF;
@@ -111,8 +110,8 @@ public final class TranslateTextRelative
     GraphicsState state
     )
   {
-    state.getTlm().concatenate(new AffineTransform(1, 0, 0, 1, getOffsetX(), getOffsetY()));
-    state.setTm((AffineTransform)state.getTlm().clone());
+    state.getTlm().translate(getOffsetX(), getOffsetY());
+    state.setTm(state.getTlm());
     if(isLeadSet())
     {state.setLead(-getOffsetY());}
   }
@@ -25,8 +25,6 @@
 
 package org.pdfclown.documents.contents.objects;
 
-import java.awt.geom.AffineTransform;
-
 import org.pdfclown.PDF;
 import org.pdfclown.VersionEnum;
 import org.pdfclown.documents.contents.ContentScanner.GraphicsState;
@@ -65,8 +63,8 @@ public final class TranslateTextToNextLine
     GraphicsState state
     )
   {
-    state.getTlm().concatenate(new AffineTransform(1, 0, 0, 1, 0, -state.getLead()));
-    state.setTm((AffineTransform)state.getTlm().clone());
+    state.getTlm().translate(0, -state.getLead());
+    state.setTm(state.getTlm());
   }
   // </public>
   // </interface>
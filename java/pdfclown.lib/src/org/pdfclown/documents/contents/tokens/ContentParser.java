@@ -28,7 +28,6 @@ package org.pdfclown.documents.contents.tokens;
 
 import java.io.ByteArrayOutputStream;
 import java.io.EOFException;
-import java.util.ArrayList;
 import java.util.List;
 
 import org.pdfclown.bytes.Buffer;
@@ -61,6 +60,7 @@ import org.pdfclown.objects.PdfByteString;
 import org.pdfclown.objects.PdfDirectObject;
 import org.pdfclown.tokens.BaseParser;
 import org.pdfclown.tokens.Encoding;
+import org.pdfclown.util.TrackedList;
 import org.pdfclown.util.parsers.PostScriptParseException;
 
 /**
@@ -74,7 +74,34 @@ public final class ContentParser
   extends BaseParser
 {
   // <class>
+  // <static>
+  // <interface>
+  // <public>
+  /**
+    Gets whether the specified content object is the end of a multiple-operation graphics object
+    (that is, the closing operation which {@link #parseContentObjects()} stops at).
+
+    @param object Content object.
+    @since 0.2.0
+  */
+  public static boolean isEnd(
+    ContentObject object
+    )
+  {
+    return object instanceof EndText // Text.
+      || object instanceof RestoreGraphicsState // Local graphics state.
+      || object instanceof EndMarkedContent // End marked-content sequence.
+      || object instanceof EndInlineImage; // Inline image.
+  }
+  // </public>
+  // </interface>
+  // </static>
+
   // <dynamic>
+  // <fields>
+  private int operationCount;
+  // </fields>
+
   // <constructors>
   public ContentParser(
     IInputStream stream
@@ -89,6 +116,15 @@ public final class ContentParser
 
   // <interface>
   // <public>
+  /**
+    Gets the number of operations parsed so far.
+
+    @since 0.2.0
+  */
+  public int getOperationCount(
+    )
+  {return operationCount;}
+
   /**
     Parses the next content object [PDF:1.6:4.1].
   */
@@ -128,19 +164,17 @@ public final class ContentParser
   public List<ContentObject> parseContentObjects(
     )
   {
-    final List<ContentObject> contentObjects = new ArrayList<ContentObject>();
+    final TrackedList<ContentObject> contentObjects = new TrackedList<ContentObject>();
     while(moveNext())
     {
       ContentObject contentObject = parseContentObject();
       // Multiple-operation graphics object end?
-      if(contentObject instanceof EndText // Text.
-        || contentObject instanceof RestoreGraphicsState // Local graphics state.
-        || contentObject instanceof EndMarkedContent // End marked-content sequence.
-        || contentObject instanceof EndInlineImage) // Inline image.
-        return contentObjects;
+      if(isEnd(contentObject))
+        break;
 
       contentObjects.add(contentObject);
     }
+    contentObjects.mark();
     return contentObjects;
   }
 
@@ -151,7 +185,7 @@ public final class ContentParser
     )
   {
     String operator = null;
-    final List<PdfDirectObject> operands = new ArrayList<PdfDirectObject>();
+    final TrackedList<PdfDirectObject> operands = new TrackedList<PdfDirectObject>();
     // Parsing the operation parts...
     do
     {
@@ -165,6 +199,8 @@ public final class ContentParser
           break;
       }
     } while(operator == null && moveNext());
+    operands.mark();
+    operationCount++;
     return Operation.get(operator,operands);
   }
 
@@ -195,11 +231,12 @@ public final class ContentParser
   {
     InlineImageHeader header;
     {
-      final List<PdfDirectObject> operands = new ArrayList<PdfDirectObject>();
+      final TrackedList<PdfDirectObject> operands = new TrackedList<PdfDirectObject>();
       // Parsing the image entries...
       while(moveNext()
         && getTokenType() != TokenTypeEnum.Keyword) // Ends at image body beginning (ID operator).
       {operands.add(parsePdfObject());}
+      operands.mark();
       header = new InlineImageHeader(operands);
     }
 
@@ -279,7 +316,7 @@ public final class ContentParser
       NOTE: Paths do not have an explicit end operation, so we must infer it
       looking for the first non-painting operation.
     */
-    final List<ContentObject> operations = new ArrayList<ContentObject>();
+    final TrackedList<ContentObject> operations = new TrackedList<ContentObject>();
     {
       operations.add(beginOperation);
       long position = getPosition();
@@ -299,6 +336,7 @@ public final class ContentParser
         operations.add(operation);
         position = getPosition();
       }
+      operations.mark();
     }
     return new Path(operations);
   }
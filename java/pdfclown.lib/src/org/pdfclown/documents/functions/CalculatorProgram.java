@@ -0,0 +1,873 @@
+/*
+  Copyright 2026 Stefano Chizzolini. http://www.pdfclown.org
+
+  Contributors:
+    * Stefano Chizzolini (original code developer, http://www.stefanochizzolini.it)
+
+  This file should be part of the source code distribution of "PDF Clown library"
+  (the Program): see the accompanying README files for more info.
+
+  This Program is free software; you can redistribute it and/or modify it under the terms
+  of the GNU Lesser General Public License as published by the Free Software Foundation;
+  either version 3 of the License, or (at your option) any later version.
+
+  This Program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY,
+  either expressed or implied; without even the implied warranty of MERCHANTABILITY or
+  FITNESS FOR A PARTICULAR PURPOSE. See the License for more details.
+
+  You should have received a copy of the GNU Lesser General Public License along with this
+  Program (see README files); if not, go to the GNU website (http://www.gnu.org/licenses/).
+
+  Redistribution and use, with or without modification, are permitted provided that such
+  redistributions retain the above copyright notice, license and disclaimer, along with
+  this list of conditions.
+*/
+
+package org.pdfclown.documents.functions;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.pdfclown.util.parsers.PostScriptParseException;
+import org.pdfclown.util.parsers.PostScriptParser;
+
+/**
+  Compiled PostScript calculator program [PDF:1.6:3.9.4].
+  <p>The program is parsed once and compiled into a flat sequence of instructions operating on a
+  primitive operand stack, so that its execution allocates no object. Boolean values are
+  represented as <code>1</code> (true) and <code>0</code> (false).</p>
+  <p>Instances are immutable, so they can be shared; each execution MUST use its own operand
+  stack.</p>
+
+  @author Stefano Chizzolini (http://www.stefanochizzolini.it)
+  @since 0.2.0
+  @version 0.2.0, 10/19/26
+*/
+final class CalculatorProgram
+{
+  // <class>
+  // <classes>
+  /**
+    Compile-time operand types.
+    <p>PostScript booleans and integers share the same primitive representation, so their
+    distinction is tracked while compiling to select the right instruction for type-dependent
+    operators (<code>not</code>).</p>
+  */
+  private static final class TypeStack
+  {
+    static final byte Unknown = 0;
+    static final byte Number = 1;
+    static final byte Boolean = 2;
+
+    private byte[] types = new byte[CalculatorProgram.StackCapacity];
+    /**
+      Compile-time constant values (<code>NaN</code> if unknown), used to resolve the operands of
+      the stack operators (<code>copy</code>, <code>index</code>, <code>roll</code>).
+    */
+    private double[] values = new double[CalculatorProgram.StackCapacity];
+    /**
+      Stack depth (negative if unknown).
+    */
+    private int count;
+
+    TypeStack(
+      int count
+      )
+    {
+      this.count = count;
+      Arrays.fill(types, 0, count, Number);
+      Arrays.fill(values, 0, count, Double.NaN);
+    }
+
+    @Override
+    public TypeStack clone(
+      )
+    {
+      TypeStack clone = new TypeStack(0);
+      clone.count = count;
+      if(count > 0)
+      {
+        System.arraycopy(types, 0, clone.types, 0, count);
+        System.arraycopy(values, 0, clone.values, 0, count);
+      }
+      return clone;
+    }
+
+    /**
+      Merges the state of an alternative execution path.
+    */
+    void merge(
+      TypeStack other
+      )
+    {
+      if(count != other.count)
+      {count = -1;}
+      else
+      {
+        for(int index = 0; index < count; index++)
+        {
+          if(types[index] != other.types[index])
+          {types[index] = Unknown;}
+          if(Double.compare(values[index], other.values[index]) != 0)
+          {values[index] = Double.NaN;}
+        }
+      }
+    }
+
+    /**
+      Applies a generic operator effect.
+
+      @param inCount Number of consumed operands.
+      @param outType Type of the produced operand.
+    */
+    void apply(
+      int inCount,
+      byte outType
+      )
+    {
+      pop(inCount);
+      push(outType, Double.NaN);
+    }
+
+    /**
+      Gets the constant value of the operand at the specified depth (<code>NaN</code> if unknown).
+    */
+    double getValue(
+      int depth
+      )
+    {return count > depth ? values[count - 1 - depth] : Double.NaN;}
+
+    /**
+      Gets whether the stack depth is known at compile time.
+    */
+    boolean isDepthKnown(
+      )
+    {return count >= 0;}
+
+    /**
+      Gets the type of the operand at the specified depth.
+    */
+    byte getType(
+      int depth
+      )
+    {return count > depth ? types[count - 1 - depth] : Unknown;}
+
+    void pop(
+      int operandCount
+      )
+    {
+      if(count < 0)
+        return;
+      else if(count < operandCount)
+        throw new PostScriptParseException("Operand stack underflow.");
+
+      count -= operandCount;
+    }
+
+    void push(
+      byte type,
+      double value
+      )
+    {
+      if(count < 0)
+        return;
+      else if(count == StackCapacity)
+        throw new PostScriptParseException("Operand stack overflow.");
+
+      types[count] = type;
+      values[count++] = value;
+    }
+
+    /**
+      Applies the <code>copy</code> operator.
+    */
+    void copy(
+      )
+    {
+      double operandCount = getValue(0);
+      pop(1);
+      if(Double.isNaN(operandCount) || operandCount > count)
+      {count = -1; return;}
+
+      for(int index = 0, length = (int)operandCount, offset = count - length; index < length; index++)
+      {push(types[offset + index], values[offset + index]);}
+    }
+
+    /**
+      Applies the <code>exch</code> operator.
+    */
+    void exch(
+      )
+    {
+      if(count < 0)
+        return;
+      else if(count < 2)
+        throw new PostScriptParseException("Operand stack underflow.");
+
+      byte type = types[count - 1]; types[count - 1] = types[count - 2]; types[count - 2] = type;
+      double value = values[count - 1]; values[count - 1] = values[count - 2]; values[count - 2] = value;
+    }
+
+    /**
+      Applies the <code>index</code> operator.
+    */
+    void index(
+      )
+    {
+      double depth = getValue(0);
+      pop(1);
+      if(Double.isNaN(depth) || depth >= count)
+      {count = -1; return;}
+
+      int index = count - 1 - (int)depth;
+      push(types[index], values[index]);
+    }
+
+    /**
+      Applies the <code>roll</code> operator.
+    */
+    void roll(
+      )
+    {
+      double shift = getValue(0), operandCount = getValue(1);
+      pop(2);
+      if(Double.isNaN(shift) || Double.isNaN(operandCount) || operandCount > count)
+      {count = -1; return;}
+
+      int length = (int)operandCount;
+      if(length == 0)
+        return;
+
+      int offset = count - length;
+      byte[] rolledTypes = new byte[length]; double[] rolledValues = new double[length];
+      for(int index = 0; index < length; index++)
+      {
+        int targetIndex = ((index + (int)shift) % length + length) % length;
+        rolledTypes[targetIndex] = types[offset + index];
+        rolledValues[targetIndex] = values[offset + index];
+      }
+      System.arraycopy(rolledTypes, 0, types, offset, length);
+      System.arraycopy(rolledValues, 0, values, offset, length);
+    }
+  }
+  // </classes>
+
+  // <static>
+  // <fields>
+  /**
+    Maximum number of operands in the operand stack.
+  */
+  static final int StackCapacity = 100;
+
+  // Instruction codes.
+  private static final int Push = 0;
+  private static final int Jump = 1;
+  private static final int JumpUnless = 2;
+  /**
+    Constant push whose stack capacity is checked at run time (stack depth unknown at compile
+    time).
+  */
+  private static final int PushChecked = 3;
+  // Arithmetic operators.
+  private static final int Abs = 10;
+  private static final int Add = 11;
+  private static final int Atan = 12;
+  private static final int Ceiling = 13;
+  private static final int Cos = 14;
+  private static final int Cvi = 15;
+  private static final int Cvr = 16;
+  private static final int Div = 17;
+  private static final int Exp = 18;
+  private static final int Floor = 19;
+  private static final int Idiv = 20;
+  private static final int Ln = 21;
+  private static final int Log = 22;
+  private static final int Mod = 23;
+  private static final int Mul = 24;
+  private static final int Neg = 25;
+  private static final int Round = 26;
+  private static final int Sin = 27;
+  private static final int Sqrt = 28;
+  private static final int Sub = 29;
+  private static final int Truncate = 30;
+  // Relational, boolean and bitwise operators.
+  private static final int And = 40;
+  private static final int Bitshift = 41;
+  private static final int Eq = 42;
+  private static final int Ge = 43;
+  private static final int Gt = 44;
+  private static final int Le = 45;
+  private static final int Lt = 46;
+  private static final int Ne = 47;
+  private static final int NotBoolean = 48;
+  private static final int NotInteger = 49;
+  private static final int Or = 50;
+  private static final int Xor = 51;
+  // Stack operators.
+  private static final int Copy = 60;
+  private static final int Dup = 61;
+  private static final int Exch = 62;
+  private static final int Index = 63;
+  private static final int Pop = 64;
+  private static final int Roll = 65;
+  /**
+    <code>dup</code> whose stack capacity is checked at run time (stack depth unknown at compile
+    time).
+  */
+  private static final int DupChecked = 66;
+
+  private static final Map<String,Integer> operatorCodes;
+  // </fields>
+
+  // <constructors>
+  static
+  {
+    operatorCodes = new HashMap<String,Integer>();
+    operatorCodes.put("abs", Abs);
+    operatorCodes.put("add", Add);
+    operatorCodes.put("atan", Atan);
+    operatorCodes.put("ceiling", Ceiling);
+    operatorCodes.put("cos", Cos);
+    operatorCodes.put("cvi", Cvi);
+    operatorCodes.put("cvr", Cvr);
+    operatorCodes.put("div", Div);
+    operatorCodes.put("exp", Exp);
+    operatorCodes.put("floor", Floor);
+    operatorCodes.put("idiv", Idiv);
+    operatorCodes.put("ln", Ln);
+    operatorCodes.put("log", Log);
+    operatorCodes.put("mod", Mod);
+    operatorCodes.put("mul", Mul);
+    operatorCodes.put("neg", Neg);
+    operatorCodes.put("round", Round);
+    operatorCodes.put("sin", Sin);
+    operatorCodes.put("sqrt", Sqrt);
+    operatorCodes.put("sub", Sub);
+    operatorCodes.put("truncate", Truncate);
+    operatorCodes.put("and", And);
+    operatorCodes.put("bitshift", Bitshift);
+    operatorCodes.put("eq", Eq);
+    operatorCodes.put("ge", Ge);
+    operatorCodes.put("gt", Gt);
+    operatorCodes.put("le", Le);
+    operatorCodes.put("lt", Lt);
+    operatorCodes.put("ne", Ne);
+    operatorCodes.put("not", NotBoolean);
+    operatorCodes.put("or", Or);
+    operatorCodes.put("xor", Xor);
+    operatorCodes.put("copy", Copy);
+    operatorCodes.put("dup", Dup);
+    operatorCodes.put("exch", Exch);
+    operatorCodes.put("index", Index);
+    operatorCodes.put("pop", Pop);
+    operatorCodes.put("roll", Roll);
+  }
+  // </constructors>
+
+  // <interface>
+  // <public>
+  /**
+    Compiles the specified calculator program.
+
+    @param source Program source code (a PostScript procedure).
+    @param inputCount Number of input values pushed on the operand stack before execution.
+  */
+  public static CalculatorProgram compile(
+    byte[] source,
+    int inputCount
+    )
+  {
+    List<Object> procedure;
+    {
+      PostScriptParser parser = new PostScriptParser(source);
+      if(!parser.moveNext()
+        || parser.getTokenType() != PostScriptParser.TokenTypeEnum.ProcedureBegin)
+        throw new PostScriptParseException("Calculator program MUST begin with a procedure.", parser);
+
+      procedure = parseProcedure(parser);
+    }
+    CalculatorProgram program = new CalculatorProgram();
+    program.emit(procedure, new TypeStack(inputCount));
+    program.code = Arrays.copyOf(program.code, program.codeLength);
+    program.constants = Arrays.copyOf(program.constants, program.constantsLength);
+    return program;
+  }
+  // </public>
+
+  // <private>
+  /**
+    Parses the procedure the parser is currently at the beginning of.
+
+    @return Procedure items: numeric constants ({@link Double}), boolean constants
+      ({@link Boolean}), operators ({@link String}) and nested procedures ({@link List}).
+  */
+  private static List<Object> parseProcedure(
+    PostScriptParser parser
+    )
+  {
+    List<Object> procedure = new ArrayList<Object>();
+    while(true)
+    {
+      if(!parser.moveNext())
+        throw new PostScriptParseException("Unterminated procedure.", parser);
+
+      switch(parser.getTokenType())
+      {
+        case ProcedureEnd:
+          return procedure;
+        case ProcedureBegin:
+          procedure.add(parseProcedure(parser));
+          break;
+        case Integer:
+          procedure.add(((Number)parser.getToken()).doubleValue()); // NOTE: Out-of-range integers are Long tokens.
+          break;
+        case Real:
+          procedure.add(parser.getToken());
+          break;
+        case Boolean:
+          procedure.add(parser.getToken());
+          break;
+        case Keyword:
+          procedure.add(parser.getToken());
+          break;
+        case Comment:
+          break;
+        default:
+          throw new PostScriptParseException("Unexpected token in calculator program.", parser);
+      }
+    }
+  }
+
+  /**
+    Rolls the specified stack segment upwards by the specified (positive) shift, reversing
+    sub-ranges in place to avoid allocations.
+  */
+  private static void roll(
+    double[] stack,
+    int offset,
+    int length,
+    int shift
+    )
+  {
+    if(shift == 0)
+      return;
+
+    int end = offset + length - 1;
+    reverse(stack, offset, end);
+    reverse(stack, offset, offset + shift - 1);
+    reverse(stack, offset + shift, end);
+  }
+
+  private static void reverse(
+    double[] stack,
+    int begin,
+    int end
+    )
+  {
+    while(begin < end)
+    {
+      double value = stack[begin];
+      stack[begin++] = stack[end];
+      stack[end--] = value;
+    }
+  }
+  // </private>
+  // </interface>
+  // </static>
+
+  // <dynamic>
+  // <fields>
+  private int[] code = new int[64];
+  private int codeLength;
+  private double[] constants = new double[16];
+  private int constantsLength;
+  // </fields>
+
+  // <constructors>
+  private CalculatorProgram(
+    )
+  {}
+  // </constructors>
+
+  // <interface>
+  // <public>
+  /**
+    Executes this program.
+
+    @param stack Operand stack (its capacity MUST be at least {@link #StackCapacity}).
+    @param count Number of operands in the stack at execution start.
+    @return Number of operands in the stack at execution end.
+  */
+  public int execute(
+    double[] stack,
+    int count
+    )
+  {
+    final int[] code = this.code;
+    final double[] constants = this.constants;
+    int top = count - 1;
+    for(int pointer = 0, length = code.length; pointer < length;)
+    {
+      switch(code[pointer++])
+      {
+        case PushChecked:
+          if(top + 1 >= StackCapacity)
+            throw new IllegalStateException("Operand stack overflow.");
+          // Fall through!
+        case Push:
+          stack[++top] = constants[code[pointer++]];
+          break;
+        case Jump:
+          pointer = code[pointer];
+          break;
+        case JumpUnless:
+          if(stack[top--] == 0)
+          {pointer = code[pointer];}
+          else
+          {pointer++;}
+          break;
+        case Abs:
+          stack[top] = Math.abs(stack[top]);
+          break;
+        case Add:
+          stack[top - 1] += stack[top]; top--;
+          break;
+        case Atan:
+        {
+          double angle = Math.toDegrees(Math.atan2(stack[top - 1], stack[top]));
+          stack[--top] = (angle < 0 ? angle + 360 : angle);
+        } break;
+        case Ceiling:
+          stack[top] = Math.ceil(stack[top]);
+          break;
+        case Cos:
+          stack[top] = Math.cos(Math.toRadians(stack[top]));
+          break;
+        case Cvi:
+          stack[top] = (int)stack[top];
+          break;
+        case Cvr:
+          break;
+        case Div:
+          stack[top - 1] /= stack[top]; top--;
+          break;
+        case Exp:
+          stack[top - 1] = Math.pow(stack[top - 1], stack[top]); top--;
+          break;
+        case Floor:
+          stack[top] = Math.floor(stack[top]);
+          break;
+        case Idiv:
+        {
+          /*
+            NOTE: PostScript raises 'undefinedresult' on zero divisors; as this evaluator runs per
+            sample, such cases yield 0 instead of aborting the whole content.
+          */
+          int divisor = (int)stack[top];
+          stack[top - 1] = (divisor != 0 ? (int)stack[top - 1] / divisor : 0); top--;
+        } break;
+        case Ln:
+          stack[top] = Math.log(stack[top]);
+          break;
+        case Log:
+          stack[top] = Math.log10(stack[top]);
+          break;
+        case Mod:
+        {
+          int divisor = (int)stack[top]; // NOTE: See Idiv.
+          stack[top - 1] = (divisor != 0 ? (int)stack[top - 1] % divisor : 0); top--;
+        } break;
+        case Mul:
+          stack[top - 1] *= stack[top]; top--;
+          break;
+        case Neg:
+          stack[top] = -stack[top];
+          break;
+        case Round:
+          stack[top] = Math.floor(stack[top] + .5);
+          break;
+        case Sin:
+          stack[top] = Math.sin(Math.toRadians(stack[top]));
+          break;
+        case Sqrt:
+          stack[top] = Math.sqrt(stack[top]);
+          break;
+        case Sub:
+          stack[top - 1] -= stack[top]; top--;
+          break;
+        case Truncate:
+        {
+          double value = stack[top];
+          stack[top] = (value < 0 ? Math.ceil(value) : Math.floor(value));
+        } break;
+        case And:
+          stack[top - 1] = (long)stack[top - 1] & (long)stack[top]; top--;
+          break;
+        case Bitshift:
+        {
+          int value = (int)stack[top - 1], shift = (int)stack[top];
+          stack[--top] = (shift >= 0 ? value << shift : value >>> -shift);
+        } break;
+        case Eq:
+          stack[top - 1] = (stack[top - 1] == stack[top] ? 1 : 0); top--;
+          break;
+        case Ge:
+          stack[top - 1] = (stack[top - 1] >= stack[top] ? 1 : 0); top--;
+          break;
+        case Gt:
+          stack[top - 1] = (stack[top - 1] > stack[top] ? 1 : 0); top--;
+          break;
+        case Le:
+          stack[top - 1] = (stack[top - 1] <= stack[top] ? 1 : 0); top--;
+          break;
+        case Lt:
+          stack[top - 1] = (stack[top - 1] < stack[top] ? 1 : 0); top--;
+          break;
+        case Ne:
+          stack[top - 1] = (stack[top - 1] != stack[top] ? 1 : 0); top--;
+          break;
+        case NotBoolean:
+          stack[top] = (stack[top] == 0 ? 1 : 0);
+          break;
+        case NotInteger:
+          stack[top] = ~(int)stack[top];
+          break;
+        case Or:
+          stack[top - 1] = (long)stack[top - 1] | (long)stack[top]; top--;
+          break;
+        case Xor:
+          stack[top - 1] = (long)stack[top - 1] ^ (long)stack[top]; top--;
+          break;
+        case Copy:
+        {
+          int operandCount = (int)stack[top--];
+          if(operandCount < 0 || operandCount > top + 1 || top + operandCount >= StackCapacity)
+            throw new IllegalStateException("Invalid copy operand count: " + operandCount);
+
+          System.arraycopy(stack, top + 1 - operandCount, stack, top + 1, operandCount);
+          top += operandCount;
+        } break;
+        case DupChecked:
+          if(top + 1 >= StackCapacity)
+            throw new IllegalStateException("Operand stack overflow.");
+          // Fall through!
+        case Dup:
+          stack[top + 1] = stack[top]; top++;
+          break;
+        case Exch:
+        {
+          double value = stack[top];
+          stack[top] = stack[top - 1]; stack[top - 1] = value;
+        } break;
+        case Index:
+        {
+          int depth = (int)stack[top];
+          if(depth < 0 || depth >= top)
+            throw new IllegalStateException("Invalid index depth: " + depth);
+
+          stack[top] = stack[top - 1 - depth];
+        } break;
+        case Pop:
+          top--;
+          break;
+        case Roll:
+        {
+          int shift = (int)stack[top--], operandCount = (int)stack[top--];
+          if(operandCount < 0 || operandCount > top + 1)
+            throw new IllegalStateException("Invalid roll operand count: " + operandCount);
+          else if(operandCount > 1)
+          {roll(stack, top + 1 - operandCount, operandCount, (shift % operandCount + operandCount) % operandCount);}
+        } break;
+        default:
+          throw new IllegalStateException("Unknown instruction: " + code[pointer - 1]);
+      }
+    }
+    return top + 1;
+  }
+  // </public>
+
+  // <private>
+  /**
+    Emits the instructions of the specified procedure.
+  */
+  private void emit(
+    List<Object> procedure,
+    TypeStack types
+    )
+  {
+    for(
+      int index = 0,
+        length = procedure.size();
+      index < length;
+      index++
+      )
+    {
+      Object item = procedure.get(index);
+      if(item instanceof Double)
+      {
+        emitPush((Double)item, types);
+        types.push(TypeStack.Number, (Double)item);
+      }
+      else if(item instanceof Boolean)
+      {
+        emitPush((Boolean)item ? 1 : 0, types);
+        types.push(TypeStack.Boolean, Double.NaN);
+      }
+      else if(item instanceof List)
+      {
+        /*
+          NOTE: Procedures are allowed only as operands of conditional operators.
+        */
+        @SuppressWarnings("unchecked")
+        List<Object> thenProcedure = (List<Object>)item;
+        Object nextItem = (index + 1 < length ? procedure.get(index + 1) : null);
+        if("if".equals(nextItem))
+        {
+          types.pop(1);
+          TypeStack thenTypes = types.clone();
+          int jumpUnlessOperand = emitJump(JumpUnless);
+          emit(thenProcedure, thenTypes);
+          code[jumpUnlessOperand] = codeLength;
+          types.merge(thenTypes);
+          index++;
+        }
+        else if(nextItem instanceof List
+          && index + 2 < length
+          && "ifelse".equals(procedure.get(index + 2)))
+        {
+          @SuppressWarnings("unchecked")
+          List<Object> elseProcedure = (List<Object>)nextItem;
+          types.pop(1);
+          TypeStack thenTypes = types.clone();
+          int jumpUnlessOperand = emitJump(JumpUnless);
+          emit(thenProcedure, thenTypes);
+          int jumpOperand = emitJump(Jump);
+          code[jumpUnlessOperand] = codeLength;
+          emit(elseProcedure, types);
+          code[jumpOperand] = codeLength;
+          types.merge(thenTypes);
+          index += 2;
+        }
+        else
+          throw new PostScriptParseException("Procedure not followed by a conditional operator.");
+      }
+      else // Operator.
+      {
+        String operator = (String)item;
+        Integer operatorCode = operatorCodes.get(operator);
+        if(operatorCode == null)
+          throw new PostScriptParseException("Unknown calculator operator: " + operator);
+
+        switch(operatorCode)
+        {
+          case Abs: case Ceiling: case Cos: case Cvi: case Cvr: case Floor: case Ln: case Log:
+          case Neg: case Round: case Sin: case Sqrt: case Truncate:
+            types.apply(1, TypeStack.Number);
+            break;
+          case Add: case Atan: case Div: case Exp: case Idiv: case Mod: case Mul: case Sub:
+          case Bitshift:
+            types.apply(2, TypeStack.Number);
+            break;
+          case Eq: case Ge: case Gt: case Le: case Lt: case Ne:
+            types.apply(2, TypeStack.Boolean);
+            break;
+          case And: case Or: case Xor:
+          {
+            byte type = types.getType(0);
+            types.apply(2, type == types.getType(1) ? type : TypeStack.Unknown);
+          } break;
+          case NotBoolean:
+          {
+            /*
+              NOTE: Boolean negation is assumed whenever the operand type cannot be inferred, as
+              this is by far the most common use of 'not' in calculator functions.
+            */
+            byte type = types.getType(0);
+            if(type == TypeStack.Number)
+            {operatorCode = NotInteger;}
+            types.apply(1, type);
+          } break;
+          case Copy:
+            types.copy();
+            break;
+          case Dup:
+            if(!types.isDepthKnown())
+            {operatorCode = DupChecked;}
+            types.push(types.getType(0), types.getValue(0));
+            break;
+          case Exch:
+            types.exch();
+            break;
+          case Index:
+            types.index();
+            break;
+          case Pop:
+            types.pop(1);
+            break;
+          case Roll:
+            types.roll();
+            break;
+        }
+        emitCode(operatorCode);
+      }
+    }
+  }
+
+  private void emitCode(
+    int value
+    )
+  {
+    if(codeLength == code.length)
+    {code = Arrays.copyOf(code, codeLength * 2);}
+    code[codeLength++] = value;
+  }
+
+  /**
+    Emits a jump instruction.
+
+    @return Position of the jump target (to be patched).
+  */
+  private int emitJump(
+    int jumpCode
+    )
+  {
+    emitCode(jumpCode);
+    emitCode(-1);
+    return codeLength - 1;
+  }
+
+  /**
+    Emits a constant push.
+
+    @param value Constant value.
+    @param types Stack state before the push.
+  */
+  private void emitPush(
+    double value,
+    TypeStack types
+    )
+  {
+    int constantIndex = -1;
+    for(int index = 0; index < constantsLength; index++)
+    {
+      if(Double.compare(constants[index], value) == 0)
+      {constantIndex = index; break;}
+    }
+    if(constantIndex == -1)
+    {
+      if(constantsLength == constants.length)
+      {constants = Arrays.copyOf(constants, constantsLength * 2);}
+      constants[constantIndex = constantsLength++] = value;
+    }
+    emitCode(types.isDepthKnown() ? Push : PushChecked);
+    emitCode(constantIndex);
+  }
+
+  // </private>
+  // </interface>
+  // </dynamic>
+  // </class>
+}
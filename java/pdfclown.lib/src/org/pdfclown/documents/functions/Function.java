@@ -26,6 +26,7 @@
 package org.pdfclown.documents.functions;
 
 import java.util.ArrayList;
+import java.util.Hashtable;
 import java.util.Iterator;
 import java.util.List;
 
@@ -41,6 +42,7 @@ import org.pdfclown.objects.PdfName;
 import org.pdfclown.objects.PdfNumber;
 import org.pdfclown.objects.PdfObjectWrapper;
 import org.pdfclown.objects.PdfReal;
+import org.pdfclown.objects.PdfReference;
 import org.pdfclown.objects.PdfStream;
 import org.pdfclown.util.math.Interval;
 
@@ -87,22 +89,49 @@ public abstract class Function<TDataObject extends PdfDataObject>
     if(baseObject == null)
       return null;
 
+    // Has the function been already instantiated?
+    /*
+      NOTE: Functions cache their evaluation state (compiled calculator programs, decoded sample
+      tables), so it's convenient to retrieve them from a common cache whenever possible.
+    */
+    Hashtable<PdfReference,Object> cache = null;
+    if(baseObject instanceof PdfReference)
+    {
+      Document document = ((PdfReference)baseObject).getFile().getDocument();
+      if(document != null)
+      {
+        cache = document.cache;
+        Object function = cache.get(baseObject);
+        if(function instanceof Function<?>)
+          return (Function<?>)function;
+      }
+    }
+
     PdfDataObject dataObject = baseObject.resolve();
     PdfDictionary dictionary = getDictionary(dataObject);
     int functionType = ((PdfInteger)dictionary.get(PdfName.FunctionType)).getRawValue();
+    Function<?> function;
     switch(functionType)
     {
       case FunctionType0:
-        return new Type0Function(baseObject);
+        function = new Type0Function(baseObject);
+        break;
       case FunctionType2:
-        return new Type2Function(baseObject);
+        function = new Type2Function(baseObject);
+        break;
       case FunctionType3:
-        return new Type3Function(baseObject);
+        function = new Type3Function(baseObject);
+        break;
       case FunctionType4:
-        return new Type4Function(baseObject);
+        function = new Type4Function(baseObject);
+        break;
       default:
         throw new UnsupportedOperationException("Function type " + functionType + " unknown.");
     }
+
+    if(cache != null)
+    {cache.put((PdfReference)baseObject, function);}
+    return function;
   }
   // </public>
 
@@ -151,6 +180,25 @@ public abstract class Function<TDataObject extends PdfDataObject>
     double[] inputs
     );
 
+  /**
+    Applies the calculation of this function to the specified input values, storing its results
+    into the specified output values.
+    <p>Function types able to evaluate without allocating override this method, so that
+    repetitive evaluations (such as tint transforms applied per pixel) can reuse the same output
+    array.</p>
+
+    @param inputs Input values.
+    @param outputs Output values (its length MUST be at least {@link #getOutputCount()}).
+   */
+  public void calculate(
+    double[] inputs,
+    double[] outputs
+    )
+  {
+    double[] results = calculate(inputs);
+    System.arraycopy(results, 0, outputs, 0, results.length);
+  }
+
   /**
     Gets the result of the calculation applied by this function
     to the specified input values.
@@ -221,6 +269,60 @@ public abstract class Function<TDataObject extends PdfDataObject>
   // </public>
 
   // <protected>
+  /**
+    Clips the specified values to the respective intervals.
+
+    @param values Values to clip.
+    @param count Number of values to clip.
+    @param bounds Interval bounds, as returned by {@link #getBounds(PdfName)}.
+  */
+  protected static final void clip(
+    double[] values,
+    int count,
+    double[] bounds
+    )
+  {
+    for(
+      int index = 0;
+      index < count;
+      index++
+      )
+    {
+      double value = values[index];
+      double low = bounds[index * 2], high = bounds[index * 2 + 1];
+      if(value < low)
+      {values[index] = low;}
+      else if(value > high)
+      {values[index] = high;}
+    }
+  }
+
+  /**
+    Gets the flattened (low, high) bounds of the intervals corresponding to the specified key.
+    <p>Contrary to {@link #getIntervals(PdfName, IDefaultIntervalsCallback)}, bounds are
+    represented as primitive values, to be used in calculations.</p>
+
+    @return <code>null</code> if the key is absent.
+  */
+  protected final double[] getBounds(
+    PdfName key
+    )
+  {
+    PdfArray boundsObject = (PdfArray)getDictionary().resolve(key);
+    if(boundsObject == null)
+      return null;
+
+    double[] bounds = new double[boundsObject.size()];
+    for(
+      int index = 0,
+        length = bounds.length;
+      index < length;
+      index++
+      )
+    {bounds[index] = ((PdfNumber<?>)boundsObject.resolve(index)).getDoubleValue();}
+    return bounds;
+  }
+
   /**
     Gets this function's dictionary.
   */
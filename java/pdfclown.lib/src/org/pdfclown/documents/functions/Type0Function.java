@@ -44,6 +44,9 @@ import org.pdfclown.util.math.Interval;
   Sampled function using a sequence of sample values to provide an approximation for functions whose
   domains and ranges are bounded [PDF:1.6:3.9.1].
   <p>The samples are organized as an m-dimensional table in which each entry has n components.</p>
+  <p>The sample table is decoded once (on first evaluation) into a packed primitive array holding
+  the {@link #getRangeDecodes() decoded} values, so that subsequent evaluations merely interpolate
+  between table entries without allocating.</p>
 
   @author Stefano Chizzolini (http://www.stefanochizzolini.it)
   @since 0.1.0
@@ -92,6 +95,29 @@ public final class Type0Function
   // </classes>
 
   // <dynamic>
+  // <fields>
+  private double[] domains;
+  private double[] encodes;
+  private boolean cubic;
+  private double[] ranges;
+  private int[] sampleCounts;
+  /**
+    Table offset increment along each input dimension.
+  */
+  private int[] strides;
+  /**
+    Decoded sample table.
+    <p>Sample entries are ordered with the first input dimension varying fastest; each entry packs
+    its output components contiguously.</p>
+  */
+  private float[] table;
+
+  // Evaluation scratch (reused across evaluations).
+  private double[] fractions;
+  private double[] inputs;
+  private int[] sampleIndexes;
+  // </fields>
+
   // <constructors>
   //TODO:implement function creation and sample table management!
 
@@ -108,8 +134,57 @@ public final class Type0Function
     double[] inputs
     )
   {
-    // FIXME: Auto-generated method stub
-    return null;
+    double[] outputs = new double[getOutputCount()];
+    calculate(inputs, outputs);
+    return outputs;
+  }
+
+  /**
+    {@inheritDoc}
+    <p>This method doesn't allocate; as it reuses its scratch state, concurrent invocations are
+    serialized.</p>
+  */
+  @Override
+  public synchronized void calculate(
+    double[] inputs,
+    double[] outputs
+    )
+  {
+    float[] table = getTable();
+
+    int inputCount = sampleCounts.length;
+    int outputCount = ranges.length / 2;
+    double[] encodedInputs = this.inputs;
+    System.arraycopy(inputs, 0, encodedInputs, 0, inputCount);
+    clip(encodedInputs, inputCount, domains);
+    // Input encoding.
+    int baseOffset = 0;
+    for(int index = 0; index < inputCount; index++)
+    {
+      double domainLow = domains[index * 2], domainHigh = domains[index * 2 + 1];
+      double encodeLow = encodes[index * 2], encodeHigh = encodes[index * 2 + 1];
+      double encodedInput = (domainHigh == domainLow
+        ? encodeLow
+        : encodeLow + (encodedInputs[index] - domainLow) * (encodeHigh - encodeLow) / (domainHigh - domainLow));
+      int maxSampleIndex = sampleCounts[index] - 1;
+      if(encodedInput < 0)
+      {encodedInput = 0;}
+      else if(encodedInput > maxSampleIndex)
+      {encodedInput = maxSampleIndex;}
+
+      int sampleIndex = (int)encodedInput;
+      if(sampleIndex == maxSampleIndex && sampleIndex > 0)
+      {sampleIndex--;} // Upper bound: interpolation collapses on the last sample.
+      fractions[index] = encodedInput - sampleIndex;
+      sampleIndexes[index] = sampleIndex;
+      baseOffset += sampleIndex * strides[index];
+    }
+
+    if(cubic && inputCount == 1)
+    {calculateCubic(table, sampleIndexes[0], fractions[0], outputs, outputCount);}
+    else
+    {calculateMultilinear(table, baseOffset, outputs, outputCount);}
+    clip(outputs, outputCount, ranges);
   }
 
   @Override
@@ -182,6 +257,194 @@ public final class Type0Function
     return sampleCounts;
   }
   // </public>
+
+  // <private>
+  /**
+    Interpolates the sample table through a cubic (Catmull-Rom) spline.
+    <p>Cubic spline interpolation is applied to single-input functions only, multidimensional
+    tables falling back to multilinear interpolation.</p>
+  */
+  private void calculateCubic(
+    float[] table,
+    int sampleIndex,
+    double fraction,
+    double[] outputs,
+    int outputCount
+    )
+  {
+    int maxSampleIndex = sampleCounts[0] - 1;
+    int index1 = sampleIndex * outputCount;
+    int index2 = Math.min(sampleIndex + 1, maxSampleIndex) * outputCount;
+    double fraction2 = fraction * fraction, fraction3 = fraction2 * fraction;
+    for(int outputIndex = 0; outputIndex < outputCount; outputIndex++)
+    {
+      double p1 = table[index1 + outputIndex], p2 = table[index2 + outputIndex];
+      // NOTE: Missing neighbors beyond table bounds are linearly extrapolated.
+      double p0 = (sampleIndex > 0
+        ? table[index1 - outputCount + outputIndex]
+        : 2 * p1 - p2);
+      double p3 = (sampleIndex + 2 <= maxSampleIndex
+        ? table[index2 + outputCount + outputIndex]
+        : 2 * p2 - p1);
+      outputs[outputIndex] = .5 * (2 * p1
+        + (p2 - p0) * fraction
+        + (2 * p0 - 5 * p1 + 4 * p2 - p3) * fraction2
+        + (3 * (p1 - p2) + p3 - p0) * fraction3);
+    }
+  }
+
+  /**
+    Interpolates the sample table along all the input dimensions, weighting the 2^m table
+    entries surrounding the input point.
+  */
+  private void calculateMultilinear(
+    float[] table,
+    int baseOffset,
+    double[] outputs,
+    int outputCount
+    )
+  {
+    for(int outputIndex = 0; outputIndex < outputCount; outputIndex++)
+    {outputs[outputIndex] = 0;}
+
+    int inputCount = sampleCounts.length;
+    for(int corner = 0, cornerCount = 1 << inputCount; corner < cornerCount; corner++)
+    {
+      double weight = 1;
+      int offset = baseOffset;
+      for(int index = 0; index < inputCount; index++)
+      {
+        if((corner & (1 << index)) != 0)
+        {
+          if(sampleCounts[index] == 1)
+          {weight = 0; break;} // Degenerate dimension (no upper neighbor).
+
+          weight *= fractions[index];
+          offset += strides[index];
+        }
+        else
+        {weight *= 1 - fractions[index];}
+      }
+      if(weight == 0)
+        continue;
+
+      for(int outputIndex = 0; outputIndex < outputCount; outputIndex++)
+      {outputs[outputIndex] += weight * table[offset + outputIndex];}
+    }
+  }
+
+  /**
+    Gets the decoded sample table.
+  */
+  private float[] getTable(
+    )
+  {
+    if(table == null)
+    {
+      domains = getBounds(PdfName.Domain);
+      ranges = getBounds(PdfName.Range);
+      List<Integer> sampleCountList = getSampleCounts();
+      int inputCount = sampleCountList.size();
+      int outputCount = ranges.length / 2;
+      sampleCounts = new int[inputCount];
+      strides = new int[inputCount];
+      int entryCount = 1;
+      for(int index = 0; index < inputCount; index++)
+      {
+        sampleCounts[index] = sampleCountList.get(index);
+        strides[index] = entryCount * outputCount;
+        entryCount *= sampleCounts[index];
+      }
+      encodes = getBounds(PdfName.Encode);
+      if(encodes == null)
+      {
+        encodes = new double[inputCount * 2];
+        for(int index = 0; index < inputCount; index++)
+        {encodes[index * 2 + 1] = sampleCounts[index] - 1;}
+      }
+      double[] decodes = getBounds(PdfName.Decode);
+      if(decodes == null)
+      {decodes = ranges;}
+      cubic = (getOrder() == InterpolationOrderEnum.Cubic);
+
+      fractions = new double[inputCount];
+      inputs = new double[inputCount];
+      sampleIndexes = new int[inputCount];
+      table = decodeTable(
+        getBaseDataObject().getBody().toByteArray(),
+        getSampleBitsCount(),
+        entryCount * outputCount,
+        outputCount,
+        decodes
+        );
+    }
+    return table;
+  }
+
+  /**
+    Unpacks the sample stream, mapping each sample to its output range.
+
+    @param data Sample stream data.
+    @param bitsPerSample Number of bits per sample.
+    @param sampleCount Number of samples to decode.
+    @param outputCount Number of output components per table entry.
+    @param decodes Output decode bounds.
+  */
+  private static float[] decodeTable(
+    byte[] data,
+    int bitsPerSample,
+    int sampleCount,
+    int outputCount,
+    double[] decodes
+    )
+  {
+    // Decode factors (maps each sample to its output range).
+    double maxSampleValue = (bitsPerSample == 32 ? 4294967295d : (1L << bitsPerSample) - 1);
+    double[] factors = new double[outputCount];
+    for(int index = 0; index < outputCount; index++)
+    {factors[index] = (decodes[index * 2 + 1] - decodes[index * 2]) / maxSampleValue;}
+
+    float[] table = new float[sampleCount];
+    long bitBuffer = 0;
+    int bitCount = 0;
+    int dataIndex = 0, dataLength = data.length;
+    for(
+      int index = 0,
+        outputIndex = 0;
+      index < sampleCount;
+      index++
+      )
+    {
+      long sampleValue;
+      switch(bitsPerSample)
+      {
+        case 8:
+          sampleValue = (dataIndex < dataLength ? data[dataIndex++] & 0xff : 0);
+          break;
+        case 16:
+          sampleValue = (dataIndex + 1 < dataLength
+            ? ((data[dataIndex] & 0xff) << 8) | (data[dataIndex + 1] & 0xff)
+            : 0);
+          dataIndex += 2;
+          break;
+        default:
+        {
+          while(bitCount < bitsPerSample)
+          {
+            bitBuffer = (bitBuffer << 8) | (dataIndex < dataLength ? data[dataIndex++] & 0xff : 0);
+            bitCount += 8;
+          }
+          bitCount -= bitsPerSample;
+          sampleValue = (bitBuffer >>> bitCount) & ((1L << bitsPerSample) - 1);
+        } break;
+      }
+      table[index] = (float)(decodes[outputIndex * 2] + sampleValue * factors[outputIndex]);
+      if(++outputIndex == outputCount)
+      {outputIndex = 0;}
+    }
+    return table;
+  }
+  // </private>
   // </interface>
   // </dynamic>
   // </class>
@@ -56,6 +56,15 @@ public final class Type2Function
 {
   // <class>
   // <dynamic>
+  // <fields>
+  /*
+    NOTE: Instances are shared across threads (see Document cache): lazy state is published through
+    this volatile field, which is assigned last.
+  */
+  private volatile double[] domains;
+  private double[] ranges;
+  // </fields>
+
   // <constructors>
   //TODO:implement function creation!
 
@@ -72,8 +81,36 @@ public final class Type2Function
     double[] inputs
     )
   {
-    // FIXME: Auto-generated method stub
-    return null;
+    double[] domains = this.domains;
+    if(domains == null)
+    {
+      ranges = getBounds(PdfName.Range);
+      this.domains = domains = getBounds(PdfName.Domain);
+    }
+    double[] ranges = this.ranges;
+
+    double input = inputs[0];
+    if(input < domains[0])
+    {input = domains[0];}
+    else if(input > domains[1])
+    {input = domains[1];}
+    double factor = Math.pow(input, getExponent());
+
+    List<double[]> boundOutputValues = getBoundOutputValues();
+    double[] outputs = new double[boundOutputValues.size()];
+    for(
+      int index = 0,
+        length = outputs.length;
+      index < length;
+      index++
+      )
+    {
+      double[] boundOutputValue = boundOutputValues.get(index);
+      outputs[index] = boundOutputValue[0] + factor * (boundOutputValue[1] - boundOutputValue[0]);
+    }
+    if(ranges != null)
+    {clip(outputs, Math.min(outputs.length, ranges.length / 2), ranges);}
+    return outputs;
   }
 
   @Override
@@ -52,6 +52,17 @@ public final class Type3Function
 {
   // <class>
   // <dynamic>
+  // <fields>
+  private double[] domainBounds;
+  private double[] domainEncodes;
+  /*
+    NOTE: Instances are shared across threads (see Document cache): lazy state is published through
+    this volatile field, which is assigned last.
+  */
+  private volatile double[] domains;
+  private double[] ranges;
+  // </fields>
+
   // <constructors>
   //TODO:implement function creation!
 
@@ -68,8 +79,38 @@ public final class Type3Function
     double[] inputs
     )
   {
-    // FIXME: Auto-generated method stub
-    return null;
+    double[] domains = this.domains;
+    if(domains == null)
+    {
+      domainBounds = getBounds(PdfName.Bounds);
+      domainEncodes = getBounds(PdfName.Encode);
+      ranges = getBounds(PdfName.Range);
+      this.domains = domains = getBounds(PdfName.Domain);
+    }
+    double[] domainBounds = this.domainBounds, domainEncodes = this.domainEncodes, ranges = this.ranges;
+
+    double input = inputs[0];
+    if(input < domains[0])
+    {input = domains[0];}
+    else if(input > domains[1])
+    {input = domains[1];}
+
+    // Locate the subdomain!
+    int functionIndex = 0;
+    while(functionIndex < domainBounds.length
+      && input >= domainBounds[functionIndex])
+    {functionIndex++;}
+    double low = (functionIndex == 0 ? domains[0] : domainBounds[functionIndex - 1]);
+    double high = (functionIndex == domainBounds.length ? domains[1] : domainBounds[functionIndex]);
+
+    // Map the input into the domain of the subdomain function!
+    double encodeLow = domainEncodes[functionIndex * 2], encodeHigh = domainEncodes[functionIndex * 2 + 1];
+    double[] outputs = getFunctions().get(functionIndex).calculate(
+      new double[]{high > low ? encodeLow + (input - low) * (encodeHigh - encodeLow) / (high - low) : encodeLow}
+      );
+    if(ranges != null)
+    {clip(outputs, Math.min(outputs.length, ranges.length / 2), ranges);}
+    return outputs;
   }
 
   @Override
@@ -29,11 +29,14 @@ import org.pdfclown.PDF;
 import org.pdfclown.VersionEnum;
 import org.pdfclown.documents.Document;
 import org.pdfclown.objects.PdfDirectObject;
+import org.pdfclown.objects.PdfName;
 import org.pdfclown.objects.PdfStream;
 
 /**
   PostScript calculator function represented as a stream containing code written in a small subset
   of the PostScript language [PDF:1.6:3.9.4].
+  <p>The calculator program is compiled on first use, so that subsequent evaluations (typically
+  tint transforms applied per color or per pixel) run without parsing nor allocating.</p>
 
   @author Stefano Chizzolini (http://www.stefanochizzolini.it)
   @since 0.1.0
@@ -45,6 +48,16 @@ public final class Type4Function
 {
   // <class>
   // <dynamic>
+  // <fields>
+  private double[] domains;
+  private CalculatorProgram program;
+  private double[] ranges;
+  /**
+    Operand stack reused across evaluations.
+  */
+  private double[] stack;
+  // </fields>
+
   // <constructors>
   //TODO:implement function creation!
 
@@ -61,8 +74,36 @@ public final class Type4Function
     double[] inputs
     )
   {
-    // FIXME: Auto-generated method stub
-    return null;
+    double[] outputs = new double[getOutputCount()];
+    calculate(inputs, outputs);
+    return outputs;
+  }
+
+  /**
+    {@inheritDoc}
+    <p>This method doesn't allocate; as it reuses its operand stack, concurrent invocations are
+    serialized.</p>
+  */
+  @Override
+  public synchronized void calculate(
+    double[] inputs,
+    double[] outputs
+    )
+  {
+    CalculatorProgram program = getProgram();
+
+    double[] stack = this.stack;
+    int inputCount = domains.length / 2;
+    System.arraycopy(inputs, 0, stack, 0, inputCount);
+    clip(stack, inputCount, domains);
+    int outputCount = program.execute(stack, inputCount);
+    if(outputCount < ranges.length / 2)
+      throw new IllegalStateException("Calculator program returned " + outputCount + " values ("
+        + (ranges.length / 2) + " expected).");
+
+    // NOTE: Results are the topmost operands, in stack order.
+    System.arraycopy(stack, outputCount - ranges.length / 2, outputs, 0, ranges.length / 2);
+    clip(outputs, ranges.length / 2, ranges);
   }
 
   @Override
@@ -71,6 +112,27 @@ public final class Type4Function
     )
   {return (Type4Function)super.clone(context);}
   // </public>
+
+  // <private>
+  /**
+    Gets the compiled calculator program.
+  */
+  private CalculatorProgram getProgram(
+    )
+  {
+    if(program == null)
+    {
+      domains = getBounds(PdfName.Domain);
+      ranges = getBounds(PdfName.Range);
+      program = CalculatorProgram.compile(
+        getBaseDataObject().getBody().toByteArray(),
+        domains.length / 2
+        );
+      stack = new double[CalculatorProgram.StackCapacity];
+    }
+    return program;
+  }
+  // </private>
   // </interface>
   // </dynamic>
   // </class>
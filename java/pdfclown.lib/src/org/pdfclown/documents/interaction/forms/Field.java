@@ -474,7 +474,22 @@ public abstract class Field
     )
   {return getInheritableAttribute(getBaseDataObject(), key);}
   // </protected>
+
+  // <internal>
+  /**
+    Sets the field value, optionally skipping the refresh of its appearance (for example, when
+    appearances are going to be regenerated in a batch pass).
+
+    @param value Field value.
+    @param appearanceRefreshed Whether the field appearance is refreshed.
+  */
+  void setValue(
+    Object value,
+    boolean appearanceRefreshed
+    )
+  {setValue(value);}
+  // </internal>
   // </interface>
   // </dynamic>
   // </class>
-}
\ No newline at end of file
+}
\ No newline at end of file
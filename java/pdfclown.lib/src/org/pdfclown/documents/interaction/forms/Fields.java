@@ -25,10 +25,14 @@
 
 package org.pdfclown.documents.interaction.forms;
 
+import java.util.AbstractMap;
+import java.util.AbstractSet;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -47,6 +51,9 @@ import org.pdfclown.util.NotImplementedException;
 
 /**
   Interactive form fields [PDF:1.6:8.6.1].
+  <p>Fields are indexed by fully-qualified name on first access, so that lookups take constant
+  time. The index is rebuilt whenever the field tree is changed through this collection or is
+  detected to be out of date (for example, because a field has been renamed).</p>
 
   @author Stefano Chizzolini (http://www.stefanochizzolini.it)
   @since 0.0.7
@@ -59,6 +66,21 @@ public final class Fields
 {
   // <class>
   // <dynamic>
+  // <fields>
+  /**
+    Field references by fully-qualified name (all the named fields, either terminal or not).
+  */
+  private Map<String,PdfReference> index;
+  /**
+    Number of lookups.
+  */
+  private int lookupCount;
+  /**
+    Terminal field references by fully-qualified name.
+  */
+  private Map<String,PdfReference> terminalIndex;
+  // </fields>
+
   // <constructors>
   public Fields(
     Document context
@@ -76,7 +98,10 @@ public final class Fields
   public boolean add(
     Field value
     )
-  {return getBaseDataObject().add(value.getBaseObject());}
+  {
+    invalidate();
+    return getBaseDataObject().add(value.getBaseObject());
+  }
 
   @Override
   public Fields clone(
@@ -88,7 +113,10 @@ public final class Fields
   @Override
   public void clear(
     )
-  {getBaseDataObject().clear();}
+  {
+    invalidate();
+    getBaseDataObject().clear();
+  }
 
   @Override
   public boolean containsKey(
@@ -101,53 +129,86 @@ public final class Fields
   public boolean containsValue(
     Object value
     )
-  {throw new NotImplementedException();}
+  {
+    return value instanceof Field
+      && getTerminalIndex().containsValue(((Field)value).getBaseObject());
+  }
 
   @Override
   public Set<Map.Entry<String,Field>> entrySet(
     )
-  {throw new NotImplementedException();}
+  {
+    final Set<Map.Entry<String,PdfReference>> terminalEntries = getTerminalIndex().entrySet();
+    return new AbstractSet<Map.Entry<String,Field>>()
+    {
+      @Override
+      public Iterator<Map.Entry<String,Field>> iterator(
+        )
+      {
+        final Iterator<Map.Entry<String,PdfReference>> terminalEntriesIterator = terminalEntries.iterator();
+        return new Iterator<Map.Entry<String,Field>>()
+        {
+          @Override
+          public boolean hasNext(
+            )
+          {return terminalEntriesIterator.hasNext();}
+
+          @Override
+          public Map.Entry<String,Field> next(
+            )
+          {
+            Map.Entry<String,PdfReference> terminalEntry = terminalEntriesIterator.next();
+            return new AbstractMap.SimpleImmutableEntry<String,Field>(terminalEntry.getKey(), Field.wrap(terminalEntry.getValue()));
+          }
+
+          @Override
+          public void remove(
+            )
+          {throw new UnsupportedOperationException();}
+        };
+      }
+
+      @Override
+      public int size(
+        )
+      {return terminalEntries.size();}
+    };
+  }
 
   @Override
   public Field get(
     Object key
     )
   {
+    String name = (String)key;
     /*
-      TODO: It is possible for different field dictionaries to have the SAME fully qualified field
-      name if they are descendants of a common ancestor with that name and have no
-      partial field names (T entries) of their own. Such field dictionaries are different
-      representations of the same underlying field; they should differ only in properties
-      that specify their visual appearance. In particular, field dictionaries with the same
-      fully qualified field name must have the same field type (FT), value (V), and default
-      value (DV).
-     */
-    PdfReference valueFieldReference = null;
+      NOTE: The index is built on the second lookup, so that single lookups (for example, through
+      short-lived collections) cost no more than a direct search.
+    */
+    if(index == null && lookupCount++ == 0)
+      return Field.wrap(find(name));
+
+    PdfReference fieldReference = getIndex().get(name);
+    if(fieldReference != null)
     {
-      Iterator<String> partialNamesIterator = Arrays.asList(((String)key).split("\\.")).iterator();
-      Iterator<PdfDirectObject> fieldObjectsIterator = getBaseDataObject().iterator();
-      while(partialNamesIterator.hasNext())
+      // Out-of-date index?
+      if(!name.equals(getFullName((PdfDictionary)fieldReference.getDataObject())))
       {
-        String partialName = partialNamesIterator.next();
-        valueFieldReference = null;
-        while(fieldObjectsIterator != null && fieldObjectsIterator.hasNext())
-        {
-          PdfReference fieldReference = (PdfReference)fieldObjectsIterator.next();
-          PdfDictionary fieldDictionary = (PdfDictionary)fieldReference.getDataObject();
-          PdfTextString fieldName = (PdfTextString)fieldDictionary.get(PdfName.T);
-          if(fieldName != null && fieldName.getValue().equals(partialName))
-          {
-            valueFieldReference = fieldReference;
-            PdfArray kidFieldObjects = (PdfArray)fieldDictionary.resolve(PdfName.Kids);
-            fieldObjectsIterator = (kidFieldObjects == null ? null : kidFieldObjects.iterator());
-            break;
-          }
-        }
-        if(valueFieldReference == null)
-          break;
+        invalidate();
+        fieldReference = getIndex().get(name);
       }
     }
-    return Field.wrap(valueFieldReference);
+    else
+    {
+      /*
+        NOTE: Fields may have been added to the field tree outside this collection, so the tree is
+        searched anyway.
+      */
+      fieldReference = find(name);
+      if(fieldReference != null)
+      {invalidate();}
+    }
+    return Field.wrap(fieldReference);
   }
 
   @Override
@@ -155,13 +216,15 @@ public final class Fields
     )
   {return getBaseDataObject().isEmpty();}
 
+  /**
+    {@inheritDoc}
+    <p>The returned set contains the fully-qualified names of the terminal fields and can't be
+    modified.</p>
+  */
   @Override
   public Set<String> keySet(
     )
-  {
-    throw new NotImplementedException();
-  //TODO: retrieve all the full names (keys)!!!
-  }
+  {return Collections.unmodifiableSet(getTerminalIndex().keySet());}
 
   @Override
   public Field put(
@@ -189,6 +252,7 @@ TODO:put the field into the correct position, based on the full name (key)!!!
     if(field == null)
       return null;
 
+    invalidate();
     PdfArray fieldObjects;
     {
       PdfReference fieldParentReference = (PdfReference)field.getBaseDataObject().get(PdfName.Parent);
@@ -203,7 +267,7 @@ TODO:put the field into the correct position, based on the full name (key)!!!
   @Override
   public int size(
     )
-  {return values().size();}
+  {return getTerminalIndex().size();}
 
   @Override
   public Collection<Field> values(
@@ -218,6 +282,159 @@ TODO:put the field into the correct position, based on the full name (key)!!!
   // </public>
 
   // <private>
+  /**
+    Searches the field tree for the specified fully-qualified name.
+  */
+  private PdfReference find(
+    String name
+    )
+  {
+    /*
+      TODO: It is possible for different field dictionaries to have the SAME fully qualified field
+      name if they are descendants of a common ancestor with that name and have no
+      partial field names (T entries) of their own. Such field dictionaries are different
+      representations of the same underlying field; they should differ only in properties
+      that specify their visual appearance. In particular, field dictionaries with the same
+      fully qualified field name must have the same field type (FT), value (V), and default
+      value (DV).
+     */
+    PdfReference valueFieldReference = null;
+    {
+      Iterator<String> partialNamesIterator = Arrays.asList(name.split("\\.")).iterator();
+      Iterator<PdfDirectObject> fieldObjectsIterator = getBaseDataObject().iterator();
+      while(partialNamesIterator.hasNext())
+      {
+        String partialName = partialNamesIterator.next();
+        valueFieldReference = null;
+        while(fieldObjectsIterator != null && fieldObjectsIterator.hasNext())
+        {
+          PdfReference fieldReference = (PdfReference)fieldObjectsIterator.next();
+          PdfDictionary fieldDictionary = (PdfDictionary)fieldReference.getDataObject();
+          PdfTextString fieldName = (PdfTextString)fieldDictionary.get(PdfName.T);
+          if(fieldName != null && fieldName.getValue().equals(partialName))
+          {
+            valueFieldReference = fieldReference;
+            PdfArray kidFieldObjects = (PdfArray)fieldDictionary.resolve(PdfName.Kids);
+            fieldObjectsIterator = (kidFieldObjects == null ? null : kidFieldObjects.iterator());
+            break;
+          }
+        }
+        if(valueFieldReference == null)
+          break;
+      }
+    }
+    return valueFieldReference;
+  }
+
+  /**
+    Gets the fully-qualified name of the specified field.
+  */
+  private String getFullName(
+    PdfDictionary fieldDictionary
+    )
+  {
+    StringBuilder buffer = new StringBuilder();
+    while(fieldDictionary != null)
+    {
+      PdfTextString partialName = (PdfTextString)fieldDictionary.get(PdfName.T);
+      if(partialName != null)
+      {
+        if(buffer.length() > 0)
+        {buffer.insert(0, '.');}
+        buffer.insert(0, partialName.getValue());
+      }
+      fieldDictionary = (PdfDictionary)fieldDictionary.resolve(PdfName.Parent);
+    }
+    return buffer.toString();
+  }
+
+  private Map<String,PdfReference> getIndex(
+    )
+  {
+    if(index == null)
+    {
+      index = new LinkedHashMap<String,PdfReference>();
+      terminalIndex = new LinkedHashMap<String,PdfReference>();
+      index(getBaseDataObject(), null);
+    }
+    return index;
+  }
+
+  private Map<String,PdfReference> getTerminalIndex(
+    )
+  {
+    getIndex();
+    return terminalIndex;
+  }
+
+  /**
+    Indexes the specified fields by fully-qualified name.
+
+    @param fieldObjects Fields to index.
+    @param parentName Fully-qualified name of their parent field.
+  */
+  private void index(
+    PdfArray fieldObjects,
+    String parentName
+    )
+  {
+    for(PdfDirectObject fieldObject : fieldObjects)
+    {
+      PdfReference fieldReference = (PdfReference)fieldObject;
+      PdfDictionary fieldDictionary = (PdfDictionary)fieldReference.getDataObject();
+      String name;
+      {
+        PdfTextString partialName = (PdfTextString)fieldDictionary.get(PdfName.T);
+        if(partialName == null)
+        {name = parentName;}
+        else
+        {
+          name = (parentName != null ? parentName + "." + partialName.getValue() : partialName.getValue());
+          /*
+            NOTE: Field dictionaries sharing the same fully-qualified name are representations of
+            the same field [PDF:1.6:8.6.2], so the first one is indexed.
+          */
+          if(!index.containsKey(name))
+          {index.put(name, fieldReference);}
+        }
+      }
+
+      PdfArray kidReferences = (PdfArray)fieldDictionary.resolve(PdfName.Kids);
+      if(isTerminal(kidReferences))
+      {
+        if(name != null && !terminalIndex.containsKey(name))
+        {terminalIndex.put(name, fieldReference);}
+      }
+      else
+      {index(kidReferences, name);}
+    }
+  }
+
+  /**
+    Discards the field index.
+  */
+  private void invalidate(
+    )
+  {index = terminalIndex = null;}
+
+  /**
+    Gets whether the field having the specified kids is terminal.
+  */
+  private boolean isTerminal(
+    PdfArray kidReferences
+    )
+  {
+    PdfDictionary kidObject;
+    if(kidReferences == null)
+    {kidObject = null;}
+    else
+    {kidObject = (PdfDictionary)((PdfReference)kidReferences.get(0)).getDataObject();}
+    return kidObject == null // Merged single widget annotation.
+      || (!kidObject.containsKey(PdfName.FT) // Multiple widget annotations.
+        && kidObject.containsKey(PdfName.Subtype)
+        && kidObject.get(PdfName.Subtype).equals(PdfName.Widget));
+  }
+
   private void retrieveValues(
     PdfArray fieldObjects,
     List<Field> values
@@ -227,16 +444,7 @@ TODO:put the field into the correct position, based on the full name (key)!!!
     {
       PdfReference fieldReference = (PdfReference)fieldObject;
       PdfArray kidReferences = (PdfArray)((PdfDictionary)fieldReference.getDataObject()).resolve(PdfName.Kids);
-      PdfDictionary kidObject;
-      if(kidReferences == null)
-      {kidObject = null;}
-      else
-      {kidObject = (PdfDictionary)((PdfReference)kidReferences.get(0)).getDataObject();}
-      // Terminal field?
-      if(kidObject == null // Merged single widget annotation.
-        || (!kidObject.containsKey(PdfName.FT) // Multiple widget annotations.
-          && kidObject.containsKey(PdfName.Subtype)
-          && kidObject.get(PdfName.Subtype).equals(PdfName.Widget)))
+      if(isTerminal(kidReferences))
       {values.add(Field.wrap(fieldReference));}
       else // Non-terminal field.
       {retrieveValues(kidReferences, values);}
@@ -246,4 +454,4 @@ TODO:put the field into the correct position, based on the full name (key)!!!
   // </interface>
   // </dynamic>
   // </class>
-}
\ No newline at end of file
+}
\ No newline at end of file
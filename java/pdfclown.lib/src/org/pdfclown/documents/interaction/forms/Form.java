@@ -25,10 +25,16 @@
 
 package org.pdfclown.documents.interaction.forms;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
 import org.pdfclown.PDF;
 import org.pdfclown.VersionEnum;
 import org.pdfclown.documents.Document;
 import org.pdfclown.documents.contents.Resources;
+import org.pdfclown.documents.interaction.forms.styles.DefaultStyle;
+import org.pdfclown.documents.interaction.forms.styles.FieldStyle;
 import org.pdfclown.objects.PdfArray;
 import org.pdfclown.objects.PdfDictionary;
 import org.pdfclown.objects.PdfDirectObject;
@@ -89,6 +95,54 @@ public final class Form
     )
   {return (Form)super.clone(context);}
 
+  /**
+    Fills the specified fields, regenerating their appearance through the {@link DefaultStyle
+    default style}.
+
+    @param values Field values by fully-qualified field name.
+    @throws IllegalArgumentException If a field name doesn't exist.
+    @since 0.2.0
+  */
+  public void fill(
+    Map<String,Object> values
+    )
+  {fill(values, new DefaultStyle());}
+
+  /**
+    Fills the specified fields, regenerating their appearance through the specified style.
+    <p>Field names are resolved first, so that no field is modified if any of them doesn't exist;
+    values are then set and appearances regenerated in a single pass, sharing their resources.</p>
+
+    @param values Field values by fully-qualified field name.
+    @param style Appearance style ({@code null} to let each field refresh its own appearance, as
+      {@link Field#setValue(Object)} does).
+    @throws IllegalArgumentException If a field name doesn't exist.
+    @since 0.2.0
+  */
+  public void fill(
+    Map<String,Object> values,
+    FieldStyle style
+    )
+  {
+    Fields fields = getFields();
+    List<Field> filledFields = new ArrayList<Field>(values.size());
+    List<Object> fieldValues = new ArrayList<Object>(values.size());
+    for(Map.Entry<String,Object> valueEntry : values.entrySet())
+    {
+      Field field = fields.get(valueEntry.getKey());
+      if(field == null)
+        throw new IllegalArgumentException("Field '" + valueEntry.getKey() + "' doesn't exist.");
+
+      filledFields.add(field);
+      fieldValues.add(valueEntry.getValue());
+    }
+
+    for(int index = 0, length = filledFields.size(); index < length; index++)
+    {filledFields.get(index).setValue(fieldValues.get(index), style == null);}
+    if(style != null)
+    {style.apply(filledFields);}
+  }
+
   /**
     Gets the fields collection.
   */
@@ -122,4 +176,4 @@ public final class Form
   // </interface>
   // </dynamic>
   // </class>
-}
\ No newline at end of file
+}
\ No newline at end of file
@@ -211,6 +211,15 @@ public final class TextField
   public void setValue(
     Object value
     )
+  {setValue(value, true);}
+  // </public>
+
+  // <internal>
+  @Override
+  void setValue(
+    Object value,
+    boolean appearanceRefreshed
+    )
   {
     if(!(value == null
         || value instanceof String
@@ -244,9 +253,10 @@ public final class TextField
     else
     {getBaseDataObject().put(PdfName.V, null);}
     
-    refreshAppearance();
+    if(appearanceRefreshed)
+    {refreshAppearance();}
   }
-  // </public>
+  // </internal>
 
   // <private>
   private void refreshAppearance(
@@ -474,4 +484,4 @@ public final class TextField
   // </interface>
   // </dynamic>
   // </class>
-}
\ No newline at end of file
+}
\ No newline at end of file
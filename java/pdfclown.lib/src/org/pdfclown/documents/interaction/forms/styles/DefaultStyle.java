@@ -28,6 +28,10 @@ package org.pdfclown.documents.interaction.forms.styles;
 import java.awt.geom.Dimension2D;
 import java.awt.geom.Point2D;
 import java.awt.geom.Rectangle2D;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
 
 import org.pdfclown.documents.Document;
 import org.pdfclown.documents.contents.colorSpaces.DeviceRGBColor;
@@ -68,6 +72,14 @@ public final class DefaultStyle
   extends FieldStyle
 {
   // <dynamic>
+  // <fields>
+  /**
+    Fonts shared by the appearances generated within the current pass (<code>null</code> outside
+    batch passes).
+  */
+  private Map<Object,StandardType1Font> fonts;
+  // </fields>
+
   // <constructors>
   public DefaultStyle(
     )
@@ -95,6 +107,23 @@ public final class DefaultStyle
     {apply((RadioButton)field);}
   }
 
+  /**
+    {@inheritDoc}
+    <p>Appearances generated within the same pass share their font resources, instead of
+    instantiating a new font for each field.</p>
+  */
+  @Override
+  public void apply(
+    Collection<? extends Field> fields
+    )
+  {
+    fonts = new HashMap<Object,StandardType1Font>();
+    try
+    {super.apply(fields);}
+    finally
+    {fonts = null;}
+  }
+
   private void apply(
     CheckBox field
     )
@@ -178,12 +207,7 @@ public final class DefaultStyle
         blockComposer.begin(frame,XAlignmentEnum.Center,YAlignmentEnum.Middle);
         composer.setFillColor(getForeColor());
         composer.setFont(
-          new StandardType1Font(
-            document,
-            StandardType1Font.FamilyEnum.ZapfDingbats,
-            true,
-            false
-            ),
+          getFont(document, StandardType1Font.FamilyEnum.ZapfDingbats, true),
           size.getHeight() * 0.8
           );
         blockComposer.showText(new String(new char[]{getCheckSymbol()}));
@@ -295,12 +319,7 @@ public final class DefaultStyle
         blockComposer.begin(frame,XAlignmentEnum.Center,YAlignmentEnum.Middle);
         composer.setFillColor(getForeColor());
         composer.setFont(
-          new StandardType1Font(
-            document,
-            StandardType1Font.FamilyEnum.ZapfDingbats,
-            true,
-            false
-            ),
+          getFont(document, StandardType1Font.FamilyEnum.ZapfDingbats, true),
           size.getHeight() * 0.8
           );
         blockComposer.showText(new String(new char[]{getRadioSymbol()}));
@@ -364,12 +383,7 @@ public final class DefaultStyle
         blockComposer.begin(frame,XAlignmentEnum.Center,YAlignmentEnum.Middle);
         composer.setFillColor(getForeColor());
         composer.setFont(
-          new StandardType1Font(
-            document,
-            StandardType1Font.FamilyEnum.Helvetica,
-            true,
-            false
-            ),
+          getFont(document, StandardType1Font.FamilyEnum.Helvetica, true),
           size.getHeight() * 0.5
           );
         blockComposer.showText(title);
@@ -415,12 +429,7 @@ public final class DefaultStyle
 
       composer.beginMarkedContent(PdfName.Tx);
       composer.setFont(
-        new StandardType1Font(
-          document,
-          StandardType1Font.FamilyEnum.Helvetica,
-          false,
-          false
-          ),
+        getFont(document, StandardType1Font.FamilyEnum.Helvetica, false),
         getFontSize()
         );
       composer.showText(
@@ -470,12 +479,7 @@ public final class DefaultStyle
 
       composer.beginMarkedContent(PdfName.Tx);
       composer.setFont(
-        new StandardType1Font(
-          document,
-          StandardType1Font.FamilyEnum.Helvetica,
-          false,
-          false
-          ),
+        getFont(document, StandardType1Font.FamilyEnum.Helvetica, false),
         getFontSize()
         );
       composer.showText(
@@ -550,12 +554,7 @@ public final class DefaultStyle
       }
       composer.beginMarkedContent(PdfName.Tx);
       composer.setFont(
-        new StandardType1Font(
-          document,
-          StandardType1Font.FamilyEnum.Helvetica,
-          false,
-          false
-          ),
+        getFont(document, StandardType1Font.FamilyEnum.Helvetica, false),
         getFontSize()
         );
       double y = 3;
@@ -576,8 +575,27 @@ public final class DefaultStyle
     }
     appearance.getNormal().put(null,normalAppearanceState);
   }
+
+  /**
+    Gets the specified standard font, sharing it within the current batch pass.
+  */
+  private StandardType1Font getFont(
+    Document document,
+    StandardType1Font.FamilyEnum family,
+    boolean bold
+    )
+  {
+    if(fonts == null)
+      return new StandardType1Font(document, family, bold, false);
+
+    Object fontKey = Arrays.asList(document, family, bold);
+    StandardType1Font font = fonts.get(fontKey);
+    if(font == null)
+    {fonts.put(fontKey, font = new StandardType1Font(document, family, bold, false));}
+    return font;
+  }
   // </public>
   // </interface>
   // </dynamic>
   // </class>
-}
\ No newline at end of file
+}
\ No newline at end of file
@@ -25,6 +25,8 @@
 
 package org.pdfclown.documents.interaction.forms.styles;
 
+import java.util.Collection;
+
 import org.pdfclown.documents.contents.colorSpaces.Color;
 import org.pdfclown.documents.contents.colorSpaces.DeviceRGBColor;
 import org.pdfclown.documents.interaction.forms.Field;
@@ -61,6 +63,21 @@ public abstract class FieldStyle
     Field field
     );
 
+  /**
+    Applies this style to the specified fields in a single pass.
+    <p>Styles may share resources (such as fonts) across the appearances generated within the
+    same pass.</p>
+
+    @since 0.2.0
+  */
+  public void apply(
+    Collection<? extends Field> fields
+    )
+  {
+    for(Field field : fields)
+    {apply(field);}
+  }
+
   public Color<?> getBackColor(
     )
   {return backColor;}
@@ -118,4 +135,4 @@ public abstract class FieldStyle
   // </interface>
   // </dynamic>
   // </class>
-}
\ No newline at end of file
+}
\ No newline at end of file
@@ -30,7 +30,7 @@ import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.Date;
-import java.util.Random;
+import java.util.Map;
 
 import org.pdfclown.Version;
 import org.pdfclown.VersionEnum;
@@ -40,13 +40,17 @@ import org.pdfclown.bytes.IInputStream;
 import org.pdfclown.bytes.IOutputStream;
 import org.pdfclown.bytes.OutputStream;
 import org.pdfclown.documents.Document;
+import org.pdfclown.documents.contents.fonts.CompositeFont;
 import org.pdfclown.documents.interchange.metadata.Information;
 import org.pdfclown.objects.Cloner;
+import org.pdfclown.objects.PdfArray;
 import org.pdfclown.objects.PdfDataObject;
 import org.pdfclown.objects.PdfDictionary;
+import org.pdfclown.objects.PdfDirectObject;
 import org.pdfclown.objects.PdfIndirectObject;
 import org.pdfclown.objects.PdfName;
 import org.pdfclown.objects.PdfReference;
+import org.pdfclown.tokens.FileParser;
 import org.pdfclown.tokens.Reader;
 import org.pdfclown.tokens.Reader.FileInfo;
 import org.pdfclown.tokens.Writer;
@@ -77,17 +81,10 @@ public final class File
   }
   // </classes>
 
-  // <static>
-  // <fields>
-  private static Random hashCodeGenerator = new Random();
-  // </fields>
-  // </static>
-
   // <dynamic>
   // <fields>
   private final FileConfiguration configuration = new FileConfiguration(this);
   private final Document document;
-  private final int hashCode = hashCodeGenerator.nextInt();
   private final IndirectObjects indirectObjects;
   private String path;
   private Reader reader;
@@ -150,6 +147,25 @@ public final class File
     document = new Document(trailer.get(PdfName.Root));
     getConfiguration().setXRefMode(PdfName.XRef.equals(trailer.get(PdfName.Type)) ? XRefModeEnum.Compressed : XRefModeEnum.Plain);
   }
+
+  /**
+    Creates an overlay of the specified template.
+
+    @see FileTemplate#open()
+  */
+  File(
+    FileTemplate template
+    )
+  {
+    File base = template.getBase();
+    reader = new Reader(new Buffer(template.getData()), this);
+
+    version = base.version;
+    trailer = prepareTrailer((PdfDictionary)copy(base.trailer));
+    indirectObjects = base.indirectObjects.overlay(this);
+    document = new Document(trailer.get(PdfName.Root));
+    getConfiguration().setXRefMode(base.getConfiguration().getXRefMode());
+  }
   // </constructors>
 
   // <interface>
@@ -226,11 +242,6 @@ public final class File
     )
   {return version;}
 
-  @Override
-  public int hashCode(
-    )
-  {return hashCode;}
-
   /**
     Gets whether the initial state of this file has been modified.
   */
@@ -349,20 +360,7 @@ public final class File
     SerializationModeEnum mode
     )
   {
-    Information information = getDocument().getInformation();
-    if(getReader() == null)
-    {
-      information.setCreationDate(new Date());
-      try
-      {
-        Package package_ = getClass().getPackage();
-        information.setProducer(package_.getSpecificationTitle() + " " + package_.getSpecificationVersion());
-      }
-      catch(Exception e)
-      {/* NOOP */}
-    }
-    else
-    {information.setModificationDate(new Date());}
+    prepareSave();
 
     Writer writer = Writer.get(this, stream);
     writer.write(mode);
@@ -407,8 +405,9 @@ public final class File
       /*
         NOTE: If the temporary file exists (see save() method), it must overwrite the document file.
       */
-      java.io.File sourceFile = new java.io.File(getTempPath());
-      if(sourceFile.exists())
+      String tempPath = getTempPath();
+      java.io.File sourceFile = tempPath != null ? new java.io.File(tempPath) : null;
+      if(sourceFile != null && sourceFile.exists())
       {
         java.io.File targetFile = new java.io.File(path);
         targetFile.delete();
@@ -419,6 +418,59 @@ public final class File
   // </Closeable>
   // </public>
 
+  // <internal>
+  /**
+    Instruments the file stream with the specified metrics listener.
+
+    @param listener Metrics listener ({@code null} to remove the instrumentation).
+  */
+  void instrument(
+    IMetricsListener listener
+    )
+  {
+    if(reader == null)
+      return;
+
+    FileParser parser = reader.getParser();
+    IInputStream stream = parser.getStream();
+    if(stream instanceof MeteredInputStream)
+    {stream = ((MeteredInputStream)stream).getBaseStream();}
+    parser.setStream(listener != null ? new MeteredInputStream(stream, listener) : stream);
+  }
+
+  /**
+    Updates the document state before its serialization (document information, font subsets).
+  */
+  void prepareSave(
+    )
+  {
+    Information information = getDocument().getInformation();
+    if(getReader() == null)
+    {
+      information.setCreationDate(new Date());
+      try
+      {
+        Package package_ = getClass().getPackage();
+        information.setProducer(package_.getSpecificationTitle() + " " + package_.getSpecificationVersion());
+      }
+      catch(Exception e)
+      {/* NOOP */}
+    }
+    else
+    {information.setModificationDate(new Date());}
+
+    // Embedded font subsetting.
+    if(getDocument().getConfiguration().isFontSubsettingEnabled())
+    {
+      for(Object cachedObject : getDocument().cache.values())
+      {
+        if(cachedObject instanceof CompositeFont)
+        {((CompositeFont)cachedObject).subset();}
+      }
+    }
+  }
+  // </internal>
+
   // <protected>
   @Override
   protected void finalize(
@@ -432,6 +484,37 @@ public final class File
   // </protected>
 
   // <private>
+  /**
+    Copies the specified base object into this file.
+    <p>References are rebound to this file, whilst simple objects (being immutable) are shared.</p>
+  */
+  private PdfDirectObject copy(
+    PdfDirectObject object
+    )
+  {
+    if(object instanceof PdfReference)
+    {
+      PdfReference reference = (PdfReference)object;
+      return new PdfReference(reference.getObjectNumber(), reference.getGenerationNumber(), this);
+    }
+    else if(object instanceof PdfDictionary)
+    {
+      PdfDictionary dictionary = new PdfDictionary();
+      for(Map.Entry<PdfName,PdfDirectObject> entry : ((PdfDictionary)object).entrySet())
+      {dictionary.put(entry.getKey(), copy(entry.getValue()));}
+      return dictionary;
+    }
+    else if(object instanceof PdfArray)
+    {
+      PdfArray array = new PdfArray();
+      for(PdfDirectObject item : (PdfArray)object)
+      {array.add(copy(item));}
+      return array;
+    }
+    else
+      return object;
+  }
+
   private String getTempPath(
     )
   {return (path == null ? null : path + ".tmp");}
@@ -28,6 +28,7 @@ package org.pdfclown.files;
 import java.text.DecimalFormat;
 import java.text.DecimalFormatSymbols;
 
+import org.pdfclown.tokens.RealFormatter;
 import org.pdfclown.util.StringUtils;
 
 /**
@@ -41,7 +42,9 @@ public final class FileConfiguration
 {
   // <dynamic>
   // <fields>
+  private IMetricsListener metricsListener;
   private DecimalFormat realFormat;
+  private RealFormatter realFormatter;
   private boolean streamFilterEnabled;
   private XRefModeEnum xrefMode = XRefModeEnum.Plain;
 
@@ -69,16 +72,35 @@ public final class FileConfiguration
     )
   {return file;}
 
+  /**
+    Gets the listener notified about the I/O and parsing activity of the file.
+
+    @return {@code null}, if metrics are disabled (default).
+    @since 0.2.0
+  */
+  public IMetricsListener getMetricsListener(
+    )
+  {return metricsListener;}
+
   public DecimalFormat getRealFormat(
     )
   {return realFormat;}
 
+  /**
+    Gets the formatter applied to real numbers' serialization.
+
+    @since 0.2.0
+  */
+  public RealFormatter getRealFormatter(
+    )
+  {return realFormatter;}
+
   /**
     Gets the number of decimal places applied to real numbers' serialization.
   */
   public int getRealPrecision(
     )
-  {return realFormat.getMaximumFractionDigits();}
+  {return realFormatter.getPrecision();}
 
   /**
     Gets the document's cross-reference mode.
@@ -94,6 +116,18 @@ public final class FileConfiguration
     )
   {return streamFilterEnabled;}
 
+  /**
+    @see #getMetricsListener()
+    @since 0.2.0
+  */
+  public void setMetricsListener(
+    IMetricsListener value
+    )
+  {
+    metricsListener = value;
+    file.instrument(value);
+  }
+
   /**
     @see #getRealPrecision()
   */
@@ -104,6 +138,7 @@ public final class FileConfiguration
     DecimalFormatSymbols symbols = new DecimalFormatSymbols();
     symbols.setDecimalSeparator('.');
     realFormat = new DecimalFormat("0." + StringUtils.repeat("#", value <= 0 ? 5 : value), symbols);
+    realFormatter = new RealFormatter(value <= 0 ? 5 : value);
   }
 
   /**
@@ -122,6 +157,18 @@ public final class FileConfiguration
     )
   {file.getDocument().checkCompatibility(xrefMode = value);}
 
+  /**
+    @see #setMetricsListener(IMetricsListener)
+    @since 0.2.0
+  */
+  public FileConfiguration withMetricsListener(
+    IMetricsListener value
+    )
+  {
+    setMetricsListener(value);
+    return this;
+  }
+
   /**
     @see #setRealPrecision(int)
   */
@@ -0,0 +1,322 @@
+/*
+  Copyright 2026 Stefano Chizzolini. http://www.pdfclown.org
+
+  Contributors:
+    * Stefano Chizzolini (original code developer, http://www.stefanochizzolini.it)
+
+  This file should be part of the source code distribution of "PDF Clown library"
+  (the Program): see the accompanying README files for more info.
+
+  This Program is free software; you can redistribute it and/or modify it under the terms
+  of the GNU Lesser General Public License as published by the Free Software Foundation;
+  either version 3 of the License, or (at your option) any later version.
+
+  This Program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY,
+  either expressed or implied; without even the implied warranty of MERCHANTABILITY or
+  FITNESS FOR A PARTICULAR PURPOSE. See the License for more details.
+
+  You should have received a copy of the GNU Lesser General Public License along with this
+  Program (see README files); if not, go to the GNU website (http://www.gnu.org/licenses/).
+
+  Redistribution and use, with or without modification, are permitted provided that such
+  redistributions retain the above copyright notice, license and disclaimer, along with
+  this list of conditions.
+*/
+
+
+package org.pdfclown.files;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.pdfclown.documents.contents.IContentContext;
+import org.pdfclown.objects.PdfIndirectObject;
+import org.pdfclown.objects.PdfName;
+
+/**
+  File metrics collector.
+  <p>It accumulates the counters and timers notified by the files it's {@link
+  FileConfiguration#setMetricsListener(IMetricsListener) attached} to; as it may be shared across
+  files, it's thread-safe.</p>
+
+  @author Stefano Chizzolini (http://www.stefanochizzolini.it)
+  @since 0.2.0
+  @version 0.2.0, 10/19/26
+*/
+public final class FileMetrics
+  implements IMetricsListener
+{
+  // <class>
+  // <classes>
+  /**
+    Decoding metrics of a filter.
+  */
+  public static final class DecodeMetrics
+  {
+    private long count;
+    private long inputLength;
+    private long outputLength;
+    private long time;
+
+    private DecodeMetrics(
+      )
+    {}
+
+    private DecodeMetrics(
+      DecodeMetrics metrics
+      )
+    {
+      count = metrics.count;
+      inputLength = metrics.inputLength;
+      outputLength = metrics.outputLength;
+      time = metrics.time;
+    }
+
+    /**
+      Gets the number of decoded streams.
+    */
+    public long getCount(
+      )
+    {return count;}
+
+    /**
+      Gets the number of encoded bytes.
+    */
+    public long getInputLength(
+      )
+    {return inputLength;}
+
+    /**
+      Gets the number of decoded bytes.
+    */
+    public long getOutputLength(
+      )
+    {return outputLength;}
+
+    /**
+      Gets the decoding time (nanoseconds).
+    */
+    public long getTime(
+      )
+    {return time;}
+  }
+  // </classes>
+
+  // <dynamic>
+  // <fields>
+  private long contentOperationCount;
+  private long contentParseCount;
+  private long contentParseTime;
+  private long contentTokenCount;
+  private final Map<PdfName,DecodeMetrics> decodeMetrics = new LinkedHashMap<PdfName,DecodeMetrics>();
+  private long objectParseTime;
+  private long objectTokenCount;
+  private long parsedObjectCount;
+  private long readLength;
+  private long seekCount;
+  private long wokenObjectCount;
+  private final long[] writeTimes = new long[WritePhaseEnum.values().length];
+  // </fields>
+
+  // <interface>
+  // <public>
+  /**
+    Gets the number of parsed content operations.
+  */
+  public synchronized long getContentOperationCount(
+    )
+  {return contentOperationCount;}
+
+  /**
+    Gets the number of content parsings (for example, page contents).
+  */
+  public synchronized long getContentParseCount(
+    )
+  {return contentParseCount;}
+
+  /**
+    Gets the time spent parsing contents (nanoseconds).
+  */
+  public synchronized long getContentParseTime(
+    )
+  {return contentParseTime;}
+
+  /**
+    Gets the number of parsed content tokens.
+  */
+  public synchronized long getContentTokenCount(
+    )
+  {return contentTokenCount;}
+
+  /**
+    Gets the decoding metrics by filter.
+  */
+  public synchronized Map<PdfName,DecodeMetrics> getDecodeMetrics(
+    )
+  {
+    Map<PdfName,DecodeMetrics> decodeMetrics = new LinkedHashMap<PdfName,DecodeMetrics>();
+    for(Map.Entry<PdfName,DecodeMetrics> entry : this.decodeMetrics.entrySet())
+    {decodeMetrics.put(entry.getKey(), new DecodeMetrics(entry.getValue()));}
+    return Collections.unmodifiableMap(decodeMetrics);
+  }
+
+  /**
+    Gets the time spent parsing indirect objects (nanoseconds).
+  */
+  public synchronized long getObjectParseTime(
+    )
+  {return objectParseTime;}
+
+  /**
+    Gets the number of tokens parsed from the file for indirect objects.
+  */
+  public synchronized long getObjectTokenCount(
+    )
+  {return objectTokenCount;}
+
+  /**
+    Gets the number of parsed indirect objects.
+  */
+  public synchronized long getParsedObjectCount(
+    )
+  {return parsedObjectCount;}
+
+  /**
+    Gets the number of bytes read from the file.
+  */
+  public synchronized long getReadLength(
+    )
+  {return readLength;}
+
+  /**
+    Gets the number of file pointer moves.
+  */
+  public synchronized long getSeekCount(
+    )
+  {return seekCount;}
+
+  /**
+    Gets the number of woken indirect objects.
+  */
+  public synchronized long getWokenObjectCount(
+    )
+  {return wokenObjectCount;}
+
+  /**
+    Gets the time spent in the specified serialization phase (nanoseconds).
+  */
+  public synchronized long getWriteTime(
+    WritePhaseEnum phase
+    )
+  {return writeTimes[phase.ordinal()];}
+
+  @Override
+  public synchronized void onContentParsed(
+    IContentContext context,
+    int operationCount,
+    long tokenCount,
+    long time
+    )
+  {
+    contentParseCount++;
+    contentOperationCount += operationCount;
+    contentTokenCount += tokenCount;
+    contentParseTime += time;
+  }
+
+  @Override
+  public synchronized void onObjectParsed(
+    PdfIndirectObject object,
+    long tokenCount,
+    long time
+    )
+  {
+    parsedObjectCount++;
+    objectTokenCount += tokenCount;
+    objectParseTime += time;
+  }
+
+  @Override
+  public synchronized void onObjectWoken(
+    PdfIndirectObject object
+    )
+  {wokenObjectCount++;}
+
+  @Override
+  public synchronized void onRead(
+    long length
+    )
+  {readLength += length;}
+
+  @Override
+  public synchronized void onSeek(
+    long position
+    )
+  {seekCount++;}
+
+  @Override
+  public synchronized void onStreamDecoded(
+    PdfName filterName,
+    long inputLength,
+    long outputLength,
+    long time
+    )
+  {
+    DecodeMetrics metrics = decodeMetrics.get(filterName);
+    if(metrics == null)
+    {decodeMetrics.put(filterName, metrics = new DecodeMetrics());}
+    metrics.count++;
+    metrics.inputLength += inputLength;
+    metrics.outputLength += outputLength;
+    metrics.time += time;
+  }
+
+  @Override
+  public synchronized void onWritePhase(
+    WritePhaseEnum phase,
+    long time
+    )
+  {writeTimes[phase.ordinal()] += time;}
+
+  /**
+    Resets all the metrics.
+  */
+  public synchronized void reset(
+    )
+  {
+    contentOperationCount = contentParseCount = contentParseTime = contentTokenCount = 0;
+    decodeMetrics.clear();
+    objectParseTime = objectTokenCount = parsedObjectCount = 0;
+    readLength = seekCount = wokenObjectCount = 0;
+    for(int index = 0; index < writeTimes.length; index++)
+    {writeTimes[index] = 0;}
+  }
+
+  @Override
+  public synchronized String toString(
+    )
+  {
+    StringBuilder builder = new StringBuilder();
+    builder.append("read: ").append(readLength).append(" bytes, ").append(seekCount).append(" seeks\n");
+    builder.append("objects: ").append(wokenObjectCount).append(" woken, ").append(parsedObjectCount).append(" parsed (")
+      .append(objectTokenCount).append(" tokens, ").append(objectParseTime / 1000000).append(" ms)\n");
+    builder.append("contents: ").append(contentParseCount).append(" parsed (").append(contentOperationCount).append(" operations, ")
+      .append(contentTokenCount).append(" tokens, ").append(contentParseTime / 1000000).append(" ms)\n");
+    for(Map.Entry<PdfName,DecodeMetrics> entry : decodeMetrics.entrySet())
+    {
+      DecodeMetrics metrics = entry.getValue();
+      builder.append("decode ").append(entry.getKey().getValue()).append(": ").append(metrics.count).append(" streams, ")
+        .append(metrics.inputLength).append(" -> ").append(metrics.outputLength).append(" bytes (")
+        .append(metrics.time / 1000000).append(" ms)\n");
+    }
+    builder.append("write:");
+    for(WritePhaseEnum phase : WritePhaseEnum.values())
+    {builder.append(' ').append(phase).append(' ').append(writeTimes[phase.ordinal()] / 1000000).append(" ms");}
+    return builder.toString();
+  }
+  // </public>
+  // </interface>
+  // </dynamic>
+  // </class>
+}
@@ -0,0 +1,131 @@
+/*
+  Copyright 2026 Stefano Chizzolini. http://www.pdfclown.org
+
+  Contributors:
+    * Stefano Chizzolini (original code developer, http://www.stefanochizzolini.it)
+
+  This file should be part of the source code distribution of "PDF Clown library"
+  (the Program): see the accompanying README files for more info.
+
+  This Program is free software; you can redistribute it and/or modify it under the terms
+  of the GNU Lesser General Public License as published by the Free Software Foundation;
+  either version 3 of the License, or (at your option) any later version.
+
+  This Program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY,
+  either expressed or implied; without even the implied warranty of MERCHANTABILITY or
+  FITNESS FOR A PARTICULAR PURPOSE. See the License for more details.
+
+  You should have received a copy of the GNU Lesser General Public License along with this
+  Program (see README files); if not, go to the GNU website (http://www.gnu.org/licenses/).
+
+  Redistribution and use, with or without modification, are permitted provided that such
+  redistributions retain the above copyright notice, license and disclaimer, along with
+  this list of conditions.
+*/
+
+package org.pdfclown.files;
+
+import java.io.IOException;
+
+import org.pdfclown.bytes.FileInputStream;
+import org.pdfclown.util.io.IOUtils;
+
+/**
+  Immutable PDF file shared as the base of multiple lightweight {@link File files}.
+  <p>The template is parsed once (header, cross-reference sections and trailer); each {@link
+  #open() opened} file is a copy-on-write overlay which reads the template data without
+  replicating it, lazily parses the original indirect objects it accesses and records only its own
+  modified indirect objects. This way, many files (for example, concurrent form fillings of the
+  same document) can be opened from a template at nearly no parsing cost.</p>
+  <p>Overlays are intended to be saved in {@link SerializationModeEnum#Incremental incremental
+  mode}, so that the template data is streamed as-is, followed by the modified indirect objects
+  only.</p>
+  <p>A template is thread-safe, whilst each overlay (like any file) MUST be accessed by a single
+  thread at a time.</p>
+
+  @author Stefano Chizzolini (http://www.stefanochizzolini.it)
+  @since 0.2.0
+  @version 0.2.0, 10/19/26
+*/
+public final class FileTemplate
+{
+  // <class>
+  // <static>
+  // <interface>
+  // <private>
+  private static byte[] read(
+    String path
+    ) throws IOException
+  {
+    FileInputStream stream = new FileInputStream(new java.io.RandomAccessFile(path, "r"));
+    try
+    {return stream.toByteArray();}
+    finally
+    {IOUtils.closeQuietly(stream);}
+  }
+  // </private>
+  // </interface>
+  // </static>
+
+  // <dynamic>
+  // <fields>
+  /**
+    Shared file (never exposed).
+  */
+  private final File base;
+  private final byte[] data;
+  // </fields>
+
+  // <constructors>
+  /**
+    @param path Template file path.
+  */
+  public FileTemplate(
+    String path
+    ) throws IOException
+  {this(read(path));}
+
+  /**
+    @param file Template file.
+  */
+  public FileTemplate(
+    java.io.File file
+    ) throws IOException
+  {this(file.getAbsolutePath());}
+
+  /**
+    @param data Template data. It MUST NOT be modified after this call, as it's shared by the
+      template overlays.
+  */
+  public FileTemplate(
+    byte[] data
+    )
+  {
+    this.data = data;
+    this.base = new File(data);
+  }
+  // </constructors>
+
+  // <interface>
+  // <public>
+  /**
+    Opens a new file overlaying this template.
+  */
+  public File open(
+    )
+  {return new File(this);}
+  // </public>
+
+  // <internal>
+  File getBase(
+    )
+  {return base;}
+
+  byte[] getData(
+    )
+  {return data;}
+  // </internal>
+  // </interface>
+  // </dynamic>
+  // </class>
+}
@@ -0,0 +1,128 @@
+/*
+  Copyright 2026 Stefano Chizzolini. http://www.pdfclown.org
+
+  Contributors:
+    * Stefano Chizzolini (original code developer, http://www.stefanochizzolini.it)
+
+  This file should be part of the source code distribution of "PDF Clown library"
+  (the Program): see the accompanying README files for more info.
+
+  This Program is free software; you can redistribute it and/or modify it under the terms
+  of the GNU Lesser General Public License as published by the Free Software Foundation;
+  either version 3 of the License, or (at your option) any later version.
+
+  This Program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY,
+  either expressed or implied; without even the implied warranty of MERCHANTABILITY or
+  FITNESS FOR A PARTICULAR PURPOSE. See the License for more details.
+
+  You should have received a copy of the GNU Lesser General Public License along with this
+  Program (see README files); if not, go to the GNU website (http://www.gnu.org/licenses/).
+
+  Redistribution and use, with or without modification, are permitted provided that such
+  redistributions retain the above copyright notice, license and disclaimer, along with
+  this list of conditions.
+*/
+
+
+package org.pdfclown.files;
+
+import org.pdfclown.documents.contents.IContentContext;
+import org.pdfclown.objects.PdfIndirectObject;
+import org.pdfclown.objects.PdfName;
+
+/**
+  File metrics listener.
+  <p>It's notified about the I/O and parsing activity of a {@link File file} (see {@link
+  FileConfiguration#setMetricsListener(IMetricsListener)}), so that costly operations can be
+  diagnosed, or bridged to a metrics system. When no listener is set, no measurement is done.</p>
+  <p>Times are expressed in nanoseconds.</p>
+
+  @author Stefano Chizzolini (http://www.stefanochizzolini.it)
+  @since 0.2.0
+  @version 0.2.0, 10/19/26
+*/
+public interface IMetricsListener
+{
+  /**
+    Notifies that content objects have been parsed.
+
+    @param context Content context (for example, a page).
+    @param operationCount Number of parsed operations.
+    @param tokenCount Number of parsed tokens.
+    @param time Parsing time.
+  */
+  void onContentParsed(
+    IContentContext context,
+    int operationCount,
+    long tokenCount,
+    long time
+    );
+
+  /**
+    Notifies that the data object of an indirect object has been parsed.
+
+    @param object Indirect object.
+    @param tokenCount Number of tokens parsed from the file (objects within object streams are
+      parsed along with their stream, so they count zero).
+    @param time Parsing time.
+  */
+  void onObjectParsed(
+    PdfIndirectObject object,
+    long tokenCount,
+    long time
+    );
+
+  /**
+    Notifies that an original indirect object has been woken (that is, instantiated on first
+    access, before its data object is parsed).
+
+    @param object Indirect object.
+  */
+  void onObjectWoken(
+    PdfIndirectObject object
+    );
+
+  /**
+    Notifies that bytes have been read from the file.
+
+    @param length Number of bytes.
+  */
+  void onRead(
+    long length
+    );
+
+  /**
+    Notifies that the file pointer has been moved.
+
+    @param position Target position.
+  */
+  void onSeek(
+    long position
+    );
+
+  /**
+    Notifies that a stream has been decoded through a filter.
+
+    @param filterName Filter name.
+    @param inputLength Number of encoded bytes.
+    @param outputLength Number of decoded bytes.
+    @param time Decoding time.
+  */
+  void onStreamDecoded(
+    PdfName filterName,
+    long inputLength,
+    long outputLength,
+    long time
+    );
+
+  /**
+    Notifies that a serialization phase has been completed.
+
+    @param phase Serialization phase.
+    @param time Phase time.
+  */
+  void onWritePhase(
+    WritePhaseEnum phase,
+    long time
+    );
+}
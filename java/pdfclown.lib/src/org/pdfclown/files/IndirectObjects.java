@@ -67,6 +67,10 @@ public final class IndirectObjects
   // <class>
   // <dynamic>
   // <fields>
+  /**
+    Shared indirect objects this collection overlays (see {@link FileTemplate}).
+  */
+  private final IndirectObjects base;
   /**
     Associated file.
   */
@@ -109,6 +113,7 @@ public final class IndirectObjects
     SortedMap<Integer,XRefEntry> xrefEntries
     )
   {
+    this.base = null;
     this.file = file;
     this.xrefEntries = xrefEntries;
     if(this.xrefEntries == null) // No original indirect objects.
@@ -139,6 +144,19 @@ public final class IndirectObjects
       lastObjectNumber = xrefEntries.lastKey();
     }
   }
+
+  private IndirectObjects(
+    IndirectObjects base,
+    File file
+    )
+  {
+    this.base = base;
+    this.file = file;
+    this.xrefEntries = base.xrefEntries;
+
+    // Adjust the object counter!
+    lastObjectNumber = base.lastObjectNumber;
+  }
   // </constructors>
 
   // <interface>
@@ -251,8 +269,12 @@ public final class IndirectObjects
     )
   {throw new UnsupportedOperationException();}
 
+  /*
+    NOTE: Original objects are lazily woken, so retrieval is synchronized in order to support
+    concurrent reading (see PdfIndirectObject.getDataObject()).
+  */
   @Override
-  public PdfIndirectObject get(
+  public synchronized PdfIndirectObject get(
     int index
     )
   {
@@ -279,15 +301,22 @@ public final class IndirectObjects
             do not actually occur in the file. However, for resilience purposes missing entries are
             treated as free ones.
           */
-          xrefEntries.put(
+          xrefEntry = new XRefEntry(
             index,
-            xrefEntry = new XRefEntry(
-              index,
-              XRefEntry.GenerationUnreusable,
-              0,
-              XRefEntry.UsageEnum.Free
-              )
+            XRefEntry.GenerationUnreusable,
+            0,
+            XRefEntry.UsageEnum.Free
             );
+          if(base == null)
+          {xrefEntries.put(index, xrefEntry);}
+        }
+        else if(base != null)
+        {
+          /*
+            NOTE: Base entries are shared across overlays, so they have to be copied before any
+            change (see PdfIndirectObject).
+          */
+          xrefEntry = xrefEntry.clone();
         }
 
         // Awake the object!
@@ -296,6 +325,10 @@ public final class IndirectObjects
           multiple incoherent instantiations of the same original indirect object.
         */
         wokenObjects.put(index, object = new PdfIndirectObject(file, null, xrefEntry));
+
+        IMetricsListener metricsListener = file.getConfiguration().getMetricsListener();
+        if(metricsListener != null)
+        {metricsListener.onObjectWoken(object);}
       }
     }
     return object;
@@ -559,6 +592,18 @@ public final class IndirectObjects
   // </public>
 
   // <internal>
+  /**
+    Creates an overlay of this collection.
+    <p>The original indirect objects of this collection are shared read-only: their entries are
+    copied on wake-up, whilst any change is recorded by the overlay only.</p>
+
+    @param file File associated to the overlay.
+  */
+  IndirectObjects overlay(
+    File file
+    )
+  {return new IndirectObjects(this, file);}
+
   /**
     <span style="color:red">For internal use only.</span>
   */
@@ -0,0 +1,223 @@
+/*
+  Copyright 2026 Stefano Chizzolini. http://www.pdfclown.org
+
+  Contributors:
+    * Stefano Chizzolini (original code developer, http://www.stefanochizzolini.it)
+
+  This file should be part of the source code distribution of "PDF Clown library"
+  (the Program): see the accompanying README files for more info.
+
+  This Program is free software; you can redistribute it and/or modify it under the terms
+  of the GNU Lesser General Public License as published by the Free Software Foundation;
+  either version 3 of the License, or (at your option) any later version.
+
+  This Program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY,
+  either expressed or implied; without even the implied warranty of MERCHANTABILITY or
+  FITNESS FOR A PARTICULAR PURPOSE. See the License for more details.
+
+  You should have received a copy of the GNU Lesser General Public License along with this
+  Program (see README files); if not, go to the GNU website (http://www.gnu.org/licenses/).
+
+  Redistribution and use, with or without modification, are permitted provided that such
+  redistributions retain the above copyright notice, license and disclaimer, along with
+  this list of conditions.
+*/
+
+
+package org.pdfclown.files;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteOrder;
+
+import org.pdfclown.bytes.IInputStream;
+
+/**
+  Input stream notifying its reads to a metrics listener.
+
+  @author Stefano Chizzolini (http://www.stefanochizzolini.it)
+  @since 0.2.0
+  @version 0.2.0, 10/19/26
+*/
+final class MeteredInputStream
+  implements IInputStream
+{
+  // <class>
+  // <dynamic>
+  // <fields>
+  private final IInputStream baseStream;
+  private final IMetricsListener listener;
+  // </fields>
+
+  // <constructors>
+  MeteredInputStream(
+    IInputStream baseStream,
+    IMetricsListener listener
+    )
+  {
+    this.baseStream = baseStream;
+    this.listener = listener;
+  }
+  // </constructors>
+
+  // <interface>
+  // <public>
+  /**
+    Gets the instrumented stream.
+  */
+  public IInputStream getBaseStream(
+    )
+  {return baseStream;}
+
+  @Override
+  public ByteOrder getByteOrder(
+    )
+  {return baseStream.getByteOrder();}
+
+  @Override
+  public long getLength(
+    )
+  {return baseStream.getLength();}
+
+  @Override
+  public long getPosition(
+    )
+  {return baseStream.getPosition();}
+
+  @Override
+  public int hashCode(
+    )
+  {return baseStream.hashCode();}
+
+  @Override
+  public void read(
+    byte[] data
+    ) throws EOFException
+  {
+    baseStream.read(data);
+    listener.onRead(data.length);
+  }
+
+  @Override
+  public void read(
+    byte[] data,
+    int offset,
+    int length
+    ) throws EOFException
+  {
+    baseStream.read(data, offset, length);
+    listener.onRead(length);
+  }
+
+  @Override
+  public byte readByte(
+    ) throws EOFException
+  {
+    byte value = baseStream.readByte();
+    listener.onRead(1);
+    return value;
+  }
+
+  @Override
+  public int readInt(
+    ) throws EOFException
+  {
+    int value = baseStream.readInt();
+    listener.onRead(4);
+    return value;
+  }
+
+  @Override
+  public int readInt(
+    int length
+    ) throws EOFException
+  {
+    int value = baseStream.readInt(length);
+    listener.onRead(length);
+    return value;
+  }
+
+  @Override
+  public String readLine(
+    ) throws EOFException
+  {
+    long position = baseStream.getPosition();
+    String value = baseStream.readLine();
+    listener.onRead(baseStream.getPosition() - position);
+    return value;
+  }
+
+  @Override
+  public short readShort(
+    ) throws EOFException
+  {
+    short value = baseStream.readShort();
+    listener.onRead(2);
+    return value;
+  }
+
+  @Override
+  public String readString(
+    int length
+    ) throws EOFException
+  {
+    String value = baseStream.readString(length);
+    listener.onRead(length);
+    return value;
+  }
+
+  @Override
+  public int readUnsignedByte(
+    ) throws EOFException
+  {
+    int value = baseStream.readUnsignedByte();
+    listener.onRead(1);
+    return value;
+  }
+
+  @Override
+  public int readUnsignedShort(
+    ) throws EOFException
+  {
+    int value = baseStream.readUnsignedShort();
+    listener.onRead(2);
+    return value;
+  }
+
+  @Override
+  public void seek(
+    long position
+    ) throws EOFException
+  {
+    baseStream.seek(position);
+    listener.onSeek(position);
+  }
+
+  @Override
+  public void setByteOrder(
+    ByteOrder value
+    )
+  {baseStream.setByteOrder(value);}
+
+  @Override
+  public void skip(
+    long offset
+    ) throws EOFException
+  {baseStream.skip(offset);}
+
+  @Override
+  public byte[] toByteArray(
+    )
+  {return baseStream.toByteArray();}
+
+  // <Closeable>
+  @Override
+  public void close(
+    ) throws IOException
+  {baseStream.close();}
+  // </Closeable>
+  // </public>
+  // </interface>
+  // </dynamic>
+  // </class>
+}
@@ -0,0 +1,278 @@
+/*
+  Copyright 2026 Stefano Chizzolini. http://www.pdfclown.org
+
+  Contributors:
+    * Stefano Chizzolini (original code developer, http://www.stefanochizzolini.it)
+
+  This file should be part of the source code distribution of "PDF Clown library"
+  (the Program): see the accompanying README files for more info.
+
+  This Program is free software; you can redistribute it and/or modify it under the terms
+  of the GNU Lesser General Public License as published by the Free Software Foundation;
+  either version 3 of the License, or (at your option) any later version.
+
+  This Program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY,
+  either expressed or implied; without even the implied warranty of MERCHANTABILITY or
+  FITNESS FOR A PARTICULAR PURPOSE. See the License for more details.
+
+  You should have received a copy of the GNU Lesser General Public License along with this
+  Program (see README files); if not, go to the GNU website (http://www.gnu.org/licenses/).
+
+  Redistribution and use, with or without modification, are permitted provided that such
+  redistributions retain the above copyright notice, license and disclaimer, along with
+  this list of conditions.
+*/
+
+package org.pdfclown.files;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.pdfclown.bytes.IOutputStream;
+import org.pdfclown.documents.Page;
+import org.pdfclown.objects.PdfArray;
+import org.pdfclown.objects.PdfDataObject;
+import org.pdfclown.objects.PdfDictionary;
+import org.pdfclown.objects.PdfDirectObject;
+import org.pdfclown.objects.PdfIndirectObject;
+import org.pdfclown.objects.PdfName;
+import org.pdfclown.objects.PdfReference;
+import org.pdfclown.objects.PdfStream;
+import org.pdfclown.tokens.Writer;
+
+/**
+  Streaming file writer.
+  <p>It serializes the pages of a new file as soon as they are completed, so that memory
+  consumption doesn't grow along with the page count (useful to generate large documents such as
+  reports):</p>
+  <ol>
+    <li>{@link #flushPage(Page) flush} each page once it has been appended to the document and its
+    contents have been composed (that is, its content composer has been flushed);</li>
+    <li>{@link #commit() commit} the serialization once all the pages have been added.</li>
+  </ol>
+  <p>On page flush, the objects reachable from the page (content streams, images, form XObjects,
+  annotations and so on) are written to the target stream and released, except fonts (which may be
+  updated until the end, for example on subsetting) and page tree nodes, which stay resident until
+  commit along with the document-level objects. The page dictionary itself is written as soon as
+  its position within the page tree is final.</p>
+  <p>Flushed objects can be referenced, but neither accessed nor modified anymore: as a
+  consequence, pages MUST be appended only, and objects shared across pages (such as a logo image)
+  MUST NOT be changed after their first flush.</p>
+
+  @author Stefano Chizzolini (http://www.stefanochizzolini.it)
+  @since 0.2.0
+  @version 0.2.0, 10/19/26
+*/
+public final class StreamingWriter
+{
+  // <class>
+  // <static>
+  // <fields>
+  /**
+    Types of the objects shared across pages, which are never flushed along with a page.
+  */
+  private static final Set<PdfName> SharedTypes = new HashSet<PdfName>(
+    Arrays.asList(
+      PdfName.Font,
+      PdfName.Page,
+      PdfName.Pages
+      )
+    );
+  // </fields>
+  // </static>
+
+  // <dynamic>
+  // <fields>
+  private boolean committed;
+  private final File file;
+  /**
+    Flushed pages whose dictionaries wait for their position within the page tree to be final.
+  */
+  private final List<Page> pendingPages = new ArrayList<Page>();
+  private final Writer writer;
+  // </fields>
+
+  // <constructors>
+  /**
+    @param file New file to serialize.
+    @param stream Target stream. It's caller responsibility to close it after commit.
+  */
+  public StreamingWriter(
+    File file,
+    IOutputStream stream
+    )
+  {
+    if(file.getReader() != null)
+      throw new IllegalArgumentException("Streaming serialization is available to new files only.");
+
+    this.file = file;
+    this.writer = Writer.get(file, stream);
+  }
+  // </constructors>
+
+  // <interface>
+  // <public>
+  /**
+    Completes the serialization, writing all the objects not flushed yet (shared resources,
+    page tree, document-level objects) along with the cross-reference information.
+  */
+  public void commit(
+    )
+  {
+    checkCommitted();
+
+    file.prepareSave();
+    writer.write(SerializationModeEnum.Standard);
+    pendingPages.clear();
+    committed = true;
+  }
+
+  /**
+    Serializes the specified page along with its private resources, releasing them.
+
+    @param page Page to flush. It MUST have been appended to the document.
+  */
+  public void flushPage(
+    Page page
+    )
+  {
+    checkCommitted();
+    if(page.getFile() != file)
+      throw new IllegalArgumentException("page MUST belong to the serialized file.");
+
+    PdfDictionary pageData = page.getBaseDataObject();
+    if(!pageData.containsKey(PdfName.Parent))
+      throw new IllegalArgumentException("page MUST be added to the document before being flushed.");
+
+    // 1. Page resources.
+    List<PdfIndirectObject> objects = new ArrayList<PdfIndirectObject>();
+    collect(pageData, objects, new HashSet<PdfIndirectObject>());
+    writer.flush(objects);
+
+    // 2. Page dictionaries.
+    /*
+      NOTE: As appended pages may cause the last leaf node of the page tree to split, the pages it
+      holds have to be kept resident (their parent may change); the other leaf nodes are no longer
+      affected by appending, so their pages are final.
+    */
+    pendingPages.add(page);
+    PdfDictionary lastLeafData = getLastLeaf();
+    objects.clear();
+    for(Iterator<Page> pendingPagesIterator = pendingPages.iterator(); pendingPagesIterator.hasNext();)
+    {
+      PdfDictionary pendingPageData = pendingPagesIterator.next().getBaseDataObject();
+      if(pendingPageData.resolve(PdfName.Parent) == lastLeafData)
+        break;
+
+      objects.add(pendingPageData.getReference().getIndirectObject());
+      pendingPagesIterator.remove();
+    }
+    writer.flush(objects);
+  }
+
+  /**
+    Gets the file to serialize.
+  */
+  public File getFile(
+    )
+  {return file;}
+
+  /**
+    Gets whether the serialization has been completed.
+  */
+  public boolean isCommitted(
+    )
+  {return committed;}
+  // </public>
+
+  // <private>
+  private void checkCommitted(
+    )
+  {
+    if(committed)
+      throw new IllegalStateException("Serialization already committed.");
+  }
+
+  /**
+    Collects the unflushed indirect objects reachable from the specified object, excluding the
+    shared ones.
+
+    @param object Object to explore.
+    @param objects Target collection.
+    @param visitedObjects Indirect objects already explored.
+  */
+  private void collect(
+    PdfDirectObject object,
+    List<PdfIndirectObject> objects,
+    Set<PdfIndirectObject> visitedObjects
+    )
+  {
+    if(object instanceof PdfReference)
+    {
+      PdfIndirectObject indirectObject = ((PdfReference)object).getIndirectObject();
+      if(indirectObject == null
+        || !visitedObjects.add(indirectObject)
+        || writer.isFlushed(indirectObject))
+        return;
+
+      PdfDataObject dataObject = indirectObject.getDataObject();
+      PdfDictionary dictionary = (dataObject instanceof PdfStream
+        ? ((PdfStream)dataObject).getHeader()
+        : dataObject instanceof PdfDictionary ? (PdfDictionary)dataObject : null);
+      if(dictionary != null
+        && SharedTypes.contains(dictionary.get(PdfName.Type)))
+        return;
+
+      objects.add(indirectObject);
+      if(dictionary != null)
+      {collect(dictionary, objects, visitedObjects);}
+      else if(dataObject instanceof PdfArray)
+      {collect((PdfArray)dataObject, objects, visitedObjects);}
+    }
+    else if(object instanceof PdfDictionary)
+    {
+      for(Map.Entry<PdfName,PdfDirectObject> entry : ((PdfDictionary)object).entrySet())
+      {
+        if(PdfName.Parent.equals(entry.getKey())) // NOTE: Parents are shared by definition.
+          continue;
+
+        collect(entry.getValue(), objects, visitedObjects);
+      }
+    }
+    else if(object instanceof PdfArray)
+    {
+      for(PdfDirectObject item : (PdfArray)object)
+      {collect(item, objects, visitedObjects);}
+    }
+  }
+
+  /**
+    Gets the last leaf node of the page tree (that is, the node which appended pages are added to).
+  */
+  private PdfDictionary getLastLeaf(
+    )
+  {
+    PdfDictionary node = file.getDocument().getPages().getBaseDataObject();
+    while(true)
+    {
+      PdfArray kids = (PdfArray)node.resolve(PdfName.Kids);
+      if(kids.isEmpty())
+        return node;
+
+      PdfDictionary lastKid = (PdfDictionary)kids.resolve(kids.size() - 1);
+      if(PdfName.Page.equals(lastKid.get(PdfName.Type)))
+        return node;
+
+      node = lastKid;
+    }
+  }
+  // </private>
+  // </interface>
+  // </dynamic>
+  // </class>
+}
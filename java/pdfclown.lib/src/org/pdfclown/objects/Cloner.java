@@ -26,6 +26,7 @@
 package org.pdfclown.objects;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -185,14 +186,19 @@ public class Cloner
   // <fields>
   private static final Filter NullFilter = new Filter("Default");
 
-  private static List<Filter> commonFilters = new ArrayList<Filter>();
+  /*
+    NOTE: Common filters are shared across all the cloners, so they MUST be stateless and their
+    list immutable.
+  */
+  private static final List<Filter> commonFilters;
   // </fields>
 
   // <constructors>
   static
   {
+    List<Filter> filters = new ArrayList<Filter>();
     // Page object.
-    commonFilters.add(
+    filters.add(
       new Filter("Page")
       {
         @Override
@@ -241,7 +247,7 @@ public class Cloner
       }
       );
     // Actions.
-    commonFilters.add(
+    filters.add(
       new Filter("Action")
       {
         @Override
@@ -278,7 +284,7 @@ public class Cloner
       }
       );
     // Annotations.
-    commonFilters.add(
+    filters.add(
       new Filter("Annots")
       {
         @Override
@@ -325,6 +331,7 @@ public class Cloner
         }
       }
       );
+    commonFilters = Collections.unmodifiableList(filters);
   }
   // </constructors>
   // </static>
@@ -391,8 +391,9 @@ public final class PdfArray
   public void clear(
     )
   {
-    while(!items.isEmpty())
-    {remove(0);}
+    // NOTE: Items are removed backward to avoid shifting the remaining ones.
+    for(int index = items.size() - 1; index >= 0; index--)
+    {remove(index);}
   }
 
   @Override
@@ -522,4 +523,4 @@ public final class PdfArray
   // </interface>
   // </dynamic>
   // </class>
-}
\ No newline at end of file
+}
\ No newline at end of file
@@ -25,8 +25,10 @@
 
 package org.pdfclown.objects;
 
-import java.text.SimpleDateFormat;
+import java.util.Calendar;
 import java.util.Date;
+import java.util.GregorianCalendar;
+import java.util.TimeZone;
 
 import org.pdfclown.tokens.PdfDocEncoding;
 import org.pdfclown.util.parsers.ParseException;
@@ -42,15 +44,10 @@ public final class PdfDate
 {
   // <class>
   // <static>
-  // <fields>
-  private static final SimpleDateFormat formatter;
-  // </fields>
-
-  // <constructors>
-  static
-  {formatter = new SimpleDateFormat("yyyyMMddHHmmssZ");}
-  // </constructors>
-
+  /*
+    NOTE: Date formats are not thread-safe, so dates are converted through thread-confined
+    calendars.
+  */
   // <interface>
   // <public>
   /**
@@ -99,11 +96,69 @@ public final class PdfDate
 
     // 2. Parsing.
     try
-    {return formatter.parse(dateBuilder.toString());}
+    {
+      String date = dateBuilder.toString();
+      Calendar calendar = new GregorianCalendar(TimeZone.getTimeZone("GMT"));
+      calendar.clear();
+      calendar.set(
+        parseDigits(date, 0, 4),
+        parseDigits(date, 4, 2) - 1,
+        parseDigits(date, 6, 2),
+        parseDigits(date, 8, 2),
+        parseDigits(date, 10, 2),
+        parseDigits(date, 12, 2)
+        );
+      int offset = (parseDigits(date, 15, 2) * 60 + parseDigits(date, 17, 2)) * 60000;
+      switch(date.charAt(14))
+      {
+        case '+':
+          break;
+        case '-':
+          offset = -offset;
+          break;
+        default:
+          throw new IllegalArgumentException("Invalid UT relationship: " + date.charAt(14));
+      }
+      return new Date(calendar.getTimeInMillis() - offset);
+    }
     catch(Exception exception)
     {throw new ParseException("Failed to parse the date string.", exception);}
   }
   // </public>
+
+  // <private>
+  private static int parseDigits(
+    String value,
+    int offset,
+    int length
+    )
+  {
+    int result = 0;
+    for(int index = offset, endIndex = offset + length; index < endIndex; index++)
+    {
+      char c = value.charAt(index);
+      if(c < '0' || c > '9')
+        throw new NumberFormatException("Invalid digit: " + c);
+
+      result = result * 10 + (c - '0');
+    }
+    return result;
+  }
+
+  private static void writeDigits(
+    int value,
+    byte[] buffer,
+    int offset,
+    int length
+    )
+  {
+    for(int index = offset + length - 1; index >= offset; index--)
+    {
+      buffer[index] = (byte)('0' + value % 10);
+      value /= 10;
+    }
+  }
+  // </private>
   // </interface>
   // </static>
 
@@ -142,13 +197,24 @@ public final class PdfDate
     Object value
     )
   {
+    Calendar calendar = new GregorianCalendar();
+    calendar.setTime((Date)value);
+    int offset = (calendar.get(Calendar.ZONE_OFFSET) + calendar.get(Calendar.DST_OFFSET)) / 60000;
+
     byte[] buffer = new byte[23];
     {
-      byte[] valueBytes = PdfDocEncoding.get().encode(formatter.format(value));
       buffer[0] = 68; buffer[1] = 58;
-      System.arraycopy(valueBytes, 0, buffer, 2, 17);
+      writeDigits(calendar.get(Calendar.YEAR), buffer, 2, 4);
+      writeDigits(calendar.get(Calendar.MONTH) + 1, buffer, 6, 2);
+      writeDigits(calendar.get(Calendar.DAY_OF_MONTH), buffer, 8, 2);
+      writeDigits(calendar.get(Calendar.HOUR_OF_DAY), buffer, 10, 2);
+      writeDigits(calendar.get(Calendar.MINUTE), buffer, 12, 2);
+      writeDigits(calendar.get(Calendar.SECOND), buffer, 14, 2);
+      buffer[16] = (byte)(offset < 0 ? 45 : 43);
+      offset = Math.abs(offset);
+      writeDigits(offset / 60, buffer, 17, 2);
       buffer[19] = 39;
-      System.arraycopy(valueBytes, 17, buffer, 20, 2);
+      writeDigits(offset % 60, buffer, 20, 2);
       buffer[22] = 39;
     }
     setRawValue(buffer);
@@ -157,4 +223,4 @@ public final class PdfDate
   // </interface>
   // </dynamic>
   // </class>
-}
\ No newline at end of file
+}
\ No newline at end of file
@@ -27,7 +27,9 @@ package org.pdfclown.objects;
 
 import org.pdfclown.bytes.IOutputStream;
 import org.pdfclown.files.File;
+import org.pdfclown.files.IMetricsListener;
 import org.pdfclown.tokens.Encoding;
+import org.pdfclown.tokens.FileParser;
 import org.pdfclown.tokens.Keyword;
 import org.pdfclown.tokens.ObjectStream;
 import org.pdfclown.tokens.Symbol;
@@ -54,7 +56,8 @@ public class PdfIndirectObject
 
   // <dynamic>
   // <fields>
-  private PdfDataObject dataObject;
+  private volatile PdfDataObject dataObject;
+  private boolean dataObjectDropped;
   private File file;
   private boolean original;
   private final PdfReference reference;
@@ -284,23 +287,55 @@ public class PdfIndirectObject
   {
     if(dataObject == null)
     {
-      switch (xrefEntry.getUsage())
+      if(dataObjectDropped)
+        throw new IllegalStateException("Indirect object " + reference.getId() + " already flushed (see Writer.flush(..)).");
+
+      /*
+        NOTE: Late-bound data objects are parsed through the file's shared parser cursor, so their
+        resolution is serialized on the file's indirect objects in order to support concurrent
+        reading (see TextExtractor.extract(Iterable)).
+      */
+      synchronized(file.getIndirectObjects())
       {
-        case Free: // Free entry (no data object at all).
-          break;
-        case InUse: // In-use entry (late-bound data object).
+        if(dataObject == null)
         {
-          // Get the indirect data object!
-          dataObject = include(file.getReader().getParser().parsePdfObject(xrefEntry));
-          break;
-        }
-        case InUseCompressed:
-        {
-          // Get the object stream where its data object is stored!
-          ObjectStream objectStream = (ObjectStream)file.getIndirectObjects().get(xrefEntry.getStreamNumber()).getDataObject();
-          // Get the indirect data object!
-          dataObject = include(objectStream.get(xrefEntry.getNumber()));
-          break;
+          IMetricsListener metricsListener = null;
+          long startTime = 0, startTokenCount = 0;
+          switch (xrefEntry.getUsage())
+          {
+            case Free: // Free entry (no data object at all).
+              break;
+            case InUse: // In-use entry (late-bound data object).
+            {
+              FileParser parser = file.getReader().getParser();
+              if((metricsListener = file.getConfiguration().getMetricsListener()) != null)
+              {
+                startTime = System.nanoTime();
+                startTokenCount = parser.getTokenCount();
+              }
+
+              // Get the indirect data object!
+              dataObject = include(parser.parsePdfObject(xrefEntry));
+
+              if(metricsListener != null)
+              {metricsListener.onObjectParsed(this, parser.getTokenCount() - startTokenCount, System.nanoTime() - startTime);}
+              break;
+            }
+            case InUseCompressed:
+            {
+              if((metricsListener = file.getConfiguration().getMetricsListener()) != null)
+              {startTime = System.nanoTime();}
+
+              // Get the object stream where its data object is stored!
+              ObjectStream objectStream = (ObjectStream)file.getIndirectObjects().get(xrefEntry.getStreamNumber()).getDataObject();
+              // Get the indirect data object!
+              dataObject = include(objectStream.get(xrefEntry.getNumber()));
+
+              if(metricsListener != null)
+              {metricsListener.onObjectParsed(this, 0, System.nanoTime() - startTime);}
+              break;
+            }
+          }
         }
       }
     }
@@ -382,6 +417,18 @@ public class PdfIndirectObject
   // </protected>
 
   // <internal>
+  /**
+    <span style="color:red">For internal use only.</span>
+
+    @since 0.2.0
+  */
+  public void dropDataObject(
+    )
+  {
+    dataObject = null;
+    dataObjectDropped = true;
+  }
+
   /**
     <span style="color:red">For internal use only.</span>
   */
@@ -408,4 +455,4 @@ public class PdfIndirectObject
   // </interface>
   // </dynamic>
   // </class>
-}
\ No newline at end of file
+}
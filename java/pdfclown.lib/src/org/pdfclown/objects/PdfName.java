@@ -70,6 +70,7 @@ public final class PdfName
   public static final PdfName AllOff = new PdfName("AllOff");
   public static final PdfName AllOn = new PdfName("AllOn");
   public static final PdfName AllPages = new PdfName("AllPages");
+  public static final PdfName Alternate = new PdfName("Alternate");
   public static final PdfName AN = new PdfName("AN");
   public static final PdfName And = new PdfName("And");
   public static final PdfName Annot = new PdfName("Annot");
@@ -100,6 +101,7 @@ public final class PdfName
   public static final PdfName BitsPerComponent = new PdfName("BitsPerComponent");
   public static final PdfName BitsPerSample = new PdfName("BitsPerSample");
   public static final PdfName Bl = new PdfName("Bl");
+  public static final PdfName BlackIs1 = new PdfName("BlackIs1");
   public static final PdfName BlackPoint = new PdfName("BlackPoint");
   public static final PdfName BleedBox = new PdfName("BleedBox");
   public static final PdfName Blinds = new PdfName("Blinds");
@@ -137,6 +139,7 @@ public final class PdfName
   public static final PdfName ClosedArrow = new PdfName("ClosedArrow");
   public static final PdfName CMap = new PdfName("CMap");
   public static final PdfName CMapName = new PdfName("CMapName");
+  public static final PdfName CMYK = new PdfName("CMYK");
   public static final PdfName Color = new PdfName("Color");
   public static final PdfName ColorBurn = new PdfName("ColorBurn");
   public static final PdfName ColorDodge = new PdfName("ColorDodge");
@@ -196,12 +199,15 @@ public final class PdfName
   public static final PdfName DV = new PdfName("DV");
   public static final PdfName DW = new PdfName("DW");
   public static final PdfName E = new PdfName("E");
+  public static final PdfName EarlyChange = new PdfName("EarlyChange");
   public static final PdfName EF = new PdfName("EF");
   public static final PdfName EmbeddedFile = new PdfName("EmbeddedFile");
   public static final PdfName EmbeddedFiles = new PdfName("EmbeddedFiles");
   public static final PdfName Encode = new PdfName("Encode");
+  public static final PdfName EncodedByteAlign = new PdfName("EncodedByteAlign");
   public static final PdfName Encoding = new PdfName("Encoding");
   public static final PdfName Encrypt = new PdfName("Encrypt");
+  public static final PdfName EndOfBlock = new PdfName("EndOfBlock");
   public static final PdfName Event = new PdfName("Event");
   public static final PdfName Exclusion = new PdfName("Exclusion");
   public static final PdfName Experimental = new PdfName("Experimental");
@@ -256,6 +262,7 @@ public final class PdfName
   public static final PdfName FullScreen = new PdfName("FullScreen");
   public static final PdfName Functions = new PdfName("Functions");
   public static final PdfName FunctionType = new PdfName("FunctionType");
+  public static final PdfName G = new PdfName("G");
   public static final PdfName FWParams = new PdfName("FWParams");
   public static final PdfName Gamma = new PdfName("Gamma");
   public static final PdfName Glitter = new PdfName("Glitter");
@@ -286,7 +293,9 @@ public final class PdfName
   public static final PdfName IdentityH = new PdfName("Identity-H");
   public static final PdfName IdentityV = new PdfName("Identity-V");
   public static final PdfName IF = new PdfName("IF");
+  public static final PdfName IM = new PdfName("IM");
   public static final PdfName Image = new PdfName("Image");
+  public static final PdfName ImageMask = new PdfName("ImageMask");
   public static final PdfName ImportData = new PdfName("ImportData");
   public static final PdfName Ind = new PdfName("Ind");
   public static final PdfName Index = new PdfName("Index");
@@ -296,6 +305,7 @@ public final class PdfName
   public static final PdfName InkList = new PdfName("InkList");
   public static final PdfName Insert = new PdfName("Insert");
   public static final PdfName Intent = new PdfName("Intent");
+  public static final PdfName Interpolate = new PdfName("Interpolate");
   public static final PdfName IRT = new PdfName("IRT");
   public static final PdfName IT = new PdfName("IT");
   public static final PdfName ItalicAngle = new PdfName("ItalicAngle");
@@ -339,7 +349,9 @@ public final class PdfName
   public static final PdfName M = new PdfName("M");
   public static final PdfName Mac = new PdfName("Mac");
   public static final PdfName MacRomanEncoding = new PdfName("MacRomanEncoding");
+  public static final PdfName Mask = new PdfName("Mask");
   public static final PdfName Matrix = new PdfName("Matrix");
+  public static final PdfName Matte = new PdfName("Matte");
   public static final PdfName max = new PdfName("max");
   public static final PdfName MaxLen = new PdfName("MaxLen");
   public static final PdfName MCD = new PdfName("MCD");
@@ -469,6 +481,7 @@ public final class PdfName
   public static final PdfName Root = new PdfName("Root");
   public static final PdfName ROpenArrow = new PdfName("ROpenArrow");
   public static final PdfName Rotate = new PdfName("Rotate");
+  public static final PdfName Rows = new PdfName("Rows");
   public static final PdfName RT = new PdfName("RT");
   public static final PdfName RunLengthDecode = new PdfName("RunLengthDecode");
   public static final PdfName S = new PdfName("S");
@@ -499,6 +512,7 @@ public final class PdfName
   public static final PdfName SinglePage = new PdfName("SinglePage");
   public static final PdfName Size = new PdfName("Size");
   public static final PdfName Slash = new PdfName("Slash");
+  public static final PdfName SMask = new PdfName("SMask");
   public static final PdfName SoftLight = new PdfName("SoftLight");
   public static final PdfName Sold = new PdfName("Sold");
   public static final PdfName Sound = new PdfName("Sound");
@@ -103,7 +103,7 @@ public final class PdfReal
     IOutputStream stream,
     File context
     )
-  {stream.write(context.getConfiguration().getRealFormat().format(getRawValue()));}
+  {context.getConfiguration().getRealFormatter().write(getRawValue(), stream);}
   // </public>
 
   // <protected>
@@ -115,4 +115,4 @@ public final class PdfReal
   // </protected>
   // </interface>
   // </class>
-}
\ No newline at end of file
+}
\ No newline at end of file
@@ -50,7 +50,7 @@ public final class PdfReference
   private final int generationNumber;
   private final int objectNumber;
   
-  private PdfIndirectObject indirectObject;
+  private volatile PdfIndirectObject indirectObject;
 
   private File file;
   private PdfObject parent;
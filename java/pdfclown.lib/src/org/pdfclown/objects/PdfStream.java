@@ -37,6 +37,7 @@ import org.pdfclown.bytes.filters.Filter;
 import org.pdfclown.documents.files.FileSpecification;
 import org.pdfclown.documents.files.IFileResource;
 import org.pdfclown.files.File;
+import org.pdfclown.files.IMetricsListener;
 import org.pdfclown.tokens.Encoding;
 import org.pdfclown.tokens.Keyword;
 import org.pdfclown.tokens.Symbol;
@@ -157,10 +158,12 @@ public class PdfStream
 
   /**
     Gets the stream body.
+    <p>Body resolution and decoding happen in place on first access, so this method is synchronized
+    to let the same stream be safely read by concurrent threads.</p>
 
     @param decode Defines whether the body has to be decoded.
   */
-  public IBuffer getBody(
+  public synchronized IBuffer getBody(
     boolean decode
     )
   {
@@ -189,8 +192,8 @@ public class PdfStream
         PdfDataObject parameters = getParameters();
         if(filter instanceof PdfName) // Single filter.
         {
-          body.decode(
-            Filter.get((PdfName)filter),
+          decode(
+            (PdfName)filter,
             (PdfDictionary)parameters
             );
         }
@@ -200,8 +203,8 @@ public class PdfStream
           Iterator<PdfDirectObject> parametersIterator = (parameters != null ? ((PdfArray)parameters).iterator() : null);
           while(filterIterator.hasNext())
           {
-            body.decode(
-              Filter.get((PdfName)resolve(filterIterator.next())),
+            decode(
+              (PdfName)resolve(filterIterator.next()),
               (PdfDictionary)(parametersIterator != null ? resolve(parametersIterator.next()) : null)
               );
           }
@@ -516,7 +519,31 @@ public class PdfStream
     )
   {parent = value;}
   // </internal>
+
+  // <private>
+  /**
+    Decodes the body through the specified filter.
+  */
+  private void decode(
+    PdfName filterName,
+    PdfDictionary parameters
+    )
+  {
+    File file = getFile();
+    IMetricsListener metricsListener = (file != null ? file.getConfiguration().getMetricsListener() : null);
+    if(metricsListener == null)
+    {
+      body.decode(Filter.get(filterName), parameters);
+      return;
+    }
+
+    long inputLength = body.getLength();
+    long startTime = System.nanoTime();
+    body.decode(Filter.get(filterName), parameters);
+    metricsListener.onStreamDecoded(filterName, inputLength, body.getLength(), System.nanoTime() - startTime);
+  }
+  // </private>
   // </interface>
   // </dynamic>
   // </class>
-}
\ No newline at end of file
+}
\ No newline at end of file
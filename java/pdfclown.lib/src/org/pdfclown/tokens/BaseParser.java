@@ -108,7 +108,13 @@ public class BaseParser
     switch(getTokenType())
     {
       case Integer:
-        return PdfInteger.get((Integer)getToken());
+      {
+        Object token = getToken();
+        if(token instanceof Long) // NOTE: PdfInteger is limited to the 32-bit range.
+          return new PdfReal((Long)token);
+
+        return PdfInteger.get((Integer)token);
+      }
       case Name:
         return new PdfName((String)getToken(),true);
       case DictionaryBegin:
@@ -32,6 +32,7 @@ import java.util.Map;
 import org.pdfclown.bytes.IOutputStream;
 import org.pdfclown.files.File;
 import org.pdfclown.files.IndirectObjects;
+import org.pdfclown.files.WritePhaseEnum;
 import org.pdfclown.objects.PdfIndirectObject;
 import org.pdfclown.objects.PdfInteger;
 import org.pdfclown.objects.PdfName;
@@ -72,10 +73,12 @@ final class CompressedWriter
     )
   {
     // 1. Original content (header, body and previous trailer).
+    beginPhase(WritePhaseEnum.Head);
     FileParser parser = file.getReader().getParser();
     stream.write(parser.getStream());
 
     // 2. Body update (modified indirect objects insertion).
+    beginPhase(WritePhaseEnum.Body);
     XRefEntry xrefStreamEntry;
     {
       // Create the xref stream!
@@ -134,8 +137,9 @@ final class CompressedWriter
       }
 
       // 2.2. XRef stream.
+      beginPhase(WritePhaseEnum.XRef);
       updateTrailer(xrefStream.getHeader(), stream);
-      xrefStream.getHeader().put(PdfName.Prev, PdfInteger.get((int)parser.retrieveXRefOffset()));
+      xrefStream.getHeader().put(PdfName.Prev, getOffsetObject(parser.retrieveXRefOffset()));
       addXRefEntry(
         /*
           NOTE: This xref stream indirect object is purposely temporary (i.e. not registered into the
@@ -144,7 +148,7 @@ final class CompressedWriter
         new PdfIndirectObject(
           file,
           xrefStream,
-          xrefStreamEntry = new XRefEntry(indirectObjects.size(), 0, (int)stream.getLength(), XRefEntry.UsageEnum.InUse)
+          xrefStreamEntry = new XRefEntry(indirectObjects.size(), 0, stream.getLength(), XRefEntry.UsageEnum.InUse)
           ),
         xrefStream,
         null,
@@ -153,6 +157,7 @@ final class CompressedWriter
     }
 
     // 3. Tail.
+    beginPhase(WritePhaseEnum.Trailer);
     writeTail(xrefStreamEntry.getOffset());
   }
 
@@ -166,9 +171,11 @@ final class CompressedWriter
     )
   {
     // 1. Header [PDF:1.6:3.4.1].
+    beginPhase(WritePhaseEnum.Head);
     writeHeader();
 
     // 2. Body [PDF:1.6:3.4.2,3,7].
+    beginPhase(WritePhaseEnum.Body);
     XRefEntry xrefStreamEntry;
     {
       // Create the xref stream!
@@ -186,7 +193,8 @@ final class CompressedWriter
       ObjectStream objectStream = null;
       for(PdfIndirectObject indirectObject : indirectObjects)
       {
-        if(indirectObject.isCompressible())
+        if(!isFlushed(indirectObject)
+          && indirectObject.isCompressible())
         {
           if(objectStream == null
             || objectStream.size() >= ObjectStreamMaxEntryCount)
@@ -205,6 +213,7 @@ final class CompressedWriter
       prevFreeEntry.setOffset(0); // Links back to the first free object. NOTE: The first entry in the table (object number 0) is always free.
 
       // 2.2. XRef stream.
+      beginPhase(WritePhaseEnum.XRef);
       updateTrailer(xrefStream.getHeader(), stream);
       addXRefEntry(
         /*
@@ -214,7 +223,7 @@ final class CompressedWriter
         new PdfIndirectObject(
           file,
           xrefStream,
-          xrefStreamEntry = new XRefEntry(indirectObjects.size(), 0, (int)stream.getLength(), XRefEntry.UsageEnum.InUse)
+          xrefStreamEntry = new XRefEntry(indirectObjects.size(), 0, stream.getLength(), XRefEntry.UsageEnum.InUse)
           ),
         xrefStream,
         null,
@@ -223,6 +232,7 @@ final class CompressedWriter
     }
 
     // 3. Tail.
+    beginPhase(WritePhaseEnum.Trailer);
     writeTail(xrefStreamEntry.getOffset());
   }
   // </protected>
@@ -259,7 +269,10 @@ final class CompressedWriter
     {
       case InUse:
       {
-        int offset = (int)stream.getLength();
+        if(isFlushed(indirectObject)) // Already serialized (streaming serialization).
+          break;
+
+        long offset = stream.getLength();
         // Add entry content!
         indirectObject.writeTo(stream, file);
         // Set entry content's offset!
@@ -308,4 +321,4 @@ final class CompressedWriter
   // </interface>
   // </dynamic>
   // </class>
-}
\ No newline at end of file
+}
@@ -113,6 +113,9 @@ public final class FileParser
       {
         case Integer:
         {
+          if(!(getToken() instanceof Integer)) // NOTE: Out-of-range values can't be object numbers.
+            break;
+
           /*
             NOTE: We need to verify whether indirect reference pattern is applicable:
             ref :=  { int int 'R' }
@@ -124,7 +127,8 @@ public final class FileParser
           int objectNumber = (Integer)getToken();
           // 2. Generation number.
           super.moveNext();
-          if(getTokenType() == TokenTypeEnum.Integer)
+          if(getTokenType() == TokenTypeEnum.Integer
+            && getToken() instanceof Integer)
           {
             int generationNumber = (Integer)getToken();
             // 3. Reference keyword.
@@ -314,7 +318,7 @@ public final class FileParser
       if(getTokenType() != TokenTypeEnum.Integer)
         throw new PostScriptParseException("'" + Keyword.StartXRef + "' value invalid.", this);
   
-      return (Integer)getToken();
+      return ((Number)getToken()).longValue();
     }
     catch(EOFException e)
     {throw new RuntimeException(e);}
@@ -189,7 +189,11 @@ public final class ObjectStream
   }
 
   @Override
-  public PdfDataObject get(Object key) {
+  public synchronized PdfDataObject get(Object key) {
+    /*
+      NOTE: Compressed objects are lazily parsed through the shared cursor of this stream, so their
+      retrieval is serialized.
+    */
     ObjectEntry entry = getEntries().get(key);
     return (entry != null ? entry.getDataObject() : null);
   }
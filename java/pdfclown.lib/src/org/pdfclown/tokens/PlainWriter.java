@@ -27,12 +27,12 @@
 
 package org.pdfclown.tokens;
 
-import java.text.DecimalFormat;
 import java.util.Map;
 
 import org.pdfclown.bytes.IOutputStream;
 import org.pdfclown.files.File;
 import org.pdfclown.files.IndirectObjects;
+import org.pdfclown.files.WritePhaseEnum;
 import org.pdfclown.objects.PdfDictionary;
 import org.pdfclown.objects.PdfIndirectObject;
 import org.pdfclown.objects.PdfInteger;
@@ -56,9 +56,44 @@ final class PlainWriter
   private static final String XRefChunk = Keyword.XRef + Symbol.LineFeed;
   private static final String XRefEOLChunk = "" + Symbol.CarriageReturn + Symbol.LineFeed;
 
-  private static final DecimalFormat XRefGenerationFormatter = new DecimalFormat("00000");
-  private static final DecimalFormat XRefOffsetFormatter = new DecimalFormat("0000000000");
+  private static final int XRefGenerationLength = 5;
+  private static final int XRefOffsetLength = 10;
   // </fields>
+
+  // <interface>
+  // <private>
+  /**
+    Appends the specified value to the builder, zero-padded to the specified number of digits.
+    <p>This replaces {@link java.text.DecimalFormat}, which is not thread-safe.</p>
+
+    @param builder Target builder.
+    @param value Non-negative value.
+    @param length Minimum number of digits.
+    @return Target builder.
+  */
+  private static StringBuilder appendDigits(
+    StringBuilder builder,
+    long value,
+    int length
+    )
+  {
+    int digitCount = 1;
+    for(long limit = value / 10; limit > 0; limit /= 10)
+    {digitCount++;}
+    for(int count = length - digitCount; count > 0; count--)
+    {builder.append('0');}
+
+    int end = builder.length() + digitCount;
+    builder.setLength(end);
+    for(int index = end - 1; index >= end - digitCount; index--)
+    {
+      builder.setCharAt(index, (char)('0' + value % 10));
+      value /= 10;
+    }
+    return builder;
+  }
+  // </private>
+  // </interface>
   // </static>
 
   // <dynamic>
@@ -77,10 +112,12 @@ final class PlainWriter
     )
   {
     // 1. Original content (head, body and previous trailer).
+    beginPhase(WritePhaseEnum.Head);
     FileParser parser = file.getReader().getParser();
     stream.write(parser.getStream());
 
     // 2. Body update (modified indirect objects insertion).
+    beginPhase(WritePhaseEnum.Body);
     int xrefSize = file.getIndirectObjects().size();
     StringBuilder xrefBuilder = new StringBuilder(XRefChunk);
     {
@@ -159,10 +196,12 @@ final class PlainWriter
     }
 
     // 3. XRef-table last section.
+    beginPhase(WritePhaseEnum.XRef);
     long startxref = stream.getLength();
     stream.write(xrefBuilder.toString());
 
     // 4. Trailer.
+    beginPhase(WritePhaseEnum.Trailer);
     writeTrailer(startxref, xrefSize, parser);
   }
 
@@ -176,9 +215,11 @@ final class PlainWriter
     )
   {
     // 1. Header [PDF:1.6:3.4.1].
+    beginPhase(WritePhaseEnum.Head);
     writeHeader();
 
     // 2. Body [PDF:1.6:3.4.2].
+    beginPhase(WritePhaseEnum.Body);
     int xrefSize = file.getIndirectObjects().size();
     StringBuilder xrefBuilder = new StringBuilder(XRefChunk);
     {
@@ -203,14 +244,26 @@ final class PlainWriter
         PdfIndirectObject indirectObject = indirectObjects.get(index);
         if(indirectObject.isInUse()) // In-use entry.
         {
-          // Add in-use entry!
-          appendXRefEntry(
-            xrefInUseBlockBuilder,
-            indirectObject.getReference(),
-            stream.getLength()
-            );
-          // Add in-use entry content!
-          indirectObject.writeTo(stream, file);
+          if(isFlushed(indirectObject)) // Already serialized (streaming serialization).
+          {
+            // Add in-use entry!
+            appendXRefEntry(
+              xrefInUseBlockBuilder,
+              indirectObject.getReference(),
+              indirectObject.getXrefEntry().getOffset()
+              );
+          }
+          else
+          {
+            // Add in-use entry!
+            appendXRefEntry(
+              xrefInUseBlockBuilder,
+              indirectObject.getReference(),
+              stream.getLength()
+              );
+            // Add in-use entry content!
+            indirectObject.writeTo(stream, file);
+          }
         }
         else // Free entry.
         {
@@ -241,10 +294,12 @@ final class PlainWriter
     }
 
     // 3. XRef table (unique section) [PDF:1.6:3.4.3].
+    beginPhase(WritePhaseEnum.XRef);
     long startxref = stream.getLength();
     stream.write(xrefBuilder.toString());
 
     // 4. Trailer [PDF:1.6:3.4.4].
+    beginPhase(WritePhaseEnum.Trailer);
     writeTrailer(startxref, xrefSize, null);
   }
   // </protected>
@@ -268,9 +323,9 @@ final class PlainWriter
       default: // Should NEVER happen.
         throw new UnsupportedOperationException();
     }
-    return xrefBuilder.append(XRefOffsetFormatter.format(offset)).append(Symbol.Space)
-      .append(XRefGenerationFormatter.format(reference.getGenerationNumber())).append(Symbol.Space)
-      .append(usage).append(XRefEOLChunk);
+    appendDigits(xrefBuilder, offset, XRefOffsetLength).append(Symbol.Space);
+    appendDigits(xrefBuilder, reference.getGenerationNumber(), XRefGenerationLength).append(Symbol.Space);
+    return xrefBuilder.append(usage).append(XRefEOLChunk);
   }
 
   /**
@@ -331,7 +386,7 @@ final class PlainWriter
     if(parser == null)
     {trailer.remove(PdfName.Prev);} // [FIX:0.0.4:5] It (wrongly) kept the 'Prev' entry of multiple-section xref tables.
     else
-    {trailer.put(PdfName.Prev, PdfInteger.get((int)parser.retrieveXRefOffset()));}
+    {trailer.put(PdfName.Prev, getOffsetObject(parser.retrieveXRefOffset()));}
     // Serialize its contents!
     trailer.writeTo(stream, file); stream.write(Chunk.LineFeed);
 
@@ -342,4 +397,4 @@ final class PlainWriter
   // </interface>
   // </dynamic>
   // </class>
-}
\ No newline at end of file
+}
\ No newline at end of file
@@ -36,6 +36,7 @@ import org.pdfclown.files.File;
 import org.pdfclown.objects.PdfDictionary;
 import org.pdfclown.objects.PdfInteger;
 import org.pdfclown.objects.PdfName;
+import org.pdfclown.objects.PdfNumber;
 import org.pdfclown.util.parsers.PostScriptParseException;
 import org.pdfclown.util.parsers.PostScriptParser.TokenTypeEnum;
 
@@ -145,7 +146,7 @@ public final class Reader
               throw new PostScriptParseException("Neither object number of the first object in this xref subsection nor end of xref section found.", parser);
 
             // Get the object number of the first object in this xref-table subsection!
-            int startObjectNumber = (Integer)parser.getToken();
+            int startObjectNumber = parser.getIntToken();
 
             // 2. Last object number.
             parser.moveNext();
@@ -153,7 +154,7 @@ public final class Reader
               throw new PostScriptParseException("Number of entries in this xref subsection not found.", parser);
 
             // Get the object number of the last object in this xref-table subsection!
-            int endObjectNumber = (Integer)parser.getToken() + startObjectNumber;
+            int endObjectNumber = parser.getIntToken() + startObjectNumber;
 
             // 3. XRef-table subsection entries.
             for(
@@ -170,9 +171,10 @@ public final class Reader
               }
 
               // Get the indirect object offset!
-              int offset = (Integer)parser.getToken(1);
+              long offset = ((Number)parser.getToken(1)).longValue();
               // Get the object generation number!
-              int generation = (Integer)parser.getToken(1);
+              parser.moveNext();
+              int generation = parser.getIntToken();
               // Get the usage tag!
               XRefEntry.UsageEnum usage;
               {
@@ -222,8 +224,8 @@ public final class Reader
         {trailer = sectionTrailer;}
 
         // Get the previous xref-table section's offset!
-        PdfInteger prevXRefOffset = (PdfInteger)sectionTrailer.get(PdfName.Prev);
-        sectionOffset = (prevXRefOffset != null ? prevXRefOffset.getValue() : -1);
+        PdfNumber<?> prevXRefOffset = (PdfNumber<?>)sectionTrailer.get(PdfName.Prev);
+        sectionOffset = (prevXRefOffset != null ? prevXRefOffset.getValue().longValue() : -1);
       }
     }
     return new FileInfo(version, trailer, xrefEntries);
@@ -257,4 +259,4 @@ public final class Reader
   // </interface>
   // </dynamic>
   // </class>
-}
\ No newline at end of file
+}
\ No newline at end of file
@@ -0,0 +1,230 @@
+/*
+  Copyright 2026 Stefano Chizzolini. http://www.pdfclown.org
+
+  Contributors:
+    * Stefano Chizzolini (original code developer, http://www.stefanochizzolini.it)
+
+  This file should be part of the source code distribution of "PDF Clown library"
+  (the Program): see the accompanying README files for more info.
+
+  This Program is free software; you can redistribute it and/or modify it under the terms
+  of the GNU Lesser General Public License as published by the Free Software Foundation;
+  either version 3 of the License, or (at your option) any later version.
+
+  This Program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY,
+  either expressed or implied; without even the implied warranty of MERCHANTABILITY or
+  FITNESS FOR A PARTICULAR PURPOSE. See the License for more details.
+
+  You should have received a copy of the GNU Lesser General Public License along with this
+  Program (see README files); if not, go to the GNU website (http://www.gnu.org/licenses/).
+
+  Redistribution and use, with or without modification, are permitted provided that such
+  redistributions retain the above copyright notice, license and disclaimer, along with
+  this list of conditions.
+*/
+
+
+package org.pdfclown.tokens;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.RoundingMode;
+
+import org.pdfclown.bytes.IOutputStream;
+
+/**
+  Real number formatter [PDF:1.6:3.2.2].
+  <p>Numbers are written in plain decimal notation, rounded (half-even) to a maximum number of
+  fractional digits, without trailing zeros (like the <code>"0.#####"</code> {@link
+  java.text.DecimalFormat decimal format}, but for negative zero, which is written as
+  <code>0</code>); their digits are written straight to the target stream, without intermediate
+  strings.</p>
+  <p>It's immutable, so it can be safely shared.</p>
+
+  @author Stefano Chizzolini (http://www.stefanochizzolini.it)
+  @since 0.2.0
+  @version 0.2.0, 10/19/26
+*/
+public final class RealFormatter
+{
+  // <class>
+  // <static>
+  // <fields>
+  /**
+    Maximum absolute value of scaled numbers whose rounding is exact in double precision.
+  */
+  private static final double MaxScaledValue = 1e15;
+  /**
+    Maximum length of formatted numbers (fast path).
+  */
+  private static final int MaxLength = 24;
+
+  private static final long[] Powers10 = new long[16];
+  // </fields>
+
+  // <constructors>
+  static
+  {
+    Powers10[0] = 1;
+    for(int index = 1; index < Powers10.length; index++)
+    {Powers10[index] = Powers10[index - 1] * 10;}
+  }
+  // </constructors>
+  // </static>
+
+  // <dynamic>
+  // <fields>
+  private final int precision;
+  private final double scale;
+  // </fields>
+
+  // <constructors>
+  /**
+    @param precision Maximum number of fractional digits.
+  */
+  public RealFormatter(
+    int precision
+    )
+  {
+    if(precision < 0)
+      throw new IllegalArgumentException("precision MUST NOT be negative");
+
+    this.precision = precision;
+    this.scale = Math.pow(10, precision);
+  }
+  // </constructors>
+
+  // <interface>
+  // <public>
+  /**
+    Formats the specified value.
+  */
+  public String format(
+    double value
+    )
+  {
+    byte[] buffer = new byte[MaxLength];
+    int offset = format(value, buffer);
+    if(offset < 0)
+      return toPlainString(value);
+
+    return Encoding.Pdf.decode(buffer, offset, MaxLength - offset);
+  }
+
+  /**
+    Gets the maximum number of fractional digits.
+  */
+  public int getPrecision(
+    )
+  {return precision;}
+
+  /**
+    Writes the specified value.
+
+    @param value Value to write.
+    @param stream Target stream.
+  */
+  public void write(
+    double value,
+    IOutputStream stream
+    )
+  {
+    byte[] buffer = new byte[MaxLength];
+    int offset = format(value, buffer);
+    if(offset < 0)
+    {stream.write(toPlainString(value));}
+    else
+    {stream.write(buffer, offset, MaxLength - offset);}
+  }
+  // </public>
+
+  // <private>
+  /**
+    Formats the specified value into the tail of the buffer.
+
+    @return Offset of the formatted value within the buffer; negative, if the value is out of the
+      fast-path range.
+  */
+  private int format(
+    double value,
+    byte[] buffer
+    )
+  {
+    if(precision >= Powers10.length)
+      return -1;
+
+    double scaledValue = value * scale;
+    if(!(Math.abs(scaledValue) < MaxScaledValue)) // NOTE: Excludes also NaN.
+      return -1;
+
+    double roundedValue = Math.rint(scaledValue);
+    /*
+      NOTE: As the scaled value may be off by half an ulp, values close to a tie have to be rounded
+      on their exact binary value.
+    */
+    if(Math.abs(Math.abs(scaledValue - roundedValue) - .5) <= Math.ulp(scaledValue))
+    {roundedValue = new BigDecimal(value).setScale(precision, RoundingMode.HALF_EVEN).unscaledValue().doubleValue();}
+
+    long unscaledValue = (long)roundedValue;
+    boolean negative = unscaledValue < 0;
+    if(negative)
+    {unscaledValue = -unscaledValue;}
+
+    int offset = MaxLength;
+    // Fractional part.
+    if(precision > 0)
+    {
+      long fraction = unscaledValue % Powers10[precision];
+      unscaledValue /= Powers10[precision];
+      if(fraction != 0)
+      {
+        int digitCount = precision;
+        // Trim trailing zeros!
+        while(fraction % 10 == 0)
+        {fraction /= 10; digitCount--;}
+        for(int index = 0; index < digitCount; index++)
+        {
+          buffer[--offset] = (byte)('0' + fraction % 10);
+          fraction /= 10;
+        }
+        buffer[--offset] = (byte)'.';
+      }
+    }
+    // Integer part.
+    do
+    {
+      buffer[--offset] = (byte)('0' + unscaledValue % 10);
+      unscaledValue /= 10;
+    } while(unscaledValue != 0);
+    if(negative)
+    {buffer[--offset] = (byte)'-';}
+    return offset;
+  }
+
+  /**
+    Formats the specified value beyond the fast-path range.
+    <p>As such values exceed the double precision once scaled, they are rounded on their shortest
+    decimal representation, so that no spurious digits are written.</p>
+  */
+  private String toPlainString(
+    double value
+    )
+  {
+    if(Double.isNaN(value) || Double.isInfinite(value))
+      throw new IllegalArgumentException("Non-finite real: " + value);
+
+    BigDecimal decimalValue = BigDecimal.valueOf(value);
+    if(decimalValue.scale() == precision + 1
+      && decimalValue.unscaledValue().abs().mod(BigInteger.TEN).intValue() == 5)
+    {decimalValue = new BigDecimal(value);} // NOTE: Ties are resolved on the exact binary value.
+    decimalValue = decimalValue.setScale(precision, RoundingMode.HALF_EVEN).stripTrailingZeros();
+    if(decimalValue.signum() == 0)
+      return "0";
+
+    return decimalValue.scale() < 0 ? decimalValue.setScale(0).toPlainString() : decimalValue.toPlainString();
+  }
+  // </private>
+  // </interface>
+  // </dynamic>
+  // </class>
+}
@@ -25,12 +25,21 @@
 
 package org.pdfclown.tokens;
 
+import java.util.BitSet;
+import java.util.Collection;
+
 import org.pdfclown.bytes.IOutputStream;
 import org.pdfclown.files.File;
 import org.pdfclown.files.FileIdentifier;
+import org.pdfclown.files.IMetricsListener;
 import org.pdfclown.files.SerializationModeEnum;
+import org.pdfclown.files.WritePhaseEnum;
 import org.pdfclown.objects.PdfDictionary;
+import org.pdfclown.objects.PdfDirectObject;
+import org.pdfclown.objects.PdfIndirectObject;
+import org.pdfclown.objects.PdfInteger;
 import org.pdfclown.objects.PdfName;
+import org.pdfclown.objects.PdfReal;
 
 /**
   PDF file writer.
@@ -74,6 +83,25 @@ public abstract class Writer
     }
   }
   // </public>
+
+  // <protected>
+  /**
+    Gets the object representing the specified byte offset.
+    <p>Offsets beyond the 32-bit range (files larger than 2GB) are represented as real numbers,
+    whose integral values are written without fractional digits.</p>
+
+    @since 0.2.0
+  */
+  protected static PdfDirectObject getOffsetObject(
+    long value
+    )
+  {
+    if(value > Integer.MAX_VALUE)
+      return new PdfReal(value);
+
+    return PdfInteger.get((int)value);
+  }
+  // </protected>
   // </interface>
   // </static>
 
@@ -81,6 +109,16 @@ public abstract class Writer
   // <fields>
   protected final File file;
   protected final IOutputStream stream;
+
+  /**
+    Object numbers of the indirect objects serialized ahead of the file completion (see {@link
+    #flush(Collection)}).
+  */
+  private BitSet flushedObjects;
+  private boolean headerWritten;
+  private final IMetricsListener metricsListener;
+  private WritePhaseEnum phase;
+  private long phaseStartTime;
   // </fields>
 
   // <constructors>
@@ -91,11 +129,56 @@ public abstract class Writer
   {
     this.file = file;
     this.stream = stream;
+    this.metricsListener = file.getConfiguration().getMetricsListener();
   }
   // </constructors>
 
   // <interface>
   // <public>
+  /**
+    Serializes the specified indirect objects ahead of the file completion (streaming
+    serialization).
+    <p>Flushed objects are written straight to the {@link #getStream() target stream} and their data
+    objects are released, keeping just their cross-reference entries: any later access to their
+    contents is an error, whilst references to them are still valid. The serialization MUST be
+    completed through {@link #write(SerializationModeEnum) standard write}, which takes care of all
+    the remaining objects.</p>
+    <p>Flushed objects are never compressed into object streams.</p>
+
+    @param objects Indirect objects to serialize.
+    @since 0.2.0
+  */
+  public void flush(
+    Collection<PdfIndirectObject> objects
+    )
+  {
+    if(flushedObjects == null)
+    {
+      if(file.getReader() != null)
+        throw new IllegalStateException("Streaming serialization is available to new files only.");
+
+      flushedObjects = new BitSet();
+    }
+
+    beginPhase(WritePhaseEnum.Head);
+    writeHeader();
+    beginPhase(WritePhaseEnum.Body);
+    for(PdfIndirectObject object : objects)
+    {
+      int objectNumber = object.getReference().getObjectNumber();
+      if(flushedObjects.get(objectNumber)
+        || !object.isInUse())
+        continue;
+
+      object.uncompress();
+      object.getXrefEntry().setOffset(stream.getLength());
+      object.writeTo(stream, file);
+      object.dropDataObject();
+      flushedObjects.set(objectNumber);
+    }
+    endPhase();
+  }
+
   /**
     Gets the file to serialize.
   */
@@ -110,6 +193,19 @@ public abstract class Writer
     )
   {return stream;}
 
+  /**
+    Gets whether the specified indirect object has already been serialized (see {@link
+    #flush(Collection)}).
+    <p>Flushed objects are skipped on serialization, as their offsets are already set into their
+    cross-reference entries.</p>
+
+    @since 0.2.0
+  */
+  public final boolean isFlushed(
+    PdfIndirectObject object
+    )
+  {return flushedObjects != null && flushedObjects.get(object.getReference().getObjectNumber());}
+
   /**
     Serializes the {@link #getFile() file} to the {@link #getStream() target stream}.
 
@@ -119,6 +215,10 @@ public abstract class Writer
     SerializationModeEnum mode
     )
   {
+    if(flushedObjects != null
+      && mode != SerializationModeEnum.Standard)
+      throw new IllegalStateException("Streaming serialization can be completed in standard mode only.");
+
     switch(mode)
     {
       case Incremental:
@@ -135,10 +235,27 @@ public abstract class Writer
         writeLinearized();
         break;
     }
+    endPhase();
   }
   // </public>
 
   // <protected>
+  /**
+    Marks the beginning of the specified serialization phase (ending the current one), for the
+    purpose of metrics.
+  */
+  protected final void beginPhase(
+    WritePhaseEnum value
+    )
+  {
+    if(metricsListener == null)
+      return;
+
+    endPhase();
+    phase = value;
+    phaseStartTime = System.nanoTime();
+  }
+
   /**
     Updates the specified trailer.
     NOTE: this method has to be called just before serializing the trailer object.
@@ -161,6 +278,10 @@ public abstract class Writer
   protected final void writeHeader(
     )
   {
+    if(headerWritten) // Streaming serialization.
+      return;
+
+    headerWritten = true;
     stream.write(BOFChunk);
     stream.write(file.getDocument().getVersion().toString()); // NOTE: Document version represents the actual (possibly-overridden) file version.
     stream.write(HeaderBinaryHintChunk);
@@ -199,7 +320,19 @@ public abstract class Writer
     stream.write(EOFChunk);
   }
   // </protected>
+
+  // <private>
+  private void endPhase(
+    )
+  {
+    if(phase == null)
+      return;
+
+    metricsListener.onWritePhase(phase, System.nanoTime() - phaseStartTime);
+    phase = null;
+  }
+  // </private>
   // </interface>
   // </dynamic>
   // </class>
-}
\ No newline at end of file
+}
\ No newline at end of file
@@ -78,7 +78,7 @@ public final class XRefEntry
   // <fields>
   private int number;
   private int generation;
-  private int offset;
+  private long offset;
   private int streamNumber;
   private UsageEnum usage;
   // </fields>
@@ -108,7 +108,7 @@ public final class XRefEntry
   public XRefEntry(
     int number,
     int generation,
-    int offset,
+    long offset,
     UsageEnum usage
     )
   {this(number, generation, offset, usage, UndefinedStreamNumber);}
@@ -130,7 +130,7 @@ public final class XRefEntry
   private XRefEntry(
     int number,
     int generation,
-    int offset,
+    long offset,
     UsageEnum usage,
     int streamNumber
     )
@@ -145,6 +145,16 @@ public final class XRefEntry
 
   // <interface>
   // <public>
+  @Override
+  public XRefEntry clone(
+    )
+  {
+    try
+    {return (XRefEntry)super.clone();}
+    catch(CloneNotSupportedException e)
+    {throw new RuntimeException(e);}
+  }
+
   /**
     Gets the generation number.
   */
@@ -163,7 +173,7 @@ public final class XRefEntry
     Gets its indirect-object byte offset within the serialized file (in-use entry),
     the next free-object object number (free entry) or the object index within its object stream (compressed entry).
   */
-  public int getOffset(
+  public long getOffset(
     )
   {return offset;}
 
@@ -195,7 +205,7 @@ public final class XRefEntry
   {number = value;}
 
   public void setOffset(
-    int value
+    long value
     )
   {offset = value;}
 
@@ -212,14 +222,7 @@ public final class XRefEntry
     )
   {usage = value;}
   // </public>
-
-  // <protected>
-  @Override
-  protected XRefEntry clone(
-    ) throws CloneNotSupportedException
-  {return (XRefEntry)super.clone();}
-  // </protected>
   // </interface>
   // </dynamic>
   // </class>
-}
\ No newline at end of file
+}
\ No newline at end of file
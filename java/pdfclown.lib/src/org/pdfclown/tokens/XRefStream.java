@@ -44,6 +44,7 @@ import org.pdfclown.objects.PdfDictionary;
 import org.pdfclown.objects.PdfDirectObject;
 import org.pdfclown.objects.PdfInteger;
 import org.pdfclown.objects.PdfName;
+import org.pdfclown.objects.PdfNumber;
 import org.pdfclown.objects.PdfObject;
 import org.pdfclown.objects.PdfStream;
 import org.pdfclown.util.ConvertUtils;
@@ -81,7 +82,7 @@ public final class XRefStream
     @param maxValue Maximum storable value.
   */
   private static int getFieldSize(
-    int maxValue
+    long maxValue
     )
   {return (int)Math.ceil(Math.log(maxValue)/ByteBaseLog);}
 
@@ -92,10 +93,27 @@ public final class XRefStream
     @param length Byte array's length.
    */
   private static byte[] numberToByteArray(
-    int value,
+    long value,
     int length
     )
   {return ConvertUtils.numberToByteArray(value, length, ByteOrder.BIG_ENDIAN);}
+
+  /**
+    Reads a customly-sized big-endian number.
+
+    @param stream Source stream.
+    @param length Number's byte length.
+  */
+  private static long readLong(
+    IBuffer stream,
+    int length
+    ) throws EOFException
+  {
+    long value = 0;
+    for(int index = 0; index < length; index++)
+    {value = (value << 8) | stream.readUnsignedByte();}
+    return value;
+  }
   // </private>
   // </interface>
   // </static>
@@ -152,11 +170,11 @@ public final class XRefStream
 
     @return <code>-1</code> in case no linked stream exists.
   */
-  public int getLinkedStreamOffset(
+  public long getLinkedStreamOffset(
     )
   {
-    PdfInteger linkedStreamOffsetObject = (PdfInteger)getHeader().get(PdfName.Prev);
-    return (linkedStreamOffsetObject != null ? linkedStreamOffsetObject.getValue() : -1);
+    PdfNumber<?> linkedStreamOffsetObject = (PdfNumber<?>)getHeader().get(PdfName.Prev);
+    return (linkedStreamOffsetObject != null ? linkedStreamOffsetObject.getValue().longValue() : -1);
   }
 
   @Override
@@ -259,7 +277,7 @@ public final class XRefStream
     final int[] entryFieldSizes = new int[]
       {
         EntryField0Size,
-        getFieldSize((int)stream.getLength()), // NOTE: We assume this xref stream is the last indirect object.
+        getFieldSize(stream.getLength()), // NOTE: We assume this xref stream is the last indirect object.
         EntryField2Size
       };
     {
@@ -395,7 +413,7 @@ public final class XRefStream
                 }
                 case InUseEntryType:
                 {
-                  final int offset = body.readInt(entryFieldSizes[1]);
+                  final long offset = readLong(body, entryFieldSizes[1]);
                   final int generation = body.readInt(entryFieldSizes[2]);
                   entries.put(
                     entryIndex,
@@ -26,23 +26,32 @@
 package org.pdfclown.tools;
 
 import java.awt.geom.Point2D;
-import java.awt.geom.Rectangle2D;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.EnumSet;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
+import org.pdfclown.bytes.Buffer;
 import org.pdfclown.documents.Document;
 import org.pdfclown.documents.Page;
-import org.pdfclown.documents.PageAnnotations;
+import org.pdfclown.documents.contents.XObjectResources;
 import org.pdfclown.documents.contents.xObjects.FormXObject;
+import org.pdfclown.documents.interaction.annotations.Annotation;
 import org.pdfclown.documents.interaction.annotations.Annotation.FlagsEnum;
 import org.pdfclown.documents.interaction.annotations.Widget;
-import org.pdfclown.documents.interaction.forms.Field;
 import org.pdfclown.documents.interaction.forms.Fields;
 import org.pdfclown.documents.interaction.forms.Form;
 import org.pdfclown.objects.PdfArray;
 import org.pdfclown.objects.PdfDictionary;
+import org.pdfclown.objects.PdfDirectObject;
 import org.pdfclown.objects.PdfName;
+import org.pdfclown.objects.PdfStream;
+import org.pdfclown.objects.Rectangle;
 import org.pdfclown.util.math.geom.Dimension;
 
 /**
@@ -54,11 +63,49 @@ import org.pdfclown.util.math.geom.Dimension;
 */
 public class FormFlattener
 {
+  /**
+    Appearance key (by content).
+  */
+  private static final class AppearanceKey
+  {
+    private final byte[] data;
+    private final int hashCode;
+
+    AppearanceKey(
+      FormXObject appearance
+      )
+    {
+      PdfStream appearanceStream = appearance.getBaseDataObject();
+      Buffer buffer = new Buffer();
+      appearanceStream.getHeader().writeTo(buffer, appearance.getFile());
+      buffer.append(appearanceStream.getBody(false));
+      this.data = buffer.toByteArray();
+      this.hashCode = Arrays.hashCode(data);
+    }
+
+    @Override
+    public boolean equals(
+      Object object
+      )
+    {
+      return object instanceof AppearanceKey
+        && ((AppearanceKey)object).hashCode == hashCode
+        && Arrays.equals(((AppearanceKey)object).data, data);
+    }
+
+    @Override
+    public int hashCode(
+      )
+    {return hashCode;}
+  }
+
   private boolean hiddenRendered;
   private boolean nonPrintableRendered;
   
   /**
     Replaces the Acroform fields with their corresponding graphics representation.
+    <p>Widgets are flattened page by page, in their painting order; identical appearances are
+    shared across widgets, so that each one is stamped through a single external object.</p>
     
     @param document Document to flatten.
   */
@@ -66,14 +113,42 @@ public class FormFlattener
     Document document
     )
   {
-    Map<Page,PageStamper> pageStampers = new HashMap<Page,PageStamper>();
     Form form = document.getForm();
     Fields formFields = form.getFields();
-    for(Field field : formFields.values())
+
+    // 1. Collect the widgets (sweeping the field tree).
+    Set<PdfDirectObject> widgetObjects = new HashSet<PdfDirectObject>();
+    List<PdfDirectObject> fieldPartObjects = new ArrayList<PdfDirectObject>();
+    collect(formFields.getBaseDataObject(), widgetObjects, fieldPartObjects);
+
+    // 2. Stamp the widgets and remove them from the page annotations (sweeping each page once).
+    Map<AppearanceKey,FormXObject> appearances = new HashMap<AppearanceKey,FormXObject>();
+    Set<FormXObject> duplicateAppearances = new HashSet<FormXObject>();
+    /*
+      NOTE: Appearance names are tracked by resource dictionary (identity), as pages may share their
+      resources.
+    */
+    Map<PdfDictionary,Map<FormXObject,PdfName>> appearanceNamesMap = new IdentityHashMap<PdfDictionary,Map<FormXObject,PdfName>>();
+    for(Page page : document.getPages())
     {
-      for(Widget widget : field.getWidgets())
+      PdfArray annotationsArray = (PdfArray)page.getBaseDataObject().resolve(PdfName.Annots);
+      if(annotationsArray == null)
+        continue;
+
+      List<PdfDirectObject> keptAnnotationObjects = new ArrayList<PdfDirectObject>(annotationsArray.size());
+      PageStamper pageStamper = null;
+      XObjectResources xObjects = null;
+      Map<FormXObject,PdfName> appearanceNames = null;
+      double pageHeight = 0;
+      for(PdfDirectObject annotationObject : annotationsArray)
       {
-        Page widgetPage = widget.getPage();
+        Annotation<?> widget = widgetObjects.contains(annotationObject) ? Annotation.wrap(annotationObject) : null;
+        if(!(widget instanceof Widget))
+        {
+          keptAnnotationObjects.add(annotationObject);
+          continue;
+        }
+
         EnumSet<FlagsEnum> flags = widget.getFlags();
         // Is the widget to be rendered?
         if((!flags.contains(FlagsEnum.Hidden) || hiddenRendered)
@@ -84,53 +159,73 @@ public class FormFlattener
           FormXObject widgetCurrentAppearance = widget.getAppearance().getNormal().get(widgetCurrentState);
           if(widgetCurrentAppearance != null)
           {
-            PageStamper widgetStamper = pageStampers.get(widgetPage);
-            if(widgetStamper == null)
-            {pageStampers.put(widgetPage, widgetStamper = new PageStamper(widgetPage));}
-            
-            Rectangle2D widgetBox = widget.getBox();
-            widgetStamper.getForeground().showXObject(widgetCurrentAppearance, new Point2D.Double(widgetBox.getX(), widgetBox.getY()), new Dimension(widgetBox.getWidth(), widgetBox.getHeight()));
+            if(pageStamper == null)
+            {
+              pageStamper = new PageStamper(page);
+              xObjects = page.getResources().getXObjects();
+              appearanceNames = appearanceNamesMap.get(xObjects.getBaseDataObject());
+              if(appearanceNames == null)
+              {appearanceNamesMap.put(xObjects.getBaseDataObject(), appearanceNames = new HashMap<FormXObject,PdfName>());}
+              pageHeight = page.getBox().getHeight();
+            }
+
+            // Share the identical appearances!
+            AppearanceKey appearanceKey = new AppearanceKey(widgetCurrentAppearance);
+            FormXObject appearance = appearances.get(appearanceKey);
+            if(appearance == null)
+            {appearances.put(appearanceKey, appearance = widgetCurrentAppearance);}
+            else if(!appearance.equals(widgetCurrentAppearance))
+            {duplicateAppearances.add(widgetCurrentAppearance);}
+
+            PdfName appearanceName = appearanceNames.get(appearance);
+            if(appearanceName == null)
+            {appearanceNames.put(appearance, appearanceName = register(xObjects, appearance));}
+
+            Rectangle widgetBox = Rectangle.wrap(widget.getBaseDataObject().get(PdfName.Rect));
+            pageStamper.getForeground().showXObject(
+              appearanceName,
+              new Point2D.Double(widgetBox.getLeft(), pageHeight - widgetBox.getTop()),
+              new Dimension(widgetBox.getWidth(), widgetBox.getHeight())
+              );
           }
         }
-        
-        // Removing the widget from the page annotations...
-        PageAnnotations widgetPageAnnotations = widgetPage.getAnnotations();
-        widgetPageAnnotations.remove(widget);
-        if(widgetPageAnnotations.isEmpty())
+      }
+
+      // Removing the widgets from the page annotations...
+      if(keptAnnotationObjects.size() < annotationsArray.size())
+      {
+        if(keptAnnotationObjects.isEmpty())
         {
-          widgetPage.setAnnotations(null);
-          widgetPageAnnotations.delete();
+          annotationsArray.delete();
+          page.setAnnotations(null);
         }
-        
-        // Removing the field references relating the widget...
-        PdfDictionary fieldPartDictionary = widget.getBaseDataObject();
-        while (fieldPartDictionary != null)
+        else
         {
-          PdfDictionary parentFieldPartDictionary = (PdfDictionary)fieldPartDictionary.resolve(PdfName.Parent);
-          
-          PdfArray kidsArray;
-          if(parentFieldPartDictionary != null)
-          {kidsArray = (PdfArray)parentFieldPartDictionary.resolve(PdfName.Kids);}
-          else
-          {kidsArray = formFields.getBaseDataObject();}
-          
-          kidsArray.remove(fieldPartDictionary.getReference());
-          fieldPartDictionary.delete();
-          if(!kidsArray.isEmpty())
-            break;
-          
-          fieldPartDictionary = parentFieldPartDictionary;
+          annotationsArray.clear();
+          annotationsArray.addAll(keptAnnotationObjects);
         }
       }
+
+      if(pageStamper != null)
+      {pageStamper.flush();}
     }
-    if(formFields.isEmpty())
-    {
-      // Removing the form root...
-      document.setForm(null);
-      form.delete();
-    }
-    for(PageStamper pageStamper : pageStampers.values())
-    {pageStamper.flush();}
+
+    /*
+      NOTE: Duplicate appearances are removed only after stamping, as they may be shared by multiple
+      widgets.
+    */
+    duplicateAppearances.removeAll(appearances.values());
+    for(FormXObject duplicateAppearance : duplicateAppearances)
+    {duplicateAppearance.delete();}
+
+    // 3. Remove the fields.
+    for(PdfDirectObject fieldPartObject : fieldPartObjects)
+    {fieldPartObject.resolve().delete();}
+    formFields.getBaseDataObject().clear();
+
+    // Removing the form root...
+    document.setForm(null);
+    form.delete();
   }
   
   /**
@@ -168,4 +263,47 @@ public class FormFlattener
     nonPrintableRendered = value;
     return this;
   }
+
+  /**
+    Collects the parts of the specified fields.
+
+    @param fieldObjects Fields to sweep.
+    @param widgetObjects Target collection of the widgets (field tree leaves).
+    @param fieldPartObjects Target collection of all the field parts (widgets included).
+  */
+  private void collect(
+    PdfArray fieldObjects,
+    Set<PdfDirectObject> widgetObjects,
+    List<PdfDirectObject> fieldPartObjects
+    )
+  {
+    for(PdfDirectObject fieldObject : fieldObjects)
+    {
+      PdfArray kidObjects = (PdfArray)((PdfDictionary)fieldObject.resolve()).resolve(PdfName.Kids);
+      if(kidObjects != null)
+      {collect(kidObjects, widgetObjects, fieldPartObjects);}
+      else
+      {widgetObjects.add(fieldObject);}
+      fieldPartObjects.add(fieldObject);
+    }
+  }
+
+  /**
+    Registers the specified appearance within the external object resources.
+
+    @return Resource name of the appearance.
+  */
+  private PdfName register(
+    XObjectResources xObjects,
+    FormXObject appearance
+    )
+  {
+    PdfName name;
+    int resourceIndex = xObjects.size();
+    do
+    {name = new PdfName(String.valueOf(++resourceIndex));}
+    while(xObjects.containsKey(name));
+    xObjects.put(name, appearance);
+    return name;
+  }
 }
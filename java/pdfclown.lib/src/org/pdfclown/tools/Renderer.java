@@ -25,6 +25,10 @@
 
 package org.pdfclown.tools;
 
+import java.awt.Dimension;
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.awt.geom.AffineTransform;
 import java.awt.geom.Dimension2D;
 import java.awt.geom.Rectangle2D;
 import java.awt.image.BufferedImage;
@@ -32,11 +36,21 @@ import java.awt.print.Book;
 import java.awt.print.Pageable;
 import java.awt.print.PrinterException;
 import java.awt.print.PrinterJob;
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import org.pdfclown.documents.Document;
 import org.pdfclown.documents.Page;
+import org.pdfclown.documents.contents.ContentScanner;
 import org.pdfclown.documents.contents.Contents;
+import org.pdfclown.documents.contents.GlyphCache;
 import org.pdfclown.documents.contents.IContentContext;
+import org.pdfclown.documents.contents.ImageCache;
 
 /**
   Tool for rendering {@link IContentContext content contexts}.
@@ -47,6 +61,134 @@ import org.pdfclown.documents.contents.IContentContext;
 */
 public final class Renderer
 {
+  // <class>
+  // <interfaces>
+  /**
+    Tile rendering listener.
+
+    @since 0.2.0
+  */
+  public interface ITileListener
+  {
+    /**
+      Notifies the rendering of a tile.
+      <p>Tiles are notified on the calling thread of the rendering, in row-major order (left to
+      right, top to bottom), so that rows of tiles can be streamed as image strips.</p>
+
+      @param tile Rendered tile.
+      @param bounds Tile bounds within the whole rendered image (device-space units).
+    */
+    void onTile(
+      BufferedImage tile,
+      Rectangle bounds
+      );
+  }
+  // </interfaces>
+
+  // <static>
+  // <fields>
+  /**
+    Default capacity of the glyph cache (bytes).
+
+    @since 0.2.0
+  */
+  public static final long DefaultGlyphCacheCapacity = 16L << 20;
+  /**
+    Default capacity of the decoded images cache (bytes).
+  */
+  public static final long DefaultImageCacheCapacity = 64L << 20;
+  // </fields>
+
+  // <interface>
+  // <private>
+  /**
+    Gets the transformation which maps the specified content area to the whole canvas.
+
+    @return <code>null</code>, if the whole content box is rendered.
+  */
+  private static AffineTransform getAreaTransform(
+    IContentContext contentContext,
+    Dimension2D size,
+    Rectangle2D area
+    )
+  {
+    if(area == null)
+      return null;
+
+    Rectangle2D areaBounds = ContentScanner.getInitialCtm(contentContext, size).createTransformedShape(area).getBounds2D();
+    AffineTransform areaTransform = AffineTransform.getScaleInstance(
+      size.getWidth() / areaBounds.getWidth(),
+      size.getHeight() / areaBounds.getHeight()
+      );
+    areaTransform.translate(-areaBounds.getX(), -areaBounds.getY());
+    return areaTransform;
+  }
+  // </private>
+  // </interface>
+  // </static>
+
+  // <dynamic>
+  // <fields>
+  private final GlyphCache glyphCache;
+  private final ImageCache imageCache;
+  // </fields>
+
+  // <constructors>
+  public Renderer(
+    )
+  {this(DefaultImageCacheCapacity);}
+
+  /**
+    @param imageCacheCapacity Maximum memory footprint of the decoded images reused across
+      renderings (bytes).
+    @since 0.2.0
+  */
+  public Renderer(
+    long imageCacheCapacity
+    )
+  {this(imageCacheCapacity, DefaultGlyphCacheCapacity);}
+
+  /**
+    @param imageCacheCapacity Maximum memory footprint of the decoded images reused across
+      renderings (bytes).
+    @param glyphCacheCapacity Maximum memory footprint of the glyphs reused across renderings
+      (bytes).
+    @since 0.2.0
+  */
+  public Renderer(
+    long imageCacheCapacity,
+    long glyphCacheCapacity
+    )
+  {
+    imageCache = new ImageCache(imageCacheCapacity);
+    glyphCache = new GlyphCache(glyphCacheCapacity);
+  }
+  // </constructors>
+
+  // <interface>
+  // <public>
+  /**
+    Gets the cache of the glyphs, shared by all the renderings of this renderer.
+    <p>Glyph outlines are keyed by font, so that glyphs reused across pages (or renderings, like
+    thumbnails) are decoded once.</p>
+
+    @since 0.2.0
+  */
+  public GlyphCache getGlyphCache(
+    )
+  {return glyphCache;}
+
+  /**
+    Gets the cache of the decoded images, shared by all the renderings of this renderer.
+    <p>Images are keyed by their reference, so that those reused across pages (or renderings, like
+    thumbnails) are decoded once.</p>
+
+    @since 0.2.0
+  */
+  public ImageCache getImageCache(
+    )
+  {return imageCache;}
+
   /**
     Prints the specified document.
     <p>The <code>document</code> can be either a {@link Document} object
@@ -140,13 +282,183 @@ public final class Renderer
     Rectangle2D area
     )
   {
-    //TODO:area!
-    BufferedImage image = new BufferedImage(
-      (int)size.getWidth(),
-      (int)size.getHeight(),
+    return renderTile(
+      contentContext.getContents(),
+      size,
+      getAreaTransform(contentContext, size, area),
+      new Rectangle(0, 0, (int)size.getWidth(), (int)size.getHeight())
+      );
+  }
+
+  /**
+    Renders the specified content context tile by tile, in parallel.
+    <p>Tiles are rendered on a pool of as many threads as the available processors.</p>
+
+    @param contentContext Source content context.
+    @param size Image size expressed in device-space units (that is typically pixels).
+    @param area Content area to render; <code>null</code> corresponds to the entire {@link IContentContext#getBox() content bounding box}.
+    @param tileSize Maximum tile size expressed in device-space units.
+    @param listener Listener notified of the rendered tiles.
+    @see #render(IContentContext, Dimension2D, Rectangle2D, Dimension, ITileListener, ExecutorService)
+    @since 0.2.0
+   */
+  public void render(
+    IContentContext contentContext,
+    Dimension2D size,
+    Rectangle2D area,
+    Dimension tileSize,
+    ITileListener listener
+    )
+  {
+    ExecutorService executor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+    try
+    {render(contentContext, size, area, tileSize, listener, executor);}
+    finally
+    {executor.shutdownNow();}
+  }
+
+  /**
+    Renders the specified content context tile by tile, in parallel.
+    <p>Contents are parsed once and shared by the tiles, each rendered into its own image; as only a
+    bounded number of tiles is rendered ahead of their notification, the whole image is never held
+    in memory. The first tile is rendered on the calling thread, so that the resources lazily loaded
+    by the rendering (fonts, images, color spaces...) are ready before the tiles are rendered
+    concurrently.</p>
+
+    @param contentContext Source content context.
+    @param size Image size expressed in device-space units (that is typically pixels).
+    @param area Content area to render; <code>null</code> corresponds to the entire {@link IContentContext#getBox() content bounding box}.
+    @param tileSize Maximum tile size expressed in device-space units.
+    @param listener Listener notified of the rendered tiles.
+    @param executor Executor of the tile renderings.
+    @since 0.2.0
+   */
+  public void render(
+    IContentContext contentContext,
+    final Dimension2D size,
+    Rectangle2D area,
+    Dimension tileSize,
+    ITileListener listener,
+    ExecutorService executor
+    )
+  {
+    final Contents contents = contentContext.getContents();
+    final AffineTransform areaTransform = getAreaTransform(contentContext, size, area);
+    int width = (int)size.getWidth(), height = (int)size.getHeight();
+    int columnCount = (width + tileSize.width - 1) / tileSize.width;
+    int tileCount = columnCount * ((height + tileSize.height - 1) / tileSize.height);
+    int maxPendingTileCount = Runtime.getRuntime().availableProcessors() * 2;
+
+    Queue<Future<BufferedImage>> pendingTiles = new ArrayDeque<Future<BufferedImage>>();
+    Queue<Rectangle> pendingTileBounds = new ArrayDeque<Rectangle>();
+    try
+    {
+      for(int tileIndex = 0; tileIndex < tileCount || !pendingTiles.isEmpty();)
+      {
+        // Schedule the next tiles!
+        while(tileIndex < tileCount
+          && pendingTiles.size() < maxPendingTileCount)
+        {
+          int x = (tileIndex % columnCount) * tileSize.width, y = (tileIndex / columnCount) * tileSize.height;
+          final Rectangle tileBounds = new Rectangle(
+            x,
+            y,
+            Math.min(tileSize.width, width - x),
+            Math.min(tileSize.height, height - y)
+            );
+          if(tileIndex++ == 0)
+          {
+            // NOTE: The first tile warms up the shared resources before concurrent rendering.
+            listener.onTile(renderTile(contents, size, areaTransform, tileBounds), tileBounds);
+            continue;
+          }
+
+          pendingTiles.add(
+            executor.submit(
+              new Callable<BufferedImage>()
+              {
+                @Override
+                public BufferedImage call(
+                  ) throws Exception
+                {return renderTile(contents, size, areaTransform, tileBounds);}
+              }
+              )
+            );
+          pendingTileBounds.add(tileBounds);
+        }
+
+        // Notify the next tile!
+        if(!pendingTiles.isEmpty())
+        {listener.onTile(pendingTiles.remove().get(), pendingTileBounds.remove());}
+      }
+    }
+    catch(InterruptedException e)
+    {
+      Thread.currentThread().interrupt();
+      throw new RuntimeException(e);
+    }
+    catch(ExecutionException e)
+    {
+      Throwable cause = e.getCause();
+      if(cause instanceof RuntimeException)
+        throw (RuntimeException)cause;
+      else if(cause instanceof Error)
+        throw (Error)cause;
+      else
+        throw new RuntimeException(cause);
+    }
+    finally
+    {
+      for(Future<BufferedImage> pendingTile : pendingTiles)
+      {pendingTile.cancel(true);}
+    }
+  }
+  // </public>
+
+  // <private>
+  /**
+    Renders the specified region of the image representing the specified contents.
+
+    @param contents Source contents.
+    @param size Image size expressed in device-space units.
+    @param areaTransform Transformation of the content area to render to the image.
+    @param bounds Region to render.
+    @return Image representing the rendered region.
+  */
+  private BufferedImage renderTile(
+    Contents contents,
+    Dimension2D size,
+    AffineTransform areaTransform,
+    Rectangle bounds
+    )
+  {
+    BufferedImage tile = new BufferedImage(
+      bounds.width,
+      bounds.height,
       BufferedImage.TYPE_INT_BGR
       );
-    contentContext.render(image.createGraphics(),size);
-    return image;
+    Graphics2D context = tile.createGraphics();
+    try
+    {
+      // NOTE: The canvas may not cover the whole tile (content area exceeding the content box).
+      context.setColor(java.awt.Color.WHITE);
+      context.fillRect(0, 0, bounds.width, bounds.height);
+      context.clipRect(0, 0, bounds.width, bounds.height);
+      context.translate(-bounds.x, -bounds.y);
+      if(areaTransform != null)
+      {context.transform(areaTransform);}
+
+      ContentScanner scanner = new ContentScanner(contents);
+      scanner.setImageCache(imageCache);
+      scanner.setGlyphCache(glyphCache);
+      scanner.render(context, size);
+    }
+    finally
+    {context.dispose();}
+    return tile;
   }
+  // </private>
+  // </interface>
+  // </dynamic>
+  // </class>
 }
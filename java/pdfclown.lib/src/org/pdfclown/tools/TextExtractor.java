@@ -26,6 +26,8 @@
 package org.pdfclown.tools;
 
 import java.awt.geom.Rectangle2D;
+import java.io.Closeable;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
@@ -33,6 +35,14 @@ import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Queue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
 
 import org.pdfclown.documents.contents.ContentScanner;
 import org.pdfclown.documents.contents.Contents;
@@ -91,6 +101,150 @@ public final class TextExtractor
       );
   }
 
+  /**
+    Iterator over the text strings extracted in parallel from a sequence of content contexts.
+    <p>Content contexts are pulled from their source on the consuming thread and extracted on an
+    executor; as only a bounded number of them is extracted ahead of their consumption, a slow
+    consumer holds back the extraction. Results are returned in the same order as their content
+    contexts.</p>
+    <p>Iteration can be stopped early (for example, once enough matches have been found) by
+    {@link #close() closing} the iterator, which cancels the pending extractions.</p>
+
+    @since 0.2.0
+  */
+  public final class ExtractionIterator
+    implements Iterator<Map<Rectangle2D,List<ITextString>>>,
+      Closeable
+  {
+    // <class>
+    // <dynamic>
+    // <fields>
+    private boolean closed;
+    private final Iterator<? extends IContentContext> contentContextIterator;
+    private final ExecutorService executor;
+    private final boolean executorOwned;
+    private final int maxPendingCount;
+    private final Queue<Future<Map<Rectangle2D,List<ITextString>>>> pendingExtractions = new ArrayDeque<Future<Map<Rectangle2D,List<ITextString>>>>();
+    // </fields>
+
+    // <constructors>
+    private ExtractionIterator(
+      Iterator<? extends IContentContext> contentContextIterator,
+      ExecutorService executor,
+      boolean executorOwned
+      )
+    {
+      this.contentContextIterator = contentContextIterator;
+      this.executor = executor;
+      this.executorOwned = executorOwned;
+      this.maxPendingCount = Runtime.getRuntime().availableProcessors() * 2;
+    }
+    // </constructors>
+
+    // <interface>
+    // <public>
+    /**
+      Stops the iteration, canceling the pending extractions.
+      <p>The iterator is implicitly closed when exhausted.</p>
+    */
+    @Override
+    public void close(
+      )
+    {
+      if(closed)
+        return;
+
+      closed = true;
+      for(Future<Map<Rectangle2D,List<ITextString>>> pendingExtraction : pendingExtractions)
+      {pendingExtraction.cancel(true);}
+      pendingExtractions.clear();
+      if(executorOwned)
+      {executor.shutdownNow();}
+    }
+
+    @Override
+    public boolean hasNext(
+      )
+    {
+      if(closed)
+        return false;
+
+      schedule();
+      if(pendingExtractions.isEmpty())
+      {
+        close();
+        return false;
+      }
+      return true;
+    }
+
+    @Override
+    public Map<Rectangle2D,List<ITextString>> next(
+      )
+    {
+      if(!hasNext())
+        throw new NoSuchElementException();
+
+      Future<Map<Rectangle2D,List<ITextString>>> extraction = pendingExtractions.remove();
+      // Keep the extraction pipeline full while the current result is consumed!
+      schedule();
+      try
+      {return extraction.get();}
+      catch(InterruptedException e)
+      {
+        close();
+        Thread.currentThread().interrupt();
+        throw new RuntimeException(e);
+      }
+      catch(ExecutionException e)
+      {
+        close();
+        Throwable cause = e.getCause();
+        if(cause instanceof RuntimeException)
+          throw (RuntimeException)cause;
+        else if(cause instanceof Error)
+          throw (Error)cause;
+        else
+          throw new RuntimeException(cause);
+      }
+    }
+
+    @Override
+    public void remove(
+      )
+    {throw new UnsupportedOperationException();}
+    // </public>
+
+    // <private>
+    /**
+      Submits the next content contexts up to the maximum number of pending extractions.
+    */
+    private void schedule(
+      )
+    {
+      while(pendingExtractions.size() < maxPendingCount
+        && contentContextIterator.hasNext())
+      {
+        final IContentContext contentContext = contentContextIterator.next();
+        pendingExtractions.add(
+          executor.submit(
+            new Callable<Map<Rectangle2D,List<ITextString>>>()
+            {
+              @Override
+              public Map<Rectangle2D,List<ITextString>> call(
+                ) throws Exception
+              {return extract(contentContext);}
+            }
+            )
+          );
+      }
+    }
+    // </private>
+    // </interface>
+    // </dynamic>
+    // </class>
+  }
+
   /**
     Text string.
     <p>This is typically used to assemble contiguous raw text strings.</p>
@@ -205,6 +359,26 @@ public final class TextExtractor
   // </classes>
 
   // <static>
+  // <fields>
+  /**
+    Factory of the threads of the default extraction executor.
+    <p>Its threads are daemons, so that an iterator left unclosed doesn't prevent the application
+    from exiting.</p>
+  */
+  private static final ThreadFactory ExtractionThreadFactory = new ThreadFactory()
+  {
+    @Override
+    public Thread newThread(
+      Runnable runnable
+      )
+    {
+      Thread thread = Executors.defaultThreadFactory().newThread(runnable);
+      thread.setDaemon(true);
+      return thread;
+    }
+  };
+  // </fields>
+
   // <interface>
   // <public>
   /**
@@ -330,6 +504,49 @@ public final class TextExtractor
     )
   {return extract(contents.getContentContext());}
 
+  /**
+    Extracts text strings from the specified content contexts, in parallel.
+    <p>Extractions are executed on a pool of as many threads as the available processors, which is
+    shut down as soon as the returned iterator is exhausted or closed.</p>
+
+    @param contentContexts Source content contexts (for example, the {@link
+      org.pdfclown.documents.Pages pages} of a document).
+    @return Iterator over the text strings extracted from each content context, in the same order as
+      their sources (see {@link #extract(IContentContext)}).
+    @see #extract(Iterable, ExecutorService)
+    @since 0.2.0
+  */
+  public ExtractionIterator extract(
+    Iterable<? extends IContentContext> contentContexts
+    )
+  {
+    return new ExtractionIterator(
+      contentContexts.iterator(),
+      Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors(), ExtractionThreadFactory),
+      true
+      );
+  }
+
+  /**
+    Extracts text strings from the specified content contexts, in parallel.
+    <p>Content contexts belonging to the same file share its resources (fonts, forms...), which are
+    loaded once and concurrently read by the extractions. The extractor settings MUST NOT be changed
+    until the returned iterator is exhausted or closed.</p>
+
+    @param contentContexts Source content contexts (for example, the {@link
+      org.pdfclown.documents.Pages pages} of a document).
+    @param executor Executor of the extractions; it is left running when the returned iterator is
+      exhausted or closed.
+    @return Iterator over the text strings extracted from each content context, in the same order as
+      their sources (see {@link #extract(IContentContext)}).
+    @since 0.2.0
+  */
+  public ExtractionIterator extract(
+    Iterable<? extends IContentContext> contentContexts,
+    ExecutorService executor
+    )
+  {return new ExtractionIterator(contentContexts.iterator(), executor, false);}
+
   /**
     Gets the text strings matching the specified intervals.
 
@@ -132,6 +132,16 @@ public final class ConvertUtils
     int length,
     ByteOrder byteOrder
     )
+  {return numberToByteArray((long)data, length, byteOrder);}
+
+  /**
+    @since 0.2.0
+  */
+  public static byte[] numberToByteArray(
+    long data,
+    int length,
+    ByteOrder byteOrder
+    )
   {
     byte[] result = new byte[length];
     for(
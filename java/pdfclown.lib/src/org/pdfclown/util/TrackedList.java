@@ -0,0 +1,103 @@
+/*
+  Copyright 2026 Stefano Chizzolini. http://www.pdfclown.org
+
+  Contributors:
+    * Stefano Chizzolini (original code developer, http://www.stefanochizzolini.it)
+
+  This file should be part of the source code distribution of "PDF Clown library"
+  (the Program): see the accompanying README files for more info.
+
+  This Program is free software; you can redistribute it and/or modify it under the terms
+  of the GNU Lesser General Public License as published by the Free Software Foundation;
+  either version 3 of the License, or (at your option) any later version.
+
+  This Program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY,
+  either expressed or implied; without even the implied warranty of MERCHANTABILITY or
+  FITNESS FOR A PARTICULAR PURPOSE. See the License for more details.
+
+  You should have received a copy of the GNU Lesser General Public License along with this
+  Program (see README files); if not, go to the GNU website (http://www.gnu.org/licenses/).
+
+  Redistribution and use, with or without modification, are permitted provided that such
+  redistributions retain the above copyright notice, license and disclaimer, along with
+  this list of conditions.
+*/
+
+
+package org.pdfclown.util;
+
+import java.util.ArrayList;
+import java.util.Collection;
+
+/**
+  List keeping track of its modifications.
+  <p>Any change applied after its creation (or after its last {@link #mark() mark}) flags this
+  list as {@link #isModified() modified}, including element replacements (which {@link ArrayList}
+  doesn't count as structural modifications). Changes applied through {@link #subList(int, int)
+  sublist} views may go unnoticed.</p>
+
+  @author Stefano Chizzolini (http://www.stefanochizzolini.it)
+  @since 0.2.0
+  @version 0.2.0, 10/19/26
+*/
+public final class TrackedList<E>
+  extends ArrayList<E>
+{
+  // <class>
+  // <static>
+  // <fields>
+  private static final long serialVersionUID = 1L;
+  // </fields>
+  // </static>
+
+  // <dynamic>
+  // <fields>
+  private int markedModCount;
+  // </fields>
+
+  // <constructors>
+  public TrackedList(
+    )
+  {super();}
+
+  public TrackedList(
+    int initialCapacity
+    )
+  {super(initialCapacity);}
+
+  public TrackedList(
+    Collection<? extends E> collection
+    )
+  {super(collection);}
+  // </constructors>
+
+  // <interface>
+  // <public>
+  /**
+    Gets whether this list has been modified since its creation or last {@link #mark() mark}.
+  */
+  public boolean isModified(
+    )
+  {return modCount != markedModCount;}
+
+  /**
+    Marks the current state of this list as unmodified.
+  */
+  public void mark(
+    )
+  {markedModCount = modCount;}
+
+  @Override
+  public E set(
+    int index,
+    E element
+    )
+  {
+    modCount++;
+    return super.set(index, element);
+  }
+  // </public>
+  // </interface>
+  // </dynamic>
+  // </class>
+}
@@ -60,6 +60,8 @@ public class PostScriptParser
     ArrayEnd,
     DictionaryBegin,
     DictionaryEnd,
+    ProcedureBegin,
+    ProcedureEnd,
     Null
   }
   // </classes>
@@ -94,6 +96,8 @@ public class PostScriptParser
       || c == Symbol.CloseAngleBracket
       || c == Symbol.OpenSquareBracket
       || c == Symbol.CloseSquareBracket
+      || c == Symbol.OpenCurlyBracket
+      || c == Symbol.CloseCurlyBracket
       || c == Symbol.Slash
       || c == Symbol.Percent;
   }
@@ -122,6 +126,7 @@ public class PostScriptParser
   private IInputStream stream;
 
   private Object token;
+  private long tokenCount;
   private TokenTypeEnum tokenType;
   // </fields>
 
@@ -158,6 +163,21 @@ public class PostScriptParser
     )
   {return token;}
 
+  /**
+    Gets the currently-parsed integer token, ensuring it is within the 32-bit range.
+
+    @throws PostScriptParseException If the current token is not a 32-bit integer.
+    @since 0.2.0
+  */
+  public int getIntToken(
+    )
+  {
+    if(!(token instanceof Integer))
+      throw new PostScriptParseException("32-bit integer expected.", this);
+
+    return (Integer)token;
+  }
+
   /**
     Gets a token after moving to the given offset.
 
@@ -169,6 +189,15 @@ public class PostScriptParser
     )
   {moveNext(offset); return getToken();}
 
+  /**
+    Gets the number of tokens parsed so far.
+
+    @since 0.2.0
+  */
+  public long getTokenCount(
+    )
+  {return tokenCount;}
+
   /**
     Gets the currently-parsed token type.
   */
@@ -299,6 +328,12 @@ public class PostScriptParser
       case Symbol.CloseSquareBracket: // Array (end).
         tokenType = TokenTypeEnum.ArrayEnd;
         break;
+      case Symbol.OpenCurlyBracket: // Procedure (begin).
+        tokenType = TokenTypeEnum.ProcedureBegin;
+        break;
+      case Symbol.CloseCurlyBracket: // Procedure (end).
+        tokenType = TokenTypeEnum.ProcedureEnd;
+        break;
       case Symbol.OpenAngleBracket: // Dictionary (begin) | Hexadecimal string.
       {
         try
@@ -493,8 +528,17 @@ public class PostScriptParser
           token = buffer.toString();
           break;
         case Integer:
-          token = Integer.parseInt(buffer.toString());
-          break;
+        {
+          /*
+            NOTE: Integers beyond the 32-bit range (e.g. byte offsets within files larger than 2GB)
+            are kept as Long tokens.
+          */
+          long value = Long.parseLong(buffer.toString());
+          if(value >= Integer.MIN_VALUE && value <= Integer.MAX_VALUE)
+          {token = (int)value;}
+          else
+          {token = value;}
+        } break;
         case Real:
           token = Double.parseDouble(buffer.toString());
           break;
@@ -504,6 +548,7 @@ public class PostScriptParser
         }
       }
     }
+    tokenCount++;
     return true;
   }
 
@@ -584,6 +629,18 @@ public class PostScriptParser
     {return false;}
   }
 
+  /**
+    Sets the source stream.
+    <p>The pointer position is preserved, as the new stream is expected to wrap the same data
+    (for example, to instrument it).</p>
+
+    @since 0.2.0
+  */
+  public void setStream(
+    IInputStream value
+    )
+  {stream = value;}
+
   // <Closeable>
   @Override
   public void close(
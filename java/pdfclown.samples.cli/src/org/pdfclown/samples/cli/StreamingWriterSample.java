@@ -0,0 +1,79 @@
+package org.pdfclown.samples.cli;
+
+import java.awt.geom.Point2D;
+
+import org.pdfclown.bytes.OutputStream;
+import org.pdfclown.documents.Document;
+import org.pdfclown.documents.Page;
+import org.pdfclown.documents.contents.composition.PrimitiveComposer;
+import org.pdfclown.documents.contents.fonts.StandardType1Font;
+import org.pdfclown.files.File;
+import org.pdfclown.files.StreamingWriter;
+import org.pdfclown.util.io.IOUtils;
+
+/**
+  This sample demonstrates <b>how to generate a large document page by page</b>, serializing each
+  page as soon as it's completed.
+  <h3>Remarks</h3>
+  <p>As completed pages are released from memory, memory consumption doesn't grow along with the
+  page count, which is useful for large reports.</p>
+
+  @author Stefano Chizzolini (http://www.stefanochizzolini.it)
+  @since 0.2.0
+  @version 0.2.0, 10/19/26
+*/
+public class StreamingWriterSample
+  extends Sample
+{
+  private static final int PageCount = 1000;
+  private static final int RowCount = 40;
+
+  @Override
+  public void run(
+    )
+  {
+    // 1. Instantiate a new PDF file!
+    File file = new File();
+    Document document = file.getDocument();
+
+    java.io.File outputFile = new java.io.File(getOutputPath(getClass().getSimpleName() + ".pdf"));
+    OutputStream outputStream;
+    try
+    {outputStream = new OutputStream(new java.io.BufferedOutputStream(new java.io.FileOutputStream(outputFile)));}
+    catch(Exception e)
+    {throw new RuntimeException(outputFile.getPath() + " file creation failed.", e);}
+    try
+    {
+      // 2. Open the streaming serialization!
+      StreamingWriter writer = new StreamingWriter(file, outputStream);
+
+      // 3. Insert the pages, flushing each one as soon as it's completed!
+      /*
+        NOTE: Fonts are shared across pages, so they stay resident until the serialization is
+        committed.
+      */
+      StandardType1Font font = new StandardType1Font(document, StandardType1Font.FamilyEnum.Courier, false, false);
+      for(int pageIndex = 0; pageIndex < PageCount; pageIndex++)
+      {
+        Page page = new Page(document);
+        document.getPages().add(page);
+
+        PrimitiveComposer composer = new PrimitiveComposer(page);
+        composer.setFont(font, 10);
+        composer.showText("Report page " + (pageIndex + 1) + " of " + PageCount, new Point2D.Double(32, 32));
+        for(int rowIndex = 0; rowIndex < RowCount; rowIndex++)
+        {composer.showText("Row " + (pageIndex * RowCount + rowIndex + 1), new Point2D.Double(32, 64 + rowIndex * 16));}
+        composer.flush();
+
+        writer.flushPage(page);
+      }
+
+      // 4. Complete the serialization!
+      writer.commit();
+    }
+    finally
+    {IOUtils.closeQuietly(outputStream);}
+
+    System.out.println("\nOutput: " + outputFile.getPath());
+  }
+}